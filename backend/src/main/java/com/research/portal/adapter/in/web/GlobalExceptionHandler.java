@@ -1,7 +1,9 @@
 package com.research.portal.adapter.in.web;
 
 import com.research.portal.adapter.in.web.dto.ErrorResponse;
+import com.research.portal.application.exception.ExportCapacityExceededException;
 import com.research.portal.application.exception.ResourceNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -57,4 +59,16 @@ public class GlobalExceptionHandler {
         );
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
+
+    @ExceptionHandler(ExportCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleExportCapacity(ExportCapacityExceededException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(error);
+    }
 }
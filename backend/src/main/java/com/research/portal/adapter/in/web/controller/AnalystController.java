@@ -2,8 +2,10 @@ package com.research.portal.adapter.in.web.controller;
 
 import com.research.portal.adapter.in.web.dto.AnalystDto;
 import com.research.portal.adapter.in.web.dto.ErrorResponse;
+import com.research.portal.adapter.in.web.dto.PageResponseDto;
 import com.research.portal.adapter.in.web.mapper.AnalystApiMapper;
 import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.port.in.GetAnalystsUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -49,6 +51,32 @@ public class AnalystController {
                 .toList();
     }
 
+    @GetMapping("/page")
+    @Operation(
+            summary = "Analysten seitenweise abrufen",
+            description = "Liefert Analysten seitenweise mit Keyset-Pagination. "
+                    + "Die nächste Seite wird mit dem zurückgegebenen nextCursor abgerufen; "
+                    + "die Reihenfolge bleibt auch bei gleichzeitigen Änderungen stabil. "
+                    + "Sortierbar nach: name, id."
+    )
+    @ApiResponse(responseCode = "200", description = "Seite erfolgreich geladen")
+    @ApiResponse(responseCode = "400", description = "Ungültige Sortierung oder ungültiger Cursor",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public PageResponseDto<AnalystDto> getAnalystsPage(
+            @Parameter(description = "Seitengrösse (1 bis 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Sortierung als feld,richtung", example = "name,asc")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Fortsetzungs-Token aus nextCursor der vorherigen Seite")
+            @RequestParam(required = false) String cursor) {
+        PageQuery query = new PageQuery(limit, sort, cursor);
+        var page = getAnalysts.getAnalystsPage(query);
+        List<AnalystDto> items = page.items().stream()
+                .map(mapper::toDto)
+                .toList();
+        return new PageResponseDto<>(items, page.nextCursor(), query.limit());
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Analyst nach ID abrufen",
@@ -1,7 +1,10 @@
 package com.research.portal.adapter.in.web.controller;
 
 import com.research.portal.adapter.in.web.dto.AuditLogDto;
+import com.research.portal.adapter.in.web.dto.ErrorResponse;
+import com.research.portal.adapter.in.web.dto.PageResponseDto;
 import com.research.portal.adapter.in.web.mapper.AuditLogApiMapper;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.port.in.AuditLogUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -65,6 +68,32 @@ public class AuditController {
                 .toList();
     }
 
+    @GetMapping("/page")
+    @Operation(
+            summary = "Audit-Trail seitenweise abrufen",
+            description = "Liefert Audit-Einträge seitenweise mit Keyset-Pagination. "
+                    + "Die nächste Seite wird mit dem zurückgegebenen nextCursor abgerufen; "
+                    + "die Reihenfolge bleibt auch bei gleichzeitigen Änderungen stabil. "
+                    + "Sortierbar nach: timestamp, id."
+    )
+    @ApiResponse(responseCode = "200", description = "Seite erfolgreich geladen")
+    @ApiResponse(responseCode = "400", description = "Ungültige Sortierung oder ungültiger Cursor",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public PageResponseDto<AuditLogDto> getAuditLogsPage(
+            @Parameter(description = "Seitengrösse (1 bis 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Sortierung als feld,richtung", example = "timestamp,desc")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Fortsetzungs-Token aus nextCursor der vorherigen Seite")
+            @RequestParam(required = false) String cursor) {
+        PageQuery query = new PageQuery(limit, sort, cursor);
+        var page = auditLogUseCase.getLogsPage(query);
+        List<AuditLogDto> items = page.items().stream()
+                .map(mapper::toDto)
+                .toList();
+        return new PageResponseDto<>(items, page.nextCursor(), query.limit());
+    }
+
     @GetMapping("/report/{id}")
     @Operation(
             summary = "Audit-Trail für einen Report",
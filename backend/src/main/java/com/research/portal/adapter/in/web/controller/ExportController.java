@@ -1,9 +1,6 @@
 package com.research.portal.adapter.in.web.controller;
 
-import com.research.portal.adapter.in.web.dto.ReportDto;
-import com.research.portal.adapter.in.web.mapper.ReportApiMapper;
 import com.research.portal.application.service.ExportService;
-import com.research.portal.domain.port.in.GetReportsUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,11 +13,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * REST-Controller für den Datenexport von Research Reports.
@@ -30,8 +26,8 @@ import java.util.List;
  *
  * <p>Endpunkte:
  * <ul>
- *   <li>{@code GET /api/export/reports/csv}   — Export als CSV (Semikolon-Trenner)</li>
- *   <li>{@code GET /api/export/reports/excel} — Export als XLSX</li>
+ *   <li>{@code GET /api/export/reports/csv}   — Export als CSV (Semikolon-Trenner, gestreamt)</li>
+ *   <li>{@code GET /api/export/reports/excel} — Export als XLSX (gestreamt)</li>
  * </ul>
  */
 @RestController
@@ -43,15 +39,9 @@ public class ExportController {
     private static final DateTimeFormatter FILE_DATE_FORMAT =
             DateTimeFormatter.ofPattern("yyyyMMdd");
 
-    private final GetReportsUseCase getReports;
-    private final ReportApiMapper reportMapper;
     private final ExportService exportService;
 
-    public ExportController(GetReportsUseCase getReports,
-                            ReportApiMapper reportMapper,
-                            ExportService exportService) {
-        this.getReports = getReports;
-        this.reportMapper = reportMapper;
+    public ExportController(ExportService exportService) {
         this.exportService = exportService;
     }
 
@@ -60,6 +50,8 @@ public class ExportController {
      *
      * <p>Das CSV verwendet Semikolon als Trenner (Schweizer Standard) und
      * UTF-8-Encoding mit BOM für korrekte Darstellung in Microsoft Excel.
+     * Die Datei wird während des Lesens aus der Datenbank an den Client
+     * gestreamt; der Speicherbedarf hängt nicht von der Anzahl Reports ab.
      *
      * @return CSV-Datei als Download
      */
@@ -67,36 +59,38 @@ public class ExportController {
     @Operation(
             summary = "Research Reports als CSV exportieren",
             description = "Exportiert alle Research Reports als CSV-Datei mit Semikolon-Trenner "
-                    + "(Schweizer Standard). UTF-8 mit BOM für Excel-Kompatibilität."
+                    + "(Schweizer Standard). UTF-8 mit BOM für Excel-Kompatibilität. "
+                    + "Die Antwort wird gestreamt (chunked), daher ohne Content-Length."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "CSV-Datei erfolgreich erstellt"),
             @ApiResponse(responseCode = "500", description = "Fehler beim Erstellen der CSV-Datei")
     })
-    public ResponseEntity<byte[]> exportReportsCsv() {
-        List<ReportDto> reports = getReports.getAllReports().stream()
-                .map(reportMapper::toDto)
-                .toList();
-
-        byte[] csvBytes = exportService.exportReportsCsv(reports);
+    public ResponseEntity<StreamingResponseBody> exportReportsCsv() {
         String filename = buildFilename("research-reports", "csv");
 
-        log.info("CSV-Export gestartet: {} Reports exportiert", reports.size());
+        StreamingResponseBody body = out -> {
+            long start = System.nanoTime();
+            int count = exportService.writeReportsCsv(out);
+            log.info("CSV-Export abgeschlossen: {} Reports exportiert [{}ms]",
+                    count, (System.nanoTime() - start) / 1_000_000);
+        };
 
         return ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + filename + "\"")
                 .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
-                .body(csvBytes);
+                .body(body);
     }
 
     /**
      * Exportiert alle Research Reports als Excel-Datei (XLSX).
      *
      * <p>Das Excel enthält formatierten Headers (blauer Hintergrund, fett),
-     * Auto-Width für alle Spalten, Zahlenformatierung für Finanzwerte
-     * und einen Auto-Filter auf der Header-Zeile.
+     * Spaltenbreiten nach Inhalt, Zahlenformatierung für Finanzwerte
+     * und einen Auto-Filter auf der Header-Zeile. Das Workbook wird mit
+     * einem begrenzten Zeilenfenster aufgebaut und an den Client gestreamt.
      *
      * @return XLSX-Datei als Download
      */
@@ -104,35 +98,30 @@ public class ExportController {
     @Operation(
             summary = "Research Reports als Excel exportieren",
             description = "Exportiert alle Research Reports als XLSX-Datei. "
-                    + "Enthält formatierte Tabelle mit Header-Styling, Auto-Width und Zahlenformatierung."
+                    + "Enthält formatierte Tabelle mit Header-Styling, Spaltenbreiten und Zahlenformatierung. "
+                    + "Die Antwort wird gestreamt (chunked), daher ohne Content-Length."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Excel-Datei erfolgreich erstellt"),
             @ApiResponse(responseCode = "500", description = "Fehler beim Erstellen der Excel-Datei")
     })
-    public ResponseEntity<byte[]> exportReportsExcel() {
-        List<ReportDto> reports = getReports.getAllReports().stream()
-                .map(reportMapper::toDto)
-                .toList();
-
-        try {
-            byte[] excelBytes = exportService.exportReportsExcel(reports);
-            String filename = buildFilename("research-reports", "xlsx");
+    public ResponseEntity<StreamingResponseBody> exportReportsExcel() {
+        String filename = buildFilename("research-reports", "xlsx");
 
-            log.info("Excel-Export abgeschlossen: {} Reports exportiert", reports.size());
+        StreamingResponseBody body = out -> {
+            long start = System.nanoTime();
+            int count = exportService.writeReportsExcel(out);
+            log.info("Excel-Export abgeschlossen: {} Reports exportiert [{}ms]",
+                    count, (System.nanoTime() - start) / 1_000_000);
+        };
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(
-                            "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"" + filename + "\"")
-                    .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
-                    .body(excelBytes);
-
-        } catch (IOException e) {
-            log.error("Fehler beim Excel-Export", e);
-            return ResponseEntity.internalServerError().build();
-        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + filename + "\"")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
+                .body(body);
     }
 
     private String buildFilename(String base, String extension) {
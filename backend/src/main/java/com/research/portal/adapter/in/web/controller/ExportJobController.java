@@ -0,0 +1,191 @@
+package com.research.portal.adapter.in.web.controller;
+
+import com.research.portal.adapter.in.web.dto.ErrorResponse;
+import com.research.portal.adapter.in.web.dto.ExportJobDto;
+import com.research.portal.adapter.in.web.dto.ExportJobRequest;
+import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.adapter.in.web.mapper.ReportApiMapper;
+import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.application.export.ExportFormat;
+import com.research.portal.application.export.ExportJob;
+import com.research.portal.application.export.ExportJobService;
+import com.research.portal.domain.port.in.GetReportsUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * REST-Controller für asynchrone Export-Jobs.
+ *
+ * <p>Grosse Exporte laufen im Hintergrund statt auf einem Request-Thread:
+ * <ol>
+ *   <li>{@code POST /api/export/jobs} — Job einreichen, liefert 202 mit Job-ID</li>
+ *   <li>{@code GET /api/export/jobs/{id}} — Status und Fortschritt abfragen</li>
+ *   <li>{@code GET /api/export/jobs/{id}/download} — Ergebnis herunterladen</li>
+ * </ol>
+ *
+ * <p>Identische Exporte bei unverändertem Datenbestand werden aus dem
+ * Spool-Verzeichnis bedient und sind sofort abgeschlossen.
+ */
+@RestController
+@RequestMapping("/api/export/jobs")
+@Tag(name = "Export", description = "Datenexport für Research Reports (CSV, Excel und PDF)")
+public class ExportJobController {
+
+    private static final DateTimeFormatter FILE_DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final ExportJobService exportJobService;
+    private final GetReportsUseCase getReports;
+    private final ReportApiMapper reportMapper;
+
+    public ExportJobController(ExportJobService exportJobService,
+                               GetReportsUseCase getReports,
+                               ReportApiMapper reportMapper) {
+        this.exportJobService = exportJobService;
+        this.getReports = getReports;
+        this.reportMapper = reportMapper;
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Export-Job starten",
+            description = "Startet einen asynchronen Export. CSV und EXCEL exportieren alle Reports, "
+                    + "PDF einen einzelnen Report (reportId erforderlich). "
+                    + "Liefert sofort die Job-ID; der Fortschritt wird über den Status-Endpunkt abgefragt."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Job eingereiht oder aus dem Cache abgeschlossen"),
+            @ApiResponse(responseCode = "400", description = "Ungültiges Format oder fehlende Report-ID",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Report nicht gefunden",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Warteschlange für dieses Format ist voll",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<ExportJobDto> submitJob(@Valid @RequestBody ExportJobRequest request) {
+        ExportFormat format = parseFormat(request.getFormat());
+
+        ExportJob job;
+        if (format == ExportFormat.PDF) {
+            if (request.getReportId() == null) {
+                throw new IllegalArgumentException("reportId ist für PDF-Exporte erforderlich");
+            }
+            ReportDto report = getReports.getReportById(request.getReportId())
+                    .map(reportMapper::toDto)
+                    .orElseThrow(() -> new ResourceNotFoundException("Report", request.getReportId()));
+            job = exportJobService.submitPdf(report);
+        } else {
+            job = exportJobService.submit(format);
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/export/jobs/" + job.getId()))
+                .body(toDto(job));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Status eines Export-Jobs",
+            description = "Liefert Status, Fortschritt und nach Abschluss die Download-URL."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Status erfolgreich geladen"),
+            @ApiResponse(responseCode = "404", description = "Job nicht gefunden oder abgelaufen",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ExportJobDto getJob(
+            @Parameter(description = "Job-ID") @PathVariable String id) {
+        return exportJobService.getJob(id)
+                .map(this::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Export-Job", "id", id));
+    }
+
+    @GetMapping("/{id}/download")
+    @Operation(
+            summary = "Ergebnis eines Export-Jobs herunterladen",
+            description = "Liefert die fertige Export-Datei als Download."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Datei wird geliefert"),
+            @ApiResponse(responseCode = "404", description = "Job oder Ergebnis nicht gefunden",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Job ist noch nicht abgeschlossen",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Resource> download(
+            @Parameter(description = "Job-ID") @PathVariable String id) {
+        Path result = exportJobService.getResult(id);
+        ExportJob job = exportJobService.getJob(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Export-Job", "id", id));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.getFormat().contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + buildFilename(job) + "\"")
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
+                .body(new FileSystemResource(result));
+    }
+
+    private ExportFormat parseFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ungültiges Exportformat: " + format
+                    + " (erlaubt: CSV, EXCEL, PDF)");
+        }
+    }
+
+    private String buildFilename(ExportJob job) {
+        String date = LocalDate.now().format(FILE_DATE_FORMAT);
+        String base = job.getReportId() != null
+                ? "research-report-" + job.getReportId()
+                : "research-reports";
+        return base + "-" + date + "." + job.getFormat().extension();
+    }
+
+    private ExportJobDto toDto(ExportJob job) {
+        ExportJobDto dto = new ExportJobDto();
+        dto.setId(job.getId());
+        dto.setFormat(job.getFormat().name());
+        dto.setReportId(job.getReportId());
+        dto.setStatus(job.getStatus().name());
+        dto.setProcessed(job.getProcessed());
+        dto.setTotal(job.getTotal());
+        dto.setProgressPercent(job.progressPercent());
+        dto.setCached(job.isCached());
+        dto.setError(job.getError());
+        dto.setCreatedAt(toLocal(job.getCreatedAt()));
+        dto.setFinishedAt(toLocal(job.getFinishedAt()));
+        if (job.getStatus() == ExportJob.Status.COMPLETED) {
+            dto.setResultSize(job.getResultSize());
+            dto.setDownloadUrl("/api/export/jobs/" + job.getId() + "/download");
+        }
+        return dto;
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return instant != null ? LocalDateTime.ofInstant(instant, ZoneId.systemDefault()) : null;
+    }
+}
@@ -1,8 +1,13 @@
 package com.research.portal.adapter.in.web.controller;
 
 import com.research.portal.adapter.in.web.dto.ApiMetricsDto;
+import com.research.portal.adapter.in.web.dto.EndpointCostDto;
+import com.research.portal.adapter.in.web.dto.EndpointLayersDto;
+import com.research.portal.adapter.in.web.dto.EndpointLatencyDto;
 import com.research.portal.config.ApiMetricsCollector;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,20 +17,28 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /**
  * Controller fuer API-Nutzungsmetriken und Performance-Statistiken.
  *
  * <p>Liefert aggregierte Metriken zu allen verarbeiteten API-Anfragen:
  * Gesamtzaehler, Fehlerzaehler, durchschnittliche Antwortzeit,
- * Aufschluesselungen nach Endpunkt und Statuscode sowie Uptime.
+ * Aufschluesselungen nach Endpunkt und Statuscode sowie Uptime. Dazu
+ * Latenz-Perzentile pro Endpunkt ueber rollierende Zeitfenster, CPU-Zeit
+ * und Allokation pro Endpunkt sowie die Zeit pro Schicht.
  *
  * <p>Demonstriert Observability-Kompetenz: Self-Monitoring der API
  * als Grundlage fuer produktionsreifes Application Performance Monitoring.
  *
  * Endpunkte:
  *   GET    /api/metrics — Aktuelle API-Metriken abrufen
+ *   GET    /api/metrics/latency — Latenz-Perzentile pro Endpunkt (Fenster 1m, 5m, 15m)
+ *   GET    /api/metrics/cost — CPU-Zeit, Wartezeit und Allokation pro Endpunkt
+ *   GET    /api/metrics/layers — Eigenzeit pro Schicht und Endpunkt
  *   DELETE /api/metrics — Metriken zuruecksetzen
  */
 @RestController
@@ -57,6 +70,64 @@ public class MetricsController {
         return ResponseEntity.ok(metricsCollector.getMetrics());
     }
 
+    @GetMapping("/latency")
+    @Operation(
+            summary = "Latenz-Perzentile pro Endpunkt abrufen",
+            description = "Liefert p50, p90, p95, p99, Maximum und Durchsatz pro Routen-Template "
+                    + "und Statusklasse fuer die letzten 1, 5 oder 15 Minuten, absteigend nach p99. "
+                    + "Perzentile sind auf rund 3 % genau und werden nach oben gerundet."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Latenzen erfolgreich geladen",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = EndpointLatencyDto.class)))
+            ),
+            @ApiResponse(responseCode = "400", description = "Unbekanntes Zeitfenster")
+    })
+    public ResponseEntity<List<EndpointLatencyDto>> getLatency(
+            @Parameter(description = "Zeitfenster: 1m, 5m oder 15m", example = "5m")
+            @RequestParam(defaultValue = "5m") String window) {
+        return ResponseEntity.ok(metricsCollector.getLatency(window));
+    }
+
+    @GetMapping("/cost")
+    @Operation(
+            summary = "CPU-Zeit und Allokation pro Endpunkt abrufen",
+            description = "Liefert pro Routen-Template die durchschnittliche Antwortzeit, CPU-Zeit, "
+                    + "Wartezeit (Antwortzeit minus CPU: Datenbank, I/O, Locks, GC) und allozierte Bytes "
+                    + "seit dem Start bzw. letzten Reset, absteigend nach allozierten Bytes insgesamt. "
+                    + "Gestreamte Antworten zaehlen inklusive des Async-Threads."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Kosten erfolgreich geladen",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = EndpointCostDto.class)))
+            )
+    })
+    public ResponseEntity<List<EndpointCostDto>> getCost() {
+        return ResponseEntity.ok(metricsCollector.getCost());
+    }
+
+    @GetMapping("/layers")
+    @Operation(
+            summary = "Zeit pro Schicht und Endpunkt abrufen",
+            description = "Liefert pro Routen-Template die durchschnittliche Eigenzeit von Controller, "
+                    + "Use Case, Repository, Mapper und Serialisierung sowie den Rest der Antwortzeit, "
+                    + "absteigend nach Antwortzeit. Leer, solange app.metrics.layer-timing nicht aktiv ist."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Schicht-Zeiten erfolgreich geladen",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = EndpointLayersDto.class)))
+            )
+    })
+    public ResponseEntity<List<EndpointLayersDto>> getLayers() {
+        return ResponseEntity.ok(metricsCollector.getLayers());
+    }
+
     @DeleteMapping
     @Operation(
             summary = "Metriken zuruecksetzen",
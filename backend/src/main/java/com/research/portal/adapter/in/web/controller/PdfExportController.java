@@ -4,7 +4,9 @@ import com.research.portal.adapter.in.web.dto.ErrorResponse;
 import com.research.portal.adapter.in.web.dto.ReportDto;
 import com.research.portal.adapter.in.web.mapper.ReportApiMapper;
 import com.research.portal.application.exception.ResourceNotFoundException;
-import com.research.portal.application.service.PdfExportService;
+import com.research.portal.application.export.PdfBundleService;
+import com.research.portal.application.export.RenderedPdfCache;
+import com.research.portal.application.export.RenderedPdfCache.RenderedPdf;
 import com.research.portal.domain.port.in.GetReportsUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,27 +17,39 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 /**
- * REST-Controller für den PDF-Export einzelner Research Reports.
+ * REST-Controller für den PDF-Export von Research Reports.
  *
  * <p>Endpunkte:
  * <ul>
  *   <li>{@code GET /api/export/reports/{id}/pdf} — Einzelner Report als PDF</li>
+ *   <li>{@code GET /api/export/reports/bundle} — Sammelexport (ZIP oder ein PDF mit Inhaltsverzeichnis)</li>
  * </ul>
  *
  * <p>Liefert die PDF-Datei als Attachment (Content-Disposition: attachment).
- * Bei unbekannter Report-ID wird HTTP 404 zurückgegeben.
+ * Bei unbekannter Report-ID wird HTTP 404 zurückgegeben. Einzel-PDFs werden
+ * gecacht und mit starkem ETag ausgeliefert; {@code If-None-Match} wird ohne
+ * Datenbankzugriff mit 304 beantwortet.
  */
 @RestController
 @RequestMapping("/api/export")
@@ -48,14 +62,17 @@ public class PdfExportController {
 
     private final GetReportsUseCase getReports;
     private final ReportApiMapper reportMapper;
-    private final PdfExportService pdfExportService;
+    private final RenderedPdfCache pdfCache;
+    private final PdfBundleService pdfBundleService;
 
     public PdfExportController(GetReportsUseCase getReports,
                                ReportApiMapper reportMapper,
-                               PdfExportService pdfExportService) {
+                               RenderedPdfCache pdfCache,
+                               PdfBundleService pdfBundleService) {
         this.getReports = getReports;
         this.reportMapper = reportMapper;
-        this.pdfExportService = pdfExportService;
+        this.pdfCache = pdfCache;
+        this.pdfBundleService = pdfBundleService;
     }
 
     /**
@@ -65,8 +82,13 @@ public class PdfExportController {
      * die Executive Summary sowie Katalysatoren und Risiken als Bullet-Listen.
      * Das Rating wird farblich hervorgehoben (BUY=Grün, SELL=Rot, HOLD=Grau).
      *
-     * @param id die eindeutige ID des Reports
-     * @return PDF-Datei als Download (application/pdf)
+     * <p>Das gerenderte PDF wird bis zur nächsten Änderung des Reports gecacht.
+     * Stimmt {@code If-None-Match} mit dem ETag überein, antwortet der Endpunkt
+     * mit 304, ohne Datenbank oder Renderer zu berühren.
+     *
+     * @param id      die eindeutige ID des Reports
+     * @param request für die Auswertung von {@code If-None-Match}
+     * @return PDF-Datei als Download (application/pdf) oder 304
      * @throws ResourceNotFoundException wenn kein Report mit dieser ID existiert
      */
     @GetMapping("/reports/{id}/pdf")
@@ -75,7 +97,8 @@ public class PdfExportController {
             description = "Exportiert einen einzelnen Research Report als PDF-Datei. "
                     + "Das Dokument enthält Header, Meta-Daten-Tabelle mit farbig hervorgehobenem Rating, "
                     + "Executive Summary sowie Katalysatoren und Risiken als Bullet-Listen. "
-                    + "Farbcodierung: BUY=Grün, SELL=Rot, HOLD=Grau."
+                    + "Farbcodierung: BUY=Grün, SELL=Rot, HOLD=Grau. "
+                    + "Antwortet mit ETag; bei passendem If-None-Match mit 304."
     )
     @ApiResponses({
             @ApiResponse(
@@ -83,6 +106,10 @@ public class PdfExportController {
                     description = "PDF-Datei erfolgreich erstellt",
                     content = @Content(mediaType = "application/pdf")
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "PDF unverändert (If-None-Match)"
+            ),
             @ApiResponse(
                     responseCode = "404",
                     description = "Report nicht gefunden",
@@ -91,23 +118,135 @@ public class PdfExportController {
     })
     public ResponseEntity<byte[]> exportReportPdf(
             @Parameter(description = "Eindeutige Report-ID", example = "1")
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
 
-        ReportDto report = getReports.getReportById(id)
-                .map(reportMapper::toDto)
-                .orElseThrow(() -> new ResourceNotFoundException("Report", id));
+        Optional<String> cachedETag = pdfCache.etag(id);
+        if (cachedETag.isPresent() && request.checkNotModified(cachedETag.get())) {
+            // checkNotModified hat Status 304 und ETag bereits gesetzt
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .build();
+        }
 
-        byte[] pdfBytes = pdfExportService.exportReportPdf(report);
+        RenderedPdf pdf = pdfCache.getOrRender(id, () -> getReports.getReportById(id)
+                .map(reportMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Report", id)));
 
         String filename = buildFilename(id);
-        log.info("PDF-Export abgeschlossen fuer Report ID {}: {} Bytes", id, pdfBytes.length);
+        log.info("PDF-Export abgeschlossen fuer Report ID {}: {} Bytes", id, pdf.content().length);
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_PDF)
+                .eTag(pdf.etag())
                 .header(HttpHeaders.CONTENT_DISPOSITION,
                         "attachment; filename=\"" + filename + "\"")
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(pdf.content());
+    }
+
+    /**
+     * Exportiert mehrere Research Reports in einem Download, z.B. alle Reports
+     * einer Wertschrift oder eines Quartals.
+     *
+     * <p>Die PDFs werden parallel gerendert und in Publikationsreihenfolge
+     * geschrieben. {@code format=zip} liefert ein ZIP mit einem PDF pro Report,
+     * {@code format=pdf} ein zusammengefuehrtes PDF mit Inhaltsverzeichnis.
+     *
+     * @param securityId optional: nur Reports dieser Wertschrift
+     * @param from       optional: publiziert ab diesem Datum (inklusive)
+     * @param to         optional: publiziert bis zu diesem Datum (inklusive)
+     * @param format     {@code zip} (Standard) oder {@code pdf}
+     * @return ZIP- bzw. PDF-Datei als gestreamter Download
+     */
+    @GetMapping("/reports/bundle")
+    @Operation(
+            summary = "Mehrere Research Reports als PDF-Sammlung exportieren",
+            description = "Exportiert alle Reports einer Wertschrift und/oder eines Zeitraums. "
+                    + "format=zip liefert ein ZIP mit einem PDF pro Report, format=pdf ein "
+                    + "zusammengeführtes PDF mit Inhaltsverzeichnis und Lesezeichen. "
+                    + "Mindestens ein Filter ist erforderlich. Die Antwort wird gestreamt."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sammlung wird gestreamt"),
+            @ApiResponse(responseCode = "400", description = "Kein Filter, ungültiger Zeitraum, "
+                    + "ungültiges Format oder zu viele Reports",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Keine Reports für die Auswahl gefunden",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportReportBundle(
+            @Parameter(description = "Wertschrift-ID", example = "1")
+            @RequestParam(required = false) Long securityId,
+            @Parameter(description = "Publiziert ab (ISO-Datum)", example = "2026-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Publiziert bis (ISO-Datum)", example = "2026-03-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "zip oder pdf", example = "zip")
+            @RequestParam(defaultValue = "zip") String format) {
+
+        String bundleFormat = format.trim().toLowerCase(Locale.ROOT);
+        if (!bundleFormat.equals("zip") && !bundleFormat.equals("pdf")) {
+            throw new IllegalArgumentException("Ungültiges Format: " + format + " (erlaubt: zip, pdf)");
+        }
+        if (securityId == null && from == null && to == null) {
+            throw new IllegalArgumentException("Mindestens einer der Filter securityId, from oder to ist erforderlich");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from darf nicht nach to liegen");
+        }
+
+        List<ReportDto> reports = selectReports(securityId, from, to);
+        if (reports.isEmpty()) {
+            throw new ResourceNotFoundException("Reports", "Filter", describeFilter(securityId, from, to));
+        }
+        if (reports.size() > pdfBundleService.getMaxReports()) {
+            throw new IllegalArgumentException("Zu viele Reports für einen Sammelexport (maximal "
+                    + pdfBundleService.getMaxReports() + ")");
+        }
+
+        String date = LocalDate.now().format(FILE_DATE_FORMAT);
+        String title = "Research Reports (" + describeFilter(securityId, from, to) + ")";
+        StreamingResponseBody body = bundleFormat.equals("zip")
+                ? out -> pdfBundleService.writeZip(reports, out)
+                : out -> pdfBundleService.writeMerged(reports, title, out);
+
+        return ResponseEntity.ok()
+                .contentType(bundleFormat.equals("zip")
+                        ? MediaType.parseMediaType("application/zip")
+                        : MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"research-reports-" + date + "." + bundleFormat + "\"")
                 .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
-                .body(pdfBytes);
+                .body(body);
+    }
+
+    /**
+     * Laedt die Auswahl sortiert aus der Datenbank, hoechstens einen Report
+     * mehr als erlaubt, damit eine zu grosse Auswahl erkannt wird, ohne sie
+     * ganz zu laden.
+     */
+    private List<ReportDto> selectReports(Long securityId, LocalDate from, LocalDate to) {
+        return getReports.getReportsPublishedBetween(securityId,
+                        from != null ? from.atStartOfDay() : null,
+                        to != null ? to.plusDays(1).atStartOfDay() : null,
+                        pdfBundleService.getMaxReports() + 1).stream()
+                .map(reportMapper::toDto)
+                .toList();
+    }
+
+    private static String describeFilter(Long securityId, LocalDate from, LocalDate to) {
+        StringBuilder sb = new StringBuilder();
+        if (securityId != null) {
+            sb.append("Security #").append(securityId);
+        }
+        if (from != null || to != null) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            sb.append(from != null ? from : "…").append(" – ").append(to != null ? to : "…");
+        }
+        return sb.toString();
     }
 
     private String buildFilename(Long reportId) {
@@ -108,8 +108,8 @@ public class RateLimitController {
 
     /**
      * Gibt Statistiken ueber das Rate-Limiting zurueck.
-     * Zeigt die Gesamtanzahl blockierter Requests, aktive Clients
-     * und Blockierungen pro Kategorie.
+     * Zeigt die Gesamtanzahl blockierter Requests, aktive und wegen
+     * voller Kapazitaet verdraengte Clients und Blockierungen pro Kategorie.
      *
      * @return Rate-Limiting-Statistiken
      */
@@ -117,7 +117,7 @@ public class RateLimitController {
     @Operation(
             summary = "Rate-Limit-Statistiken abrufen",
             description = "Gibt Statistiken ueber das Rate-Limiting zurueck: "
-                    + "Gesamtanzahl blockierter Requests, aktive Clients "
+                    + "Gesamtanzahl blockierter Requests, aktive und verdraengte Clients "
                     + "und Blockierungen pro Kategorie."
     )
     @ApiResponses({
@@ -137,6 +137,7 @@ public class RateLimitController {
         RateLimitStatsDto dto = new RateLimitStatsDto(
                 (long) stats.get("totalBlocked"),
                 (int) stats.get("activeClients"),
+                ((Number) stats.getOrDefault("evictedClients", 0L)).longValue(),
                 blockedByCategory
         );
 
@@ -2,9 +2,11 @@ package com.research.portal.adapter.in.web.controller;
 
 import com.research.portal.adapter.in.web.dto.CreateReportRequest;
 import com.research.portal.adapter.in.web.dto.ErrorResponse;
+import com.research.portal.adapter.in.web.dto.PageResponseDto;
 import com.research.portal.adapter.in.web.dto.ReportDto;
 import com.research.portal.adapter.in.web.mapper.ReportApiMapper;
 import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.port.in.GetReportsUseCase;
 import com.research.portal.domain.port.in.ManageReportUseCase;
 import io.swagger.v3.oas.annotations.Operation;
@@ -56,6 +58,32 @@ public class ReportController {
                 .toList();
     }
 
+    @GetMapping("/page")
+    @Operation(
+            summary = "Reports seitenweise abrufen",
+            description = "Liefert Research Reports seitenweise mit Keyset-Pagination. "
+                    + "Die nächste Seite wird mit dem zurückgegebenen nextCursor abgerufen; "
+                    + "die Reihenfolge bleibt auch bei gleichzeitigen Änderungen stabil. "
+                    + "Sortierbar nach: publishedAt, title, id."
+    )
+    @ApiResponse(responseCode = "200", description = "Seite erfolgreich geladen")
+    @ApiResponse(responseCode = "400", description = "Ungültige Sortierung oder ungültiger Cursor",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public PageResponseDto<ReportDto> getReportsPage(
+            @Parameter(description = "Seitengrösse (1 bis 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Sortierung als feld,richtung", example = "publishedAt,desc")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Fortsetzungs-Token aus nextCursor der vorherigen Seite")
+            @RequestParam(required = false) String cursor) {
+        PageQuery query = new PageQuery(limit, sort, cursor);
+        var page = getReports.getReportsPage(query);
+        List<ReportDto> items = page.items().stream()
+                .map(mapper::toDto)
+                .toList();
+        return new PageResponseDto<>(items, page.nextCursor(), query.limit());
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Report nach ID abrufen",
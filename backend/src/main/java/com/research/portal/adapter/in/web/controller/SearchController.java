@@ -2,6 +2,7 @@ package com.research.portal.adapter.in.web.controller;
 
 import com.research.portal.adapter.in.web.dto.ErrorResponse;
 import com.research.portal.adapter.in.web.dto.SearchResponseDto;
+import com.research.portal.adapter.in.web.dto.SuggestionDto;
 import com.research.portal.application.service.SearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,10 +14,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * REST-Controller fuer die globale Suche.
  * Ermoeglicht die gleichzeitige Suche ueber Reports, Analysten und Wertschriften
  * mit optionaler Typ-Filterung und konfigurierbarem Limit.
+ * Zusaetzlich liefert {@code /api/search/suggest} schnelle Autocomplete-Vorschlaege.
  */
 @RestController
 @RequestMapping("/api/search")
@@ -68,4 +72,38 @@ public class SearchController {
         SearchResponseDto response = searchService.search(q, type, limit);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Autocomplete-Vorschlaege fuer Ticker, ISINs, Wertschrift- und Analysten-Namen.
+     *
+     * @param q     eingegebenes Praefix
+     * @param limit Maximale Anzahl Vorschlaege (Default: 10, Max: 10)
+     * @return Liste der Vorschlaege, bester zuerst
+     */
+    @GetMapping("/suggest")
+    @Operation(
+            summary = "Autocomplete-Vorschlaege",
+            description = "Liefert Praefix-Vervollstaendigungen fuer Ticker, ISINs, "
+                    + "Wertschrift-Namen und Analysten-Namen aus einem In-Memory-Index. "
+                    + "Unterliegt einem eigenen, hoeheren Rate-Limit (SUGGEST)."
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Vorschlaege erfolgreich geladen"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Fehlendes Praefix",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @Parameter(description = "Eingegebenes Praefix (case-insensitive)", example = "nes", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Maximale Anzahl Vorschlaege (1-10)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(searchService.suggest(q, limit));
+    }
 }
@@ -1,9 +1,11 @@
 package com.research.portal.adapter.in.web.controller;
 
 import com.research.portal.adapter.in.web.dto.ErrorResponse;
+import com.research.portal.adapter.in.web.dto.PageResponseDto;
 import com.research.portal.adapter.in.web.dto.SecurityDto;
 import com.research.portal.adapter.in.web.mapper.SecurityApiMapper;
 import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.port.in.GetSecuritiesUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -49,6 +51,32 @@ public class SecurityController {
                 .toList();
     }
 
+    @GetMapping("/page")
+    @Operation(
+            summary = "Wertschriften seitenweise abrufen",
+            description = "Liefert Wertschriften seitenweise mit Keyset-Pagination. "
+                    + "Die nächste Seite wird mit dem zurückgegebenen nextCursor abgerufen; "
+                    + "die Reihenfolge bleibt auch bei gleichzeitigen Änderungen stabil. "
+                    + "Sortierbar nach: ticker, name, id."
+    )
+    @ApiResponse(responseCode = "200", description = "Seite erfolgreich geladen")
+    @ApiResponse(responseCode = "400", description = "Ungültige Sortierung oder ungültiger Cursor",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    public PageResponseDto<SecurityDto> getSecuritiesPage(
+            @Parameter(description = "Seitengrösse (1 bis 100)", example = "20")
+            @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Sortierung als feld,richtung", example = "ticker,asc")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Fortsetzungs-Token aus nextCursor der vorherigen Seite")
+            @RequestParam(required = false) String cursor) {
+        PageQuery query = new PageQuery(limit, sort, cursor);
+        var page = getSecurities.getSecuritiesPage(query);
+        List<SecurityDto> items = page.items().stream()
+                .map(mapper::toDto)
+                .toList();
+        return new PageResponseDto<>(items, page.nextCursor(), query.limit());
+    }
+
     @GetMapping("/{id}")
     @Operation(
             summary = "Wertschrift nach ID abrufen",
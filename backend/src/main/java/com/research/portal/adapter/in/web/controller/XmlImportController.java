@@ -1,12 +1,17 @@
 package com.research.portal.adapter.in.web.controller;
 
+import com.research.portal.adapter.in.web.dto.ImportPipelineStatsDto;
 import com.research.portal.adapter.in.web.dto.ReportDto;
 import com.research.portal.adapter.in.web.dto.XmlImportResponse;
 import com.research.portal.adapter.in.web.dto.XmlValidationResponse;
 import com.research.portal.adapter.in.web.mapper.ReportApiMapper;
+import com.research.portal.application.service.ImportPipelineStats;
+import com.research.portal.application.service.XmlImportPipeline;
 import com.research.portal.application.service.XmlReportParserService;
-import com.research.portal.domain.model.ResearchReport;
+import com.research.portal.application.service.XmlValidationResult;
+import com.research.portal.domain.model.BulkImportResult;
 import com.research.portal.domain.port.in.ManageReportUseCase;
+import com.research.portal.domain.port.in.ReportBulkImport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
@@ -19,20 +24,24 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 /**
  * REST-Controller für den XML-Import von Research Reports.
  *
  * Bietet Endpunkte zum Importieren, Validieren und Anzeigen
  * von Reports im XML-Format. Verwendet intern den
- * {@link XmlReportParserService} mit XPath-basiertem Parsing.
+ * {@link XmlReportParserService}; der Import liest die Datei per StAX.
  *
  * Endpunkte:
  * <ul>
  *   <li>{@code POST /api/import/xml} - Importiert Reports aus hochgeladenem XML</li>
  *   <li>{@code GET /api/import/sample} - Gibt die Beispiel-XML zurück</li>
  *   <li>{@code POST /api/import/xml/validate} - Validiert XML gegen XSD</li>
+ *   <li>{@code GET /api/import/pipeline} - Kennzahlen paralleler Importe</li>
+ *   <li>{@code DELETE /api/import/pipeline/{id}} - Bricht einen parallelen Import ab</li>
  * </ul>
  */
 @RestController
@@ -41,16 +50,19 @@ public class XmlImportController {
 
     private static final Logger log = LoggerFactory.getLogger(XmlImportController.class);
     private static final String SAMPLE_XML_PATH = "sample-reports/research-reports.xml";
-    private static final String SCHEMA_XSD_PATH = "sample-reports/research-report.xsd";
+    private static final int MAX_LISTED_REPORTS = 100;
 
     private final XmlReportParserService xmlParserService;
+    private final XmlImportPipeline importPipeline;
     private final ManageReportUseCase manageReport;
     private final ReportApiMapper reportMapper;
 
     public XmlImportController(XmlReportParserService xmlParserService,
+                               XmlImportPipeline importPipeline,
                                ManageReportUseCase manageReport,
                                ReportApiMapper reportMapper) {
         this.xmlParserService = xmlParserService;
+        this.importPipeline = importPipeline;
         this.manageReport = manageReport;
         this.reportMapper = reportMapper;
     }
@@ -58,56 +70,149 @@ public class XmlImportController {
     /**
      * Importiert Research Reports aus einer hochgeladenen XML-Datei.
      *
-     * Die XML-Datei wird mittels XPath geparst und die enthaltenen Reports
-     * werden in der Datenbank gespeichert. Optional kann ein Ticker-Filter
-     * angegeben werden, um nur bestimmte Wertschriften zu importieren.
+     * Die XML-Datei wird per StAX gelesen; die Reports werden während des
+     * Lesens gesammelt und in Batches zu je einer Transaktion gespeichert
+     * ({@code app.import.batch-size}). Optional kann ein Ticker-Filter
+     * angegeben werden, um nur Reports für diese Wertschrift zu importieren.
+     *
+     * Grosse Dateien (ab {@code app.import.parallel-threshold-mb}) oder
+     * {@code parallel=true} laufen über die parallele {@link XmlImportPipeline};
+     * deren Kennzahlen stehen dann unter {@code pipeline}. Die Reihenfolge der
+     * gespeicherten Reports entspricht in diesem Modus nicht der Datei.
+     *
+     * Fehlerhafte Reports werden einzeln unter {@code failures} gemeldet, die
+     * übrigen trotzdem gespeichert. Bricht das Parsen mitten in der Datei ab,
+     * bleiben die bis dahin gelesenen Reports gespeichert; die Antwort nennt
+     * ihre Anzahl. Die Liste {@code reports} enthält höchstens die ersten
+     * {@value #MAX_LISTED_REPORTS} importierten Reports.
+     *
+     * Mit {@code validate=true} wird die Datei im selben Durchgang gegen das
+     * XSD-Schema geprüft, statt sie vorher separat über {@code /xml/validate}
+     * zu lesen. Reports mit Schemaverletzungen erscheinen unter {@code failures};
+     * Verletzungen ausserhalb eines Reports führen zu 400.
+     *
+     * Mit {@code incremental=true} erzeugt ein erneut hochgeladener Feed keine
+     * Duplikate: Reports werden über Wertschrift, Analyst, Typ und
+     * Publikationszeitpunkt wiedererkannt, Reports ohne Zeitpunkt über den
+     * Titel; ändert sich bei ihnen der Titel, wird ein neuer Report eingefügt.
+     * Unveränderte Reports (gleicher Inhalts-Hash) werden übersprungen
+     * ({@code unchangedCount}), geänderte aktualisiert ({@code updatedCount})
+     * und nur neue eingefügt.
      *
      * @param file die hochgeladene XML-Datei (multipart/form-data)
      * @param ticker optionaler Filter: nur Reports für diesen Ticker importieren
-     * @return Importergebnis mit Anzahl und Liste der importierten Reports
+     * @param parallel optional: parallele Pipeline erzwingen (true) oder abschalten (false)
+     * @param validate optional: während des Imports gegen das XSD-Schema validieren
+     * @param incremental optional: bestehende Reports abgleichen statt neu einfügen
+     * @return Importergebnis mit Anzahl, importierten und fehlerhaften Reports
      */
     @PostMapping(value = "/xml", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<XmlImportResponse> importFromXml(
             @RequestParam("file") MultipartFile file,
-            @RequestParam(value = "ticker", required = false) String ticker) {
+            @RequestParam(value = "ticker", required = false) String ticker,
+            @RequestParam(value = "parallel", required = false) Boolean parallel,
+            @RequestParam(value = "validate", defaultValue = "false") boolean validate,
+            @RequestParam(value = "incremental", defaultValue = "false") boolean incremental) {
 
-        try {
-            List<ResearchReport> parsedReports;
+        String tickerFilter = ticker != null && !ticker.isBlank() ? ticker : null;
+        List<ReportDto> savedReports = new ArrayList<>();
+        ReportBulkImport bulkImport = manageReport.startBulkImport(report -> {
+            if (savedReports.size() < MAX_LISTED_REPORTS) {
+                savedReports.add(reportMapper.toDto(report));
+            }
+        }, incremental);
+
+        boolean usePipeline = parallel != null ? parallel : importPipeline.isWorthwhile(file.getSize());
+        ImportPipelineStats pipelineStats = null;
 
-            if (ticker != null && !ticker.isBlank()) {
-                parsedReports = xmlParserService
-                        .parseReportByTicker(file.getInputStream(), ticker)
-                        .map(List::of)
-                        .orElse(List.of());
+        try (InputStream xml = file.getInputStream()) {
+            if (usePipeline) {
+                pipelineStats = importPipeline.run(xml, tickerFilter, validate, bulkImport);
             } else {
-                parsedReports = xmlParserService.parseReportsFromXml(file.getInputStream());
+                importPipeline.runSequential(xml, tickerFilter, validate, bulkImport);
             }
+            BulkImportResult result = bulkImport.finish();
 
-            // Reports in der Datenbank speichern
-            List<ReportDto> savedReports = parsedReports.stream()
-                    .map(manageReport::createReport)
-                    .map(reportMapper::toDto)
-                    .toList();
-
-            String statusMsg = String.format(
-                    "%d Report(s) erfolgreich importiert", savedReports.size());
+            String statusMsg = incremental
+                    ? String.format("%d Report(s) neu, %d aktualisiert, %d unverändert",
+                            result.insertedCount(), result.updatedCount(), result.unchangedCount())
+                    : String.format("%d Report(s) erfolgreich importiert", result.importedCount());
+            if (result.hasFailures()) {
+                statusMsg += String.format(", %d fehlerhaft", result.failures().size());
+            }
 
             log.info("XML-Import abgeschlossen: {}", statusMsg);
 
-            return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(new XmlImportResponse(savedReports.size(), statusMsg, savedReports));
+            XmlImportResponse body = response(result, statusMsg, savedReports);
+            if (pipelineStats != null) {
+                body.setPipeline(toDto(pipelineStats));
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(body);
 
+        } catch (CancellationException e) {
+            BulkImportResult result = bulkImport.finish();
+            log.warn("XML-Import abgebrochen nach {} Reports", result.importedCount());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(response(result, "Import abgebrochen", savedReports));
         } catch (XmlReportParserService.XmlParseException e) {
-            log.error("XML-Parse-Fehler beim Import", e);
+            BulkImportResult result = bulkImport.finish();
+            log.error("XML-Parse-Fehler beim Import nach {} Reports", result.importedCount(), e);
             return ResponseEntity.badRequest()
-                    .body(new XmlImportResponse(0, "XML-Parse-Fehler: " + e.getMessage(), List.of()));
+                    .body(response(result, "XML-Parse-Fehler: " + e.getMessage(), savedReports));
         } catch (IOException e) {
             log.error("I/O-Fehler beim XML-Import", e);
+            BulkImportResult result = bulkImport.finish();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new XmlImportResponse(0, "Datei konnte nicht gelesen werden", List.of()));
+                    .body(response(result, "Datei konnte nicht gelesen werden", savedReports));
         }
     }
 
+    private static XmlImportResponse response(BulkImportResult result, String status,
+                                              List<ReportDto> savedReports) {
+        XmlImportResponse response = new XmlImportResponse(result.importedCount(), status, savedReports);
+        response.setUpdatedCount(result.updatedCount());
+        response.setUnchangedCount(result.unchangedCount());
+        response.setFailures(result.failures().stream()
+                .map(f -> new XmlImportResponse.FailedReport(f.position(), f.title(), f.reason()))
+                .toList());
+        return response;
+    }
+
+    /**
+     * Liefert die Kennzahlen der laufenden und der zuletzt beendeten parallelen
+     * Importe: Durchsatz und Queue-Tiefe pro Stufe.
+     *
+     * @return Kennzahlen, neueste zuerst
+     */
+    @GetMapping("/pipeline")
+    public ResponseEntity<List<ImportPipelineStatsDto>> getPipelineStats() {
+        return ResponseEntity.ok(importPipeline.stats().stream()
+                .map(XmlImportController::toDto)
+                .toList());
+    }
+
+    /**
+     * Bricht einen laufenden parallelen Import ab. Bereits gespeicherte
+     * Batches bleiben erhalten; der Import-Request antwortet mit 409.
+     *
+     * @param id ID des Imports aus {@code GET /api/import/pipeline}
+     * @return 204 oder 404, wenn kein Import mit dieser ID läuft
+     */
+    @DeleteMapping("/pipeline/{id}")
+    public ResponseEntity<Void> cancelPipeline(@PathVariable long id) {
+        importPipeline.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ImportPipelineStatsDto toDto(ImportPipelineStats stats) {
+        return new ImportPipelineStatsDto(stats.id(), stats.state(), stats.elapsedMs(),
+                stats.stages().stream()
+                        .map(stage -> new ImportPipelineStatsDto.StageDto(stage.name(), stage.threads(),
+                                stage.items(), stage.itemsPerSecond(), stage.queueDepth(),
+                                stage.maxQueueDepth(), stage.queueCapacity()))
+                        .toList());
+    }
+
     /**
      * Gibt die mitgelieferte Beispiel-XML-Datei zurück.
      *
@@ -134,30 +239,23 @@ public class XmlImportController {
      *
      * Prüft ob die Struktur und Datentypen des XML dem erwarteten
      * Research-Report-Schema entsprechen, ohne einen Import durchzuführen.
+     * Das Schema ist einmal kompiliert und wird für alle Requests geteilt.
      *
      * @param file die zu validierende XML-Datei
-     * @return Validierungsergebnis mit Status und Nachricht
+     * @return Validierungsergebnis mit Status, Nachricht und Schemaverletzungen
      */
     @PostMapping(value = "/xml/validate", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<XmlValidationResponse> validateXml(
             @RequestParam("file") MultipartFile file) {
 
-        try {
-            ClassPathResource xsdResource = new ClassPathResource(SCHEMA_XSD_PATH);
-            InputStream xsdStream = xsdResource.getInputStream();
-            InputStream xmlStream = file.getInputStream();
+        try (InputStream xmlStream = file.getInputStream()) {
+            XmlValidationResult result = xmlParserService.validateXml(xmlStream);
 
-            boolean isValid = xmlParserService.validateXml(xmlStream, xsdStream);
-
-            if (isValid) {
-                return ResponseEntity.ok(
-                        new XmlValidationResponse(true,
-                                "XML ist valide und entspricht dem Schema"));
-            } else {
-                return ResponseEntity.ok(
-                        new XmlValidationResponse(false,
-                                "XML entspricht nicht dem erwarteten Schema"));
-            }
+            XmlValidationResponse response = result.valid()
+                    ? new XmlValidationResponse(true, "XML ist valide und entspricht dem Schema")
+                    : new XmlValidationResponse(false, "XML entspricht nicht dem erwarteten Schema");
+            response.setErrors(result.errors());
+            return ResponseEntity.ok(response);
 
         } catch (IOException e) {
             log.error("Fehler bei XML-Validierung", e);
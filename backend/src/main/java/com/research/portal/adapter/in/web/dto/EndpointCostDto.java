@@ -0,0 +1,80 @@
+package com.research.portal.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO fuer CPU-Zeit und allozierten Speicher eines Endpunkts seit dem Start bzw. letzten Reset.
+ * Wird von GET /api/metrics/cost zurueckgegeben.
+ */
+@Schema(description = "CPU-Zeit, Allokation und Wartezeit eines Endpunkts pro Request")
+public class EndpointCostDto {
+
+    @Schema(description = "HTTP-Methode und Routen-Template", example = "GET /api/export/reports/excel")
+    private final String endpoint;
+
+    @Schema(description = "Anzahl gemessener Anfragen", example = "42")
+    private final long requests;
+
+    @Schema(description = "Durchschnittliche Antwortzeit (Wanduhr) in Millisekunden", example = "812.4")
+    private final double avgDurationMs;
+
+    @Schema(description = "Durchschnittliche CPU-Zeit in Millisekunden", example = "604.9")
+    private final double avgCpuMs;
+
+    @Schema(description = "Durchschnittliche Wartezeit (Antwortzeit minus CPU: Datenbank, I/O, Locks, GC) "
+            + "in Millisekunden", example = "207.5")
+    private final double avgWaitMs;
+
+    @Schema(description = "Durchschnittlich allozierte Bytes", example = "187432960")
+    private final long avgAllocatedBytes;
+
+    @Schema(description = "CPU-Zeit aller Anfragen in Millisekunden", example = "25405.8")
+    private final double totalCpuMs;
+
+    @Schema(description = "Allozierte Bytes aller Anfragen", example = "7872184320")
+    private final long totalAllocatedBytes;
+
+    public EndpointCostDto(String endpoint, long requests, double avgDurationMs, double avgCpuMs,
+                           double avgWaitMs, long avgAllocatedBytes, double totalCpuMs, long totalAllocatedBytes) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.avgDurationMs = avgDurationMs;
+        this.avgCpuMs = avgCpuMs;
+        this.avgWaitMs = avgWaitMs;
+        this.avgAllocatedBytes = avgAllocatedBytes;
+        this.totalCpuMs = totalCpuMs;
+        this.totalAllocatedBytes = totalAllocatedBytes;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public double getAvgDurationMs() {
+        return avgDurationMs;
+    }
+
+    public double getAvgCpuMs() {
+        return avgCpuMs;
+    }
+
+    public double getAvgWaitMs() {
+        return avgWaitMs;
+    }
+
+    public long getAvgAllocatedBytes() {
+        return avgAllocatedBytes;
+    }
+
+    public double getTotalCpuMs() {
+        return totalCpuMs;
+    }
+
+    public long getTotalAllocatedBytes() {
+        return totalAllocatedBytes;
+    }
+}
@@ -0,0 +1,104 @@
+package com.research.portal.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO fuer die Latenzverteilung eines Endpunkts und einer Statusklasse in einem Zeitfenster.
+ * Wird von GET /api/metrics/latency zurueckgegeben.
+ */
+@Schema(description = "Latenz-Perzentile und Durchsatz eines Endpunkts pro Statusklasse")
+public class EndpointLatencyDto {
+
+    @Schema(description = "HTTP-Methode und Routen-Template", example = "GET /api/reports/{id}")
+    private final String endpoint;
+
+    @Schema(description = "Statusklasse der Responses", example = "2xx")
+    private final String statusClass;
+
+    @Schema(description = "Zeitfenster", example = "5m")
+    private final String window;
+
+    @Schema(description = "Anzahl Anfragen im Zeitfenster", example = "1240")
+    private final long count;
+
+    @Schema(description = "Anfragen pro Sekunde im Zeitfenster", example = "4.13")
+    private final double throughputPerSecond;
+
+    @Schema(description = "Median der Antwortzeit in Millisekunden", example = "12.3")
+    private final double p50Ms;
+
+    @Schema(description = "90. Perzentil der Antwortzeit in Millisekunden", example = "31.7")
+    private final double p90Ms;
+
+    @Schema(description = "95. Perzentil der Antwortzeit in Millisekunden", example = "48.1")
+    private final double p95Ms;
+
+    @Schema(description = "99. Perzentil der Antwortzeit in Millisekunden", example = "112.6")
+    private final double p99Ms;
+
+    @Schema(description = "Maximale Antwortzeit in Millisekunden", example = "640.2")
+    private final double maxMs;
+
+    @Schema(description = "Durchschnittliche Antwortzeit in Millisekunden", example = "17.9")
+    private final double meanMs;
+
+    public EndpointLatencyDto(String endpoint, String statusClass, String window, long count,
+                              double throughputPerSecond, double p50Ms, double p90Ms, double p95Ms,
+                              double p99Ms, double maxMs, double meanMs) {
+        this.endpoint = endpoint;
+        this.statusClass = statusClass;
+        this.window = window;
+        this.count = count;
+        this.throughputPerSecond = throughputPerSecond;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+        this.maxMs = maxMs;
+        this.meanMs = meanMs;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public String getStatusClass() {
+        return statusClass;
+    }
+
+    public String getWindow() {
+        return window;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public double getP90Ms() {
+        return p90Ms;
+    }
+
+    public double getP95Ms() {
+        return p95Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+}
@@ -0,0 +1,59 @@
+package com.research.portal.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * DTO fuer die Aufschluesselung der Antwortzeit eines Endpunkts nach Schichten
+ * seit dem Start bzw. letzten Reset. Wird von GET /api/metrics/layers zurueckgegeben.
+ */
+@Schema(description = "Durchschnittliche Eigenzeit pro Schicht eines Endpunkts pro Request")
+public class EndpointLayersDto {
+
+    @Schema(description = "HTTP-Methode und Routen-Template", example = "GET /api/reports")
+    private final String endpoint;
+
+    @Schema(description = "Anzahl Anfragen mit Schicht-Messung", example = "42")
+    private final long requests;
+
+    @Schema(description = "Durchschnittliche Antwortzeit in Millisekunden", example = "38.6")
+    private final double avgDurationMs;
+
+    @Schema(description = "Durchschnittliche Eigenzeit pro Schicht in Millisekunden "
+            + "(controller, usecase, repository, mapper, serialization)")
+    private final Map<String, Double> avgLayerMs;
+
+    @Schema(description = "Rest der Antwortzeit ausserhalb der Schichten (Filter, Interceptoren, Framework) "
+            + "in Millisekunden", example = "2.1")
+    private final double avgOtherMs;
+
+    public EndpointLayersDto(String endpoint, long requests, double avgDurationMs,
+                             Map<String, Double> avgLayerMs, double avgOtherMs) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.avgDurationMs = avgDurationMs;
+        this.avgLayerMs = avgLayerMs;
+        this.avgOtherMs = avgOtherMs;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public double getAvgDurationMs() {
+        return avgDurationMs;
+    }
+
+    public Map<String, Double> getAvgLayerMs() {
+        return avgLayerMs;
+    }
+
+    public double getAvgOtherMs() {
+        return avgOtherMs;
+    }
+}
@@ -0,0 +1,91 @@
+package com.research.portal.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Status eines asynchronen Export-Jobs")
+public class ExportJobDto {
+
+    @Schema(description = "Job-ID", example = "3f2b8c1e-7d4a-4c39-9b1e-2a6f0d9c5e17")
+    private String id;
+
+    @Schema(description = "Exportformat", example = "EXCEL")
+    private String format;
+
+    @Schema(description = "Report-ID bei PDF-Exporten", example = "1")
+    private Long reportId;
+
+    @Schema(description = "Status des Jobs", example = "RUNNING",
+            allowableValues = {"QUEUED", "RUNNING", "COMPLETED", "FAILED"})
+    private String status;
+
+    @Schema(description = "Bereits verarbeitete Einträge", example = "42000")
+    private long processed;
+
+    @Schema(description = "Gesamtzahl Einträge (-1 = noch unbekannt)", example = "100000")
+    private long total;
+
+    @Schema(description = "Fortschritt in Prozent (-1 = noch unbekannt)", example = "42")
+    private int progressPercent;
+
+    @Schema(description = "Ob das Ergebnis aus dem Spool-Cache stammt", example = "false")
+    private boolean cached;
+
+    @Schema(description = "Grösse der Ergebnisdatei in Bytes", example = "5242880")
+    private Long resultSize;
+
+    @Schema(description = "Fehlermeldung bei Status FAILED")
+    private String error;
+
+    @Schema(description = "Download-URL, sobald der Job abgeschlossen ist",
+            example = "/api/export/jobs/3f2b8c1e-7d4a-4c39-9b1e-2a6f0d9c5e17/download")
+    private String downloadUrl;
+
+    @Schema(description = "Zeitpunkt der Einreichung")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Zeitpunkt des Abschlusses")
+    private LocalDateTime finishedAt;
+
+    public ExportJobDto() {}
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public int getProgressPercent() { return progressPercent; }
+    public void setProgressPercent(int progressPercent) { this.progressPercent = progressPercent; }
+
+    public boolean isCached() { return cached; }
+    public void setCached(boolean cached) { this.cached = cached; }
+
+    public Long getResultSize() { return resultSize; }
+    public void setResultSize(Long resultSize) { this.resultSize = resultSize; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public String getDownloadUrl() { return downloadUrl; }
+    public void setDownloadUrl(String downloadUrl) { this.downloadUrl = downloadUrl; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+}
@@ -0,0 +1,24 @@
+package com.research.portal.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(description = "Anfrage zum Starten eines asynchronen Exports")
+public class ExportJobRequest {
+
+    @NotBlank(message = "format ist erforderlich")
+    @Schema(description = "Exportformat", example = "EXCEL", requiredMode = Schema.RequiredMode.REQUIRED,
+            allowableValues = {"CSV", "EXCEL", "PDF"})
+    private String format;
+
+    @Schema(description = "Report-ID (nur für PDF erforderlich)", example = "1")
+    private Long reportId;
+
+    public ExportJobRequest() {}
+
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+}
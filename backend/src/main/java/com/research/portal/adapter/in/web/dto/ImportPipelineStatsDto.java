@@ -0,0 +1,82 @@
+package com.research.portal.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO fuer die Kennzahlen eines parallelen XML-Imports.
+ * Wird von GET /api/import/pipeline und im Import-Ergebnis zurueckgegeben.
+ */
+@Schema(description = "Kennzahlen eines parallelen XML-Imports (parse -> map -> write)")
+public class ImportPipelineStatsDto {
+
+    @Schema(description = "ID des Imports", example = "3")
+    private final long id;
+
+    @Schema(description = "Status des Imports", example = "RUNNING",
+            allowableValues = {"RUNNING", "COMPLETED", "FAILED", "CANCELLED"})
+    private final String state;
+
+    @Schema(description = "Laufzeit in Millisekunden", example = "2840")
+    private final long elapsedMs;
+
+    @Schema(description = "Stufen in Verarbeitungsreihenfolge")
+    private final List<StageDto> stages;
+
+    public ImportPipelineStatsDto(long id, String state, long elapsedMs, List<StageDto> stages) {
+        this.id = id;
+        this.state = state;
+        this.elapsedMs = elapsedMs;
+        this.stages = stages;
+    }
+
+    public long getId() { return id; }
+    public String getState() { return state; }
+    public long getElapsedMs() { return elapsedMs; }
+    public List<StageDto> getStages() { return stages; }
+
+    @Schema(description = "Kennzahlen einer Pipeline-Stufe")
+    public static class StageDto {
+
+        @Schema(description = "Name der Stufe", example = "map", allowableValues = {"parse", "map", "write"})
+        private final String name;
+
+        @Schema(description = "Anzahl Threads", example = "6")
+        private final int threads;
+
+        @Schema(description = "Verarbeitete Reports", example = "42000")
+        private final long items;
+
+        @Schema(description = "Durchsatz in Reports pro Sekunde", example = "14800.5")
+        private final double itemsPerSecond;
+
+        @Schema(description = "Aktuelle Tiefe der Eingangs-Queue (fehlt bei der Parse-Stufe)", example = "12")
+        private final Integer queueDepth;
+
+        @Schema(description = "Höchste beobachtete Queue-Tiefe", example = "1000")
+        private final Integer maxQueueDepth;
+
+        @Schema(description = "Kapazität der Eingangs-Queue", example = "1000")
+        private final Integer queueCapacity;
+
+        public StageDto(String name, int threads, long items, double itemsPerSecond,
+                        Integer queueDepth, Integer maxQueueDepth, Integer queueCapacity) {
+            this.name = name;
+            this.threads = threads;
+            this.items = items;
+            this.itemsPerSecond = itemsPerSecond;
+            this.queueDepth = queueDepth;
+            this.maxQueueDepth = maxQueueDepth;
+            this.queueCapacity = queueCapacity;
+        }
+
+        public String getName() { return name; }
+        public int getThreads() { return threads; }
+        public long getItems() { return items; }
+        public double getItemsPerSecond() { return itemsPerSecond; }
+        public Integer getQueueDepth() { return queueDepth; }
+        public Integer getMaxQueueDepth() { return maxQueueDepth; }
+        public Integer getQueueCapacity() { return queueCapacity; }
+    }
+}
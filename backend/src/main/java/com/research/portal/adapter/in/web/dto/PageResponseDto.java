@@ -0,0 +1,50 @@
+package com.research.portal.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Eine Seite einer paginierten Liste (Keyset-Pagination).
+ * Die naechste Seite wird mit {@code cursor=<nextCursor>} abgerufen,
+ * solange {@code hasMore} true ist.
+ *
+ * @param <T> Typ der Eintraege
+ */
+@Schema(description = "Seite einer paginierten Liste mit Fortsetzungs-Token")
+public class PageResponseDto<T> {
+
+    @Schema(description = "Eintraege dieser Seite in stabiler Reihenfolge")
+    private List<T> items;
+
+    @Schema(description = "Undurchsichtiges Token fuer die naechste Seite (null auf der letzten Seite)",
+            example = "djF8cHVibGlzaGVkQXQsZGVzYztpZCxkZXNj...")
+    private String nextCursor;
+
+    @Schema(description = "Ob weitere Seiten existieren", example = "true")
+    private boolean hasMore;
+
+    @Schema(description = "Angewendete Seitengroesse", example = "20")
+    private int limit;
+
+    public PageResponseDto() {}
+
+    public PageResponseDto(List<T> items, String nextCursor, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.limit = limit;
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
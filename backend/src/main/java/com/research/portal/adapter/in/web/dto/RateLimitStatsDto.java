@@ -17,6 +17,11 @@ public class RateLimitStatsDto {
     @Schema(description = "Anzahl aktuell aktiver Clients", example = "5")
     private final int activeClients;
 
+    @Schema(description = "Requests neuer Clients, die mangels Platz das gemeinsame Ueberlauf-Kontingent nutzen "
+                    + "(steigt bei Anfragen von sehr vielen IPs)",
+            example = "0")
+    private final long evictedClients;
+
     @Schema(description = "Anzahl blockierter Requests pro Kategorie",
             example = "{\"READ\": 10, \"WRITE\": 25, \"SEARCH\": 7}")
     private final Map<String, Integer> blockedByCategory;
@@ -26,12 +31,14 @@ public class RateLimitStatsDto {
      *
      * @param totalBlocked     Gesamtanzahl blockierter Requests
      * @param activeClients    Anzahl aktuell aktiver Clients
+     * @param evictedClients   Requests neuer Clients im Ueberlauf-Kontingent
      * @param blockedByCategory Blockierungen pro Kategorie
      */
-    public RateLimitStatsDto(long totalBlocked, int activeClients,
+    public RateLimitStatsDto(long totalBlocked, int activeClients, long evictedClients,
                               Map<String, Integer> blockedByCategory) {
         this.totalBlocked = totalBlocked;
         this.activeClients = activeClients;
+        this.evictedClients = evictedClients;
         this.blockedByCategory = blockedByCategory;
     }
 
@@ -43,6 +50,10 @@ public class RateLimitStatsDto {
         return activeClients;
     }
 
+    public long getEvictedClients() {
+        return evictedClients;
+    }
+
     public Map<String, Integer> getBlockedByCategory() {
         return blockedByCategory;
     }
@@ -12,7 +12,7 @@ public class RateLimitStatusDto {
     @Schema(description = "IP-Adresse des Clients", example = "192.168.1.100")
     private final String clientIp;
 
-    @Schema(description = "Endpoint-Kategorie (READ, WRITE, SEARCH)", example = "READ")
+    @Schema(description = "Endpoint-Kategorie (READ, WRITE, SEARCH, SUGGEST)", example = "READ")
     private final String category;
 
     @Schema(description = "Verbleibende erlaubte Requests im aktuellen Zeitfenster", example = "87")
@@ -0,0 +1,46 @@
+package com.research.portal.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Einzelner Autocomplete-Vorschlag fuer das Suchfeld.
+ * Schlaegt Ticker, ISINs, Wertschrift-Namen und Analysten-Namen vor.
+ */
+@Schema(description = "Autocomplete-Vorschlag fuer das Suchfeld")
+public class SuggestionDto {
+
+    @Schema(description = "Typ des Vorschlags", example = "SECURITY",
+            allowableValues = {"SECURITY", "ANALYST"})
+    private String type;
+
+    @Schema(description = "ID der vorgeschlagenen Entitaet", example = "1")
+    private Long id;
+
+    @Schema(description = "Vorgeschlagener Wert (Ticker, ISIN oder Name)", example = "NESN")
+    private String value;
+
+    @Schema(description = "Zusatzinformation fuer die Anzeige (Name, Ticker oder Abteilung)",
+            example = "Nestlé SA")
+    private String label;
+
+    public SuggestionDto() {}
+
+    public SuggestionDto(String type, Long id, String value, String label) {
+        this.type = type;
+        this.id = id;
+        this.value = value;
+        this.label = label;
+    }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+}
@@ -5,14 +5,25 @@ import java.util.List;
 
 /**
  * Antwort-DTO für den XML-Import-Vorgang.
- * Enthält Statusinformationen und die importierten Reports.
+ * Enthält Statusinformationen, die importierten Reports, nicht
+ * importierte Reports mit Grund und bei parallelem Import die
+ * Kennzahlen der Pipeline. Beim inkrementellen Import zählt
+ * {@code importedCount} neue und aktualisierte Reports.
  */
 public class XmlImportResponse {
 
+    /** Ein nicht importierter Report: Position in der Datei (1-basiert), Titel, Grund. */
+    public record FailedReport(int position, String title, String reason) {
+    }
+
     private int importedCount;
+    private int updatedCount;
+    private int unchangedCount;
     private String status;
     private LocalDateTime timestamp;
     private List<ReportDto> reports;
+    private List<FailedReport> failures = List.of();
+    private ImportPipelineStatsDto pipeline;
 
     public XmlImportResponse() {
         this.timestamp = LocalDateTime.now();
@@ -28,6 +39,12 @@ public class XmlImportResponse {
     public int getImportedCount() { return importedCount; }
     public void setImportedCount(int importedCount) { this.importedCount = importedCount; }
 
+    public int getUpdatedCount() { return updatedCount; }
+    public void setUpdatedCount(int updatedCount) { this.updatedCount = updatedCount; }
+
+    public int getUnchangedCount() { return unchangedCount; }
+    public void setUnchangedCount(int unchangedCount) { this.unchangedCount = unchangedCount; }
+
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
@@ -36,4 +53,10 @@ public class XmlImportResponse {
 
     public List<ReportDto> getReports() { return reports; }
     public void setReports(List<ReportDto> reports) { this.reports = reports; }
+
+    public List<FailedReport> getFailures() { return failures; }
+    public void setFailures(List<FailedReport> failures) { this.failures = failures; }
+
+    public ImportPipelineStatsDto getPipeline() { return pipeline; }
+    public void setPipeline(ImportPipelineStatsDto pipeline) { this.pipeline = pipeline; }
 }
@@ -1,6 +1,7 @@
 package com.research.portal.adapter.in.web.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Antwort-DTO für die XML-Validierung.
@@ -10,6 +11,7 @@ public class XmlValidationResponse {
 
     private boolean valid;
     private String message;
+    private List<String> errors = List.of();
     private LocalDateTime timestamp;
 
     public XmlValidationResponse() {
@@ -28,6 +30,9 @@ public class XmlValidationResponse {
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
 
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
 }
@@ -3,15 +3,23 @@ package com.research.portal.adapter.out.persistence.adapter;
 import com.research.portal.adapter.out.persistence.mapper.AnalystPersistenceMapper;
 import com.research.portal.adapter.out.persistence.repository.JpaAnalystRepository;
 import com.research.portal.domain.model.Analyst;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.port.out.AnalystRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class AnalystPersistenceAdapter implements AnalystRepository {
 
+    private static final Set<String> SORT_FIELDS = Set.of("name", "id");
+    private static final Sort.Order DEFAULT_SORT = Sort.Order.asc("name");
+
     private final JpaAnalystRepository jpaRepository;
     private final AnalystPersistenceMapper mapper;
 
@@ -28,6 +36,14 @@ public class AnalystPersistenceAdapter implements AnalystRepository {
                 .toList();
     }
 
+    @Override
+    public CursorPage<Analyst> findPage(PageQuery query) {
+        Sort sort = KeysetPagination.parseSort(query.sort(), SORT_FIELDS, DEFAULT_SORT);
+        var window = jpaRepository.findBy(
+                KeysetPagination.decode(query.cursor(), sort), sort, Limit.of(query.limit()));
+        return KeysetPagination.toPage(window, sort, mapper::toDomain);
+    }
+
     @Override
     public Optional<Analyst> findById(Long id) {
         return jpaRepository.findById(id)
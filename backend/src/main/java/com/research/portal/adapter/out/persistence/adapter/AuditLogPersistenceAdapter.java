@@ -3,10 +3,15 @@ package com.research.portal.adapter.out.persistence.adapter;
 import com.research.portal.adapter.out.persistence.mapper.AuditLogPersistenceMapper;
 import com.research.portal.adapter.out.persistence.repository.JpaAuditLogRepository;
 import com.research.portal.domain.model.AuditLog;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.port.out.AuditLogRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Persistence-Adapter für den Audit-Trail.
@@ -18,6 +23,9 @@ import java.util.List;
 @Repository
 public class AuditLogPersistenceAdapter implements AuditLogRepository {
 
+    private static final Set<String> SORT_FIELDS = Set.of("timestamp", "id");
+    private static final Sort.Order DEFAULT_SORT = Sort.Order.desc("timestamp");
+
     private final JpaAuditLogRepository jpaRepository;
     private final AuditLogPersistenceMapper mapper;
 
@@ -36,12 +44,19 @@ public class AuditLogPersistenceAdapter implements AuditLogRepository {
 
     @Override
     public List<AuditLog> findRecentLogs(int limit) {
-        return jpaRepository.findAllByOrderByTimestampDesc().stream()
-                .limit(limit)
+        return jpaRepository.findAllByOrderByTimestampDescIdDesc(Limit.of(limit)).stream()
                 .map(mapper::toDomain)
                 .toList();
     }
 
+    @Override
+    public CursorPage<AuditLog> findPage(PageQuery query) {
+        Sort sort = KeysetPagination.parseSort(query.sort(), SORT_FIELDS, DEFAULT_SORT);
+        var window = jpaRepository.findBy(
+                KeysetPagination.decode(query.cursor(), sort), sort, Limit.of(query.limit()));
+        return KeysetPagination.toPage(window, sort, mapper::toDomain);
+    }
+
     @Override
     public List<AuditLog> findByEntityTypeAndEntityId(String entityType, Long entityId) {
         return jpaRepository
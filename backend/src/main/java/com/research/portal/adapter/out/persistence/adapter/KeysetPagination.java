@@ -0,0 +1,164 @@
+package com.research.portal.adapter.out.persistence.adapter;
+
+import com.research.portal.domain.model.CursorPage;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Hilfsfunktionen fuer Keyset-Pagination in den Persistence-Adaptern.
+ *
+ * <p>Die Sortierung wird immer um die ID ergaenzt, damit die Reihenfolge auch
+ * bei gleichen Sortierwerten stabil ist. Das Fortsetzungs-Token enthaelt die
+ * Sortierung und die Schluesselwerte des letzten Eintrags (Base64url-kodiert);
+ * fuer die Domain bleibt es ein undurchsichtiger String.
+ */
+final class KeysetPagination {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final String ID = "id";
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Parst die Sortierung ("feld" oder "feld,asc|desc") gegen die erlaubten Felder.
+     *
+     * @param sort          angefragte Sortierung oder null
+     * @param allowedFields erlaubte Sortierfelder
+     * @param defaultSort   Standard-Sortierung, wenn keine angegeben ist
+     * @return Sortierung inklusive ID als letztem Schluessel
+     * @throws IllegalArgumentException bei unbekanntem Feld oder ungueltiger Richtung
+     */
+    static Sort parseSort(String sort, Set<String> allowedFields, Sort.Order defaultSort) {
+        Sort.Order order = defaultSort;
+        if (sort != null) {
+            String[] parts = sort.split(",");
+            String field = parts[0].trim();
+            if (!allowedFields.contains(field)) {
+                throw new IllegalArgumentException("Ungueltiges Sortierfeld: " + field
+                        + " (erlaubt: " + String.join(", ", new TreeSet<>(allowedFields)) + ")");
+            }
+            Sort.Direction direction = Sort.Direction.ASC;
+            if (parts.length > 1) {
+                direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new IllegalArgumentException("Ungueltige Sortierrichtung: " + parts[1]));
+            }
+            order = new Sort.Order(direction, field);
+        }
+        if (ID.equals(order.getProperty())) {
+            return Sort.by(order);
+        }
+        return Sort.by(order, new Sort.Order(order.getDirection(), ID));
+    }
+
+    /**
+     * Wandelt ein Fortsetzungs-Token in eine Scroll-Position um.
+     *
+     * @param cursor Token oder null fuer die erste Seite
+     * @param sort   aktuelle Sortierung (muss zur Sortierung des Tokens passen)
+     * @return Keyset-Position
+     * @throws IllegalArgumentException bei ungueltigem oder nicht passendem Token
+     */
+    static ScrollPosition decode(String cursor, Sort sort) {
+        if (cursor == null) {
+            return ScrollPosition.keyset();
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Ungueltiger Cursor");
+        }
+        String[] parts = decoded.split("\\" + SEPARATOR, -1);
+        if (parts.length < 2 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Ungueltiger Cursor");
+        }
+        if (!describe(sort).equals(parts[1])) {
+            throw new IllegalArgumentException("Cursor passt nicht zur angefragten Sortierung");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int i = 2; i < parts.length; i++) {
+            String[] key = parts[i].split("=", 2);
+            if (key.length != 2 || key[1].length() < 2) {
+                throw new IllegalArgumentException("Ungueltiger Cursor");
+            }
+            keys.put(key[0], decodeValue(key[1]));
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    /**
+     * Baut die Seite aus einem Window und erzeugt das Token fuer die naechste Seite.
+     */
+    static <E, D> CursorPage<D> toPage(Window<E> window, Sort sort, Function<E, D> mapper) {
+        List<D> items = window.getContent().stream().map(mapper).toList();
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            ScrollPosition last = window.positionAt(window.size() - 1);
+            if (last instanceof KeysetScrollPosition keyset) {
+                nextCursor = encode(sort, keyset.getKeys());
+            }
+        }
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    private static String encode(Sort sort, Map<String, ?> keys) {
+        StringBuilder sb = new StringBuilder(VERSION).append(SEPARATOR).append(describe(sort));
+        keys.forEach((name, value) -> sb.append(SEPARATOR).append(name).append('=').append(encodeValue(value)));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String describe(Sort sort) {
+        StringJoiner joiner = new StringJoiner(";");
+        sort.forEach(order -> joiner.add(order.getProperty() + "," + order.getDirection().name().toLowerCase(Locale.ROOT)));
+        return joiner.toString();
+    }
+
+    /** Typ-Praefix + URL-kodierter Wert, damit Trennzeichen im Wert nichts zerstoeren. */
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            return "N:";
+        }
+        String type;
+        if (value instanceof Long) {
+            type = "L";
+        } else if (value instanceof Integer) {
+            type = "I";
+        } else if (value instanceof LocalDateTime) {
+            type = "T";
+        } else if (value instanceof String) {
+            type = "S";
+        } else {
+            throw new IllegalStateException("Nicht unterstuetzter Keyset-Typ: " + value.getClass());
+        }
+        return type + ":" + URLEncoder.encode(value.toString(), StandardCharsets.UTF_8);
+    }
+
+    private static Object decodeValue(String encoded) {
+        String value = URLDecoder.decode(encoded.substring(2), StandardCharsets.UTF_8);
+        try {
+            return switch (encoded.charAt(0)) {
+                case 'N' -> null;
+                case 'L' -> Long.valueOf(value);
+                case 'I' -> Integer.valueOf(value);
+                case 'T' -> LocalDateTime.parse(value);
+                case 'S' -> value;
+                default -> throw new IllegalArgumentException("Ungueltiger Cursor");
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Ungueltiger Cursor");
+        }
+    }
+}
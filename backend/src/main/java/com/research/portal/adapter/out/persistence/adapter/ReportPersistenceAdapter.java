@@ -1,24 +1,57 @@
 package com.research.portal.adapter.out.persistence.adapter;
 
+import com.research.portal.adapter.out.persistence.entity.ResearchReportEntity;
 import com.research.portal.adapter.out.persistence.mapper.ReportPersistenceMapper;
 import com.research.portal.adapter.out.persistence.repository.JpaReportRepository;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
+import com.research.portal.domain.model.ReportExportRow;
+import com.research.portal.domain.model.ReportImportState;
 import com.research.portal.domain.model.ResearchReport;
 import com.research.portal.domain.port.out.ReportRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 public class ReportPersistenceAdapter implements ReportRepository {
 
+    private static final String PUBLISHED_AT = "publishedAt";
+    private static final Set<String> SORT_FIELDS = Set.of(PUBLISHED_AT, "title", "id");
+    private static final Sort.Order DEFAULT_SORT = Sort.Order.desc(PUBLISHED_AT);
+
     private final JpaReportRepository jpaRepository;
     private final ReportPersistenceMapper mapper;
+    private final EntityManager entityManager;
+    private final int jdbcBatchSize;
 
     public ReportPersistenceAdapter(JpaReportRepository jpaRepository,
-                                     ReportPersistenceMapper mapper) {
+                                     ReportPersistenceMapper mapper,
+                                     EntityManager entityManager,
+                                     @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int jdbcBatchSize) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.jdbcBatchSize = jdbcBatchSize;
     }
 
     @Override
@@ -28,6 +61,62 @@ public class ReportPersistenceAdapter implements ReportRepository {
                 .toList();
     }
 
+    @Override
+    public CursorPage<ResearchReport> findPage(PageQuery query) {
+        Sort sort = KeysetPagination.parseSort(query.sort(), SORT_FIELDS, DEFAULT_SORT);
+        ScrollPosition position = KeysetPagination.decode(query.cursor(), sort);
+        Sort.Order first = sort.iterator().next();
+        Window<ResearchReportEntity> window = PUBLISHED_AT.equals(first.getProperty())
+                ? scrollByPublishedAt(position, first.getDirection(), query.limit())
+                : jpaRepository.findBy(position, sort, Limit.of(query.limit()));
+        return KeysetPagination.toPage(window, sort, mapper::toDomain);
+    }
+
+    /**
+     * publishedAt ist nullable (der XML-Import verlangt es nicht). Die Keyset-Praedikate
+     * von Spring Data vergleichen nur mit &lt; und &gt; und liessen Reports ohne Datum
+     * hinter einer Seitengrenze fallen; die eigenen Abfragen behandeln NULL als
+     * kleinsten Wert.
+     */
+    private Window<ResearchReportEntity> scrollByPublishedAt(ScrollPosition position, Sort.Direction direction,
+                                                             int limit) {
+        LocalDateTime after = null;
+        Long afterId = null;
+        if (position instanceof KeysetScrollPosition keyset && !keyset.isInitial()) {
+            Object publishedAt = keyset.getKeys().get(PUBLISHED_AT);
+            Object id = keyset.getKeys().get("id");
+            if (!(id instanceof Long) || (publishedAt != null && !(publishedAt instanceof LocalDateTime))) {
+                throw new IllegalArgumentException("Ungueltiger Cursor");
+            }
+            after = (LocalDateTime) publishedAt;
+            afterId = (Long) id;
+        }
+        // Ein Eintrag mehr zeigt an, ob es eine weitere Seite gibt
+        List<ResearchReportEntity> rows = direction.isDescending()
+                ? jpaRepository.findPageByPublishedAtDesc(after, afterId, Limit.of(limit + 1))
+                : jpaRepository.findPageByPublishedAtAsc(after, afterId, Limit.of(limit + 1));
+        List<ResearchReportEntity> content = rows.subList(0, Math.min(limit, rows.size()));
+        return Window.from(content, index -> {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(PUBLISHED_AT, content.get(index).getPublishedAt());
+            keys.put("id", content.get(index).getId());
+            return ScrollPosition.forward(keys);
+        }, rows.size() > limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachExportRow(Consumer<ReportExportRow> action) {
+        try (Stream<ReportExportRow> rows = jpaRepository.streamExportRows()) {
+            rows.forEach(action);
+        }
+    }
+
+    @Override
+    public long count() {
+        return jpaRepository.count();
+    }
+
     @Override
     public Optional<ResearchReport> findById(Long id) {
         return jpaRepository.findById(id)
@@ -48,6 +137,13 @@ public class ReportPersistenceAdapter implements ReportRepository {
                 .toList();
     }
 
+    @Override
+    public List<ResearchReport> findPublishedBetween(Long securityId, LocalDateTime from, LocalDateTime to, int limit) {
+        return jpaRepository.findPublishedBetween(securityId, from, to, Limit.of(limit)).stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
     @Override
     public ResearchReport save(ResearchReport report) {
         var entity = mapper.toEntity(report);
@@ -55,6 +151,72 @@ public class ReportPersistenceAdapter implements ReportRepository {
         return mapper.toDomain(saved);
     }
 
+    /**
+     * Persistiert die Reports direkt ueber den EntityManager. Die IDs kommen
+     * aus der Sequenz (gepoolt), daher kann Hibernate die Inserts als JDBC-Batch
+     * senden. Nach jedem JDBC-Batch wird geflusht und der Persistence-Context
+     * geleert, damit er bei grossen Listen nicht waechst.
+     */
+    @Override
+    @Transactional
+    public List<ResearchReport> saveAll(List<ResearchReport> reports) {
+        List<ResearchReport> saved = new ArrayList<>(reports.size());
+        List<ResearchReportEntity> pending = new ArrayList<>(jdbcBatchSize);
+        for (ResearchReport report : reports) {
+            ResearchReportEntity entity = mapper.toEntity(report);
+            entity.setId(null);
+            entityManager.persist(entity);
+            pending.add(entity);
+            if (pending.size() == jdbcBatchSize) {
+                flushAndClear(pending, saved);
+            }
+        }
+        flushAndClear(pending, saved);
+        return saved;
+    }
+
+    /**
+     * Laedt die Entities eines JDBC-Batches mit einer Abfrage, uebertraegt die
+     * neuen Werte und flusht; Hibernate sendet die UPDATEs dann als Batch.
+     */
+    @Override
+    @Transactional
+    public List<ResearchReport> updateAll(List<ResearchReport> reports) {
+        List<ResearchReport> saved = new ArrayList<>(reports.size());
+        List<ResearchReportEntity> pending = new ArrayList<>(jdbcBatchSize);
+        for (int from = 0; from < reports.size(); from += jdbcBatchSize) {
+            List<ResearchReport> chunk = reports.subList(from, Math.min(from + jdbcBatchSize, reports.size()));
+            Map<Long, ResearchReportEntity> managed = jpaRepository.findAllById(
+                            chunk.stream().map(ResearchReport::getId).toList()).stream()
+                    .collect(Collectors.toMap(ResearchReportEntity::getId, Function.identity()));
+            for (ResearchReport report : chunk) {
+                ResearchReportEntity entity = managed.get(report.getId());
+                if (entity == null) {
+                    throw new IllegalStateException("Report " + report.getId() + " existiert nicht mehr");
+                }
+                mapper.copyToEntity(report, entity);
+                pending.add(entity);
+            }
+            flushAndClear(pending, saved);
+        }
+        return saved;
+    }
+
+    @Override
+    public List<ReportImportState> findImportStates(Collection<String> importKeys) {
+        if (importKeys.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findImportStates(importKeys);
+    }
+
+    private void flushAndClear(List<ResearchReportEntity> pending, List<ResearchReport> saved) {
+        entityManager.flush();
+        pending.forEach(entity -> saved.add(mapper.toDomain(entity)));
+        pending.clear();
+        entityManager.clear();
+    }
+
     @Override
     public void deleteById(Long id) {
         jpaRepository.deleteById(id);
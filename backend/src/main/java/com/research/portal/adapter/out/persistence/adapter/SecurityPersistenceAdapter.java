@@ -2,16 +2,24 @@ package com.research.portal.adapter.out.persistence.adapter;
 
 import com.research.portal.adapter.out.persistence.mapper.SecurityPersistenceMapper;
 import com.research.portal.adapter.out.persistence.repository.JpaSecurityRepository;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.model.Security;
 import com.research.portal.domain.port.out.SecurityRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public class SecurityPersistenceAdapter implements SecurityRepository {
 
+    private static final Set<String> SORT_FIELDS = Set.of("ticker", "name", "id");
+    private static final Sort.Order DEFAULT_SORT = Sort.Order.asc("ticker");
+
     private final JpaSecurityRepository jpaRepository;
     private final SecurityPersistenceMapper mapper;
 
@@ -28,6 +36,14 @@ public class SecurityPersistenceAdapter implements SecurityRepository {
                 .toList();
     }
 
+    @Override
+    public CursorPage<Security> findPage(PageQuery query) {
+        Sort sort = KeysetPagination.parseSort(query.sort(), SORT_FIELDS, DEFAULT_SORT);
+        var window = jpaRepository.findBy(
+                KeysetPagination.decode(query.cursor(), sort), sort, Limit.of(query.limit()));
+        return KeysetPagination.toPage(window, sort, mapper::toDomain);
+    }
+
     @Override
     public Optional<Security> findById(Long id) {
         return jpaRepository.findById(id)
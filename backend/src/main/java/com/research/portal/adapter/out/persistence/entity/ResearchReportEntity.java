@@ -5,11 +5,18 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "research_reports")
+@Table(name = "research_reports",
+        indexes = @Index(name = "idx_research_reports_import_key", columnList = "import_key"))
 public class ResearchReportEntity {
 
+    // Sequenz statt IDENTITY: Hibernate kann Inserts nur mit vorab bekannten IDs batchen.
+    // Startwert wie V6, auch wenn Hibernate die Sequenz selbst anlegt (ddl-auto: update im
+    // Profil demo): sonst beginnt sie auf einer bestehenden Datenbank bei 1 und kollidiert
+    // mit den per IDENTITY vergebenen IDs.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "research_reports_seq")
+    @SequenceGenerator(name = "research_reports_seq", sequenceName = "research_reports_seq",
+            initialValue = 100_000, allocationSize = 50)
     private Long id;
 
     @Column(name = "analyst_id", nullable = false)
@@ -66,6 +73,13 @@ public class ResearchReportEntity {
     @Column(length = 500)
     private String tags;
 
+    // Abgleich beim inkrementellen XML-Import (V7)
+    @Column(name = "import_key", length = 300)
+    private String importKey;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     public ResearchReportEntity() {}
 
     public Long getId() { return id; }
@@ -124,4 +138,10 @@ public class ResearchReportEntity {
 
     public String getTags() { return tags; }
     public void setTags(String tags) { this.tags = tags; }
+
+    public String getImportKey() { return importKey; }
+    public void setImportKey(String importKey) { this.importKey = importKey; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
 }
@@ -40,12 +40,22 @@ public class ReportPersistenceMapper {
         report.setInvestmentCatalysts(splitString(entity.getInvestmentCatalysts()));
         report.setKeyRisks(splitString(entity.getKeyRisks()));
         report.setTags(splitString(entity.getTags()));
+        report.setImportKey(entity.getImportKey());
+        report.setContentHash(entity.getContentHash());
         return report;
     }
 
     public ResearchReportEntity toEntity(ResearchReport domain) {
         ResearchReportEntity entity = new ResearchReportEntity();
         entity.setId(domain.getId());
+        copyToEntity(domain, entity);
+        return entity;
+    }
+
+    /**
+     * Uebertraegt alle Felder ausser der ID auf eine (verwaltete) Entity.
+     */
+    public void copyToEntity(ResearchReport domain, ResearchReportEntity entity) {
         entity.setAnalystId(domain.getAnalystId());
         entity.setSecurityId(domain.getSecurityId());
         entity.setPublishedAt(domain.getPublishedAt());
@@ -72,7 +82,8 @@ public class ReportPersistenceMapper {
         entity.setInvestmentCatalysts(joinList(domain.getInvestmentCatalysts()));
         entity.setKeyRisks(joinList(domain.getKeyRisks()));
         entity.setTags(joinList(domain.getTags()));
-        return entity;
+        entity.setImportKey(domain.getImportKey());
+        entity.setContentHash(domain.getContentHash());
     }
 
     private List<String> splitString(String value) {
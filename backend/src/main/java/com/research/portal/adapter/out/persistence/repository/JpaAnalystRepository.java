@@ -1,7 +1,16 @@
 package com.research.portal.adapter.out.persistence.repository;
 
 import com.research.portal.adapter.out.persistence.entity.AnalystEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface JpaAnalystRepository extends JpaRepository<AnalystEntity, Long> {
+
+    /**
+     * Laedt eine Seite per Keyset-Pagination (setzt hinter der Position fort).
+     */
+    Window<AnalystEntity> findBy(ScrollPosition position, Sort sort, Limit limit);
 }
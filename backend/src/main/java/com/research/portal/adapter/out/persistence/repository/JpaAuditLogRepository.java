@@ -1,6 +1,10 @@
 package com.research.portal.adapter.out.persistence.repository;
 
 import com.research.portal.adapter.out.persistence.entity.AuditLogEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -14,8 +18,9 @@ public interface JpaAuditLogRepository extends JpaRepository<AuditLogEntity, Lon
 
     /**
      * Findet die neuesten Audit-Einträge, absteigend nach Zeitstempel sortiert.
+     * Das Limit wird in der Datenbank angewendet, nicht erst in Java.
      */
-    List<AuditLogEntity> findAllByOrderByTimestampDesc();
+    List<AuditLogEntity> findAllByOrderByTimestampDescIdDesc(Limit limit);
 
     /**
      * Findet alle Audit-Einträge für eine bestimmte Entität.
@@ -26,4 +31,9 @@ public interface JpaAuditLogRepository extends JpaRepository<AuditLogEntity, Lon
      */
     List<AuditLogEntity> findByEntityTypeAndEntityIdOrderByTimestampDesc(
             String entityType, Long entityId);
+
+    /**
+     * Laedt eine Seite per Keyset-Pagination (setzt hinter der Position fort).
+     */
+    Window<AuditLogEntity> findBy(ScrollPosition position, Sort sort, Limit limit);
 }
@@ -1,13 +1,102 @@
 package com.research.portal.adapter.out.persistence.repository;
 
 import com.research.portal.adapter.out.persistence.entity.ResearchReportEntity;
+import com.research.portal.domain.model.ReportExportRow;
+import com.research.portal.domain.model.ReportImportState;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface JpaReportRepository extends JpaRepository<ResearchReportEntity, Long> {
 
+    /** Anzahl Zeilen, die der JDBC-Treiber beim Streamen pro Roundtrip holt. */
+    String EXPORT_FETCH_SIZE = "500";
+
     List<ResearchReportEntity> findByAnalystId(Long analystId);
 
     List<ResearchReportEntity> findBySecurityId(Long securityId);
+
+    /**
+     * Laedt eine Seite per Keyset-Pagination (setzt hinter der Position fort).
+     */
+    Window<ResearchReportEntity> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Keyset-Seite nach publishedAt absteigend (Reports ohne Datum zuletzt), dann ID.
+     * Setzt hinter ({@code after}, {@code afterId}) fort; ohne {@code afterId} ab Anfang.
+     * Anders als {@link #findBy} verliert die Abfrage keine Reports ohne Datum.
+     */
+    @Query("SELECT r FROM ResearchReportEntity r "
+            + "WHERE :afterId IS NULL "
+            + "OR (:after IS NULL AND r.publishedAt IS NULL AND r.id < :afterId) "
+            + "OR (:after IS NOT NULL AND (r.publishedAt < :after "
+            + "OR (r.publishedAt = :after AND r.id < :afterId) OR r.publishedAt IS NULL)) "
+            + "ORDER BY r.publishedAt DESC NULLS LAST, r.id DESC")
+    List<ResearchReportEntity> findPageByPublishedAtDesc(@Param("after") LocalDateTime after,
+                                                         @Param("afterId") Long afterId,
+                                                         Limit limit);
+
+    /**
+     * Keyset-Seite nach publishedAt aufsteigend (Reports ohne Datum zuerst), dann ID.
+     * Setzt hinter ({@code after}, {@code afterId}) fort; ohne {@code afterId} ab Anfang.
+     */
+    @Query("SELECT r FROM ResearchReportEntity r "
+            + "WHERE :afterId IS NULL "
+            + "OR (:after IS NULL AND (r.publishedAt IS NOT NULL OR r.id > :afterId)) "
+            + "OR r.publishedAt > :after "
+            + "OR (r.publishedAt = :after AND r.id > :afterId) "
+            + "ORDER BY r.publishedAt ASC NULLS FIRST, r.id ASC")
+    List<ResearchReportEntity> findPageByPublishedAtAsc(@Param("after") LocalDateTime after,
+                                                        @Param("afterId") Long afterId,
+                                                        Limit limit);
+
+    /**
+     * Laedt die Reports eines Publikationszeitraums in Publikationsreihenfolge
+     * (Reports ohne Datum zuletzt, dann nach ID). Jeder Filter ist optional:
+     * {@code null} schraenkt nicht ein.
+     */
+    @Query("SELECT r FROM ResearchReportEntity r "
+            + "WHERE (:securityId IS NULL OR r.securityId = :securityId) "
+            + "AND (:from IS NULL OR r.publishedAt >= :from) "
+            + "AND (:to IS NULL OR r.publishedAt < :to) "
+            + "ORDER BY r.publishedAt ASC NULLS LAST, r.id ASC")
+    List<ResearchReportEntity> findPublishedBetween(@Param("securityId") Long securityId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to,
+                                                    Limit limit);
+
+    /**
+     * Streamt die Export-Spalten aller Reports in ID-Reihenfolge.
+     * Die Zeilen sind DTO-Projektionen und landen nicht im Persistence-Context;
+     * der Stream muss innerhalb einer Transaktion konsumiert und geschlossen werden.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.research.portal.domain.model.ReportExportRow("
+            + "r.id, r.title, r.analystId, r.securityId, r.rating, r.targetPrice, "
+            + "r.currentPrice, r.impliedUpside, r.riskLevel, r.publishedAt) "
+            + "FROM ResearchReportEntity r ORDER BY r.id")
+    Stream<ReportExportRow> streamExportRows();
+
+    /**
+     * Laedt nur ID, Importschluessel und Inhalts-Hash (ueber den Index auf
+     * import_key), damit der inkrementelle Import keine ganzen Reports liest.
+     */
+    @Query("SELECT new com.research.portal.domain.model.ReportImportState(r.id, r.importKey, r.contentHash) "
+            + "FROM ResearchReportEntity r WHERE r.importKey IN :importKeys ORDER BY r.id")
+    List<ReportImportState> findImportStates(@Param("importKeys") Collection<String> importKeys);
 }
@@ -1,6 +1,10 @@
 package com.research.portal.adapter.out.persistence.repository;
 
 import com.research.portal.adapter.out.persistence.entity.SecurityEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
@@ -8,4 +12,9 @@ import java.util.Optional;
 public interface JpaSecurityRepository extends JpaRepository<SecurityEntity, Long> {
 
     Optional<SecurityEntity> findByTicker(String ticker);
+
+    /**
+     * Laedt eine Seite per Keyset-Pagination (setzt hinter der Position fort).
+     */
+    Window<SecurityEntity> findBy(ScrollPosition position, Sort sort, Limit limit);
 }
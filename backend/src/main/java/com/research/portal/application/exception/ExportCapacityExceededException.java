@@ -0,0 +1,11 @@
+package com.research.portal.application.exception;
+
+/**
+ * Die Warteschlange fuer Export-Jobs eines Formats ist voll.
+ */
+public class ExportCapacityExceededException extends RuntimeException {
+
+    public ExportCapacityExceededException(String format) {
+        super("Zu viele wartende " + format + "-Exporte, bitte spaeter erneut versuchen");
+    }
+}
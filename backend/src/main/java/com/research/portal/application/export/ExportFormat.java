@@ -0,0 +1,32 @@
+package com.research.portal.application.export;
+
+/**
+ * Unterstuetzte Formate fuer Export-Jobs.
+ */
+public enum ExportFormat {
+
+    /** Alle Reports als CSV (Semikolon-Trenner, UTF-8 mit BOM). */
+    CSV("text/csv;charset=UTF-8", "csv"),
+
+    /** Alle Reports als XLSX. */
+    EXCEL("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx"),
+
+    /** Ein einzelner Report als PDF. */
+    PDF("application/pdf", "pdf");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+}
@@ -0,0 +1,97 @@
+package com.research.portal.application.export;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Zustand eines asynchronen Export-Jobs.
+ *
+ * <p>Wird vom Worker-Thread aktualisiert und von Status-Abfragen gelesen;
+ * alle veraenderlichen Felder sind deshalb volatile bzw. atomar.
+ */
+public class ExportJob {
+
+    /** Lebenszyklus eines Jobs. */
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final ExportFormat format;
+    private final Long reportId;
+    private final String cacheKey;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong processed = new AtomicLong();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long total = -1;
+    private volatile boolean cached;
+    private volatile Instant finishedAt;
+    private volatile Path result;
+    private volatile long resultSize;
+    private volatile String error;
+
+    public ExportJob(String id, ExportFormat format, Long reportId, String cacheKey) {
+        this.id = id;
+        this.format = format;
+        this.reportId = reportId;
+        this.cacheKey = cacheKey;
+    }
+
+    void start(long total) {
+        this.total = total;
+        this.status = Status.RUNNING;
+    }
+
+    void advance() {
+        processed.incrementAndGet();
+    }
+
+    void complete(Path result, long size, boolean fromCache) {
+        this.result = result;
+        this.resultSize = size;
+        this.cached = fromCache;
+        if (fromCache) {
+            processed.set(Math.max(total, 0));
+        }
+        this.finishedAt = Instant.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        this.error = message;
+        this.finishedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    /**
+     * @return Fortschritt in Prozent (0-100) oder -1, solange die Gesamtmenge unbekannt ist
+     */
+    public int progressPercent() {
+        if (status == Status.COMPLETED) {
+            return 100;
+        }
+        long t = total;
+        if (t <= 0) {
+            return t == 0 && status == Status.RUNNING ? 0 : -1;
+        }
+        return (int) Math.min(99, processed.get() * 100 / t);
+    }
+
+    public String getId() { return id; }
+    public ExportFormat getFormat() { return format; }
+    public Long getReportId() { return reportId; }
+    public String getCacheKey() { return cacheKey; }
+    public Instant getCreatedAt() { return createdAt; }
+    public Status getStatus() { return status; }
+    public long getProcessed() { return processed.get(); }
+    public long getTotal() { return total; }
+    public boolean isCached() { return cached; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public Path getResult() { return result; }
+    public long getResultSize() { return resultSize; }
+    public String getError() { return error; }
+}
@@ -0,0 +1,356 @@
+package com.research.portal.application.export;
+
+import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.application.exception.ExportCapacityExceededException;
+import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.application.service.ExportService;
+import com.research.portal.application.service.PdfExportService;
+import com.research.portal.config.ExportJobProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Fuehrt grosse Exporte asynchron aus, statt einen Tomcat-Worker zu blockieren.
+ *
+ * <p>Ablauf: Job einreichen, Job-ID erhalten, Status/Fortschritt abfragen,
+ * Ergebnis herunterladen. Jedes Format hat einen eigenen, begrenzten Pool
+ * (siehe {@link ExportJobProperties}); ist die Warteschlange voll, wird der
+ * Job mit {@link ExportCapacityExceededException} abgelehnt.
+ *
+ * <p>Ergebnisse landen im Spool-Verzeichnis unter einem SHA-256-Schluessel aus
+ * Format, Filter und {@link ReportDataVersion}. Ein identischer Export bei
+ * unveraendertem Datenbestand wird direkt von der Platte geliefert; laeuft
+ * derselbe Export gerade, erhaelt der Aufrufer den bestehenden Job.
+ *
+ * <p>Metriken pro Format: Warteschlangentiefe und aktive Worker als Gauges,
+ * die Laufzeit der Jobs als Timer {@value #JOBS_METER} und die Einreichungen
+ * nach Ergebnis (eingereiht, Cache, bestehender Job, abgelehnt) als Zaehler.
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportJobService.class);
+
+    private static final String PART_SUFFIX = ".part";
+
+    static final String JOBS_METER = "portal.export.jobs";
+    static final String SUBMISSIONS_METER = "portal.export.submissions";
+
+    /** SLO-Grenzen der Job-Laufzeit; grosse Excel-Exporte duerfen Minuten dauern. */
+    private static final Duration[] JOB_SLOS = {
+            Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(15),
+            Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(5)
+    };
+
+    private final ExportService exportService;
+    private final PdfExportService pdfExportService;
+    private final ReportDataVersion dataVersion;
+    private final Path spoolDir;
+    private final Duration retention;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ExportFormat, ThreadPoolExecutor> executors = new EnumMap<>(ExportFormat.class);
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    /** Laufende oder wartende Jobs pro Cache-Schluessel (Deduplizierung paralleler Anfragen). */
+    private final Map<String, ExportJob> inFlight = new ConcurrentHashMap<>();
+
+    public ExportJobService(ExportService exportService,
+                            PdfExportService pdfExportService,
+                            ReportDataVersion dataVersion,
+                            ExportJobProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.exportService = exportService;
+        this.pdfExportService = pdfExportService;
+        this.dataVersion = dataVersion;
+        this.spoolDir = Paths.get(properties.getSpoolDir());
+        this.retention = Duration.ofMinutes(properties.getRetentionMinutes());
+        this.meterRegistry = meterRegistry;
+
+        executors.put(ExportFormat.CSV, createExecutor(ExportFormat.CSV,
+                properties.getMaxConcurrentCsv(), properties.getQueueCapacity()));
+        executors.put(ExportFormat.EXCEL, createExecutor(ExportFormat.EXCEL,
+                properties.getMaxConcurrentExcel(), properties.getQueueCapacity()));
+        executors.put(ExportFormat.PDF, createExecutor(ExportFormat.PDF,
+                properties.getMaxConcurrentPdf(), properties.getQueueCapacity()));
+        executors.forEach((format, executor) -> {
+            Gauge.builder("portal.export.queue.depth", executor, pool -> pool.getQueue().size())
+                    .description("Wartende Export-Jobs")
+                    .tag("format", format.name())
+                    .register(meterRegistry);
+            Gauge.builder("portal.export.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Laufende Export-Jobs")
+                    .tag("format", format.name())
+                    .register(meterRegistry);
+        });
+
+        try {
+            Files.createDirectories(spoolDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Spool-Verzeichnis kann nicht angelegt werden: " + spoolDir, e);
+        }
+    }
+
+    /**
+     * Reicht einen Voll-Export aller Reports ein.
+     *
+     * @param format CSV oder EXCEL
+     * @return der Job (bei Cache-Treffer bereits abgeschlossen)
+     * @throws IllegalArgumentException bei PDF (dafuer {@link #submitPdf(ReportDto)})
+     * @throws ExportCapacityExceededException wenn die Warteschlange voll ist
+     */
+    public ExportJob submit(ExportFormat format) {
+        if (format == ExportFormat.PDF) {
+            throw new IllegalArgumentException("PDF-Exporte benoetigen eine Report-ID");
+        }
+        return submit(format, null, job -> {
+            job.start(exportService.countReports());
+            return out -> {
+                if (format == ExportFormat.CSV) {
+                    exportService.writeReportsCsv(out, job::advance);
+                } else {
+                    exportService.writeReportsExcel(out, job::advance);
+                }
+            };
+        });
+    }
+
+    /**
+     * Reicht einen PDF-Export eines einzelnen Reports ein.
+     *
+     * @param report der zu exportierende Report
+     * @return der Job (bei Cache-Treffer bereits abgeschlossen)
+     * @throws ExportCapacityExceededException wenn die Warteschlange voll ist
+     */
+    public ExportJob submitPdf(ReportDto report) {
+        return submit(ExportFormat.PDF, report.getId(), job -> {
+            job.start(1);
+            return out -> {
+                out.write(pdfExportService.exportReportPdf(report));
+                job.advance();
+            };
+        });
+    }
+
+    /**
+     * @param id Job-ID
+     * @return der Job, falls er existiert und noch nicht aufgeraeumt wurde
+     */
+    public Optional<ExportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    /**
+     * Liefert die Ergebnisdatei eines abgeschlossenen Jobs.
+     *
+     * @param id Job-ID
+     * @return Pfad zur Ergebnisdatei
+     * @throws ResourceNotFoundException wenn der Job unbekannt ist oder die Datei aufgeraeumt wurde
+     * @throws IllegalStateException     wenn der Job noch laeuft oder fehlgeschlagen ist
+     */
+    public Path getResult(String id) {
+        ExportJob job = getJob(id).orElseThrow(() -> new ResourceNotFoundException("Export-Job", "id", id));
+        if (job.getStatus() != ExportJob.Status.COMPLETED) {
+            throw new IllegalStateException("Export-Job " + id + " ist nicht abgeschlossen (Status: "
+                    + job.getStatus() + ")");
+        }
+        if (!Files.exists(job.getResult())) {
+            throw new ResourceNotFoundException("Export-Ergebnis", "id", id);
+        }
+        return job.getResult();
+    }
+
+    /**
+     * Entfernt abgelaufene Jobs und Spool-Dateien. Laeuft alle 10 Minuten.
+     */
+    @Scheduled(fixedRate = 10 * 60 * 1000, initialDelay = 10 * 60 * 1000)
+    public void cleanup() {
+        Instant threshold = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(threshold));
+
+        int deleted = 0;
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            for (Path file : files.toList()) {
+                if (Files.isRegularFile(file)
+                        && Files.getLastModifiedTime(file).toInstant().isBefore(threshold)
+                        && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Spool-Verzeichnis konnte nicht aufgeraeumt werden: {}", e.getMessage());
+        }
+        if (deleted > 0) {
+            log.info("Export-Spool aufgeraeumt: {} Dateien geloescht", deleted);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executors.values().forEach(ExecutorService::shutdownNow);
+    }
+
+    private ExportJob submit(ExportFormat format, Long reportId, JobPreparation preparation) {
+        String cacheKey = cacheKey(format, reportId, dataVersion.current());
+        Path target = spoolDir.resolve(cacheKey + "." + format.extension());
+
+        ExportJob running = inFlight.get(cacheKey);
+        if (running != null) {
+            countSubmission(format, "joined");
+            return running;
+        }
+
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), format, reportId, cacheKey);
+        if (Files.exists(target)) {
+            touch(target);
+            job.start(-1);
+            job.complete(target, sizeOf(target), true);
+            jobs.put(job.getId(), job);
+            countSubmission(format, "cached");
+            log.info("Export-Job {} ({}) aus Cache bedient: {}", job.getId(), format, target.getFileName());
+            return job;
+        }
+
+        ExportJob existing = inFlight.putIfAbsent(cacheKey, job);
+        if (existing != null) {
+            countSubmission(format, "joined");
+            return existing;
+        }
+        jobs.put(job.getId(), job);
+        try {
+            executors.get(format).execute(() -> run(job, target, preparation));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            inFlight.remove(cacheKey);
+            countSubmission(format, "rejected");
+            throw new ExportCapacityExceededException(format.name());
+        }
+        countSubmission(format, "queued");
+        log.info("Export-Job {} ({}) eingereiht", job.getId(), format);
+        return job;
+    }
+
+    private void run(ExportJob job, Path target, JobPreparation preparation) {
+        long start = System.nanoTime();
+        Path part = spoolDir.resolve(job.getCacheKey() + "." + job.getId() + PART_SUFFIX);
+        try {
+            JobWriter writer = preparation.prepare(job);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                writer.write(out);
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recordJob(job.getFormat(), "completed", System.nanoTime() - start);
+            job.complete(target, sizeOf(target), false);
+            log.info("Export-Job {} ({}) abgeschlossen: {} Eintraege, {} Bytes [{}ms]",
+                    job.getId(), job.getFormat(), job.getProcessed(), job.getResultSize(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ignored) {
+                // wird beim naechsten Cleanup entfernt
+            }
+            log.error("Export-Job {} ({}) fehlgeschlagen", job.getId(), job.getFormat(), e);
+            recordJob(job.getFormat(), "failed", System.nanoTime() - start);
+            job.fail(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            inFlight.remove(job.getCacheKey(), job);
+        }
+    }
+
+    private void recordJob(ExportFormat format, String outcome, long nanos) {
+        Timer.builder(JOBS_METER)
+                .description("Laufzeit der Export-Jobs")
+                .tags("format", format.name(), "outcome", outcome)
+                .serviceLevelObjectives(JOB_SLOS)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void countSubmission(ExportFormat format, String result) {
+        meterRegistry.counter(SUBMISSIONS_METER, "format", format.name(), "result", result).increment();
+    }
+
+    static String cacheKey(ExportFormat format, Long reportId, String version) {
+        String filter = format.name() + "|report=" + (reportId != null ? reportId : "*") + "|v=" + version;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(filter.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 nicht verfuegbar", e);
+        }
+    }
+
+    /** Verlaengert die Aufbewahrung einer wiederverwendeten Spool-Datei. */
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            log.debug("Zeitstempel von {} nicht aktualisiert: {}", file, e.getMessage());
+        }
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor(ExportFormat format, int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable,
+                    "export-" + format.name().toLowerCase() + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int poolSize = Math.max(1, threads);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), factory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Wird im Worker-Thread aufgerufen: setzt die Gesamtmenge und liefert den Schreibvorgang.
+     */
+    @FunctionalInterface
+    private interface JobPreparation {
+        JobWriter prepare(ExportJob job) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface JobWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,381 @@
+package com.research.portal.application.export;
+
+import com.lowagie.text.Document;
+import com.lowagie.text.Element;
+import com.lowagie.text.Font;
+import com.lowagie.text.PageSize;
+import com.lowagie.text.Paragraph;
+import com.lowagie.text.Phrase;
+import com.lowagie.text.Rectangle;
+import com.lowagie.text.pdf.PdfCopy;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.PdfWriter;
+import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.application.service.PdfExportService;
+import com.research.portal.config.ExportJobProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.awt.Color;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Sammelexport vieler Research Reports als PDF.
+ *
+ * <p>Die einzelnen PDFs werden parallel auf einem eigenen Fork-Join-Pool
+ * gerendert, jedes mit eigenem {@code PdfWriter} (siehe
+ * {@link PdfExportService#exportReportPdf(ReportDto)}). Geschrieben wird
+ * strikt in der Reihenfolge der Eingabe.
+ *
+ * <p>Back-Pressure: Es sind nie mehr als {@code pdfBundleMaxInFlight} PDFs
+ * gleichzeitig in Arbeit oder fertig, aber noch nicht geschrieben. Ein
+ * langsamer Client bremst damit das Rendering, statt den Heap zu fuellen.
+ *
+ * <p>Zwei Ausgabeformen:
+ * <ul>
+ *   <li>{@link #writeZip} — ZIP mit einem PDF pro Report, gestreamt</li>
+ *   <li>{@link #writeMerged} — ein PDF mit Inhaltsverzeichnis und Lesezeichen;
+ *       die Einzel-PDFs werden dafuer im Spool-Verzeichnis zwischengelagert,
+ *       weil die Seitenzahlen erst nach dem Rendering feststehen</li>
+ * </ul>
+ */
+@Service
+public class PdfBundleService {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfBundleService.class);
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+    private static final Color COLOR_TEXT_DARK = new Color(0x1A, 0x1D, 0x24);
+    private static final Color COLOR_BORDER = new Color(0xD8, 0xDC, 0xE4);
+    private static final Font FONT_TITLE = new Font(Font.HELVETICA, 18f, Font.BOLD, COLOR_TEXT_DARK);
+    private static final Font FONT_HEADER = new Font(Font.HELVETICA, 8f, Font.BOLD, COLOR_TEXT_DARK);
+    private static final Font FONT_ROW = new Font(Font.HELVETICA, 8f, Font.NORMAL, COLOR_TEXT_DARK);
+
+    private final PdfExportService pdfExportService;
+    private final Path spoolDir;
+    private final ForkJoinPool renderPool;
+    private final int maxInFlight;
+    private final int maxReports;
+
+    public PdfBundleService(PdfExportService pdfExportService, ExportJobProperties properties) {
+        this.pdfExportService = pdfExportService;
+        this.spoolDir = Paths.get(properties.getSpoolDir());
+
+        int parallelism = properties.getPdfBundleParallelism() > 0
+                ? properties.getPdfBundleParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        this.maxInFlight = properties.getPdfBundleMaxInFlight() > 0
+                ? properties.getPdfBundleMaxInFlight()
+                : 2 * parallelism;
+        this.maxReports = properties.getPdfBundleMaxReports();
+        this.renderPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("pdf-render-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * @return maximale Anzahl Reports pro Sammelexport
+     */
+    public int getMaxReports() {
+        return maxReports;
+    }
+
+    /**
+     * Schreibt ein ZIP mit je einem PDF pro Report in den Stream.
+     *
+     * @param reports zu exportierende Reports (Reihenfolge = Reihenfolge im ZIP)
+     * @param out     Ziel-Stream; wird nicht geschlossen
+     * @return Anzahl geschriebener PDFs
+     * @throws IOException bei Schreib- oder Renderfehlern
+     */
+    public int writeZip(List<ReportDto> reports, OutputStream out) throws IOException {
+        checkSize(reports);
+        long start = System.nanoTime();
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // PDF-Inhalte sind bereits komprimiert; die schnellste Stufe genuegt
+        zip.setLevel(1);
+        int count = renderInOrder(reports, (report, pdf) -> {
+            zip.putNextEntry(new ZipEntry(entryName(report)));
+            zip.write(pdf);
+            zip.closeEntry();
+        });
+        zip.finish();
+
+        log.info("PDF-ZIP erstellt: {} Reports [{}ms]", count, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    /**
+     * Schreibt alle Reports als ein zusammengefuehrtes PDF mit Inhaltsverzeichnis
+     * und Lesezeichen pro Report in den Stream.
+     *
+     * @param reports zu exportierende Reports (Reihenfolge = Reihenfolge im PDF)
+     * @param title   Titel fuer Deckblatt/Inhaltsverzeichnis
+     * @param out     Ziel-Stream; wird nicht geschlossen
+     * @return Anzahl zusammengefuehrter Reports
+     * @throws IOException bei Schreib- oder Renderfehlern
+     */
+    public int writeMerged(List<ReportDto> reports, String title, OutputStream out) throws IOException {
+        checkSize(reports);
+        long start = System.nanoTime();
+
+        Files.createDirectories(spoolDir);
+        Path workDir = Files.createTempDirectory(spoolDir, "pdf-bundle-");
+        try {
+            List<Path> parts = new ArrayList<>(reports.size());
+            List<Integer> pageCounts = new ArrayList<>(reports.size());
+            renderInOrder(reports, (report, pdf) -> {
+                Path part = workDir.resolve(parts.size() + ".pdf");
+                Files.write(part, pdf);
+                parts.add(part);
+                pageCounts.add(countPages(pdf));
+            });
+
+            byte[] toc = renderToc(reports, pageCounts, title);
+            mergeInto(out, toc, reports, parts);
+
+            log.info("PDF-Sammeldokument erstellt: {} Reports [{}ms]",
+                    reports.size(), (System.nanoTime() - start) / 1_000_000);
+            return reports.size();
+        } finally {
+            deleteRecursively(workDir);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        renderPool.shutdownNow();
+    }
+
+    /**
+     * Rendert die Reports parallel und uebergibt die PDFs in Eingabereihenfolge
+     * an den Sink. Hoechstens {@link #maxInFlight} Render-Auftraege sind offen.
+     */
+    private int renderInOrder(List<ReportDto> reports, PdfSink sink) throws IOException {
+        Deque<Future<byte[]>> window = new ArrayDeque<>(maxInFlight);
+        int next = 0;
+        int written = 0;
+        try {
+            while (written < reports.size()) {
+                while (next < reports.size() && window.size() < maxInFlight) {
+                    ReportDto report = reports.get(next++);
+                    window.addLast(renderPool.submit(() -> pdfExportService.exportReportPdf(report)));
+                }
+                sink.accept(reports.get(written), await(window.removeFirst()));
+                written++;
+            }
+            return written;
+        } finally {
+            window.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("PDF-Rendering unterbrochen");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("PDF-Rendering fehlgeschlagen", cause);
+        }
+    }
+
+    // Inhaltsverzeichnis: Seitenzahlen haengen von der eigenen Laenge ab,
+    // daher wird neu gerendert, bis die angenommene Seitenzahl stimmt
+    private byte[] renderToc(List<ReportDto> reports, List<Integer> pageCounts, String title) throws IOException {
+        int tocPages = 1;
+        while (true) {
+            byte[] toc = renderTocPages(reports, pageCounts, title, tocPages);
+            int actual = countPages(toc);
+            if (actual <= tocPages) {
+                return toc;
+            }
+            tocPages = actual;
+        }
+    }
+
+    private byte[] renderTocPages(List<ReportDto> reports, List<Integer> pageCounts,
+                                  String title, int tocPages) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        Document document = new Document(PageSize.A4, 40f, 40f, 60f, 60f);
+        PdfWriter.getInstance(document, buffer);
+        document.open();
+
+        Paragraph heading = new Paragraph(title, FONT_TITLE);
+        heading.setSpacingAfter(6f);
+        document.add(heading);
+        Paragraph subtitle = new Paragraph("Inhaltsverzeichnis — " + reports.size() + " Reports", FONT_ROW);
+        subtitle.setSpacingAfter(12f);
+        document.add(subtitle);
+
+        PdfPTable table = new PdfPTable(5);
+        table.setWidthPercentage(100f);
+        table.setWidths(new float[]{0.8f, 5f, 1.3f, 1.2f, 0.8f});
+        table.setHeaderRows(1);
+        for (String header : new String[]{"ID", "Titel", "Datum", "Rating", "Seite"}) {
+            table.addCell(tocCell(header, FONT_HEADER, Element.ALIGN_LEFT));
+        }
+
+        int page = tocPages + 1;
+        for (int i = 0; i < reports.size(); i++) {
+            ReportDto report = reports.get(i);
+            table.addCell(tocCell(report.getId() != null ? "#" + report.getId() : "", FONT_ROW, Element.ALIGN_LEFT));
+            table.addCell(tocCell(report.getTitle() != null ? report.getTitle() : "", FONT_ROW, Element.ALIGN_LEFT));
+            table.addCell(tocCell(report.getPublishedAt() != null ? report.getPublishedAt().format(DATE_FORMAT) : "",
+                    FONT_ROW, Element.ALIGN_LEFT));
+            table.addCell(tocCell(report.getRating() != null ? report.getRating() : "", FONT_ROW, Element.ALIGN_LEFT));
+            table.addCell(tocCell(String.valueOf(page), FONT_ROW, Element.ALIGN_RIGHT));
+            page += pageCounts.get(i);
+        }
+        document.add(table);
+        document.close();
+        return buffer.toByteArray();
+    }
+
+    private static PdfPCell tocCell(String text, Font font, int alignment) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setBorder(Rectangle.BOTTOM);
+        cell.setBorderColor(COLOR_BORDER);
+        cell.setBorderWidth(0.5f);
+        cell.setPadding(4f);
+        cell.setHorizontalAlignment(alignment);
+        return cell;
+    }
+
+    private void mergeInto(OutputStream out, byte[] toc, List<ReportDto> reports, List<Path> parts)
+            throws IOException {
+        Document document = new Document();
+        // PdfCopy schliesst den Stream beim close(); der Aufrufer besitzt ihn
+        PdfCopy copy = new PdfCopy(document, new NonClosingOutputStream(out));
+        copy.setViewerPreferences(PdfWriter.PageModeUseOutlines);
+        document.open();
+
+        int page = appendAll(copy, new PdfReader(toc));
+        List<Map<String, Object>> outlines = new ArrayList<>(reports.size());
+        for (int i = 0; i < parts.size(); i++) {
+            ReportDto report = reports.get(i);
+            outlines.add(bookmark(report, page + 1));
+            page += appendAll(copy, new PdfReader(parts.get(i).toString()));
+        }
+        copy.setOutlines(outlines);
+        document.close();
+    }
+
+    private static int appendAll(PdfCopy copy, PdfReader reader) throws IOException {
+        try {
+            int pages = reader.getNumberOfPages();
+            for (int p = 1; p <= pages; p++) {
+                copy.addPage(copy.getImportedPage(reader, p));
+            }
+            copy.freeReader(reader);
+            return pages;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static Map<String, Object> bookmark(ReportDto report, int page) {
+        Map<String, Object> bookmark = new HashMap<>();
+        String title = report.getTitle() != null ? report.getTitle() : "Report";
+        bookmark.put("Title", report.getId() != null ? "#" + report.getId() + " " + title : title);
+        bookmark.put("Action", "GoTo");
+        bookmark.put("Page", page + " Fit");
+        return bookmark;
+    }
+
+    private static int countPages(byte[] pdf) throws IOException {
+        PdfReader reader = new PdfReader(pdf);
+        try {
+            return reader.getNumberOfPages();
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void checkSize(List<ReportDto> reports) {
+        if (reports.size() > maxReports) {
+            throw new IllegalArgumentException("Zu viele Reports fuer einen Sammelexport: "
+                    + reports.size() + " (maximal " + maxReports + ")");
+        }
+    }
+
+    static String entryName(ReportDto report) {
+        return "research-report-" + report.getId() + ".pdf";
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Arbeitsverzeichnis {} nicht vollstaendig geloescht: {}", dir, e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PdfSink {
+        void accept(ReportDto report, byte[] pdf) throws IOException;
+    }
+
+    /** Schuetzt den Response-Stream davor, von OpenPDF geschlossen zu werden. */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
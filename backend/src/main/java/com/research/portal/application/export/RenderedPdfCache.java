@@ -0,0 +1,303 @@
+package com.research.portal.application.export;
+
+import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.application.service.PdfExportService;
+import com.research.portal.config.ExportJobProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Cache fuer gerenderte Einzel-PDFs von Research Reports.
+ *
+ * <p>Schluessel ist die Report-ID zusammen mit {@link ReportDataVersion#reportVersion(Long)}.
+ * Jede Aenderung ueber {@code ManageReportUseCase} erhoeht die Version des
+ * Reports; aeltere Eintraege passen dann nicht mehr und werden beim naechsten
+ * Zugriff ersetzt.
+ *
+ * <p>Speicher: LRU mit Byte-Budget. Verdraengte Eintraege werden in das
+ * Spool-Verzeichnis ausgelagert (ebenfalls LRU mit Budget) und beim naechsten
+ * Treffer wieder in den Speicher geholt.
+ *
+ * <p>{@link #etag(Long)} beantwortet bedingte Anfragen ohne Datenbank und
+ * ohne Renderer. Gleichzeitige Anfragen fuer denselben, noch nicht gecachten
+ * Report warten auf ein gemeinsames Rendering.
+ */
+@Component
+public class RenderedPdfCache {
+
+    private static final Logger log = LoggerFactory.getLogger(RenderedPdfCache.class);
+
+    private static final String CACHE_DIR = "pdf-cache";
+    private static final long MB = 1024L * 1024L;
+
+    /** Gerendertes PDF mit starkem ETag (Hash ueber den Inhalt). */
+    public record RenderedPdf(byte[] content, String etag) {
+    }
+
+    private record MemoryEntry(String version, RenderedPdf pdf) {
+    }
+
+    private record DiskEntry(String version, String etag, Path file, long size) {
+    }
+
+    private record RenderKey(Long reportId, String version) {
+    }
+
+    private final PdfExportService pdfExportService;
+    private final ReportDataVersion dataVersion;
+    private final Path cacheDir;
+    private final long maxMemoryBytes;
+    private final long maxDiskBytes;
+
+    // Beide Maps in Zugriffsreihenfolge; Zugriff nur unter dem Monitor dieser Instanz
+    private final LinkedHashMap<Long, MemoryEntry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<Long, DiskEntry> disk = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+
+    private final Map<RenderKey, CompletableFuture<RenderedPdf>> inFlight = new ConcurrentHashMap<>();
+
+    public RenderedPdfCache(PdfExportService pdfExportService,
+                            ReportDataVersion dataVersion,
+                            ExportJobProperties properties) {
+        this.pdfExportService = pdfExportService;
+        this.dataVersion = dataVersion;
+        this.cacheDir = Paths.get(properties.getSpoolDir(), CACHE_DIR);
+        this.maxMemoryBytes = properties.getPdfCacheMemoryMb() * MB;
+        this.maxDiskBytes = properties.getPdfCacheDiskMb() * MB;
+        resetCacheDir();
+    }
+
+    /**
+     * Liefert den ETag des gecachten PDFs, falls es zur aktuellen Version des Reports passt.
+     *
+     * @param reportId Report-ID
+     * @return ETag (ohne Anfuehrungszeichen) oder leer, wenn nichts Aktuelles gecacht ist
+     */
+    public synchronized Optional<String> etag(Long reportId) {
+        String version = dataVersion.reportVersion(reportId);
+        MemoryEntry inMemory = memory.get(reportId);
+        if (inMemory != null && inMemory.version().equals(version)) {
+            return Optional.of(inMemory.pdf().etag());
+        }
+        DiskEntry onDisk = disk.get(reportId);
+        if (onDisk != null && onDisk.version().equals(version)) {
+            return Optional.of(onDisk.etag());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Liefert das PDF aus dem Cache oder rendert es.
+     *
+     * @param reportId Report-ID
+     * @param loader   laedt den Report; wird nur bei einem Cache-Fehltreffer aufgerufen
+     * @return gerendertes PDF mit ETag
+     */
+    public RenderedPdf getOrRender(Long reportId, Supplier<ReportDto> loader) {
+        String version = dataVersion.reportVersion(reportId);
+        Optional<RenderedPdf> cached = lookup(reportId, version);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        RenderKey key = new RenderKey(reportId, version);
+        CompletableFuture<RenderedPdf> own = new CompletableFuture<>();
+        CompletableFuture<RenderedPdf> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            byte[] content = pdfExportService.exportReportPdf(loader.get());
+            RenderedPdf pdf = new RenderedPdf(content, etagOf(content));
+            store(reportId, version, pdf);
+            own.complete(pdf);
+            return pdf;
+        } catch (RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private Optional<RenderedPdf> lookup(Long reportId, String version) {
+        DiskEntry onDisk;
+        synchronized (this) {
+            MemoryEntry inMemory = memory.get(reportId);
+            if (inMemory != null) {
+                if (inMemory.version().equals(version)) {
+                    return Optional.of(inMemory.pdf());
+                }
+                removeFromMemory(reportId);
+            }
+
+            onDisk = disk.get(reportId);
+            if (onDisk == null) {
+                return Optional.empty();
+            }
+            if (!onDisk.version().equals(version)) {
+                removeFromDisk(reportId);
+                deleteQuietly(onDisk.file());
+                return Optional.empty();
+            }
+        }
+
+        // Datei ausserhalb des Monitors lesen: andere Reports bleiben waehrenddessen erreichbar
+        RenderedPdf pdf = null;
+        try {
+            pdf = new RenderedPdf(Files.readAllBytes(onDisk.file()), onDisk.etag());
+        } catch (IOException e) {
+            log.warn("Ausgelagertes PDF fuer Report {} nicht lesbar: {}", reportId, e.getMessage());
+        }
+        return promote(reportId, onDisk, pdf);
+    }
+
+    /**
+     * Holt ein gelesenes PDF in den Speicher, sofern der Platten-Eintrag noch derselbe ist.
+     *
+     * @param pdf gelesener Inhalt oder null, wenn die Datei nicht lesbar war
+     */
+    private synchronized Optional<RenderedPdf> promote(Long reportId, DiskEntry onDisk, RenderedPdf pdf) {
+        MemoryEntry inMemory = memory.get(reportId);
+        if (inMemory != null && inMemory.version().equals(onDisk.version())) {
+            // Parallel bereits zurueckgeholt oder neu gerendert
+            return Optional.of(inMemory.pdf());
+        }
+        if (disk.get(reportId) != onDisk) {
+            // Inzwischen verdraengt oder ersetzt: gelesenen Inhalt liefern, aber nicht cachen
+            return Optional.ofNullable(pdf);
+        }
+        removeFromDisk(reportId);
+        deleteQuietly(onDisk.file());
+        if (pdf == null) {
+            return Optional.empty();
+        }
+        putInMemory(reportId, new MemoryEntry(onDisk.version(), pdf));
+        return Optional.of(pdf);
+    }
+
+    private synchronized void store(Long reportId, String version, RenderedPdf pdf) {
+        // Waehrend des Renderings geaendert: Ergebnis nicht mehr cachen
+        if (!version.equals(dataVersion.reportVersion(reportId))) {
+            return;
+        }
+        removeFromMemory(reportId);
+        DiskEntry stale = removeFromDisk(reportId);
+        if (stale != null) {
+            deleteQuietly(stale.file());
+        }
+        putInMemory(reportId, new MemoryEntry(version, pdf));
+    }
+
+    private void putInMemory(Long reportId, MemoryEntry entry) {
+        memory.put(reportId, entry);
+        memoryBytes += entry.pdf().content().length;
+
+        Iterator<Map.Entry<Long, MemoryEntry>> eldest = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            Map.Entry<Long, MemoryEntry> victim = eldest.next();
+            eldest.remove();
+            memoryBytes -= victim.getValue().pdf().content().length;
+            spill(victim.getKey(), victim.getValue());
+        }
+    }
+
+    private void spill(Long reportId, MemoryEntry entry) {
+        long size = entry.pdf().content().length;
+        if (size > maxDiskBytes) {
+            return;
+        }
+        Path file = cacheDir.resolve(reportId + "-" + entry.pdf().etag() + ".pdf");
+        try {
+            Files.write(file, entry.pdf().content());
+        } catch (IOException e) {
+            log.warn("PDF fuer Report {} konnte nicht ausgelagert werden: {}", reportId, e.getMessage());
+            return;
+        }
+        disk.put(reportId, new DiskEntry(entry.version(), entry.pdf().etag(), file, size));
+        diskBytes += size;
+
+        Iterator<Map.Entry<Long, DiskEntry>> eldest = disk.entrySet().iterator();
+        while (diskBytes > maxDiskBytes && eldest.hasNext()) {
+            DiskEntry victim = eldest.next().getValue();
+            eldest.remove();
+            diskBytes -= victim.size();
+            deleteQuietly(victim.file());
+        }
+    }
+
+    private void removeFromMemory(Long reportId) {
+        MemoryEntry removed = memory.remove(reportId);
+        if (removed != null) {
+            memoryBytes -= removed.pdf().content().length;
+        }
+    }
+
+    private DiskEntry removeFromDisk(Long reportId) {
+        DiskEntry removed = disk.remove(reportId);
+        if (removed != null) {
+            diskBytes -= removed.size();
+        }
+        return removed;
+    }
+
+    // Ausgelagerte Dateien frueherer Laeufe passen nie zur aktuellen Version
+    private void resetCacheDir() {
+        try {
+            Files.createDirectories(cacheDir);
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                files.forEach(RenderedPdfCache::deleteQuietly);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("PDF-Cache-Verzeichnis kann nicht angelegt werden: " + cacheDir, e);
+        }
+    }
+
+    private static RenderedPdf await(CompletableFuture<RenderedPdf> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    static String etagOf(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 nicht verfuegbar", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Datei {} nicht geloescht: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.research.portal.application.export;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versionszaehler fuer den Datenbestand der Research Reports.
+ *
+ * <p>Wird bei jedem Anlegen, Aendern und Loeschen eines Reports erhoeht.
+ * Export-Ergebnisse werden unter einem Schluessel aus Filter und Version
+ * abgelegt; solange sich die Version nicht aendert, kann ein identischer
+ * Export direkt von der Platte geliefert werden.
+ *
+ * <p>Zusaetzlich wird pro Report eine eigene Version gefuehrt, damit
+ * Einzel-Artefakte (z.B. gerenderte PDFs) nur bei Aenderung genau dieses
+ * Reports verworfen werden. Sie ist der Zaehlerstand bei der letzten Aenderung
+ * des Reports; gehalten werden nur geaenderte, nicht geloeschte Reports. Fuer
+ * alle anderen gilt der Zaehlerstand der letzten Loeschung, damit ein
+ * geloeschter Report nie wieder eine frueher vergebene Version erhaelt.
+ *
+ * <p>Die Version enthaelt den Startzeitpunkt der Instanz, damit Ergebnisse
+ * frueherer Laeufe (bei denen die Daten extern geaendert worden sein koennten)
+ * nie wiederverwendet werden.
+ */
+@Component
+public class ReportDataVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicLong counter = new AtomicLong();
+
+    /** Report-ID → Zaehlerstand bei der letzten Aenderung */
+    private final Map<Long, Long> reportChanges = new ConcurrentHashMap<>();
+
+    /** Zaehlerstand bei der letzten Loeschung; Version aller Reports ohne Eintrag */
+    private final AtomicLong lastRemoval = new AtomicLong();
+
+    /**
+     * @return aktuelle Version, z.B. "1760750000000-42"
+     */
+    public String current() {
+        return epoch + "-" + counter.get();
+    }
+
+    /**
+     * Markiert den Datenbestand als geaendert.
+     */
+    public void increment() {
+        counter.incrementAndGet();
+    }
+
+    /**
+     * @param reportId Report-ID
+     * @return aktuelle Version dieses Reports, z.B. "1760750000000-17"
+     */
+    public String reportVersion(Long reportId) {
+        Long changed = reportChanges.get(reportId);
+        return epoch + "-" + (changed != null ? changed : lastRemoval.get());
+    }
+
+    /**
+     * Markiert einen einzelnen Report (und damit den Datenbestand) als geaendert.
+     *
+     * @param reportId Report-ID
+     */
+    public void increment(Long reportId) {
+        reportChanges.merge(reportId, counter.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Markiert einen geloeschten Report (und damit den Datenbestand) als geaendert
+     * und gibt seinen Eintrag frei. Die Version aller nie geaenderten Reports
+     * aendert sich dabei mit.
+     *
+     * @param reportId Report-ID
+     */
+    public void remove(Long reportId) {
+        // Erst die neue Basis setzen: ohne Eintrag darf nie die alte Version erscheinen
+        lastRemoval.accumulateAndGet(counter.incrementAndGet(), Math::max);
+        reportChanges.remove(reportId);
+    }
+
+    /**
+     * @return Anzahl Reports mit eigener Version
+     */
+    int trackedReports() {
+        return reportChanges.size();
+    }
+}
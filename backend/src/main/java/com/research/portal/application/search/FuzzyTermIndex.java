@@ -0,0 +1,162 @@
+package com.research.portal.application.search;
+
+import java.util.*;
+
+/**
+ * Trigramm-Index ueber das Term-Dictionary fuer fehlertolerante Suche.
+ *
+ * <p>Statt bei jeder Suche die Editierdistanz zu allen Terms zu berechnen,
+ * werden ueber gemeinsame Trigramme nur wenige Kandidaten erzeugt
+ * (q-Gramm-Lemma: bei k Fehlern fehlen hoechstens 3·k Trigramme) und
+ * anschliessend mit einer begrenzten Damerau-Levenshtein-Distanz geprueft.
+ * Vertauschte Nachbarbuchstaben ("novarits" → "novartis") zaehlen als ein Fehler.
+ *
+ * <p>Nicht thread-sicher; der {@link SearchIndex} schuetzt den Index mit seinem Lock.
+ */
+final class FuzzyTermIndex {
+
+    /** Kuerzere Tokens werden nicht unscharf gesucht (zu viele Zufallstreffer). */
+    static final int MIN_TOKEN_LENGTH = 3;
+
+    private static final char BOUNDARY = '$';
+
+    /** Trigramm → Terms, die es enthalten. */
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+
+    /**
+     * Ein unscharfer Treffer im Dictionary.
+     *
+     * @param term     der gefundene Term
+     * @param distance Editierdistanz zum Suchtoken (mindestens 1)
+     */
+    record Match(String term, int distance) {
+    }
+
+    void add(String term) {
+        for (String gram : grams(term)) {
+            termsByGram.computeIfAbsent(gram, k -> new HashSet<>(4)).add(term);
+        }
+    }
+
+    void remove(String term) {
+        for (String gram : grams(term)) {
+            Set<String> terms = termsByGram.get(gram);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    termsByGram.remove(gram);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        termsByGram.clear();
+    }
+
+    /**
+     * Sucht Terms mit kleiner Editierdistanz zum Token (ohne den Token selbst).
+     *
+     * @param token         normalisiertes Suchtoken
+     * @param maxCandidates maximale Anzahl gelieferter Treffer
+     * @return Treffer, aufsteigend nach Distanz, dann alphabetisch
+     */
+    List<Match> find(String token, int maxCandidates) {
+        int maxEdits = maxEdits(token.length());
+        if (maxEdits == 0 || maxCandidates <= 0) {
+            return List.of();
+        }
+
+        List<String> tokenGrams = grams(token);
+        Map<String, Integer> sharedGrams = new HashMap<>();
+        for (String gram : tokenGrams) {
+            Set<String> terms = termsByGram.get(gram);
+            if (terms != null) {
+                for (String term : terms) {
+                    sharedGrams.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+
+        int minShared = Math.max(1, tokenGrams.size() - 3 * maxEdits);
+        List<Match> matches = new ArrayList<>();
+        for (Map.Entry<String, Integer> candidate : sharedGrams.entrySet()) {
+            String term = candidate.getKey();
+            if (candidate.getValue() < minShared || term.equals(token)
+                    || Math.abs(term.length() - token.length()) > maxEdits) {
+                continue;
+            }
+            int distance = distance(token, term, maxEdits);
+            if (distance <= maxEdits) {
+                matches.add(new Match(term, distance));
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::term));
+        return matches.size() > maxCandidates ? matches.subList(0, maxCandidates) : matches;
+    }
+
+    /**
+     * Erlaubte Fehler abhaengig von der Token-Laenge: 3-5 Zeichen einer, ab 6 Zeichen zwei.
+     */
+    static int maxEdits(int length) {
+        if (length < MIN_TOKEN_LENGTH) {
+            return 0;
+        }
+        return length < 6 ? 1 : 2;
+    }
+
+    /**
+     * Begrenzte Damerau-Levenshtein-Distanz (Optimal String Alignment).
+     * Bricht ab, sobald keine Zeile mehr unter der Grenze liegt.
+     *
+     * @return die Distanz oder {@code max + 1}, wenn sie groesser als {@code max} ist
+     */
+    static int distance(String a, String b, int max) {
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        int[] previous2 = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char cb = b.charAt(j - 1);
+                int cost = ca == cb ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && ca == b.charAt(j - 2) && a.charAt(i - 2) == cb) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[m], max + 1);
+    }
+
+    /** Trigramme mit Randmarkierung: "nesn" → "$ne", "nes", "esn", "sn$". */
+    private static List<String> grams(String term) {
+        String padded = BOUNDARY + term + BOUNDARY;
+        List<String> grams = new ArrayList<>(Math.max(0, padded.length() - 2));
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,63 @@
+package com.research.portal.application.search;
+
+import java.util.List;
+
+/**
+ * Ein im Suchindex abgelegtes Dokument (Report, Analyst oder Wertschrift).
+ *
+ * <p>Enthaelt alles, was fuer die Darstellung eines Treffers noetig ist,
+ * damit die Suche keinen Datenbankzugriff mehr braucht. Die Position eines
+ * Feldes in {@link #fields()} ist gleichzeitig sein Index in den Postings.
+ *
+ * @param type     Typ des Dokuments (REPORT, ANALYST, SECURITY)
+ * @param id       ID der Entitaet
+ * @param title    Anzeigetitel (Report-Titel, Analyst-Name, Wertschrift-Name)
+ * @param subtitle Untertitel mit zusaetzlichem Kontext
+ * @param fields   durchsuchbare Felder
+ */
+public record IndexedDocument(String type, Long id, String title, String subtitle, List<Field> fields) {
+
+    /**
+     * Ein durchsuchbares Feld eines Dokuments.
+     *
+     * @param name          Feldname (z.B. "title", "ticker")
+     * @param value         Originalwert (fuer Highlights)
+     * @param normalized    normalisierter Wert (einmalig beim Indexieren berechnet)
+     * @param length        Anzahl Tokens (Feldlaenge fuer BM25)
+     * @param boost         Gewichtung des Feldes im Score
+     * @param exactMatch    ob ein exakter Treffer auf das ganze Feld zusaetzlich belohnt wird
+     * @param fullHighlight ob der ganze Wert statt eines Ausschnitts hervorgehoben wird
+     */
+    public record Field(String name, String value, String normalized, int length,
+                        double boost, boolean exactMatch, boolean fullHighlight) {
+
+        static Field primary(String name, String value, double boost, boolean fullHighlight) {
+            return create(name, value, boost, true, fullHighlight);
+        }
+
+        static Field secondary(String name, String value, double boost, boolean fullHighlight) {
+            return create(name, value, boost, false, fullHighlight);
+        }
+
+        private static Field create(String name, String value, double boost,
+                                    boolean exactMatch, boolean fullHighlight) {
+            String safe = value != null ? value : "";
+            String normalized = SearchTokenizer.normalize(safe);
+            int length = SearchTokenizer.tokenize(normalized).size();
+            return new Field(name, safe, normalized, length, boost, exactMatch, fullHighlight);
+        }
+    }
+
+    /**
+     * Eindeutiger Schluessel eines Dokuments im Index.
+     *
+     * @param type Typ des Dokuments
+     * @param id   ID der Entitaet
+     */
+    public record Key(String type, Long id) {
+    }
+
+    public Key key() {
+        return new Key(type, id);
+    }
+}
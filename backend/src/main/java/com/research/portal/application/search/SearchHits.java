@@ -0,0 +1,35 @@
+package com.research.portal.application.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ergebnis einer Index-Suche: die besten k Treffer plus exakte Gesamtzahlen.
+ *
+ * @param hits       die besten Treffer, absteigend nach Score sortiert
+ * @param totalHits  Gesamtanzahl aller Treffer (nicht nur der besten k)
+ * @param hitsByType Gesamtanzahl der Treffer pro Typ
+ */
+public record SearchHits(List<Hit> hits, int totalHits, Map<String, Integer> hitsByType) {
+
+    public static SearchHits empty() {
+        return new SearchHits(List.of(), 0, Map.of());
+    }
+
+    /**
+     * Ein einzelner Treffer.
+     *
+     * @param document       das gefundene Dokument
+     * @param score          BM25-Score inklusive Feld-Boosts
+     * @param fieldIndex     Index des am besten passenden Feldes (fuer Highlights)
+     * @param highlightStart Start-Offset der Fundstelle im Originalwert des Feldes
+     * @param highlightEnd   End-Offset (exklusive) der Fundstelle im Originalwert
+     */
+    public record Hit(IndexedDocument document, double score, int fieldIndex,
+                      int highlightStart, int highlightEnd) {
+
+        public IndexedDocument.Field field() {
+            return document.fields().get(fieldIndex);
+        }
+    }
+}
@@ -0,0 +1,818 @@
+package com.research.portal.application.search;
+
+import com.research.portal.adapter.out.persistence.entity.AnalystEntity;
+import com.research.portal.adapter.out.persistence.entity.ResearchReportEntity;
+import com.research.portal.adapter.out.persistence.entity.SecurityEntity;
+import com.research.portal.adapter.out.persistence.repository.JpaAnalystRepository;
+import com.research.portal.adapter.out.persistence.repository.JpaReportRepository;
+import com.research.portal.adapter.out.persistence.repository.JpaSecurityRepository;
+import com.research.portal.domain.model.ResearchReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-Memory invertierter Index fuer die globale Suche.
+ *
+ * <p>Statt bei jeder Suche alle Reports, Analysten und Wertschriften per
+ * {@code findAll()} aus der Datenbank zu laden, wird beim Start einmalig ein
+ * Index aufgebaut und bei Report-Aenderungen inkrementell nachgefuehrt:
+ * <ul>
+ *   <li>Positionale Postings: Term → Dokumente → pro Feld alle Vorkommen
+ *       mit Token-Position und Zeichen-Offsets im Originaltext</li>
+ *   <li>Substring-Dictionary: jedes Suffix eines Terms → Terms, damit auch
+ *       Teilwort-Suchen ("estl" findet "nestle") ohne Scan beantwortet werden</li>
+ *   <li>Trigramm-Index ueber die Terms fuer fehlertolerante Suche
+ *       ("novarits" findet "novartis"), siehe {@link FuzzyTermIndex}</li>
+ *   <li>Dokument-Store: vorab normalisierte Feldwerte und Feldlaengen</li>
+ * </ul>
+ *
+ * <p>Scoring mit BM25 pro Feld (eigene Durchschnittslaenge je Typ und Feld),
+ * gewichtet mit dem Feld-Boost. Teilwort-Treffer zaehlen schwaecher als exakte
+ * Terms. Die besten k Treffer werden mit einem begrenzten Min-Heap bestimmt,
+ * es wird also nie die gesamte Trefferliste sortiert.
+ *
+ * <p>Reports sind inklusive Volltext, Katalysatoren, Risiken und Tags indexiert.
+ * Phrasen werden ueber die Positionen geprueft, Snippets aus den gespeicherten
+ * Offsets geschnitten (siehe {@link SearchQuery}).
+ *
+ * <p>Thread-sicher ueber einen {@link ReentrantReadWriteLock}: beliebig viele
+ * parallele Suchen, Aenderungen exklusiv. Der Aufbau erfolgt beim
+ * {@link ApplicationReadyEvent} oder spaetestens bei der ersten Suche.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    public static final String TYPE_REPORT = "REPORT";
+    public static final String TYPE_ANALYST = "ANALYST";
+    public static final String TYPE_SECURITY = "SECURITY";
+
+    /** BM25: Saettigung der Term-Frequenz. */
+    static final double BM25_K1 = 1.2;
+
+    /** BM25: Einfluss der Feldlaenge. */
+    static final double BM25_B = 0.75;
+
+    /** Gewicht eines Terms, der mit dem Suchtoken beginnt ("nest" → "nestle"). */
+    static final double PREFIX_WEIGHT = 0.7;
+
+    /** Gewicht eines Terms, der das Suchtoken nur enthaelt ("estl" → "nestle"). */
+    static final double INFIX_WEIGHT = 0.4;
+
+    /** Gewicht eines unscharfen Treffers mit einem Fehler; jeder weitere Fehler halbiert es. */
+    static final double FUZZY_WEIGHT = 0.5;
+
+    /** Faktor, wenn die ganze Suchanfrage exakt einem Primaerfeld entspricht. */
+    static final double EXACT_MATCH_FACTOR = 2.0;
+
+    /** Maximale Anzahl Terms, auf die ein Suchtoken erweitert wird. */
+    static final int MAX_EXPANSIONS = 64;
+
+    /** Reihenfolge der Typen bei gleichem Score (deterministische Sortierung). */
+    private static final List<String> TYPE_ORDER = List.of(TYPE_REPORT, TYPE_ANALYST, TYPE_SECURITY);
+
+    /** Bester Treffer zuerst: Score absteigend, dann Typ, dann ID. */
+    private static final Comparator<SearchHits.Hit> RANKING =
+            Comparator.comparingDouble(SearchHits.Hit::score).reversed()
+                    .thenComparingInt(hit -> TYPE_ORDER.indexOf(hit.document().type()))
+                    .thenComparing(hit -> hit.document().id(), Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final JpaReportRepository reportRepository;
+    private final JpaAnalystRepository analystRepository;
+    private final JpaSecurityRepository securityRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Dokument-Store, Key → Dokument. */
+    private final Map<IndexedDocument.Key, IndexedDocument> documents = new HashMap<>();
+
+    /** Postings: Term → Dokument → Vorkommen pro Feld. */
+    private final Map<String, Map<IndexedDocument.Key, Posting>> postings = new HashMap<>();
+
+    /** Summe der Feldlaengen und Anzahl Felder pro "Typ.Feld" (fuer die BM25-Durchschnittslaenge). */
+    private final Map<String, long[]> fieldLengthStats = new HashMap<>();
+
+    /** Suffix eines Terms → alle Terms mit diesem Suffix (fuer Teilwort-Suche). */
+    private final NavigableMap<String, Set<String>> substringDictionary = new TreeMap<>();
+
+    /** Trigramme der Terms (fuer fehlertolerante Suche). */
+    private final FuzzyTermIndex fuzzyTerms = new FuzzyTermIndex();
+
+    private volatile boolean built;
+
+    public SearchIndex(JpaReportRepository reportRepository,
+                       JpaAnalystRepository analystRepository,
+                       JpaSecurityRepository securityRepository) {
+        this.reportRepository = reportRepository;
+        this.analystRepository = analystRepository;
+        this.securityRepository = securityRepository;
+    }
+
+    /**
+     * Baut den Index komplett neu aus der Datenbank auf.
+     * Laeuft automatisch nach dem Start der Anwendung.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            buildLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Nimmt einen gespeicherten Report in den Index auf oder ersetzt die bestehende Version.
+     *
+     * @param report der gespeicherte Report (mit ID)
+     */
+    public void indexReport(ResearchReport report) {
+        if (report == null || report.getId() == null) {
+            return;
+        }
+        IndexedDocument document = reportDocument(
+                report.getId(),
+                report.getTitle(),
+                report.getExecutiveSummary(),
+                report.getRating() != null ? report.getRating().name() : null,
+                report.getReportType() != null ? report.getReportType().name() : null,
+                report.getFullText(),
+                joinList(report.getInvestmentCatalysts()),
+                joinList(report.getKeyRisks()),
+                joinList(report.getTags()));
+
+        lock.writeLock().lock();
+        try {
+            // Erst unter dem Lock pruefen: ein laufender Aufbau hat den Report evtl. noch
+            // nicht gelesen, die Aenderung wartet deshalb auf sein Ende
+            if (!built) {
+                // Noch nicht aufgebaut: der spaetere Aufbau liest den Report aus der DB
+                return;
+            }
+            removeLocked(document.key());
+            addLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entfernt einen geloeschten Report aus dem Index.
+     *
+     * @param id ID des geloeschten Reports
+     */
+    public void removeReport(Long id) {
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (built) {
+                removeLocked(new IndexedDocument.Key(TYPE_REPORT, id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Parst die Anfrage und sucht im Index, siehe {@link #search(SearchQuery, String, int)}.
+     *
+     * @param query Suchanfrage (Syntax siehe {@link SearchQuery})
+     * @param type  Typ-Filter oder null fuer alle Typen
+     * @param limit maximale Anzahl gelieferter Treffer (k)
+     * @return Top-k-Treffer mit exakten Gesamtzahlen
+     */
+    public SearchHits search(String query, String type, int limit) {
+        return search(SearchQuery.parse(query), type, limit);
+    }
+
+    /**
+     * Sucht im Index und liefert die besten {@code limit} Treffer nach BM25-Score.
+     *
+     * <p>Ein Dokument ist ein Treffer, wenn alle Klauseln mindestens einer
+     * Alternative passen. Ein einzelner Begriff passt als Term, Praefix oder
+     * Teilwort; pro Begriff zaehlt die am besten bewertete Erweiterung. Eine
+     * Phrase passt, wenn ihre Terms im selben Feld direkt aufeinander folgen.
+     * Gesamtanzahl und Anzahl pro Typ werden im selben Durchlauf exakt gezaehlt,
+     * sortiert wird nur der Heap der besten k.
+     *
+     * @param query geparste Suchanfrage
+     * @param type  Typ-Filter oder null fuer alle Typen
+     * @param limit maximale Anzahl gelieferter Treffer (k)
+     * @return Top-k-Treffer mit exakten Gesamtzahlen
+     */
+    public SearchHits search(SearchQuery query, String type, int limit) {
+        if (query.isEmpty() || limit <= 0) {
+            return SearchHits.empty();
+        }
+
+        List<SearchQuery.Clause> clauses = new ArrayList<>();
+        for (List<SearchQuery.Clause> alternative : query.alternatives()) {
+            clauses.addAll(alternative);
+        }
+
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            Map<IndexedDocument.Key, ScoreAccumulator> accumulators = new HashMap<>();
+            double documentCount = documents.size();
+
+            for (int c = 0; c < clauses.size(); c++) {
+                SearchQuery.Clause clause = clauses.get(c);
+                if (clause.phrase() && clause.terms().size() > 1) {
+                    scorePhrase(clause.terms(), c, type, documentCount, clauses.size(), accumulators);
+                } else {
+                    scoreTerm(clause.terms().get(0), !clause.phrase(), c, type,
+                            documentCount, clauses.size(), accumulators);
+                }
+            }
+
+            return selectTopK(accumulators.values(), query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Anzahl der indexierten Dokumente.
+     *
+     * @return Anzahl Dokumente ueber alle Typen
+     */
+    public int size() {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ==================== Private Hilfsmethoden ====================
+
+    /**
+     * Bewertet einen einzelnen Begriff. Mit {@code expand} werden auch Praefix-,
+     * Teilwort- und unscharfe Treffer beruecksichtigt, schwaecher gewichtet als der exakte Term.
+     */
+    private void scoreTerm(String token, boolean expand, int clauseIndex, String type, double documentCount,
+                           int clauseCount, Map<IndexedDocument.Key, ScoreAccumulator> accumulators) {
+        Map<String, Double> terms = expand ? expandToken(token)
+                : postings.containsKey(token) ? Map.of(token, 1.0) : Map.of();
+
+        for (Map.Entry<String, Double> expansion : terms.entrySet()) {
+            Map<IndexedDocument.Key, Posting> termPostings = postings.get(expansion.getKey());
+            double idf = idf(documentCount, termPostings.size());
+            double expansionWeight = expansion.getValue();
+
+            for (Posting posting : termPostings.values()) {
+                IndexedDocument document = posting.document;
+                if (!matchesType(document, type)) {
+                    continue;
+                }
+                ScoreAccumulator accumulator = accumulators.computeIfAbsent(
+                        document.key(), k -> new ScoreAccumulator(document, clauseCount));
+
+                List<IndexedDocument.Field> fields = document.fields();
+                double clauseScore = 0.0;
+                double bestFieldScore = -1.0;
+                int bestField = 0;
+                for (int f = 0; f < fields.size(); f++) {
+                    int tf = posting.termFrequency(f);
+                    if (tf == 0) {
+                        continue;
+                    }
+                    double fieldScore = bm25(document.type(), fields.get(f), tf);
+                    clauseScore += fieldScore;
+                    if (fieldScore > bestFieldScore) {
+                        bestFieldScore = fieldScore;
+                        bestField = f;
+                    }
+                }
+
+                accumulator.offer(clauseIndex, idf * expansionWeight * clauseScore, bestField,
+                        posting.start(bestField, 0), posting.end(bestField, 0));
+            }
+        }
+    }
+
+    /**
+     * Bewertet eine Phrase: Kandidaten sind die Dokumente des ersten Terms,
+     * die Abfolge wird ueber die Positionen der weiteren Terms geprueft.
+     * Die Anzahl Phrasen-Vorkommen pro Feld dient als Term-Frequenz.
+     */
+    private void scorePhrase(List<String> terms, int clauseIndex, String type, double documentCount,
+                             int clauseCount, Map<IndexedDocument.Key, ScoreAccumulator> accumulators) {
+        List<Map<IndexedDocument.Key, Posting>> termPostings = new ArrayList<>(terms.size());
+        double idf = 0.0;
+        for (String term : terms) {
+            Map<IndexedDocument.Key, Posting> p = postings.get(term);
+            if (p == null) {
+                return;
+            }
+            termPostings.add(p);
+            idf += idf(documentCount, p.size());
+        }
+
+        Posting[] chain = new Posting[terms.size()];
+        for (Posting first : termPostings.get(0).values()) {
+            IndexedDocument document = first.document;
+            if (!matchesType(document, type) || !collectChain(document.key(), termPostings, chain)) {
+                continue;
+            }
+
+            List<IndexedDocument.Field> fields = document.fields();
+            double clauseScore = 0.0;
+            double bestFieldScore = -1.0;
+            int bestField = -1;
+            int bestStart = 0;
+            int bestEnd = 0;
+            for (int f = 0; f < fields.size(); f++) {
+                int phraseFrequency = 0;
+                int firstStart = 0;
+                int firstEnd = 0;
+                for (int i = 0; i < first.termFrequency(f); i++) {
+                    int end = phraseEnd(chain, f, first.position(f, i));
+                    if (end >= 0) {
+                        if (phraseFrequency == 0) {
+                            firstStart = first.start(f, i);
+                            firstEnd = end;
+                        }
+                        phraseFrequency++;
+                    }
+                }
+                if (phraseFrequency == 0) {
+                    continue;
+                }
+                double fieldScore = bm25(document.type(), fields.get(f), phraseFrequency);
+                clauseScore += fieldScore;
+                if (fieldScore > bestFieldScore) {
+                    bestFieldScore = fieldScore;
+                    bestField = f;
+                    bestStart = firstStart;
+                    bestEnd = firstEnd;
+                }
+            }
+
+            if (bestField >= 0) {
+                accumulators.computeIfAbsent(document.key(), k -> new ScoreAccumulator(document, clauseCount))
+                        .offer(clauseIndex, idf * clauseScore, bestField, bestStart, bestEnd);
+            }
+        }
+    }
+
+    /** Sucht fuer jeden Term der Phrase das Posting des Dokuments; false, wenn ein Term fehlt. */
+    private static boolean collectChain(IndexedDocument.Key key,
+                                        List<Map<IndexedDocument.Key, Posting>> termPostings, Posting[] chain) {
+        for (int t = 0; t < chain.length; t++) {
+            chain[t] = termPostings.get(t).get(key);
+            if (chain[t] == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prueft, ob die Phrase im Feld an der Position beginnt.
+     *
+     * @return End-Offset des letzten Terms oder -1, wenn die Abfolge nicht passt
+     */
+    private static int phraseEnd(Posting[] chain, int field, int position) {
+        int end = -1;
+        for (int t = 1; t < chain.length; t++) {
+            int occurrence = chain[t].indexOfPosition(field, position + t);
+            if (occurrence < 0) {
+                return -1;
+            }
+            end = chain[t].end(field, occurrence);
+        }
+        return end;
+    }
+
+    /** BM25-Anteil eines Feldes fuer die gegebene Term-Frequenz, inklusive Feld-Boost. */
+    private double bm25(String type, IndexedDocument.Field field, int tf) {
+        double avgLength = averageFieldLength(type, field.name());
+        double norm = 1.0 - BM25_B + BM25_B * field.length() / avgLength;
+        return field.boost() * tf * (BM25_K1 + 1.0) / (tf + BM25_K1 * norm);
+    }
+
+    /**
+     * Zaehlt alle vollstaendigen Treffer und haelt die besten k in einem Min-Heap.
+     */
+    private SearchHits selectTopK(Collection<ScoreAccumulator> accumulators,
+                                  SearchQuery query, int limit) {
+        Comparator<SearchHits.Hit> worstFirst = RANKING.reversed();
+        PriorityQueue<SearchHits.Hit> heap = new PriorityQueue<>(limit + 1, worstFirst);
+        Map<String, Integer> hitsByType = new HashMap<>();
+        int totalHits = 0;
+
+        for (ScoreAccumulator accumulator : accumulators) {
+            double score = accumulator.score(query);
+            if (score < 0.0) {
+                continue;
+            }
+            totalHits++;
+            hitsByType.merge(accumulator.document.type(), 1, Integer::sum);
+
+            SearchHits.Hit hit = accumulator.toHit(score);
+            if (heap.size() < limit) {
+                heap.add(hit);
+            } else if (worstFirst.compare(hit, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        List<SearchHits.Hit> hits = new ArrayList<>(heap);
+        hits.sort(RANKING);
+        return new SearchHits(hits, totalHits, hitsByType);
+    }
+
+    /**
+     * Erweitert ein Suchtoken auf die passenden Terms im Dictionary, jeweils mit Gewicht:
+     * exakter Term zuerst, dann Praefix-Treffer (kuerzeste zuerst), dann Teilwort-Treffer.
+     * Existiert der Term nicht exakt (z.B. Tippfehler), kommen unscharfe Treffer
+     * aus dem Trigramm-Index dazu. Die Anzahl ist auf {@link #MAX_EXPANSIONS} begrenzt.
+     *
+     * <p>Ein kurzes Praefix kann sehr viele Terms treffen; behalten werden nur die
+     * {@link #MAX_EXPANSIONS} kuerzesten in einem Max-Heap, statt alle zu sammeln
+     * und zu sortieren.
+     */
+    private Map<String, Double> expandToken(String token) {
+        Comparator<String> shortestFirst = Comparator.comparingInt(String::length)
+                .thenComparing(Comparator.naturalOrder());
+        PriorityQueue<String> prefixMatches = new PriorityQueue<>(MAX_EXPANSIONS + 1, shortestFirst.reversed());
+        Set<String> infixMatches = new HashSet<>();
+        boolean exact = false;
+
+        for (Map.Entry<String, Set<String>> entry : substringDictionary
+                .subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            String suffix = entry.getKey();
+            for (String term : entry.getValue()) {
+                if (term.length() == suffix.length()) {
+                    // Suffix ist der ganze Term: exakter oder Praefix-Treffer (genau einmal pro Term)
+                    if (term.length() == token.length()) {
+                        exact = true;
+                    } else if (prefixMatches.size() < MAX_EXPANSIONS) {
+                        prefixMatches.add(term);
+                    } else if (shortestFirst.compare(term, prefixMatches.peek()) < 0) {
+                        prefixMatches.poll();
+                        prefixMatches.add(term);
+                    }
+                } else if (!term.startsWith(token) && infixMatches.size() < MAX_EXPANSIONS) {
+                    infixMatches.add(term);
+                }
+            }
+        }
+
+        Map<String, Double> expansions = new LinkedHashMap<>();
+        if (exact) {
+            expansions.put(token, 1.0);
+        }
+        List<String> prefixTerms = new ArrayList<>(prefixMatches);
+        prefixTerms.sort(shortestFirst);
+        for (String term : prefixTerms) {
+            if (expansions.size() >= MAX_EXPANSIONS) {
+                return expansions;
+            }
+            expansions.put(term, PREFIX_WEIGHT);
+        }
+        List<String> infixTerms = new ArrayList<>(infixMatches);
+        infixTerms.sort(shortestFirst);
+        for (String term : infixTerms) {
+            if (expansions.size() >= MAX_EXPANSIONS) {
+                return expansions;
+            }
+            expansions.put(term, INFIX_WEIGHT);
+        }
+        if (!exact) {
+            for (FuzzyTermIndex.Match match : fuzzyTerms.find(token, MAX_EXPANSIONS - expansions.size())) {
+                expansions.putIfAbsent(match.term(), FUZZY_WEIGHT / (1 << (match.distance() - 1)));
+            }
+        }
+        return expansions;
+    }
+
+    /** BM25-IDF (immer positiv, auch fuer sehr haeufige Terms). */
+    private static double idf(double documentCount, int documentFrequency) {
+        return Math.log(1.0 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private double averageFieldLength(String type, String fieldName) {
+        long[] stats = fieldLengthStats.get(type + "." + fieldName);
+        if (stats == null || stats[1] == 0 || stats[0] == 0) {
+            return 1.0;
+        }
+        return (double) stats[0] / stats[1];
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                buildLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void buildLocked() {
+        long start = System.nanoTime();
+        documents.clear();
+        postings.clear();
+        substringDictionary.clear();
+        fuzzyTerms.clear();
+        fieldLengthStats.clear();
+
+        for (ResearchReportEntity report : reportRepository.findAll()) {
+            addLocked(reportDocument(report.getId(), report.getTitle(),
+                    report.getExecutiveSummary(), report.getRating(), report.getReportType(),
+                    report.getFullText(), report.getInvestmentCatalysts(),
+                    report.getKeyRisks(), report.getTags()));
+        }
+        for (AnalystEntity analyst : analystRepository.findAll()) {
+            addLocked(analystDocument(analyst));
+        }
+        for (SecurityEntity security : securityRepository.findAll()) {
+            addLocked(securityDocument(security));
+        }
+
+        built = true;
+        log.info("Suchindex aufgebaut: {} Dokumente, {} Terms [{}ms]",
+                documents.size(), postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void addLocked(IndexedDocument document) {
+        IndexedDocument.Key key = document.key();
+        documents.put(key, document);
+        List<IndexedDocument.Field> fields = document.fields();
+        for (int f = 0; f < fields.size(); f++) {
+            IndexedDocument.Field field = fields.get(f);
+            long[] stats = fieldLengthStats.computeIfAbsent(document.type() + "." + field.name(), k -> new long[2]);
+            stats[0] += field.length();
+            stats[1]++;
+
+            for (SearchTokenizer.Token token : SearchTokenizer.analyze(field.value())) {
+                Map<IndexedDocument.Key, Posting> termPostings = postings.get(token.term());
+                if (termPostings == null) {
+                    termPostings = new HashMap<>();
+                    postings.put(token.term(), termPostings);
+                    addToSubstringDictionary(token.term());
+                    fuzzyTerms.add(token.term());
+                }
+                termPostings.computeIfAbsent(key, k -> new Posting(document))
+                        .add(f, token.position(), token.start(), token.end());
+            }
+        }
+    }
+
+    private void removeLocked(IndexedDocument.Key key) {
+        IndexedDocument existing = documents.remove(key);
+        if (existing == null) {
+            return;
+        }
+        for (IndexedDocument.Field field : existing.fields()) {
+            long[] stats = fieldLengthStats.get(existing.type() + "." + field.name());
+            if (stats != null) {
+                stats[0] -= field.length();
+                stats[1]--;
+            }
+
+            for (SearchTokenizer.Token token : SearchTokenizer.analyze(field.value())) {
+                String term = token.term();
+                Map<IndexedDocument.Key, Posting> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                termPostings.remove(key);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                    removeFromSubstringDictionary(term);
+                    fuzzyTerms.remove(term);
+                }
+            }
+        }
+    }
+
+    private void addToSubstringDictionary(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            substringDictionary.computeIfAbsent(term.substring(i), k -> new HashSet<>(2)).add(term);
+        }
+    }
+
+    private void removeFromSubstringDictionary(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            String suffix = term.substring(i);
+            Set<String> terms = substringDictionary.get(suffix);
+            if (terms != null) {
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    substringDictionary.remove(suffix);
+                }
+            }
+        }
+    }
+
+    private boolean matchesType(IndexedDocument document, String type) {
+        return type == null || type.equalsIgnoreCase(document.type());
+    }
+
+    private static IndexedDocument reportDocument(Long id, String title, String summary,
+                                                  String rating, String reportType, String fullText,
+                                                  String catalysts, String keyRisks, String tags) {
+        String subtitle = nullSafe(rating) + " | " + nullSafe(reportType);
+        return new IndexedDocument(TYPE_REPORT, id, nullSafe(title), subtitle, List.of(
+                IndexedDocument.Field.primary("title", title, 3.0, false),
+                IndexedDocument.Field.secondary("executiveSummary", summary, 1.0, false),
+                IndexedDocument.Field.secondary("rating", rating, 1.0, true),
+                IndexedDocument.Field.secondary("reportType", reportType, 1.0, true),
+                IndexedDocument.Field.secondary("tags", tags, 1.5, false),
+                IndexedDocument.Field.secondary("investmentCatalysts", catalysts, 1.0, false),
+                IndexedDocument.Field.secondary("keyRisks", keyRisks, 1.0, false),
+                IndexedDocument.Field.secondary("fullText", fullText, 1.0, false)
+        ));
+    }
+
+    private static IndexedDocument analystDocument(AnalystEntity analyst) {
+        String subtitle = nullSafe(analyst.getTitle()) + " | " + nullSafe(analyst.getDepartment());
+        return new IndexedDocument(TYPE_ANALYST, analyst.getId(), nullSafe(analyst.getName()), subtitle, List.of(
+                IndexedDocument.Field.primary("name", analyst.getName(), 3.0, false),
+                IndexedDocument.Field.secondary("title", analyst.getTitle(), 1.0, false),
+                IndexedDocument.Field.secondary("department", analyst.getDepartment(), 1.0, false),
+                IndexedDocument.Field.secondary("email", analyst.getEmail(), 0.5, true)
+        ));
+    }
+
+    private static IndexedDocument securityDocument(SecurityEntity security) {
+        String subtitle = nullSafe(security.getTicker()) + " | " + nullSafe(security.getSector());
+        return new IndexedDocument(TYPE_SECURITY, security.getId(), nullSafe(security.getName()), subtitle, List.of(
+                IndexedDocument.Field.primary("ticker", security.getTicker(), 4.0, true),
+                IndexedDocument.Field.primary("name", security.getName(), 3.0, false),
+                IndexedDocument.Field.secondary("isin", security.getIsin(), 2.0, true),
+                IndexedDocument.Field.secondary("sector", security.getSector(), 1.0, false),
+                IndexedDocument.Field.secondary("industry", security.getIndustry(), 1.0, false)
+        ));
+    }
+
+    private static String nullSafe(String value) {
+        return value != null ? value : "";
+    }
+
+    /** Listen werden wie in der Persistenz mit "|" verbunden. */
+    private static String joinList(List<String> values) {
+        return values != null ? String.join("|", values) : null;
+    }
+
+    /**
+     * Posting eines Terms in einem Dokument: pro Feld alle Vorkommen als
+     * Tripel (Position, Start-Offset, End-Offset), aufsteigend nach Position.
+     * Die Term-Frequenz eines Feldes ist die Anzahl seiner Vorkommen.
+     */
+    private static final class Posting {
+
+        private static final int STRIDE = 3;
+
+        private final IndexedDocument document;
+        private final int[][] occurrences;
+        private final int[] counts;
+
+        private Posting(IndexedDocument document) {
+            this.document = document;
+            this.occurrences = new int[document.fields().size()][];
+            this.counts = new int[document.fields().size()];
+        }
+
+        private void add(int field, int position, int start, int end) {
+            int offset = counts[field] * STRIDE;
+            int[] data = occurrences[field];
+            if (data == null) {
+                data = new int[STRIDE];
+                occurrences[field] = data;
+            } else if (offset == data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+                occurrences[field] = data;
+            }
+            data[offset] = position;
+            data[offset + 1] = start;
+            data[offset + 2] = end;
+            counts[field]++;
+        }
+
+        private int termFrequency(int field) {
+            return counts[field];
+        }
+
+        private int position(int field, int occurrence) {
+            return occurrences[field][occurrence * STRIDE];
+        }
+
+        private int start(int field, int occurrence) {
+            return occurrences[field][occurrence * STRIDE + 1];
+        }
+
+        private int end(int field, int occurrence) {
+            return occurrences[field][occurrence * STRIDE + 2];
+        }
+
+        /** Binaere Suche nach einer Position; liefert den Index des Vorkommens oder -1. */
+        private int indexOfPosition(int field, int position) {
+            int low = 0;
+            int high = counts[field] - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int value = position(field, mid);
+                if (value < position) {
+                    low = mid + 1;
+                } else if (value > position) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Sammelt pro Dokument den besten Score je Klausel waehrend einer Suche
+     * und merkt sich die Fundstelle mit dem hoechsten Einzelscore fuer das Snippet.
+     */
+    private static final class ScoreAccumulator {
+
+        private final IndexedDocument document;
+        private final double[] clauseScores;
+        private final boolean[] clauseMatched;
+        private double bestScore = -1.0;
+        private int bestField;
+        private int bestStart;
+        private int bestEnd;
+
+        private ScoreAccumulator(IndexedDocument document, int clauseCount) {
+            this.document = document;
+            this.clauseScores = new double[clauseCount];
+            this.clauseMatched = new boolean[clauseCount];
+        }
+
+        private void offer(int clauseIndex, double score, int field, int start, int end) {
+            clauseMatched[clauseIndex] = true;
+            if (score > clauseScores[clauseIndex]) {
+                clauseScores[clauseIndex] = score;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestField = field;
+                bestStart = start;
+                bestEnd = end;
+            }
+        }
+
+        /**
+         * Summiert die Scores aller vollstaendig erfuellten Alternativen.
+         *
+         * @return Score inklusive Exakt-Match-Bonus oder -1, wenn keine Alternative passt
+         */
+        private double score(SearchQuery query) {
+            double score = 0.0;
+            boolean matched = false;
+            int clauseIndex = 0;
+            for (List<SearchQuery.Clause> alternative : query.alternatives()) {
+                double alternativeScore = 0.0;
+                boolean complete = true;
+                for (int i = 0; i < alternative.size(); i++, clauseIndex++) {
+                    complete &= clauseMatched[clauseIndex];
+                    alternativeScore += clauseScores[clauseIndex];
+                }
+                if (complete) {
+                    matched = true;
+                    score += alternativeScore;
+                }
+            }
+            if (!matched) {
+                return -1.0;
+            }
+            for (IndexedDocument.Field field : document.fields()) {
+                if (field.exactMatch() && field.normalized().equals(query.normalizedText())) {
+                    return score * EXACT_MATCH_FACTOR;
+                }
+            }
+            return score;
+        }
+
+        private SearchHits.Hit toHit(double score) {
+            return new SearchHits.Hit(document, score, bestField, bestStart, bestEnd);
+        }
+    }
+}
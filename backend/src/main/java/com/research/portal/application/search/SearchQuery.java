@@ -0,0 +1,103 @@
+package com.research.portal.application.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geparste Suchanfrage fuer den {@link SearchIndex}.
+ *
+ * <p>Unterstuetzte Syntax:
+ * <ul>
+ *   <li>{@code nestle coverage} – alle Begriffe muessen vorkommen (AND, Standard)</li>
+ *   <li>{@code nestle OR novartis} – mindestens eine Alternative muss passen</li>
+ *   <li>{@code "margin pressure"} – Phrase: Begriffe direkt hintereinander, ohne Teilwort-Erweiterung</li>
+ * </ul>
+ * Die Operatoren {@code OR} und {@code AND} werden nur in Grossbuchstaben erkannt,
+ * damit normale Woerter wie "or" weiterhin gesucht werden koennen.
+ *
+ * @param alternatives   ODER-verknuepfte Alternativen, jede eine UND-Liste von Klauseln
+ * @param normalizedText normalisierte Anfrage ohne Anfuehrungszeichen (fuer den Exakt-Match-Bonus)
+ */
+public record SearchQuery(List<List<Clause>> alternatives, String normalizedText) {
+
+    private static final String OR = "OR";
+    private static final String AND = "AND";
+
+    /**
+     * Eine einzelne Bedingung der Anfrage.
+     *
+     * @param terms  normalisierte Terms (ein Term oder mehrere bei Phrasen)
+     * @param phrase true = Terms exakt und direkt hintereinander, false = einzelner Term mit Teilwort-Erweiterung
+     */
+    public record Clause(List<String> terms, boolean phrase) {
+
+        static Clause term(String term) {
+            return new Clause(List.of(term), false);
+        }
+
+        static Clause phrase(List<String> terms) {
+            return new Clause(List.copyOf(terms), true);
+        }
+    }
+
+    /**
+     * Parst eine Suchanfrage. Nicht geschlossene Anfuehrungszeichen gelten bis zum Ende.
+     *
+     * @param query die Anfrage wie vom Benutzer eingegeben (null-sicher)
+     * @return geparste Anfrage, ggf. ohne Alternativen
+     */
+    public static SearchQuery parse(String query) {
+        String raw = query != null ? query.trim() : "";
+        List<List<Clause>> alternatives = new ArrayList<>();
+        Set<Clause> current = new LinkedHashSet<>();
+
+        int i = 0;
+        while (i < raw.length()) {
+            char c = raw.charAt(i);
+            if (c == '"') {
+                int close = raw.indexOf('"', i + 1);
+                int end = close < 0 ? raw.length() : close;
+                List<String> terms = SearchTokenizer.tokenize(SearchTokenizer.normalize(raw.substring(i + 1, end)));
+                if (!terms.isEmpty()) {
+                    current.add(Clause.phrase(terms));
+                }
+                i = end + 1;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else {
+                int end = i;
+                while (end < raw.length() && !Character.isWhitespace(raw.charAt(end)) && raw.charAt(end) != '"') {
+                    end++;
+                }
+                String word = raw.substring(i, end);
+                if (OR.equals(word)) {
+                    addAlternative(alternatives, current);
+                    current = new LinkedHashSet<>();
+                } else if (!AND.equals(word)) {
+                    for (String term : SearchTokenizer.tokenize(SearchTokenizer.normalize(word))) {
+                        current.add(Clause.term(term));
+                    }
+                }
+                i = end;
+            }
+        }
+        addAlternative(alternatives, current);
+
+        return new SearchQuery(List.copyOf(alternatives), SearchTokenizer.normalize(raw.replace("\"", "")).trim());
+    }
+
+    /**
+     * @return true, wenn die Anfrage keinen einzigen Suchbegriff enthaelt
+     */
+    public boolean isEmpty() {
+        return alternatives.isEmpty();
+    }
+
+    private static void addAlternative(List<List<Clause>> alternatives, Set<Clause> clauses) {
+        if (!clauses.isEmpty()) {
+            alternatives.add(List.copyOf(clauses));
+        }
+    }
+}
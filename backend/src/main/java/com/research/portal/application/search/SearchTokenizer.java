@@ -0,0 +1,142 @@
+package com.research.portal.application.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalisierung und Tokenisierung fuer den Suchindex.
+ *
+ * <p>Index und Suchanfrage muessen exakt gleich normalisiert werden,
+ * sonst findet die Term-Suche im Dictionary nichts. Deshalb laufen
+ * beide Seiten ausschliesslich ueber diese Klasse.
+ *
+ * <p>Die Normalisierung faltet zusaetzlich Akzente ("Nestlé" → "nestle",
+ * "Zürich" → "zurich"), damit Eingaben ohne Sonderzeichen dieselben Terms treffen.
+ *
+ * <p>Ein Token ist eine maximale Folge von Buchstaben und Ziffern.
+ * Alle anderen Zeichen (Leerzeichen, Satzzeichen, '@', '|') trennen Tokens.
+ *
+ * <p>Fuer den Index liefert {@link #analyze(String)} zusaetzlich Position und
+ * Zeichen-Offsets jedes Tokens im Originaltext. Daraus entstehen Phrasensuche
+ * und Snippets, ohne den Text bei der Suche erneut zu lesen.
+ */
+public final class SearchTokenizer {
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Normalisiert einen Text fuer Vergleiche: Kleinschreibung (sprachunabhaengig)
+     * und Entfernen von Akzenten bzw. anderen kombinierenden Zeichen.
+     *
+     * @param text der Originaltext (null-sicher)
+     * @return normalisierter Text, nie null
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        return isAscii(lower) ? lower : foldAccents(lower);
+    }
+
+    /**
+     * Zerlegt Zeichen in Basiszeichen + kombinierende Zeichen (NFD)
+     * und entfernt die kombinierenden Zeichen.
+     */
+    private static String foldAccents(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type != Character.NON_SPACING_MARK && type != Character.COMBINING_SPACING_MARK
+                    && type != Character.ENCLOSING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Zerlegt einen bereits normalisierten Text in Tokens.
+     *
+     * @param normalized normalisierter Text
+     * @return Liste der Tokens in Reihenfolge des Auftretens
+     */
+    public static List<String> tokenize(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        return tokens;
+    }
+
+    /**
+     * Zerlegt einen Originaltext in normalisierte Tokens mit Position und Offsets.
+     *
+     * <p>Die Offsets beziehen sich auf den Originaltext (nicht auf den
+     * normalisierten), damit Snippets direkt daraus geschnitten werden koennen.
+     *
+     * @param text der Originaltext (null-sicher)
+     * @return Tokens in Reihenfolge des Auftretens, Position beginnt bei 0
+     */
+    public static List<Token> analyze(String text) {
+        List<Token> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                addToken(text, start, i, tokens);
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            addToken(text, start, text.length(), tokens);
+        }
+        return tokens;
+    }
+
+    private static void addToken(String text, int start, int end, List<Token> tokens) {
+        tokens.add(new Token(normalize(text.substring(start, end)), tokens.size(), start, end));
+    }
+
+    /**
+     * Ein Token mit seiner Fundstelle im Originaltext.
+     *
+     * @param term     normalisierter Term
+     * @param position Token-Position im Feld (0, 1, 2, ...)
+     * @param start    Start-Offset im Originaltext (inklusive)
+     * @param end      End-Offset im Originaltext (exklusive)
+     */
+    public record Token(String term, int position, int start, int end) {
+    }
+}
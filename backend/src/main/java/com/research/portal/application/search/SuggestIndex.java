@@ -0,0 +1,128 @@
+package com.research.portal.application.search;
+
+import com.research.portal.adapter.out.persistence.entity.AnalystEntity;
+import com.research.portal.adapter.out.persistence.entity.SecurityEntity;
+import com.research.portal.adapter.out.persistence.repository.JpaAnalystRepository;
+import com.research.portal.adapter.out.persistence.repository.JpaSecurityRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Autocomplete-Index fuer Ticker, ISINs, Wertschrift-Namen und Analysten-Namen.
+ *
+ * <p>Haelt einen {@link SuggestTrie} mit vorberechneten Top-N pro Knoten.
+ * Namen werden zusaetzlich ab jedem Wortanfang eingetragen, damit z.B.
+ * "fisch" auch "Dr. Elena Fischer" findet.
+ *
+ * <p>Wertschriften und Analysten werden ueber die API nicht veraendert;
+ * der Baum wird deshalb einmalig beim {@link ApplicationReadyEvent}
+ * (oder spaetestens bei der ersten Anfrage) aufgebaut und danach nur gelesen.
+ */
+@Component
+public class SuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestIndex.class);
+
+    /** Anzahl vorberechneter Vorschlaege pro Knoten. */
+    public static final int TOP_N = 10;
+
+    static final int WEIGHT_TICKER = 40;
+    static final int WEIGHT_NAME = 30;
+    static final int WEIGHT_NAME_WORD = 20;
+    static final int WEIGHT_ISIN = 10;
+
+    private final JpaAnalystRepository analystRepository;
+    private final JpaSecurityRepository securityRepository;
+
+    private volatile SuggestTrie trie;
+
+    public SuggestIndex(JpaAnalystRepository analystRepository,
+                        JpaSecurityRepository securityRepository) {
+        this.analystRepository = analystRepository;
+        this.securityRepository = securityRepository;
+    }
+
+    /**
+     * Baut den Baum neu aus der Datenbank auf.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        SuggestTrie.Builder builder = SuggestTrie.builder(TOP_N);
+
+        for (SecurityEntity security : securityRepository.findAll()) {
+            String ticker = security.getTicker();
+            String name = security.getName();
+            String isin = security.getIsin();
+            Long id = security.getId();
+
+            addKey(builder, ticker, new SuggestTrie.Suggestion(
+                    SearchIndex.TYPE_SECURITY, id, ticker, name, WEIGHT_TICKER));
+            addKey(builder, isin, new SuggestTrie.Suggestion(
+                    SearchIndex.TYPE_SECURITY, id, isin, name, WEIGHT_ISIN));
+            addName(builder, name, SearchIndex.TYPE_SECURITY, id, ticker);
+        }
+        for (AnalystEntity analyst : analystRepository.findAll()) {
+            addName(builder, analyst.getName(), SearchIndex.TYPE_ANALYST, analyst.getId(), analyst.getDepartment());
+        }
+
+        SuggestTrie built = builder.build();
+        trie = built;
+        log.info("Suggest-Index aufgebaut: {} Knoten [{}ms]",
+                built.nodeCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Liefert Vorschlaege fuer ein Praefix.
+     *
+     * @param prefix eingegebenes Praefix (case-insensitive)
+     * @param limit  maximale Anzahl Vorschlaege (hoechstens {@link #TOP_N})
+     * @return Vorschlaege, bester zuerst
+     */
+    public List<SuggestTrie.Suggestion> suggest(String prefix, int limit) {
+        String normalized = SearchTokenizer.normalize(prefix).trim();
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        SuggestTrie current = trie;
+        if (current == null) {
+            synchronized (this) {
+                if (trie == null) {
+                    rebuild();
+                }
+                current = trie;
+            }
+        }
+        return current.complete(normalized, limit);
+    }
+
+    private static void addKey(SuggestTrie.Builder builder, String key, SuggestTrie.Suggestion suggestion) {
+        if (key != null && !key.isBlank()) {
+            builder.add(SearchTokenizer.normalize(key.trim()), suggestion);
+        }
+    }
+
+    /**
+     * Traegt einen Namen vollstaendig und ab jedem weiteren Wortanfang ein.
+     */
+    private static void addName(SuggestTrie.Builder builder, String name, String type, Long id, String label) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        String trimmed = name.trim();
+        addKey(builder, trimmed, new SuggestTrie.Suggestion(type, id, trimmed, label, WEIGHT_NAME));
+
+        String normalized = SearchTokenizer.normalize(trimmed);
+        for (SearchTokenizer.Token token : SearchTokenizer.analyze(normalized)) {
+            if (token.start() > 0) {
+                builder.add(normalized.substring(token.start()),
+                        new SuggestTrie.Suggestion(type, id, trimmed, label, WEIGHT_NAME_WORD));
+            }
+        }
+    }
+}
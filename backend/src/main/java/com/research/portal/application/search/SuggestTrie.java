@@ -0,0 +1,249 @@
+package com.research.portal.application.search;
+
+import java.util.*;
+
+/**
+ * Unveraenderlicher Praefix-Baum (Trie) fuer Autocomplete-Vorschlaege.
+ *
+ * <p>Jeder Knoten kennt bereits beim Aufbau seine besten N Vorschlaege
+ * (vorberechnetes Top-N). Eine Anfrage ist damit nur ein Abstieg ueber die
+ * Zeichen des Praefix plus das Kopieren einer kurzen Liste, unabhaengig davon,
+ * wie viele Eintraege unter dem Praefix liegen.
+ *
+ * <p>Nach dem Aufbau liegt der Baum kompakt in flachen Arrays: die Kinder eines
+ * Knotens sind ein zusammenhaengender, nach Zeichen sortierter Bereich und werden
+ * per binaerer Suche gefunden; die Top-N-Listen sind Indizes in ein gemeinsames
+ * Vorschlags-Array. Da der Baum nicht mehr veraendert wird, ist er ohne Locks
+ * thread-sicher.
+ */
+public final class SuggestTrie {
+
+    /** Bester Vorschlag zuerst: Gewicht absteigend, dann kuerzerer Wert, dann alphabetisch. */
+    private static final Comparator<Suggestion> RANKING =
+            Comparator.comparingInt(Suggestion::weight).reversed()
+                    .thenComparingInt(s -> s.value().length())
+                    .thenComparing(Suggestion::value)
+                    .thenComparing(Suggestion::type)
+                    .thenComparing(Suggestion::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final Suggestion[] suggestions;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] childStart;
+    private final int[] childCount;
+    private final int[] topSuggestions;
+    private final int[] topStart;
+    private final int[] topCount;
+
+    private SuggestTrie(Suggestion[] suggestions, char[] edgeChars, int[] edgeTargets,
+                        int[] childStart, int[] childCount,
+                        int[] topSuggestions, int[] topStart, int[] topCount) {
+        this.suggestions = suggestions;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.childStart = childStart;
+        this.childCount = childCount;
+        this.topSuggestions = topSuggestions;
+        this.topStart = topStart;
+        this.topCount = topCount;
+    }
+
+    /**
+     * Erstellt einen Builder.
+     *
+     * @param topN Anzahl vorberechneter Vorschlaege pro Knoten
+     * @return neuer Builder
+     */
+    public static Builder builder(int topN) {
+        return new Builder(topN);
+    }
+
+    /**
+     * Liefert die besten Vorschlaege fuer ein normalisiertes Praefix.
+     *
+     * @param normalizedPrefix normalisiertes Praefix (siehe {@link SearchTokenizer#normalize(String)})
+     * @param limit            maximale Anzahl Vorschlaege (hoechstens Top-N des Baums)
+     * @return Vorschlaege, bester zuerst; leer, wenn das Praefix nicht vorkommt
+     */
+    public List<Suggestion> complete(String normalizedPrefix, int limit) {
+        if (normalizedPrefix == null || normalizedPrefix.isEmpty() || limit <= 0 || childStart.length == 0) {
+            return List.of();
+        }
+        int node = 0;
+        for (int i = 0; i < normalizedPrefix.length(); i++) {
+            node = child(node, normalizedPrefix.charAt(i));
+            if (node < 0) {
+                return List.of();
+            }
+        }
+        int count = Math.min(limit, topCount[node]);
+        List<Suggestion> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(suggestions[topSuggestions[topStart[node] + i]]);
+        }
+        return result;
+    }
+
+    /**
+     * @return Anzahl Knoten im Baum (inklusive Wurzel)
+     */
+    public int nodeCount() {
+        return childStart.length;
+    }
+
+    private int child(int node, char c) {
+        int low = childStart[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char value = edgeChars[mid];
+            if (value < c) {
+                low = mid + 1;
+            } else if (value > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ein Autocomplete-Vorschlag.
+     *
+     * @param type   Typ der Entitaet (SECURITY, ANALYST)
+     * @param id     ID der Entitaet
+     * @param value  vorgeschlagener Wert (Ticker, ISIN oder Name)
+     * @param label  Zusatzinformation fuer die Anzeige
+     * @param weight Rang-Gewicht (hoeher = weiter oben)
+     */
+    public record Suggestion(String type, Long id, String value, String label, int weight) {
+    }
+
+    /**
+     * Sammelt Schluessel und baut daraus den kompakten Baum.
+     * Nicht thread-sicher, nur fuer den einmaligen Aufbau gedacht.
+     */
+    public static final class Builder {
+
+        private final int topN;
+        private final Node root = new Node();
+        private final List<Suggestion> suggestions = new ArrayList<>();
+        private int nodeCount = 1;
+
+        private Builder(int topN) {
+            this.topN = topN;
+        }
+
+        /**
+         * Fuegt einen Schluessel hinzu, unter dessen Praefixen der Vorschlag erscheint.
+         *
+         * @param normalizedKey normalisierter Schluessel
+         * @param suggestion    der Vorschlag
+         * @return dieser Builder
+         */
+        public Builder add(String normalizedKey, Suggestion suggestion) {
+            if (normalizedKey == null || normalizedKey.isEmpty()) {
+                return this;
+            }
+            Node node = root;
+            for (int i = 0; i < normalizedKey.length(); i++) {
+                char c = normalizedKey.charAt(i);
+                Node next = node.children.get(c);
+                if (next == null) {
+                    next = new Node();
+                    node.children.put(c, next);
+                    nodeCount++;
+                }
+                node = next;
+            }
+            node.terminals.add(suggestions.size());
+            suggestions.add(suggestion);
+            return this;
+        }
+
+        /**
+         * Berechnet die Top-N-Listen und friert den Baum in Arrays ein.
+         *
+         * @return der fertige, unveraenderliche Baum
+         */
+        public SuggestTrie build() {
+            Suggestion[] suggestionArray = suggestions.toArray(new Suggestion[0]);
+            computeTop(root, suggestionArray);
+
+            int edges = nodeCount - 1;
+            char[] edgeChars = new char[edges];
+            int[] edgeTargets = new int[edges];
+            int[] childStart = new int[nodeCount];
+            int[] childCount = new int[nodeCount];
+            int[] topStart = new int[nodeCount];
+            int[] topCount = new int[nodeCount];
+            int totalTop = 0;
+
+            // Breitensuche: Kinder eines Knotens erhalten zusammenhaengende IDs
+            List<Node> order = new ArrayList<>(nodeCount);
+            order.add(root);
+            int edge = 0;
+            for (int id = 0; id < order.size(); id++) {
+                Node node = order.get(id);
+                childStart[id] = edge;
+                childCount[id] = node.children.size();
+                for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                    edgeChars[edge] = child.getKey();
+                    edgeTargets[edge] = order.size();
+                    order.add(child.getValue());
+                    edge++;
+                }
+                totalTop += node.top.length;
+            }
+
+            int[] topSuggestions = new int[totalTop];
+            int offset = 0;
+            for (int id = 0; id < order.size(); id++) {
+                int[] top = order.get(id).top;
+                topStart[id] = offset;
+                topCount[id] = top.length;
+                System.arraycopy(top, 0, topSuggestions, offset, top.length);
+                offset += top.length;
+            }
+
+            return new SuggestTrie(suggestionArray, edgeChars, edgeTargets, childStart, childCount,
+                    topSuggestions, topStart, topCount);
+        }
+
+        /**
+         * Berechnet rekursiv (Post-Order) die besten N Vorschlaege jedes Knotens
+         * aus den eigenen Eintraegen und den Top-N-Listen der Kinder.
+         * Dieselbe Entitaet erscheint pro Knoten nur einmal (mit ihrem besten Eintrag).
+         */
+        private void computeTop(Node node, Suggestion[] all) {
+            List<Integer> candidates = new ArrayList<>(node.terminals);
+            for (Node child : node.children.values()) {
+                computeTop(child, all);
+                for (int index : child.top) {
+                    candidates.add(index);
+                }
+            }
+            candidates.sort((a, b) -> RANKING.compare(all[a], all[b]));
+
+            Set<String> seen = new HashSet<>();
+            int[] top = new int[Math.min(topN, candidates.size())];
+            int size = 0;
+            for (int index : candidates) {
+                if (size == top.length) {
+                    break;
+                }
+                if (seen.add(all[index].type() + ":" + all[index].id())) {
+                    top[size++] = index;
+                }
+            }
+            node.top = size == top.length ? top : Arrays.copyOf(top, size);
+        }
+
+        private static final class Node {
+            private final TreeMap<Character, Node> children = new TreeMap<>();
+            private final List<Integer> terminals = new ArrayList<>(1);
+            private int[] top;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.research.portal.application.service;
 
 import com.research.portal.domain.model.Analyst;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.port.in.GetAnalystsUseCase;
 import com.research.portal.domain.port.out.AnalystRepository;
 import org.springframework.stereotype.Service;
@@ -22,6 +24,11 @@ public class AnalystService implements GetAnalystsUseCase {
         return analystRepository.findAll();
     }
 
+    @Override
+    public CursorPage<Analyst> getAnalystsPage(PageQuery query) {
+        return analystRepository.findPage(query);
+    }
+
     @Override
     public Optional<Analyst> getAnalystById(Long id) {
         return analystRepository.findById(id);
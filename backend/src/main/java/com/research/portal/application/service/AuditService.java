@@ -2,6 +2,8 @@ package com.research.portal.application.service;
 
 import com.research.portal.domain.model.AuditAction;
 import com.research.portal.domain.model.AuditLog;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.port.in.AuditLogUseCase;
 import com.research.portal.domain.port.out.AuditLogRepository;
 import org.slf4j.Logger;
@@ -64,6 +66,11 @@ public class AuditService implements AuditLogUseCase {
         return auditLogRepository.findRecentLogs(limit);
     }
 
+    @Override
+    public CursorPage<AuditLog> getLogsPage(PageQuery query) {
+        return auditLogRepository.findPage(query);
+    }
+
     @Override
     public List<AuditLog> getLogsByEntity(String entityType, Long entityId) {
         return auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId);
@@ -1,24 +1,28 @@
 package com.research.portal.application.service;
 
-import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.domain.port.out.ReportRepository;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import java.io.*;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 
 /**
  * Service für den Export von Research Reports als CSV oder Excel-Datei.
  *
  * <p>Implementiert den Export nach Schweizer Standard:
  * <ul>
- *   <li>CSV: Semikolon-Trenner (CH-Standard), UTF-8 mit BOM für Excel-Kompatibilität</li>
- *   <li>Excel: XLSX-Format mit Tabellen-Formatierung, Header-Styling und Auto-Width</li>
+ *   <li>CSV: Semikolon-Trenner (CH-Standard), UTF-8 mit BOM für Excel-Kompatibilität;
+ *       der Voll-Export wird direkt aus der Datenbank in die Response gestreamt</li>
+ *   <li>Excel: XLSX-Format mit Tabellen-Formatierung, Header-Styling und Spaltenbreiten;
+ *       geschrieben mit SXSSF (Zeilenfenster im Speicher, Rest in Temp-Datei)</li>
  * </ul>
  *
  * <p>Spalten: ID, Titel, Analyst-ID, Ticker (Security-ID), Rating,
@@ -37,184 +41,293 @@ public class ExportService {
 
     private static final char CSV_SEPARATOR = ';';
 
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    /** Schreibpuffer fuer den CSV-Export; wird bei vollem Puffer an den Client geflusht. */
+    private static final int CSV_BUFFER_SIZE = 16 * 1024;
+
+    /** Anzahl Excel-Zeilen im Speicher; ältere Zeilen werden in eine Temp-Datei ausgelagert. */
+    static final int EXCEL_ROW_WINDOW = 100;
+
+    /** Obergrenze für die Spaltenbreite in Zeichen (lange Titel sollen das Sheet nicht sprengen). */
+    private static final int EXCEL_MAX_COLUMN_CHARS = 100;
+
+    private final ReportRepository reportRepository;
+
+    public ExportService(ReportRepository reportRepository) {
+        this.reportRepository = reportRepository;
+    }
+
     /**
-     * Exportiert eine Liste von Reports als CSV (Semikolon-Trenner, UTF-8 mit BOM).
+     * @return Anzahl Reports, die ein Voll-Export schreiben wuerde
+     */
+    public long countReports() {
+        return reportRepository.count();
+    }
+
+    /**
+     * Schreibt alle Reports als CSV direkt in einen Output-Stream.
+     *
+     * <p>Die Reports werden zeilenweise aus der Datenbank gestreamt und sofort
+     * kodiert; der Speicherbedarf bleibt unabhaengig von der Tabellengroesse
+     * konstant (ein Schreibpuffer plus die aktuelle Zeile).
      *
-     * @param reports die zu exportierenden Reports
-     * @return Byte-Array mit CSV-Inhalt
+     * @param out Ziel, z.B. der Output-Stream der HTTP-Response (wird nicht geschlossen)
+     * @return Anzahl exportierter Reports
+     * @throws IOException wenn das Schreiben fehlschlaegt (z.B. Client hat abgebrochen)
      */
-    public byte[] exportReportsCsv(List<ReportDto> reports) {
-        StringBuilder sb = new StringBuilder();
-
-        // Header-Zeile
-        sb.append(buildCsvRow(HEADERS));
-        sb.append("\n");
-
-        // Datenzeilen
-        for (ReportDto report : reports) {
-            String[] row = {
-                    safeString(report.getId()),
-                    escapeCsvField(safeString(report.getTitle())),
-                    safeString(report.getAnalystId()),
-                    safeString(report.getSecurityId()),
-                    safeString(report.getRating()),
-                    safeDecimal(report.getTargetPrice()),
-                    safeDecimal(report.getCurrentPrice()),
-                    safeDecimal(report.getImpliedUpside()),
-                    safeString(report.getRiskLevel()),
-                    report.getPublishedAt() != null
-                            ? report.getPublishedAt().format(DATE_FORMATTER)
-                            : ""
-            };
-            sb.append(buildCsvRow(row));
-            sb.append("\n");
+    public int writeReportsCsv(OutputStream out) throws IOException {
+        return writeReportsCsv(out, () -> { });
+    }
+
+    /**
+     * Wie {@link #writeReportsCsv(OutputStream)}, meldet aber jede geschriebene Zeile.
+     *
+     * @param out   Ziel (wird nicht geschlossen)
+     * @param onRow wird nach jeder Datenzeile aufgerufen (Fortschrittsanzeige)
+     * @return Anzahl exportierter Reports
+     * @throws IOException wenn das Schreiben fehlschlaegt
+     */
+    public int writeReportsCsv(OutputStream out, Runnable onRow) throws IOException {
+        Writer writer = openCsvWriter(out);
+        int[] count = {0};
+        try {
+            reportRepository.forEachExportRow(row -> {
+                try {
+                    writeCsvRow(writer, new String[]{
+                            safeString(row.id()),
+                            escapeCsvField(safeString(row.title())),
+                            safeString(row.analystId()),
+                            safeString(row.securityId()),
+                            safeString(row.rating()),
+                            safeDecimal(row.targetPrice()),
+                            safeDecimal(row.currentPrice()),
+                            safeDecimal(row.impliedUpside()),
+                            safeString(row.riskLevel()),
+                            formatDate(row.publishedAt())
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+                onRow.run();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+        writer.flush();
+        return count[0];
+    }
+
+    /**
+     * Schreibt alle Reports als Excel-Datei (XLSX) direkt in einen Output-Stream.
+     *
+     * <p>Die Reports werden aus der Datenbank gestreamt; im Speicher liegen nur die
+     * letzten {@link #EXCEL_ROW_WINDOW} Zeilen, ältere werden in eine komprimierte
+     * Temp-Datei ausgelagert. Der Speicherbedarf bleibt damit unabhängig von der
+     * Anzahl Reports konstant.
+     *
+     * @param out Ziel, z.B. der Output-Stream der HTTP-Response (wird nicht geschlossen)
+     * @return Anzahl exportierter Reports
+     * @throws IOException wenn das Schreiben fehlschlägt
+     */
+    public int writeReportsExcel(OutputStream out) throws IOException {
+        return writeReportsExcel(out, () -> { });
+    }
 
+    /**
+     * Wie {@link #writeReportsExcel(OutputStream)}, meldet aber jede geschriebene Zeile.
+     *
+     * @param out   Ziel (wird nicht geschlossen)
+     * @param onRow wird nach jeder Datenzeile aufgerufen (Fortschrittsanzeige)
+     * @return Anzahl exportierter Reports
+     * @throws IOException wenn das Schreiben fehlschlägt
+     */
+    public int writeReportsExcel(OutputStream out, Runnable onRow) throws IOException {
+        try (ExcelReportWriter excel = new ExcelReportWriter()) {
+            reportRepository.forEachExportRow(row -> {
+                excel.addRow(row.id(), row.title(), row.analystId(), row.securityId(), row.rating(),
+                        row.targetPrice(), row.currentPrice(), row.impliedUpside(), row.riskLevel(),
+                        row.publishedAt());
+                onRow.run();
+            });
+            excel.write(out);
+            return excel.dataRows();
+        }
+    }
+
+    /**
+     * Oeffnet einen gepufferten UTF-8-Writer und schreibt BOM und Header-Zeile.
+     */
+    private Writer openCsvWriter(OutputStream out) throws IOException {
         // UTF-8 BOM für korrekte Excel-Darstellung
-        byte[] bom = new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
-        byte[] content = sb.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        out.write(UTF8_BOM);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        writeCsvRow(writer, HEADERS);
+        return writer;
+    }
+
+    private void writeCsvRow(Writer writer, String[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(CSV_SEPARATOR);
+            }
+            writer.write(fields[i] != null ? fields[i] : "");
+        }
+        writer.write('\n');
+    }
+
+    private String escapeCsvField(String value) {
+        if (value == null) return "";
+        // Felder mit Semikolon, Zeilenumbruch oder Anführungszeichen in Anführungszeichen einschliessen
+        if (value.contains(";") || value.contains("\n") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private String safeString(Object value) {
+        return value != null ? value.toString() : "";
+    }
+
+    private String safeDecimal(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
 
-        byte[] result = new byte[bom.length + content.length];
-        System.arraycopy(bom, 0, result, 0, bom.length);
-        System.arraycopy(content, 0, result, bom.length, content.length);
-        return result;
+    private String formatDate(LocalDateTime value) {
+        return value != null ? value.format(DATE_FORMATTER) : "";
     }
 
     /**
-     * Exportiert eine Liste von Reports als Excel-Datei (XLSX).
+     * Baut das Report-Sheet mit einem SXSSF-Workbook (Streaming-Variante von XSSF).
      *
-     * <p>Das Workbook enthält:
-     * <ul>
-     *   <li>Formatierte Tabellen-Header (fett, blauer Hintergrund)</li>
-     *   <li>Auto-Width für alle Spalten</li>
-     *   <li>Zahlenformatierung für Kursziel, Aktueller Kurs und Upside</li>
-     * </ul>
-     *
-     * @param reports die zu exportierenden Reports
-     * @return Byte-Array mit XLSX-Inhalt
-     * @throws IOException wenn die Workbook-Erstellung fehlschlägt
+     * <p>Statt {@code autoSizeColumn}, das alle Zeilen im Speicher braucht und pro
+     * Spalte neu vermisst, wird beim Schreiben die längste Zelle jeder Spalte
+     * mitgezählt und daraus am Ende die Spaltenbreite gesetzt.
      */
-    public byte[] exportReportsExcel(List<ReportDto> reports) throws IOException {
-        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Research Reports");
+    private static final class ExcelReportWriter implements Closeable {
 
-            // Header-Stil erstellen
-            CellStyle headerStyle = createHeaderStyle(workbook);
+        private final SXSSFWorkbook workbook;
+        private final SXSSFSheet sheet;
+        private final CellStyle numberStyle;
+        private final int[] maxChars = new int[HEADERS.length];
+        private int rowIndex;
+
+        ExcelReportWriter() {
+            workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+            workbook.setCompressTempFiles(true);
+            sheet = workbook.createSheet("Research Reports");
 
             // Zahlenformat für Finanzwerte
             DataFormat dataFormat = workbook.createDataFormat();
-            CellStyle numberStyle = workbook.createCellStyle();
+            numberStyle = workbook.createCellStyle();
             numberStyle.setDataFormat(dataFormat.getFormat("#,##0.00"));
 
             // Header-Zeile
-            Row headerRow = sheet.createRow(0);
+            CellStyle headerStyle = createHeaderStyle(workbook);
+            Row headerRow = sheet.createRow(rowIndex++);
             for (int i = 0; i < HEADERS.length; i++) {
                 Cell cell = headerRow.createCell(i);
                 cell.setCellValue(HEADERS[i]);
                 cell.setCellStyle(headerStyle);
+                // Fette Schrift ist breiter
+                maxChars[i] = HEADERS[i].length() + 2;
             }
+        }
 
-            // Datenzeilen
-            int rowIndex = 1;
-            for (ReportDto report : reports) {
-                Row row = sheet.createRow(rowIndex++);
-
-                createCell(row, 0, report.getId() != null ? report.getId().toString() : "");
-                createCell(row, 1, safeString(report.getTitle()));
-                createCell(row, 2, report.getAnalystId() != null ? report.getAnalystId().toString() : "");
-                createCell(row, 3, report.getSecurityId() != null ? report.getSecurityId().toString() : "");
-                createCell(row, 4, safeString(report.getRating()));
-
-                // Numerische Spalten mit Formatierung
-                createNumericCell(row, 5, report.getTargetPrice(), numberStyle);
-                createNumericCell(row, 6, report.getCurrentPrice(), numberStyle);
-                createNumericCell(row, 7, report.getImpliedUpside(), numberStyle);
-
-                createCell(row, 8, safeString(report.getRiskLevel()));
-                createCell(row, 9, report.getPublishedAt() != null
-                        ? report.getPublishedAt().format(DATE_FORMATTER) : "");
-            }
+        void addRow(Long id, String title, Long analystId, Long securityId, String rating,
+                    BigDecimal targetPrice, BigDecimal currentPrice, BigDecimal impliedUpside,
+                    String riskLevel, LocalDateTime publishedAt) {
+            Row row = sheet.createRow(rowIndex++);
 
-            // Auto-Width für alle Spalten (nach Befüllen der Daten)
+            createCell(row, 0, id != null ? id.toString() : "");
+            createCell(row, 1, title);
+            createCell(row, 2, analystId != null ? analystId.toString() : "");
+            createCell(row, 3, securityId != null ? securityId.toString() : "");
+            createCell(row, 4, rating);
+
+            // Numerische Spalten mit Formatierung
+            createNumericCell(row, 5, targetPrice);
+            createNumericCell(row, 6, currentPrice);
+            createNumericCell(row, 7, impliedUpside);
+
+            createCell(row, 8, riskLevel);
+            createCell(row, 9, publishedAt != null ? publishedAt.format(DATE_FORMATTER) : "");
+        }
+
+        int dataRows() {
+            return rowIndex - 1;
+        }
+
+        /**
+         * Setzt Spaltenbreiten und Auto-Filter und schreibt die Datei.
+         */
+        void write(OutputStream out) throws IOException {
             for (int i = 0; i < HEADERS.length; i++) {
-                sheet.autoSizeColumn(i);
+                int chars = Math.min(maxChars[i], EXCEL_MAX_COLUMN_CHARS);
                 // Mindestbreite und etwas Puffer hinzufügen
-                int currentWidth = sheet.getColumnWidth(i);
-                sheet.setColumnWidth(i, Math.max(currentWidth + 512, 3000));
+                sheet.setColumnWidth(i, Math.max(chars * 256 + 512, 3000));
             }
 
             // Auto-Filter setzen
-            if (!reports.isEmpty()) {
+            if (dataRows() > 0) {
                 sheet.setAutoFilter(new CellRangeAddress(0, 0, 0, HEADERS.length - 1));
             }
 
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
             workbook.write(out);
-            return out.toByteArray();
         }
-    }
-
-    // Erstellt den Header-Stil: fett, weisser Text, blauer Hintergrund
-    private CellStyle createHeaderStyle(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-
-        // Blauer Hintergrund (ZKB-Blauton)
-        style.setFillForegroundColor(IndexedColors.ROYAL_BLUE.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
 
-        // Fetter, weisser Text
-        Font font = workbook.createFont();
-        font.setBold(true);
-        font.setColor(IndexedColors.WHITE.getIndex());
-        style.setFont(font);
-
-        // Rahmen
-        style.setBorderBottom(BorderStyle.THIN);
-        style.setBottomBorderColor(IndexedColors.DARK_BLUE.getIndex());
-
-        return style;
-    }
-
-    private void createCell(Row row, int col, String value) {
-        Cell cell = row.createCell(col);
-        cell.setCellValue(value != null ? value : "");
-    }
+        @Override
+        public void close() throws IOException {
+            // Temp-Dateien der ausgelagerten Zeilen löschen
+            workbook.dispose();
+            workbook.close();
+        }
 
-    private void createNumericCell(Row row, int col, BigDecimal value, CellStyle style) {
-        Cell cell = row.createCell(col);
-        if (value != null) {
-            cell.setCellValue(value.doubleValue());
-            cell.setCellStyle(style);
-        } else {
-            cell.setCellValue("");
+        private void createCell(Row row, int col, String value) {
+            String safe = value != null ? value : "";
+            row.createCell(col).setCellValue(safe);
+            track(col, safe.length());
         }
-    }
 
-    private String buildCsvRow(String[] fields) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < fields.length; i++) {
-            if (i > 0) {
-                sb.append(CSV_SEPARATOR);
+        private void createNumericCell(Row row, int col, BigDecimal value) {
+            Cell cell = row.createCell(col);
+            if (value != null) {
+                cell.setCellValue(value.doubleValue());
+                cell.setCellStyle(numberStyle);
+                // Ganzzahlteil mit Tausendertrennern plus zwei Nachkommastellen
+                int digits = value.abs().setScale(0, RoundingMode.DOWN).toPlainString().length();
+                track(col, digits + (digits - 1) / 3 + 3 + (value.signum() < 0 ? 1 : 0));
+            } else {
+                cell.setCellValue("");
             }
-            sb.append(fields[i] != null ? fields[i] : "");
         }
-        return sb.toString();
-    }
 
-    private String escapeCsvField(String value) {
-        if (value == null) return "";
-        // Felder mit Semikolon, Zeilenumbruch oder Anführungszeichen in Anführungszeichen einschliessen
-        if (value.contains(";") || value.contains("\n") || value.contains("\"")) {
-            return "\"" + value.replace("\"", "\"\"") + "\"";
+        private void track(int col, int length) {
+            if (length > maxChars[col]) {
+                maxChars[col] = length;
+            }
         }
-        return value;
-    }
 
-    private String safeString(Object value) {
-        return value != null ? value.toString() : "";
-    }
+        // Erstellt den Header-Stil: fett, weisser Text, blauer Hintergrund
+        private static CellStyle createHeaderStyle(Workbook workbook) {
+            CellStyle style = workbook.createCellStyle();
 
-    private String safeDecimal(BigDecimal value) {
-        return value != null ? value.toPlainString() : "";
+            // Blauer Hintergrund (ZKB-Blauton)
+            style.setFillForegroundColor(IndexedColors.ROYAL_BLUE.getIndex());
+            style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+
+            // Fetter, weisser Text
+            Font font = workbook.createFont();
+            font.setBold(true);
+            font.setColor(IndexedColors.WHITE.getIndex());
+            style.setFont(font);
+
+            // Rahmen
+            style.setBorderBottom(BorderStyle.THIN);
+            style.setBottomBorderColor(IndexedColors.DARK_BLUE.getIndex());
+
+            return style;
+        }
     }
 }
@@ -0,0 +1,30 @@
+package com.research.portal.application.service;
+
+import java.util.List;
+
+/**
+ * Momentaufnahme eines parallelen XML-Imports ({@link XmlImportPipeline}).
+ *
+ * @param id        laufende Nummer des Imports
+ * @param state     RUNNING, COMPLETED, FAILED oder CANCELLED
+ * @param elapsedMs Laufzeit bis jetzt bzw. bis zum Ende
+ * @param stages    Stufen in Verarbeitungsreihenfolge: parse, map, write
+ */
+public record ImportPipelineStats(long id, String state, long elapsedMs, List<Stage> stages) {
+
+    /**
+     * Kennzahlen einer Stufe. Die Warteschlange ist die Eingangs-Queue der
+     * Stufe; die Parse-Stufe liest direkt aus der Datei und hat keine.
+     *
+     * @param name           Name der Stufe
+     * @param threads        Anzahl Threads der Stufe
+     * @param items          verarbeitete Reports
+     * @param itemsPerSecond Durchsatz ueber die bisherige Laufzeit
+     * @param queueDepth     aktuelle Tiefe der Eingangs-Queue (null ohne Queue)
+     * @param maxQueueDepth  hoechste beobachtete Tiefe (null ohne Queue)
+     * @param queueCapacity  Kapazitaet der Eingangs-Queue (null ohne Queue)
+     */
+    public record Stage(String name, int threads, long items, double itemsPerSecond,
+                        Integer queueDepth, Integer maxQueueDepth, Integer queueCapacity) {
+    }
+}
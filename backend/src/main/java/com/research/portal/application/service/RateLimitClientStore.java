@@ -0,0 +1,193 @@
+package com.research.portal.application.service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Begrenzter Speicher fuer den Rate-Limit-Zustand pro Client.
+ *
+ * Schluessel ist die Client-IP oder, im Speicher fuer benutzerbezogene
+ * Kontingente, die Benutzer-ID; der RateLimitService haelt je Schluesseltyp
+ * einen eigenen Speicher. Pro Schluessel liegt ein {@link AtomicLongArray}
+ * mit der theoretischen Ankunftszeit (GCRA) je Kategorie. Der Speicher ist in
+ * {@value #SHARDS} Shards aufgeteilt, jeder mit eigenem Lock und eigener
+ * Kapazitaet; parallele Requests verschiedener Clients warten damit selten
+ * aufeinander. Die Pruefung selbst (CAS auf dem Array) laeuft ausserhalb des
+ * Locks.
+ *
+ * Jeder Shard haelt seine Clients in Zugriffsreihenfolge. Bei jedem Zugriff
+ * werden am Anfang bis zu {@value #EVICTIONS_PER_ACCESS} Clients entfernt,
+ * deren Kontingent wieder voll ist – sie verhalten sich genau wie unbekannte
+ * Clients. Aktive Clients werden nie verdraengt, sonst koennte ein Angreifer
+ * mit vielen neuen IPs oder Benutzer-IDs das Kontingent eines gedrosselten
+ * Clients zuruecksetzen. Ist ein Shard voll mit aktiven Clients, teilen sich
+ * alle neuen Schluessel dieses Speichers ein gemeinsames Ueberlauf-Kontingent,
+ * bis wieder Platz frei wird. So bleibt der Speicher auch begrenzt, wenn sehr
+ * viele Schluessel gleichzeitig senden.
+ */
+final class RateLimitClientStore {
+
+    /** Standard-Kapazitaet: rund 200 Bytes pro Client, also etwa 10 MB */
+    static final int DEFAULT_MAX_CLIENTS = 50_000;
+
+    /** Anzahl Shards (Zweierpotenz) */
+    static final int SHARDS = 16;
+
+    /** Hoechstens so viele inaktive Clients pro Zugriff entfernen, damit kein Request lange wartet */
+    static final int EVICTIONS_PER_ACCESS = 4;
+
+    private final Shard[] shards = new Shard[SHARDS];
+    private final int categories;
+    private final AtomicInteger clientCount = new AtomicInteger();
+
+    /** Gemeinsamer Zustand aller neuen Clients, solange ihr Shard voll mit aktiven Clients ist */
+    private final AtomicLongArray overflow;
+    private final AtomicLong overflowed = new AtomicLong();
+
+    /**
+     * @param maxClients hoechstens so viele Clients werden gehalten
+     * @param categories Anzahl Kategorien (Laenge des Zustands pro Client)
+     */
+    RateLimitClientStore(int maxClients, int categories) {
+        if (maxClients < SHARDS) {
+            throw new IllegalArgumentException("maxClients muss mindestens " + SHARDS + " sein: " + maxClients);
+        }
+        this.categories = categories;
+        this.overflow = new AtomicLongArray(categories);
+        int capacity = maxClients / SHARDS;
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new Shard(capacity);
+        }
+    }
+
+    /**
+     * Liefert den Zustand des Clients und legt ihn bei Bedarf an. Ist der Shard
+     * voll mit aktiven Clients, wird das gemeinsame Ueberlauf-Kontingent geliefert.
+     *
+     * @param nowNanos aktuelle Zeit in Epoch-Nanosekunden, um inaktive Clients zu erkennen
+     */
+    AtomicLongArray getOrCreate(String clientKey, long nowNanos) {
+        Shard shard = shard(clientKey);
+        synchronized (shard) {
+            // Zuerst aufraeumen: der gesuchte Client steht danach am Ende und ist sicher
+            shard.evictIdle(nowNanos, EVICTIONS_PER_ACCESS);
+            AtomicLongArray state = shard.get(clientKey);
+            if (state == null) {
+                if (shard.size() >= shard.capacity) {
+                    overflowed.incrementAndGet();
+                    return overflow;
+                }
+                state = new AtomicLongArray(categories);
+                shard.put(clientKey, state);
+                clientCount.incrementAndGet();
+            }
+            return state;
+        }
+    }
+
+    /**
+     * Liefert den Zustand, der fuer den Client gilt, ohne ihn anzulegen: seinen
+     * eigenen, das Ueberlauf-Kontingent bei vollem Shard oder sonst null.
+     */
+    AtomicLongArray get(String clientKey) {
+        Shard shard = shard(clientKey);
+        synchronized (shard) {
+            AtomicLongArray state = shard.get(clientKey);
+            return state == null && shard.size() >= shard.capacity ? overflow : state;
+        }
+    }
+
+    /**
+     * Entfernt alle Clients mit vollem Kontingent.
+     *
+     * @return Anzahl entfernter Clients
+     */
+    int evictIdle(long nowNanos) {
+        int removed = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                removed += shard.evictAllIdle(nowNanos);
+            }
+        }
+        return removed;
+    }
+
+    void clear() {
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                clientCount.addAndGet(-shard.size());
+                shard.clear();
+            }
+        }
+        for (int i = 0; i < overflow.length(); i++) {
+            overflow.set(i, 0);
+        }
+    }
+
+    /** Anzahl gehaltener Clients, O(1) */
+    int size() {
+        return clientCount.get();
+    }
+
+    /** Anzahl Zugriffe neuer Clients, die mangels Platz das Ueberlauf-Kontingent erhielten */
+    long overflowCount() {
+        return overflowed.get();
+    }
+
+    private Shard shard(String clientKey) {
+        int hash = clientKey.hashCode();
+        return shards[(hash ^ (hash >>> 16)) & (SHARDS - 1)];
+    }
+
+    private static boolean isIdle(AtomicLongArray state, long nowNanos) {
+        for (int i = 0; i < state.length(); i++) {
+            if (state.get(i) > nowNanos) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Clients eines Shards in Zugriffsreihenfolge; Zugriff nur unter dem Lock des Shards */
+    private final class Shard extends LinkedHashMap<String, AtomicLongArray> {
+
+        private final int capacity;
+
+        Shard(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        /**
+         * Entfernt inaktive Clients vom Anfang (am laengsten nicht gesehen).
+         * Ein aktiver Client beendet die Suche; spaetere werden beim naechsten Zugriff geprueft.
+         * Ein paralleler CAS auf einem gerade entfernten Client geht verloren;
+         * der Client hatte ohnehin sein volles Kontingent.
+         */
+        void evictIdle(long nowNanos, int max) {
+            int removed = 0;
+            Iterator<AtomicLongArray> eldest = values().iterator();
+            while (removed < max && eldest.hasNext()) {
+                if (!isIdle(eldest.next(), nowNanos)) {
+                    break;
+                }
+                eldest.remove();
+                removed++;
+            }
+            clientCount.addAndGet(-removed);
+        }
+
+        /** Entfernt alle inaktiven Clients des Shards, unabhaengig von der Reihenfolge. */
+        int evictAllIdle(long nowNanos) {
+            int before = size();
+            values().removeIf(state -> isIdle(state, nowNanos));
+            int removed = before - size();
+            clientCount.addAndGet(-removed);
+            return removed;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.research.portal.application.service;
+
+import com.research.portal.config.RateLimitProperties;
+import com.research.portal.config.RateLimitProperties.KeyType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Kompilierte, unveraenderliche Rate-Limit-Richtlinien.
+ *
+ * <p>Entsteht aus {@link RateLimitProperties}: alle Werte werden beim Laden
+ * geprueft, Pfadmuster einmal zu {@link PathPattern} geparst und die
+ * GCRA-Parameter (Emissionsintervall, Toleranz) vorberechnet. Ungueltige
+ * Konfigurationen fuehren zu einer {@link IllegalArgumentException}; beim
+ * Neuladen bleiben dann die bisherigen Richtlinien aktiv.
+ *
+ * <p>Die Route eines Requests haengt nur von HTTP-Methode und Controller-Mapping
+ * (z.B. {@code /api/reports/{id}}) ab. Sie wird pro Mapping einmal bestimmt
+ * und danach aus einer Map gelesen; pro Request findet kein Mustervergleich statt.
+ */
+public final class RateLimitPolicies {
+
+    private static final long MINUTE_NANOS = 60_000_000_000L;
+
+    private static final Route DEFAULT_READ = new Route(RateLimitService.CATEGORY_READ, 1);
+    private static final Route DEFAULT_WRITE = new Route(RateLimitService.CATEGORY_WRITE, 1);
+
+    /** Richtlinien nach Name, sortiert; die Reihenfolge bestimmt den Slot im Client-Zustand */
+    private final Map<String, Policy> policies;
+
+    /** Richtlinien pro Tier nach Name, bereits mit der Basis zusammengefuehrt */
+    private final Map<String, Map<String, Policy>> tierPolicies;
+
+    private final Map<String, String> tierByUser;
+    private final List<RouteRule> rules;
+
+    /** Aufgeloeste Routen pro HTTP-Methode und Controller-Mapping */
+    private final Map<String, Map<String, Route>> resolvedRoutes = new ConcurrentHashMap<>();
+
+    private RateLimitPolicies(Map<String, Policy> policies, Map<String, Map<String, Policy>> tierPolicies,
+                              Map<String, String> tierByUser, List<RouteRule> rules) {
+        this.policies = policies;
+        this.tierPolicies = tierPolicies;
+        this.tierByUser = tierByUser;
+        this.rules = rules;
+    }
+
+    /**
+     * Die festen Standard-Limits: READ, WRITE, SEARCH und SUGGEST pro IP,
+     * Suche und Autocomplete per Pfad.
+     */
+    public static RateLimitPolicies defaults() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getPolicies().put(RateLimitService.CATEGORY_READ, policy(RateLimitService.READ_LIMIT));
+        properties.getPolicies().put(RateLimitService.CATEGORY_WRITE, policy(RateLimitService.WRITE_LIMIT));
+        properties.getPolicies().put(RateLimitService.CATEGORY_SEARCH, policy(RateLimitService.SEARCH_LIMIT));
+        properties.getPolicies().put(RateLimitService.CATEGORY_SUGGEST, policy(RateLimitService.SUGGEST_LIMIT));
+        properties.getRoutes().add(route("/api/search/suggest/**", RateLimitService.CATEGORY_SUGGEST));
+        properties.getRoutes().add(route("/api/search/**", RateLimitService.CATEGORY_SEARCH));
+        return from(properties);
+    }
+
+    /**
+     * Kompiliert und prueft die konfigurierten Richtlinien.
+     * Ohne konfigurierte Richtlinien gelten die {@link #defaults()}.
+     *
+     * @throws IllegalArgumentException wenn eine Richtlinie, Route oder ein Tier ungueltig ist
+     */
+    public static RateLimitPolicies from(RateLimitProperties properties) {
+        if (properties.getPolicies().isEmpty()) {
+            return defaults();
+        }
+        Map<String, RateLimitProperties.Policy> configured = properties.getPolicies();
+        for (String required : List.of(RateLimitService.CATEGORY_READ, RateLimitService.CATEGORY_WRITE)) {
+            if (!configured.containsKey(required)) {
+                throw new IllegalArgumentException("Rate-Limit-Richtlinie " + required + " fehlt");
+            }
+        }
+
+        // Slots nach Namen sortiert: dieselben Richtlinien ergeben unabhaengig von der
+        // Reihenfolge in Datei und application.yml dieselben Slots
+        Map<String, Policy> policies = new LinkedHashMap<>();
+        int slot = 0;
+        for (Map.Entry<String, RateLimitProperties.Policy> entry : new TreeMap<>(configured).entrySet()) {
+            policies.put(entry.getKey(), compile(entry.getKey(), slot++, entry.getValue(), null));
+        }
+
+        Map<String, Map<String, Policy>> tierPolicies = new HashMap<>();
+        Map<String, String> tierByUser = new HashMap<>();
+        properties.getTiers().forEach((tier, config) -> {
+            Map<String, Policy> merged = new HashMap<>(policies);
+            config.getPolicies().forEach((name, override) -> {
+                Policy base = policies.get(name);
+                if (base == null) {
+                    throw new IllegalArgumentException("Tier " + tier + ": unbekannte Richtlinie " + name);
+                }
+                merged.put(name, compile(name, base.slot(), configured.get(name), override));
+            });
+            tierPolicies.put(tier, merged);
+            for (String user : config.getUsers()) {
+                String previous = tierByUser.put(user, tier);
+                if (previous != null && !previous.equals(tier)) {
+                    throw new IllegalArgumentException("Benutzer " + user + " ist den Tiers "
+                            + previous + " und " + tier + " zugeordnet");
+                }
+            }
+        });
+
+        List<RouteRule> rules = new ArrayList<>();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            rules.add(compile(route, policies, tierPolicies));
+        }
+        return new RateLimitPolicies(policies, tierPolicies, tierByUser, rules);
+    }
+
+    /**
+     * Bestimmt Richtlinie und Kosten eines Requests.
+     *
+     * @param method         HTTP-Methode
+     * @param path           Request-Pfad; nur verwendet, wenn kein Mapping bekannt ist
+     * @param handlerPattern Pfadmuster des Controller-Mappings oder null
+     */
+    Route resolve(String method, String path, String handlerPattern) {
+        if (handlerPattern == null) {
+            return match(method, path);
+        }
+        // Die Mappings sind endlich: jedes wird einmal verglichen und danach nachgeschlagen
+        return resolvedRoutes
+                .computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+                .computeIfAbsent(handlerPattern, pattern -> match(method, pattern));
+    }
+
+    /**
+     * Richtlinie fuer einen Benutzer; gehoert er einem Tier an, gelten dessen Werte.
+     * Unbekannte Namen zaehlen wie READ.
+     */
+    Policy policy(String name, String userId) {
+        Map<String, Policy> effective = policies;
+        if (userId != null && !tierByUser.isEmpty()) {
+            String tier = tierByUser.get(userId);
+            if (tier != null) {
+                effective = tierPolicies.get(tier);
+            }
+        }
+        Policy policy = effective.get(name);
+        return policy != null ? policy : effective.get(RateLimitService.CATEGORY_READ);
+    }
+
+    /** Namen der Richtlinien in Slot-Reihenfolge (alphabetisch). */
+    List<String> names() {
+        return List.copyOf(policies.keySet());
+    }
+
+    private Route match(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path != null ? path : "");
+        for (RouteRule rule : rules) {
+            if ((rule.methods().isEmpty() || rule.methods().contains(method)) && rule.pattern().matches(container)) {
+                return rule.route();
+            }
+        }
+        return "GET".equalsIgnoreCase(method) ? DEFAULT_READ : DEFAULT_WRITE;
+    }
+
+    private static Policy compile(String name, int slot, RateLimitProperties.Policy base,
+                                  RateLimitProperties.Policy override) {
+        int requestsPerMinute = base.getRequestsPerMinute();
+        int burst = base.getBurst();
+        KeyType key = base.getKey();
+        if (override != null) {
+            requestsPerMinute = override.getRequestsPerMinute() > 0 ? override.getRequestsPerMinute() : requestsPerMinute;
+            burst = override.getBurst() > 0 ? override.getBurst() : burst;
+            key = override.getKey() != null ? override.getKey() : key;
+        }
+        if (requestsPerMinute <= 0 || burst < 0) {
+            throw new IllegalArgumentException("Rate-Limit-Richtlinie " + name
+                    + ": requests-per-minute muss positiv sein, burst darf nicht negativ sein");
+        }
+        int effectiveBurst = burst > 0 ? burst : requestsPerMinute;
+        long interval = MINUTE_NANOS / requestsPerMinute;
+        return new Policy(name, slot, effectiveBurst, interval, effectiveBurst * interval,
+                key != null ? key : KeyType.IP);
+    }
+
+    private static RouteRule compile(RateLimitProperties.Route route, Map<String, Policy> policies,
+                                     Map<String, Map<String, Policy>> tierPolicies) {
+        if (route.getPattern() == null || route.getPattern().isBlank()) {
+            throw new IllegalArgumentException("Rate-Limit-Route ohne Pfadmuster");
+        }
+        Policy policy = policies.get(route.getPolicy());
+        if (policy == null) {
+            throw new IllegalArgumentException("Rate-Limit-Route " + route.getPattern()
+                    + ": unbekannte Richtlinie " + route.getPolicy());
+        }
+        // Ein Request, der mehr kostet als der Burst, waere nie erlaubt
+        int smallestBurst = policy.burst();
+        for (Map<String, Policy> tier : tierPolicies.values()) {
+            smallestBurst = Math.min(smallestBurst, tier.get(policy.name()).burst());
+        }
+        if (route.getCost() < 1 || route.getCost() > smallestBurst) {
+            throw new IllegalArgumentException("Rate-Limit-Route " + route.getPattern()
+                    + ": cost muss zwischen 1 und " + smallestBurst + " liegen");
+        }
+        Set<String> methods = route.getMethods().stream()
+                .map(method -> method.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        return new RouteRule(PathPatternParser.defaultInstance.parse(route.getPattern()), methods,
+                new Route(policy.name(), route.getCost()));
+    }
+
+    private static RateLimitProperties.Policy policy(int requestsPerMinute) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setRequestsPerMinute(requestsPerMinute);
+        return policy;
+    }
+
+    private static RateLimitProperties.Route route(String pattern, String policy) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern(pattern);
+        route.setPolicy(policy);
+        return route;
+    }
+
+    /**
+     * Kompilierte Richtlinie.
+     *
+     * @param name          Name, zugleich Kategorie in Statistiken und Fehlermeldungen
+     * @param slot          Index im Zustand eines Clients
+     * @param burst         Einheiten am Stueck (X-RateLimit-Limit)
+     * @param intervalNanos Emissionsintervall: nach dieser Zeit wird eine Einheit wieder frei
+     * @param toleranceNanos wie weit die theoretische Ankunftszeit in der Zukunft liegen darf
+     * @param key           Schluessel des Kontingents
+     */
+    record Policy(String name, int slot, int burst, long intervalNanos, long toleranceNanos, KeyType key) {
+    }
+
+    /**
+     * Ergebnis der Routen-Aufloesung.
+     *
+     * @param policy Name der Richtlinie
+     * @param cost   verbrauchte Einheiten
+     */
+    record Route(String policy, int cost) {
+    }
+
+    private record RouteRule(PathPattern pattern, Set<String> methods, Route route) {
+    }
+}
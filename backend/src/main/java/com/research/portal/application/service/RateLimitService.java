@@ -1,29 +1,55 @@
 package com.research.portal.application.service;
 
+import com.research.portal.config.RateLimitProperties.KeyType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
 
 /**
- * Service fuer API Rate Limiting mit Sliding-Window-Algorithmus.
+ * Service fuer API Rate Limiting mit GCRA (Generic Cell Rate Algorithm).
  *
- * <p>Verwaltet Request-Limits pro Client-IP und Endpoint-Kategorie.
- * Jede Kategorie hat ein eigenes Limit:
+ * <p>Verwaltet Request-Limits pro Client und Richtlinie (Kategorie). Die
+ * Richtlinien kommen aus {@code app.rate-limit} ({@link RateLimitPolicies});
+ * ohne Konfiguration gelten die Standard-Limits:
  * <ul>
  *   <li>READ (GET-Requests): 100 Requests pro Minute</li>
  *   <li>WRITE (POST/PUT/DELETE-Requests): 30 Requests pro Minute</li>
  *   <li>SEARCH (/api/search): 20 Requests pro Minute</li>
+ *   <li>SUGGEST (/api/search/suggest): 300 Requests pro Minute</li>
  * </ul>
  *
- * <p>Thread-sicher durch Verwendung von {@link ConcurrentHashMap}
- * und {@link ConcurrentLinkedDeque}.
+ * <p>GCRA ist ein Token Bucket, dessen Zustand ein einziger Zeitpunkt ist: die
+ * theoretische Ankunftszeit (TAT) des naechsten Requests. Jeder erlaubte Request
+ * schiebt sie um {@code Kosten x Emissionsintervall} (eine Minute / Dauerrate)
+ * nach hinten. Liegt sie mehr als {@code Burst x Intervall} in der Zukunft, ist
+ * das Kontingent aufgebraucht. Ein Client darf damit bis zu {@code burst}
+ * Einheiten am Stueck verbrauchen; danach wird pro Intervall eine frei.
+ *
+ * <p>Schluessel ist die Client-IP. Richtlinien mit {@code key: USER} zaehlen
+ * zusaetzlich pro Benutzer aus dem X-User-Id Header: ein Request muss in beiden
+ * Kontingenten Platz haben, ein neuer oder zufaelliger Header umgeht das
+ * IP-Kontingent also nicht. Pro Schluessel liegt ein Eintrag mit
+ * der TAT (Epoch-Nanosekunden) je Richtlinie im {@link RateLimitClientStore};
+ * IPs und Benutzer-IDs haben je einen eigenen Speicher.
+ * Richtlinien lassen sich zur Laufzeit austauschen ({@link #applyPolicies});
+ * bleiben ihre Namen gleich, behalten die Clients ihr Kontingent. Der Speicher ist in Shards aufgeteilt und
+ * begrenzt; Clients mit wieder vollem Kontingent werden beim normalen Zugriff
+ * entfernt. Die Pruefung selbst ist O(1) und lock-frei per CAS.
+ *
+ * <p>Blockierte Requests pro Richtlinie ({@code portal.ratelimit.blocked}), die
+ * Zahl gehaltener Clients und ihre Obergrenze sowie Requests im Ueberlauf-Kontingent sind
+ * Micrometer-Meter; {@link #getStats()} liest dieselben Werte.
  *
  * <p>Wird als Bean in {@link com.research.portal.config.RateLimitConfig} registriert
  * (nicht als @Component, um WebMvcTest-Slices nicht zu beeinflussen).
@@ -32,18 +58,23 @@ public class RateLimitService {
 
     private static final Logger log = LoggerFactory.getLogger(RateLimitService.class);
 
-    /** Zeitfenster fuer das Sliding Window in Millisekunden (1 Minute). */
+    /** Zeitfenster, auf das sich die Limits beziehen, in Millisekunden (1 Minute). */
     static final long WINDOW_MS = 60_000;
 
-    /** Limit fuer READ-Endpoints (GET-Requests). */
+    private static final long NANOS_PER_MS = 1_000_000;
+
+    /** Standard-Limit fuer READ-Endpoints (GET-Requests). */
     static final int READ_LIMIT = 100;
 
-    /** Limit fuer WRITE-Endpoints (POST/PUT/DELETE-Requests). */
+    /** Standard-Limit fuer WRITE-Endpoints (POST/PUT/DELETE-Requests). */
     static final int WRITE_LIMIT = 30;
 
-    /** Limit fuer SEARCH-Endpoints (/api/search). */
+    /** Standard-Limit fuer SEARCH-Endpoints (/api/search). */
     static final int SEARCH_LIMIT = 20;
 
+    /** Standard-Limit fuer Autocomplete (/api/search/suggest), guenstig dank In-Memory-Trie. */
+    static final int SUGGEST_LIMIT = 300;
+
     /** Kategorie fuer lesende Zugriffe. */
     public static final String CATEGORY_READ = "READ";
 
@@ -53,88 +84,146 @@ public class RateLimitService {
     /** Kategorie fuer Such-Zugriffe. */
     public static final String CATEGORY_SEARCH = "SEARCH";
 
+    /** Kategorie fuer Autocomplete-Zugriffe. */
+    public static final String CATEGORY_SUGGEST = "SUGGEST";
+
     /**
-     * Speichert Timestamps der Requests pro Client-IP und Kategorie.
-     * Key-Format: "clientIp:category"
+     * Aktive Richtlinien und der passende Client-Zustand (TAT pro IP bzw. Benutzer,
+     * je Richtlinie ein Slot). Alles wird zusammen ausgetauscht, damit ein Request
+     * nie Slots einer anderen Richtlinien-Version liest.
      */
-    private final ConcurrentHashMap<String, Deque<Long>> requestTimestamps = new ConcurrentHashMap<>();
+    private volatile Limits limits;
 
-    /** Zaehler fuer blockierte Requests pro Kategorie. */
-    private final ConcurrentHashMap<String, AtomicLong> blockedCountByCategory = new ConcurrentHashMap<>();
+    private final int maxClients;
 
-    /** Gesamtanzahl blockierter Requests. */
-    private final AtomicLong totalBlocked = new AtomicLong(0);
+    private final MeterRegistry registry;
+
+    /** Zaehler fuer blockierte Requests pro Kategorie; beim ersten Block registriert. */
+    private final ConcurrentHashMap<String, Counter> blockedCountByCategory = new ConcurrentHashMap<>();
+
+    /** Uhr in Epoch-Millisekunden; in Tests ersetzbar. */
+    private final LongSupplier clock;
+
+    public RateLimitService() {
+        this(System::currentTimeMillis);
+    }
 
     /**
-     * Prueft ob ein Request fuer die gegebene Client-IP und Kategorie erlaubt ist.
-     *
-     * <p>Entfernt abgelaufene Timestamps aus dem Sliding Window und prueft,
-     * ob das Limit fuer die Kategorie bereits erreicht ist.
-     * Bei Erlaubnis wird der aktuelle Timestamp hinzugefuegt.
-     *
-     * @param clientIp die IP-Adresse des Clients
-     * @param category die Endpoint-Kategorie (READ, WRITE, SEARCH)
-     * @return true wenn der Request erlaubt ist, false wenn das Limit erreicht ist
+     * @param policies   kompilierte Richtlinien
+     * @param maxClients hoechstens so viele IPs und ebenso viele Benutzer werden gehalten
+     * @param registry   Registry fuer Blockierungs- und Client-Metriken
      */
-    public boolean isAllowed(String clientIp, String category) {
-        String key = buildKey(clientIp, category);
-        int limit = getLimitForCategory(category);
-        long now = System.currentTimeMillis();
-        long windowStart = now - WINDOW_MS;
+    public RateLimitService(RateLimitPolicies policies, int maxClients, MeterRegistry registry) {
+        this(policies, System::currentTimeMillis, maxClients, registry);
+    }
 
-        Deque<Long> timestamps = requestTimestamps.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>());
+    RateLimitService(LongSupplier clock) {
+        this(clock, RateLimitClientStore.DEFAULT_MAX_CLIENTS);
+    }
+
+    RateLimitService(LongSupplier clock, int maxClients) {
+        this(RateLimitPolicies.defaults(), clock, maxClients);
+    }
+
+    RateLimitService(RateLimitPolicies policies, LongSupplier clock, int maxClients) {
+        this(policies, clock, maxClients, new SimpleMeterRegistry());
+    }
 
-        // Abgelaufene Eintraege entfernen
-        while (!timestamps.isEmpty() && timestamps.peekFirst() != null && timestamps.peekFirst() < windowStart) {
-            timestamps.pollFirst();
+    RateLimitService(RateLimitPolicies policies, LongSupplier clock, int maxClients, MeterRegistry registry) {
+        this.clock = clock;
+        this.maxClients = maxClients;
+        this.registry = registry;
+        this.limits = newLimits(policies);
+
+        // Die Meter lesen den jeweils aktiven Speicher, auch nach applyPolicies
+        Gauge.builder("portal.ratelimit.clients", this, service -> service.limits.size())
+                .description("Gehaltene Rate-Limit-Clients (IPs und Benutzer)")
+                .register(registry);
+        Gauge.builder("portal.ratelimit.clients.max", this, service -> 2L * service.maxClients)
+                .description("Obergrenze der gehaltenen Rate-Limit-Clients (IPs und Benutzer)")
+                .register(registry);
+        FunctionCounter.builder("portal.ratelimit.evicted", this, service -> service.limits.overflowCount())
+                .description("Requests neuer Clients, die mangels Platz das gemeinsame Ueberlauf-Kontingent nutzen")
+                .register(registry);
+    }
+
+    /**
+     * Prueft einen Request gegen die aktiven Richtlinien und verbraucht bei
+     * Erfolg dessen Kosten.
+     *
+     * @param method         HTTP-Methode
+     * @param path           Request-Pfad
+     * @param handlerPattern Pfadmuster des Controller-Mappings (z.B. /api/reports/{id}) oder null
+     * @param clientIp       IP-Adresse des Clients
+     * @param userId         Benutzer aus dem X-User-Id Header oder null
+     * @return Entscheid mit Richtlinie und Informationen fuer die Response-Header
+     */
+    public Decision check(String method, String path, String handlerPattern, String clientIp, String userId) {
+        Limits current = limits;
+        RateLimitPolicies.Route route = current.policies().resolve(method, path, handlerPattern);
+        RateLimitPolicies.Policy policy = current.policies().policy(route.policy(), userId);
+        RateLimitClientStore ipClients = current.ipClients();
+        boolean allowed = tryAcquire(ipClients, clientIp, policy, route.cost());
+        if (policy.key() != KeyType.USER || userId == null || userId.isBlank()) {
+            return new Decision(allowed, policy.name(), route.cost(), info(ipClients, clientIp, policy));
         }
 
-        if (timestamps.size() >= limit) {
-            totalBlocked.incrementAndGet();
-            blockedCountByCategory
-                    .computeIfAbsent(category, k -> new AtomicLong(0))
-                    .incrementAndGet();
-            log.warn("Rate limit ueberschritten fuer IP={} Kategorie={} (Limit={})", clientIp, category, limit);
-            return false;
+        // Der Header allein ist nicht vertrauenswuerdig: das Benutzer-Kontingent gilt zusaetzlich zur IP
+        RateLimitClientStore userClients = current.userClients();
+        if (allowed && !tryAcquire(userClients, userId, policy, route.cost())) {
+            release(ipClients, clientIp, policy, route.cost());
+            allowed = false;
         }
+        RateLimitInfo ipInfo = info(ipClients, clientIp, policy);
+        RateLimitInfo userInfo = info(userClients, userId, policy);
+        return new Decision(allowed, policy.name(), route.cost(),
+                userInfo.remaining() < ipInfo.remaining() ? userInfo : ipInfo);
+    }
 
-        timestamps.addLast(now);
-        return true;
+    /**
+     * Prueft ob ein Request fuer die gegebene Client-IP und Kategorie erlaubt ist
+     * (Kosten 1, ohne Tier).
+     *
+     * @param clientIp die IP-Adresse des Clients
+     * @param category die Kategorie bzw. Richtlinie (READ, WRITE, SEARCH, SUGGEST, ...)
+     * @return true wenn der Request erlaubt ist, false wenn das Limit erreicht ist
+     */
+    public boolean isAllowed(String clientIp, String category) {
+        Limits current = limits;
+        return tryAcquire(current.ipClients(), clientIp, current.policies().policy(category, null), 1);
     }
 
     /**
      * Gibt die aktuellen Rate-Limit-Informationen fuer eine Client-IP und Kategorie zurueck.
      *
+     * <p>{@code remaining} ist die Anzahl Einheiten, die jetzt am Stueck erlaubt waeren;
+     * {@code resetAtEpochMs} der Zeitpunkt, an dem wieder eine Einheit mehr frei wird.
+     *
      * @param clientIp die IP-Adresse des Clients
-     * @param category die Endpoint-Kategorie (READ, WRITE, SEARCH)
+     * @param category die Kategorie bzw. Richtlinie (READ, WRITE, SEARCH, SUGGEST, ...)
      * @return {@link RateLimitInfo} mit verbleibenden Requests, Limit und Reset-Zeitpunkt
      */
     public RateLimitInfo getRateLimitInfo(String clientIp, String category) {
-        String key = buildKey(clientIp, category);
-        int limit = getLimitForCategory(category);
-        long now = System.currentTimeMillis();
-        long windowStart = now - WINDOW_MS;
-
-        Deque<Long> timestamps = requestTimestamps.get(key);
-        if (timestamps == null || timestamps.isEmpty()) {
-            return new RateLimitInfo(limit, limit, now + WINDOW_MS);
-        }
-
-        // Abgelaufene Eintraege zaehlen nicht
-        long activeCount = timestamps.stream()
-                .filter(ts -> ts >= windowStart)
-                .count();
-
-        int remaining = Math.max(0, limit - (int) activeCount);
-
-        // Reset-Zeit ist der Zeitpunkt, an dem der aelteste aktive Eintrag ablaeuft
-        long resetAt = timestamps.stream()
-                .filter(ts -> ts >= windowStart)
-                .findFirst()
-                .map(ts -> ts + WINDOW_MS)
-                .orElse(now + WINDOW_MS);
+        Limits current = limits;
+        return info(current.ipClients(), clientIp, current.policies().policy(category, null));
+    }
 
-        return new RateLimitInfo(remaining, limit, resetAt);
+    /**
+     * Aktiviert neue Richtlinien ohne Neustart.
+     *
+     * <p>Haben die Richtlinien dieselben Namen, bleibt der Zustand der Clients
+     * erhalten und die neuen Raten gelten ab dem naechsten Request.
+     * Sonst passen die Slots nicht mehr und alle Kontingente beginnen neu.
+     */
+    public void applyPolicies(RateLimitPolicies policies) {
+        Limits current = limits;
+        if (current.policies().names().equals(policies.names())) {
+            limits = new Limits(policies, current.ipClients(), current.userClients());
+            log.info("Rate-Limit-Richtlinien aktualisiert: {}", policies.names());
+        } else {
+            limits = newLimits(policies);
+            log.info("Rate-Limit-Richtlinien ersetzt, Kontingente zurueckgesetzt: {}", policies.names());
+        }
     }
 
     /**
@@ -142,52 +231,53 @@ public class RateLimitService {
      * Admin-Operation zum Freigeben aller blockierten Clients.
      */
     public void resetAll() {
-        requestTimestamps.clear();
+        Limits current = limits;
+        current.ipClients().clear();
+        current.userClients().clear();
         log.info("Alle Rate-Limits zurueckgesetzt");
     }
 
     /**
      * Gibt Statistiken ueber das Rate-Limiting zurueck.
      *
-     * @return Map mit Statistik-Werten (totalBlocked, activeClients, blockedByCategory)
+     * <p>{@code activeClients} sind die gehaltenen Clients (O(1)); Clients mit wieder
+     * vollem Kontingent fallen beim naechsten Zugriff auf ihren Shard heraus.
+     * {@code evictedClients} zaehlt Requests neuer Clients, die mangels Platz das
+     * gemeinsame Ueberlauf-Kontingent nutzen – aktive Clients werden nie verdraengt.
+     * Steigt der Wert, senden sehr viele IPs gleichzeitig.
+     *
+     * @return Map mit Statistik-Werten (totalBlocked, activeClients, evictedClients, blockedByCategory)
      */
     public Map<String, Object> getStats() {
+        Limits current = limits;
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalBlocked", totalBlocked.get());
-        stats.put("activeClients", countActiveClients());
+        stats.put("activeClients", current.size());
+        stats.put("evictedClients", current.overflowCount());
 
+        long totalBlocked = 0;
         Map<String, Integer> categoryStats = new HashMap<>();
-        blockedCountByCategory.forEach((category, count) ->
-                categoryStats.put(category, (int) count.get()));
+        for (Map.Entry<String, Counter> entry : blockedCountByCategory.entrySet()) {
+            long count = (long) entry.getValue().count();
+            totalBlocked += count;
+            categoryStats.put(entry.getKey(), (int) count);
+        }
+        stats.put("totalBlocked", totalBlocked);
         stats.put("blockedByCategory", categoryStats);
 
         return stats;
     }
 
     /**
-     * Entfernt abgelaufene Eintraege aus dem Sliding Window.
+     * Entfernt in allen Shards die Clients, deren Kontingent wieder voll ist (TAT in
+     * der Vergangenheit). Beim normalen Zugriff geschieht das bereits schrittweise;
+     * der Durchlauf erwischt Shards, auf die laenger niemand zugreift.
      * Laeuft alle 5 Minuten automatisch per @Scheduled.
      */
     @Scheduled(fixedRate = 5 * 60 * 1000)
     public void cleanup() {
-        long now = System.currentTimeMillis();
-        long windowStart = now - WINDOW_MS;
-        int removedEntries = 0;
-
-        var iterator = requestTimestamps.entrySet().iterator();
-        while (iterator.hasNext()) {
-            var entry = iterator.next();
-            Deque<Long> timestamps = entry.getValue();
-
-            while (!timestamps.isEmpty() && timestamps.peekFirst() != null && timestamps.peekFirst() < windowStart) {
-                timestamps.pollFirst();
-                removedEntries++;
-            }
-
-            if (timestamps.isEmpty()) {
-                iterator.remove();
-            }
-        }
+        Limits current = limits;
+        long now = nowNanos();
+        int removedEntries = current.ipClients().evictIdle(now) + current.userClients().evictIdle(now);
 
         if (removedEntries > 0) {
             log.debug("Rate-Limit Cleanup: {} abgelaufene Eintraege entfernt", removedEntries);
@@ -195,17 +285,13 @@ public class RateLimitService {
     }
 
     /**
-     * Gibt das Limit fuer die angegebene Kategorie zurueck.
+     * Gibt das Limit (Burst) fuer die angegebene Kategorie zurueck.
      *
-     * @param category die Endpoint-Kategorie
+     * @param category die Kategorie bzw. Richtlinie
      * @return das konfigurierte Limit
      */
     int getLimitForCategory(String category) {
-        return switch (category) {
-            case CATEGORY_WRITE -> WRITE_LIMIT;
-            case CATEGORY_SEARCH -> SEARCH_LIMIT;
-            default -> READ_LIMIT;
-        };
+        return limits.policies().policy(category, null).burst();
     }
 
     /**
@@ -213,31 +299,87 @@ public class RateLimitService {
      *
      * @param method die HTTP-Methode (GET, POST, PUT, DELETE)
      * @param uri    die Request-URI
-     * @return die ermittelte Kategorie (READ, WRITE oder SEARCH)
+     * @return die Richtlinie der ersten passenden Route, sonst READ (GET) bzw. WRITE
      */
     public String determineCategory(String method, String uri) {
-        if (uri != null && uri.startsWith("/api/search")) {
-            return CATEGORY_SEARCH;
+        return limits.policies().resolve(method, uri, null).policy();
+    }
+
+    /**
+     * Verbraucht {@code cost} Einheiten, solange die theoretische Ankunftszeit danach
+     * hoechstens die Toleranz der Richtlinie in der Zukunft liegt; setzt sie per CAS.
+     * Blockierte Requests veraendern den Zustand nicht.
+     */
+    private boolean tryAcquire(RateLimitClientStore clients, String clientKey,
+                               RateLimitPolicies.Policy policy, int cost) {
+        long increment = policy.intervalNanos() * cost;
+        int slot = policy.slot();
+        AtomicLongArray arrivalTimes = clients.getOrCreate(clientKey, nowNanos());
+
+        while (true) {
+            long now = nowNanos();
+            long current = arrivalTimes.get(slot);
+            long next = Math.max(current, now) + increment;
+            if (next - now > policy.toleranceNanos()) {
+                blockedCountByCategory
+                        .computeIfAbsent(policy.name(), name -> Counter.builder("portal.ratelimit.blocked")
+                                .description("Vom Rate Limiting abgewiesene Requests")
+                                .tag("policy", name)
+                                .register(registry))
+                        .increment();
+                log.warn("Rate limit ueberschritten fuer Client={} Kategorie={} (Limit={}, Kosten={})",
+                        clientKey, policy.name(), policy.burst(), cost);
+                return false;
+            }
+            if (arrivalTimes.compareAndSet(slot, current, next)) {
+                return true;
+            }
+            // Ein paralleler Request desselben Clients war schneller: neu rechnen
+        }
+    }
+
+    /**
+     * Gibt {@code cost} Einheiten zurueck, die {@link #tryAcquire} verbraucht hat,
+     * wenn der Request an einem weiteren Kontingent scheitert.
+     */
+    private void release(RateLimitClientStore clients, String clientKey, RateLimitPolicies.Policy policy, int cost) {
+        AtomicLongArray arrivalTimes = clients.get(clientKey);
+        if (arrivalTimes != null) {
+            arrivalTimes.addAndGet(policy.slot(), -policy.intervalNanos() * cost);
         }
-        if ("GET".equalsIgnoreCase(method)) {
-            return CATEGORY_READ;
+    }
+
+    private RateLimitInfo info(RateLimitClientStore clients, String clientKey, RateLimitPolicies.Policy policy) {
+        int limit = policy.burst();
+        long tolerance = policy.toleranceNanos();
+        long now = nowNanos();
+
+        AtomicLongArray arrivalTimes = clients.get(clientKey);
+        long current = arrivalTimes != null ? arrivalTimes.get(policy.slot()) : 0;
+        if (current <= now) {
+            return new RateLimitInfo(limit, limit, toMillis(now + tolerance));
         }
-        return CATEGORY_WRITE;
+
+        long interval = policy.intervalNanos();
+        int remaining = (int) Math.max(0, Math.min(limit, (now + tolerance - current) / interval));
+        // Die naechste Einheit wird frei, sobald TAT - Toleranz + (remaining + 1) * Intervall erreicht ist
+        long resetAt = current - tolerance + (remaining + 1) * interval;
+        return new RateLimitInfo(remaining, limit, toMillis(resetAt));
     }
 
-    private String buildKey(String clientIp, String category) {
-        return clientIp + ":" + category;
+    private Limits newLimits(RateLimitPolicies policies) {
+        int categories = policies.names().size();
+        return new Limits(policies, new RateLimitClientStore(maxClients, categories),
+                new RateLimitClientStore(maxClients, categories));
     }
 
-    private int countActiveClients() {
-        long now = System.currentTimeMillis();
-        long windowStart = now - WINDOW_MS;
+    private long nowNanos() {
+        return clock.getAsLong() * NANOS_PER_MS;
+    }
 
-        return (int) requestTimestamps.entrySet().stream()
-                .filter(entry -> entry.getValue().stream().anyMatch(ts -> ts >= windowStart))
-                .map(entry -> entry.getKey().split(":")[0])
-                .distinct()
-                .count();
+    private static long toMillis(long epochNanos) {
+        // Aufrunden: vor diesem Zeitpunkt ist der naechste Request noch nicht frei
+        return (epochNanos + NANOS_PER_MS - 1) / NANOS_PER_MS;
     }
 
     /**
@@ -245,8 +387,35 @@ public class RateLimitService {
      *
      * @param remaining    verbleibende erlaubte Requests im aktuellen Zeitfenster
      * @param limit        maximale Anzahl Requests pro Zeitfenster
-     * @param resetAtEpochMs Zeitpunkt (Epoch-Millisekunden) an dem das Zeitfenster zurueckgesetzt wird
+     * @param resetAtEpochMs Zeitpunkt (Epoch-Millisekunden) an dem wieder ein Request frei wird
      */
     public record RateLimitInfo(int remaining, int limit, long resetAtEpochMs) {
     }
+
+    /**
+     * Entscheid fuer einen Request.
+     *
+     * @param allowed  ob der Request erlaubt ist
+     * @param category angewendete Richtlinie
+     * @param cost     verbrauchte bzw. verlangte Einheiten
+     * @param info     Kontingent nach dem Request
+     */
+    public record Decision(boolean allowed, String category, int cost, RateLimitInfo info) {
+    }
+
+    /**
+     * @param ipClients   Zustand pro Client-IP
+     * @param userClients Zustand pro Benutzer-ID fuer Richtlinien mit {@code key: USER}
+     */
+    private record Limits(RateLimitPolicies policies, RateLimitClientStore ipClients,
+                          RateLimitClientStore userClients) {
+
+        int size() {
+            return ipClients.size() + userClients.size();
+        }
+
+        long overflowCount() {
+            return ipClients.overflowCount() + userClients.overflowCount();
+        }
+    }
 }
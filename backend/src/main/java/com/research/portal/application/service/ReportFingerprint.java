@@ -0,0 +1,101 @@
+package com.research.portal.application.service;
+
+import com.research.portal.domain.model.ResearchReport;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Importschluessel und Inhalts-Hash eines Reports fuer den inkrementellen Import.
+ *
+ * Die Lieferantendateien tragen keine Report-ID. Der Importschluessel setzt
+ * sich deshalb aus Wertschrift, Analyst, Report-Typ und Publikationszeitpunkt
+ * zusammen. Reports ohne Zeitpunkt werden ueber den Titel wiedererkannt: ein
+ * geaenderter Titel gilt bei ihnen als neuer Report und wird eingefuegt, der
+ * alte bleibt bestehen. Die Migration V7 setzt fuer bestehende Reports
+ * denselben Schluessel.
+ *
+ * Der Inhalts-Hash (SHA-256) deckt alle uebrigen Felder ab; stimmt er mit dem
+ * gespeicherten ueberein, hat sich der Report seit dem letzten Import nicht
+ * veraendert.
+ */
+final class ReportFingerprint {
+
+    /** Sekundengenau, damit 09:30 und 09:30:00 denselben Schluessel ergeben */
+    private static final DateTimeFormatter KEY_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    private static final char FIELD_SEPARATOR = '\u001F';
+    private static final char ITEM_SEPARATOR = '\u001E';
+
+    private ReportFingerprint() {
+    }
+
+    /**
+     * Setzt Importschluessel und Inhalts-Hash am Report.
+     */
+    static void apply(ResearchReport report) {
+        report.setImportKey(importKey(report));
+        report.setContentHash(contentHash(report));
+    }
+
+    static String importKey(ResearchReport report) {
+        String published = report.getPublishedAt() != null
+                ? KEY_TIMESTAMP.format(report.getPublishedAt())
+                : report.getTitle();
+        return report.getSecurityId() + "|" + report.getAnalystId() + "|"
+                + report.getReportType() + "|" + published;
+    }
+
+    static String contentHash(ResearchReport report) {
+        StringBuilder content = new StringBuilder(512);
+        append(content, report.getAnalystId());
+        append(content, report.getSecurityId());
+        append(content, report.getPublishedAt());
+        append(content, report.getReportType());
+        append(content, report.getTitle());
+        append(content, report.getExecutiveSummary());
+        append(content, report.getFullText());
+        append(content, report.getRating());
+        append(content, report.getPreviousRating());
+        append(content, report.isRatingChanged());
+        append(content, report.getTargetPrice());
+        append(content, report.getPreviousTarget());
+        append(content, report.getCurrentPrice());
+        append(content, report.getImpliedUpside());
+        append(content, report.getRiskLevel());
+        append(content, report.getInvestmentCatalysts());
+        append(content, report.getKeyRisks());
+        append(content, report.getTags());
+        return HexFormat.of().formatHex(sha256().digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void append(StringBuilder content, Object value) {
+        if (value instanceof BigDecimal number) {
+            // 120.5 und 120.50 sind derselbe Kurs; die Datenbank speichert ohnehin zwei Stellen
+            content.append(number.stripTrailingZeros().toPlainString());
+        } else if (value instanceof LocalDateTime timestamp) {
+            content.append(KEY_TIMESTAMP.format(timestamp));
+        } else if (value instanceof List<?> items) {
+            for (Object item : items) {
+                content.append(item).append(ITEM_SEPARATOR);
+            }
+        } else if (value != null) {
+            content.append(value);
+        }
+        content.append(FIELD_SEPARATOR);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 nicht verfuegbar", e);
+        }
+    }
+}
@@ -1,22 +1,48 @@
 package com.research.portal.application.service;
 
 import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.application.export.ReportDataVersion;
+import com.research.portal.application.search.SearchIndex;
+import com.research.portal.config.ImportProperties;
+import com.research.portal.domain.model.BulkImportResult;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
+import com.research.portal.domain.model.ReportImportState;
 import com.research.portal.domain.model.ResearchReport;
 import com.research.portal.domain.port.in.GetReportsUseCase;
 import com.research.portal.domain.port.in.ManageReportUseCase;
+import com.research.portal.domain.port.in.ReportBulkImport;
 import com.research.portal.domain.port.out.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class ReportService implements GetReportsUseCase, ManageReportUseCase {
 
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+
     private final ReportRepository reportRepository;
+    private final SearchIndex searchIndex;
+    private final ReportDataVersion dataVersion;
+    private final int importBatchSize;
 
-    public ReportService(ReportRepository reportRepository) {
+    public ReportService(ReportRepository reportRepository, SearchIndex searchIndex,
+                         ReportDataVersion dataVersion, ImportProperties importProperties) {
         this.reportRepository = reportRepository;
+        this.searchIndex = searchIndex;
+        this.dataVersion = dataVersion;
+        this.importBatchSize = Math.max(1, importProperties.getBatchSize());
     }
 
     @Override
@@ -24,6 +50,11 @@ public class ReportService implements GetReportsUseCase, ManageReportUseCase {
         return reportRepository.findAll();
     }
 
+    @Override
+    public CursorPage<ResearchReport> getReportsPage(PageQuery query) {
+        return reportRepository.findPage(query);
+    }
+
     @Override
     public Optional<ResearchReport> getReportById(Long id) {
         return reportRepository.findById(id);
@@ -39,18 +70,32 @@ public class ReportService implements GetReportsUseCase, ManageReportUseCase {
         return reportRepository.findBySecurityId(securityId);
     }
 
+    @Override
+    public List<ResearchReport> getReportsPublishedBetween(Long securityId, LocalDateTime from, LocalDateTime to,
+                                                           int limit) {
+        return reportRepository.findPublishedBetween(securityId, from, to, limit);
+    }
+
     @Override
     public ResearchReport createReport(ResearchReport report) {
-        return reportRepository.save(report);
+        ResearchReport saved = reportRepository.save(report);
+        searchIndex.indexReport(saved);
+        dataVersion.increment();
+        return saved;
     }
 
     @Override
     public ResearchReport updateReport(Long id, ResearchReport report) {
-        if (reportRepository.findById(id).isEmpty()) {
-            throw new ResourceNotFoundException("Report", id);
-        }
+        ResearchReport existing = reportRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Report", id));
+        // Bezug zum Import behalten: ein unveraenderter Feed ueberschreibt die Aenderung nicht
+        report.setImportKey(existing.getImportKey());
+        report.setContentHash(existing.getContentHash());
         report.setId(id);
-        return reportRepository.save(report);
+        ResearchReport saved = reportRepository.save(report);
+        searchIndex.indexReport(saved);
+        dataVersion.increment(id);
+        return saved;
     }
 
     @Override
@@ -59,5 +104,218 @@ public class ReportService implements GetReportsUseCase, ManageReportUseCase {
             throw new ResourceNotFoundException("Report", id);
         }
         reportRepository.deleteById(id);
+        searchIndex.removeReport(id);
+        dataVersion.remove(id);
+    }
+
+    @Override
+    public ReportBulkImport startBulkImport(Consumer<ResearchReport> onSaved, boolean incremental) {
+        return new BatchingImport(onSaved, incremental);
+    }
+
+    /**
+     * Sammelt Reports und speichert sie in Batches zu je einer Transaktion.
+     *
+     * Unvollstaendige Reports werden vorab aussortiert. Schlaegt ein Batch
+     * trotzdem fehl, wird er Report fuer Report wiederholt, damit nur die
+     * fehlerhaften Reports verloren gehen und einzeln gemeldet werden.
+     *
+     * Jeder Report erhaelt Importschluessel und Inhalts-Hash. Im inkrementellen
+     * Modus wird pro Batch mit einer Abfrage der gespeicherte Stand geladen:
+     * gleicher Hash wird uebersprungen, ein anderer Hash aktualisiert den
+     * bestehenden Report, fehlt der Schluessel, wird eingefuegt. Ein Feed ohne
+     * Aenderungen kostet damit nur die Abfragen, keine Schreibzugriffe.
+     */
+    private final class BatchingImport implements ReportBulkImport {
+
+        private final Consumer<ResearchReport> onSaved;
+        private final boolean incremental;
+        private final List<ResearchReport> batch = new ArrayList<>(importBatchSize);
+        private final List<Integer> batchPositions = new ArrayList<>(importBatchSize);
+        private final Set<String> batchKeys = new HashSet<>();
+        private final List<BulkImportResult.Failure> failures = new ArrayList<>();
+        private int position;
+        private int imported;
+        private int updated;
+        private int unchanged;
+
+        private BatchingImport(Consumer<ResearchReport> onSaved, boolean incremental) {
+            this.onSaved = onSaved;
+            this.incremental = incremental;
+        }
+
+        @Override
+        public void add(ResearchReport report) {
+            add(position + 1, report);
+        }
+
+        @Override
+        public void add(int reportPosition, ResearchReport report) {
+            position = Math.max(position, reportPosition);
+            String missing = missingField(report);
+            if (missing != null) {
+                failures.add(new BulkImportResult.Failure(reportPosition, report.getTitle(),
+                        "Pflichtfeld fehlt: " + missing));
+                return;
+            }
+            ReportFingerprint.apply(report);
+            // Kommt ein Schluessel in der Datei doppelt vor, gleicht der spaetere Report
+            // gegen den bereits gespeicherten ab, statt ein zweites Mal eingefuegt zu werden
+            if (incremental && !batchKeys.add(report.getImportKey())) {
+                flush();
+                batchKeys.add(report.getImportKey());
+            }
+            batch.add(report);
+            batchPositions.add(reportPosition);
+            if (batch.size() >= importBatchSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void reject(int reportPosition, String title, String reason) {
+            position = Math.max(position, reportPosition);
+            failures.add(new BulkImportResult.Failure(reportPosition, title, reason));
+        }
+
+        @Override
+        public BulkImportResult finish() {
+            flush();
+            failures.sort((a, b) -> Integer.compare(a.position(), b.position()));
+            if (incremental) {
+                log.info("Inkrementeller Import abgeschlossen: {} neu, {} aktualisiert, {} unveraendert, {} fehlerhaft",
+                        imported - updated, updated, unchanged, failures.size());
+            } else {
+                log.info("Massenimport abgeschlossen: {} gespeichert, {} fehlerhaft", imported, failures.size());
+            }
+            return new BulkImportResult(imported, updated, unchanged, List.copyOf(failures));
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            boolean written = incremental
+                    ? upsert()
+                    : store(batch, batchPositions, false);
+            batch.clear();
+            batchPositions.clear();
+            batchKeys.clear();
+            if (written) {
+                dataVersion.increment();
+            }
+        }
+
+        /**
+         * Teilt den Batch nach gespeichertem Stand in Inserts und Updates auf.
+         *
+         * @return true, wenn etwas geschrieben wurde
+         */
+        private boolean upsert() {
+            Map<String, ReportImportState> stored = new HashMap<>();
+            // Nach ID sortiert: bei Altbestand mit doppeltem Schluessel gilt der aelteste Report
+            reportRepository.findImportStates(batchKeys)
+                    .forEach(state -> stored.putIfAbsent(state.importKey(), state));
+
+            List<ResearchReport> inserts = new ArrayList<>();
+            List<Integer> insertPositions = new ArrayList<>();
+            List<ResearchReport> updates = new ArrayList<>();
+            List<Integer> updatePositions = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                ResearchReport report = batch.get(i);
+                ReportImportState state = stored.get(report.getImportKey());
+                if (state == null) {
+                    report.setId(null);
+                    inserts.add(report);
+                    insertPositions.add(batchPositions.get(i));
+                } else if (report.getContentHash().equals(state.contentHash())) {
+                    unchanged++;
+                } else {
+                    report.setId(state.id());
+                    updates.add(report);
+                    updatePositions.add(batchPositions.get(i));
+                }
+            }
+            boolean inserted = store(inserts, insertPositions, false);
+            boolean changed = store(updates, updatePositions, true);
+            return inserted || changed;
+        }
+
+        /**
+         * Speichert Reports als Batch, bei einem Fehler einzeln.
+         *
+         * @return true, wenn etwas geschrieben wurde
+         */
+        private boolean store(List<ResearchReport> reports, List<Integer> positions, boolean update) {
+            if (reports.isEmpty()) {
+                return false;
+            }
+            try {
+                List<ResearchReport> saved = update
+                        ? reportRepository.updateAll(reports)
+                        : reportRepository.saveAll(reports);
+                saved.forEach(report -> saved(report, update));
+            } catch (RuntimeException e) {
+                log.warn("Batch ab Position {} fehlgeschlagen, speichere einzeln: {}",
+                        positions.get(0), e.getMessage());
+                saveIndividually(reports, positions, update);
+            }
+            return true;
+        }
+
+        private void saveIndividually(List<ResearchReport> reports, List<Integer> positions, boolean update) {
+            for (int i = 0; i < reports.size(); i++) {
+                ResearchReport report = reports.get(i);
+                try {
+                    saved(reportRepository.save(report), update);
+                } catch (RuntimeException e) {
+                    failures.add(new BulkImportResult.Failure(positions.get(i), report.getTitle(),
+                            rootMessage(e)));
+                }
+            }
+        }
+
+        private void saved(ResearchReport report, boolean update) {
+            imported++;
+            if (update) {
+                updated++;
+                // Wie bei updateReport: Einzel-Artefakte (gecachte PDFs, ETags) dieses Reports verwerfen
+                dataVersion.increment(report.getId());
+            }
+            searchIndex.indexReport(report);
+            onSaved.accept(report);
+        }
+    }
+
+    /**
+     * Prueft die Pflichtfelder eines Reports.
+     *
+     * @return Name des ersten fehlenden Pflichtfelds oder null
+     */
+    static String missingField(ResearchReport report) {
+        if (report.getTitle() == null || report.getTitle().isBlank()) {
+            return "title";
+        }
+        if (report.getAnalystId() == null) {
+            return "analystId";
+        }
+        if (report.getSecurityId() == null) {
+            return "securityId";
+        }
+        if (report.getReportType() == null) {
+            return "reportType";
+        }
+        if (report.getRating() == null) {
+            return "rating";
+        }
+        return null;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
     }
 }
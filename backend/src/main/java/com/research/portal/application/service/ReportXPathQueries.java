@@ -0,0 +1,155 @@
+package com.research.portal.application.service;
+
+import com.research.portal.domain.model.Rating;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.namespace.QName;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Vorkompilierte, parametrisierte XPath-Abfragen auf Report-Dokumente.
+ *
+ * Suchwerte wie Ticker oder Rating werden als XPath-Variablen ({@code $ticker})
+ * uebergeben und nie in den Ausdruck eingesetzt. Ein Ticker wie
+ * {@code NESN' or '1'='1} bleibt damit ein gewoehnlicher Vergleichswert und
+ * kann die Abfrage nicht veraendern (XPath-Injection).
+ *
+ * {@link XPath} und {@link XPathExpression} sind nicht threadsicher. Jeder
+ * Thread kompiliert die Ausdruecke deshalb einmal ({@link #forCurrentThread()})
+ * und verwendet sie danach wieder.
+ */
+final class ReportXPathQueries {
+
+    /** XPath: Selektiert alle Report-Elemente */
+    static final String ALL_REPORTS = "//report";
+
+    /** XPath: Selektiert Reports per Ticker-Symbol */
+    static final String BY_TICKER = "//report[security/ticker = $ticker]";
+
+    /** XPath: Selektiert Reports per Rating */
+    static final String BY_RATING = "//report[rating = $rating]";
+
+    /** XPath: Selektiert Reports mit Kursziel über einem Schwellenwert */
+    static final String TARGET_ABOVE = "//report[number(targetPrice) > $minTarget]";
+
+    /** XPath relativ zum Report: Analyst-ID */
+    static final String ANALYST_ID = "analyst/analystId";
+
+    /** XPath relativ zum Report: Wertschrift-ID */
+    static final String SECURITY_ID = "security/securityId";
+
+    /** XPath relativ zum Report: alle Katalysatoren */
+    static final String CATALYSTS = "catalysts/catalyst";
+
+    /** XPath relativ zum Report: alle Risiken */
+    static final String RISKS = "risks/risk";
+
+    /** XPath relativ zum Report: alle Tags */
+    static final String TAGS = "tags/tag";
+
+    private static final QName TICKER = new QName("ticker");
+    private static final QName RATING = new QName("rating");
+    private static final QName MIN_TARGET = new QName("minTarget");
+
+    private static final ThreadLocal<ReportXPathQueries> PER_THREAD =
+            ThreadLocal.withInitial(ReportXPathQueries::new);
+
+    /** Werte der Variablen fuer die gerade laufende Auswertung */
+    private final Map<QName, Object> variables = new HashMap<>();
+
+    private final XPathExpression allReports;
+    private final XPathExpression byTicker;
+    private final XPathExpression byRating;
+    private final XPathExpression targetAbove;
+    private final XPathExpression analystId;
+    private final XPathExpression securityId;
+    private final XPathExpression catalysts;
+    private final XPathExpression risks;
+    private final XPathExpression tags;
+
+    private ReportXPathQueries() {
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        xpath.setXPathVariableResolver(variables::get);
+        this.allReports = compile(xpath, ALL_REPORTS);
+        this.byTicker = compile(xpath, BY_TICKER);
+        this.byRating = compile(xpath, BY_RATING);
+        this.targetAbove = compile(xpath, TARGET_ABOVE);
+        this.analystId = compile(xpath, ANALYST_ID);
+        this.securityId = compile(xpath, SECURITY_ID);
+        this.catalysts = compile(xpath, CATALYSTS);
+        this.risks = compile(xpath, RISKS);
+        this.tags = compile(xpath, TAGS);
+    }
+
+    /**
+     * Liefert die Abfragen des aktuellen Threads; beim ersten Aufruf werden sie kompiliert.
+     */
+    static ReportXPathQueries forCurrentThread() {
+        return PER_THREAD.get();
+    }
+
+    NodeList allReports(Node document) throws XPathExpressionException {
+        return select(allReports, document, null, null);
+    }
+
+    NodeList byTicker(Node document, String ticker) throws XPathExpressionException {
+        return select(byTicker, document, TICKER, ticker);
+    }
+
+    NodeList byRating(Node document, Rating rating) throws XPathExpressionException {
+        return select(byRating, document, RATING, rating.name());
+    }
+
+    NodeList targetAbove(Node document, BigDecimal minTargetPrice) throws XPathExpressionException {
+        // XPath kennt nur double; number(targetPrice) wird ebenso umgewandelt
+        return select(targetAbove, document, MIN_TARGET, minTargetPrice.doubleValue());
+    }
+
+    String analystId(Node report) throws XPathExpressionException {
+        return (String) analystId.evaluate(report, XPathConstants.STRING);
+    }
+
+    String securityId(Node report) throws XPathExpressionException {
+        return (String) securityId.evaluate(report, XPathConstants.STRING);
+    }
+
+    NodeList catalysts(Node report) throws XPathExpressionException {
+        return select(catalysts, report, null, null);
+    }
+
+    NodeList risks(Node report) throws XPathExpressionException {
+        return select(risks, report, null, null);
+    }
+
+    NodeList tags(Node report) throws XPathExpressionException {
+        return select(tags, report, null, null);
+    }
+
+    private NodeList select(XPathExpression expression, Node context, QName variable, Object value)
+            throws XPathExpressionException {
+        if (variable != null) {
+            variables.put(variable, value);
+        }
+        try {
+            return (NodeList) expression.evaluate(context, XPathConstants.NODESET);
+        } finally {
+            variables.clear();
+        }
+    }
+
+    private static XPathExpression compile(XPath xpath, String expression) {
+        try {
+            return xpath.compile(expression);
+        } catch (XPathExpressionException e) {
+            throw new IllegalStateException("XPath-Ausdruck ungueltig: " + expression, e);
+        }
+    }
+}
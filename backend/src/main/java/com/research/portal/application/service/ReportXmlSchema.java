@@ -0,0 +1,155 @@
+package com.research.portal.application.service;
+
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXNotRecognizedException;
+import org.xml.sax.SAXNotSupportedException;
+import org.xml.sax.SAXParseException;
+
+import javax.xml.XMLConstants;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+import javax.xml.validation.ValidatorHandler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Das XSD-Schema der Research Reports, einmal kompiliert und geteilt.
+ *
+ * Ein {@link Schema} ist unveraenderlich und threadsicher, {@link Validator} und
+ * {@link ValidatorHandler} sind es nicht. Beide werden deshalb pro Thread einmal
+ * erzeugt und wiederverwendet; sie setzen ihren Zustand zu Beginn jedes Dokuments
+ * selbst zurueck. Tomcat- und Pipeline-Threads kompilieren damit nie mehr selbst.
+ */
+final class ReportXmlSchema {
+
+    /** Klassenpfad des Report-Schemas */
+    static final String CLASSPATH_LOCATION = "sample-reports/research-report.xsd";
+
+    /** Hoechstens so viele Meldungen pro Dokument sammeln */
+    static final int MAX_ERRORS = 100;
+
+    private final ThreadLocal<Validator> validators;
+    private final ThreadLocal<ValidatorHandler> handlers;
+
+    private ReportXmlSchema(Schema schema) {
+        this.validators = ThreadLocal.withInitial(() -> secure(schema.newValidator()));
+        this.handlers = ThreadLocal.withInitial(schema::newValidatorHandler);
+    }
+
+    /**
+     * Laedt und kompiliert ein Schema vom Klassenpfad.
+     *
+     * @throws IllegalStateException wenn das Schema fehlt oder nicht kompiliert
+     */
+    static ReportXmlSchema load(String location) {
+        try (InputStream xsd = ReportXmlSchema.class.getClassLoader().getResourceAsStream(location)) {
+            if (xsd == null) {
+                throw new IllegalStateException("XSD-Schema nicht gefunden: " + location);
+            }
+            return new ReportXmlSchema(compile(xsd));
+        } catch (SAXException | IOException e) {
+            throw new IllegalStateException("XSD-Schema konnte nicht geladen werden: " + location, e);
+        }
+    }
+
+    /**
+     * Kompiliert ein XSD-Schema ohne Zugriff auf externe DTDs und Schemas (XXE-Schutz).
+     */
+    static Schema compile(InputStream xsd) throws SAXException {
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+        factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+        return factory.newSchema(new StreamSource(xsd));
+    }
+
+    /**
+     * Validiert ein ganzes Dokument mit dem Validator des aktuellen Threads.
+     *
+     * @return Ergebnis mit bis zu {@value #MAX_ERRORS} Fehlermeldungen
+     * @throws IOException wenn der Stream nicht gelesen werden kann
+     */
+    XmlValidationResult validate(InputStream xml) throws IOException {
+        // Kein reset(): er verwirft die XXE-Einstellungen, validate() beginnt ohnehin neu
+        Validator validator = validators.get();
+        ErrorCollector errors = new ErrorCollector();
+        validator.setErrorHandler(errors);
+        try {
+            validator.validate(new StreamSource(xml));
+        } catch (SAXException e) {
+            // Fatale Fehler (nicht wohlgeformt) sind bereits gesammelt
+            errors.addIfMissing(e);
+        }
+        return new XmlValidationResult(errors.messages.isEmpty(), List.copyOf(errors.messages));
+    }
+
+    /**
+     * Liefert den ValidatorHandler des aktuellen Threads fuer die Validierung
+     * waehrend des Lesens. Er setzt sich bei {@code startDocument()} selbst zurueck.
+     */
+    ValidatorHandler handler(List<String> errors) {
+        ValidatorHandler handler = handlers.get();
+        handler.setErrorHandler(new ErrorCollector(errors));
+        return handler;
+    }
+
+    private static Validator secure(Validator validator) {
+        try {
+            validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            return validator;
+        } catch (SAXNotRecognizedException | SAXNotSupportedException e) {
+            throw new IllegalStateException("Validator unterstuetzt keinen XXE-Schutz", e);
+        }
+    }
+
+    /**
+     * Sammelt Schemaverletzungen mit Zeile und Spalte, statt beim ersten
+     * Fehler abzubrechen. Nur nicht wohlgeformtes XML bricht ab.
+     */
+    private static final class ErrorCollector implements ErrorHandler {
+        private final List<String> messages;
+
+        ErrorCollector() {
+            this(new ArrayList<>());
+        }
+
+        ErrorCollector(List<String> messages) {
+            this.messages = messages;
+        }
+
+        @Override
+        public void warning(SAXParseException e) {
+            // Warnungen machen ein Dokument nicht ungueltig
+        }
+
+        @Override
+        public void error(SAXParseException e) {
+            if (messages.size() < MAX_ERRORS) {
+                messages.add(format(e));
+            }
+        }
+
+        @Override
+        public void fatalError(SAXParseException e) throws SAXException {
+            messages.add(format(e));
+            throw e;
+        }
+
+        void addIfMissing(SAXException e) {
+            String message = e instanceof SAXParseException parseException ? format(parseException) : e.getMessage();
+            if (!messages.contains(message)) {
+                messages.add(message);
+            }
+        }
+
+        private static String format(SAXParseException e) {
+            return "Zeile " + e.getLineNumber() + ", Spalte " + e.getColumnNumber() + ": " + e.getMessage();
+        }
+    }
+}
@@ -2,46 +2,50 @@ package com.research.portal.application.service;
 
 import com.research.portal.adapter.in.web.dto.SearchResponseDto;
 import com.research.portal.adapter.in.web.dto.SearchResultDto;
-import com.research.portal.adapter.out.persistence.entity.AnalystEntity;
-import com.research.portal.adapter.out.persistence.entity.ResearchReportEntity;
-import com.research.portal.adapter.out.persistence.entity.SecurityEntity;
-import com.research.portal.adapter.out.persistence.repository.JpaAnalystRepository;
-import com.research.portal.adapter.out.persistence.repository.JpaReportRepository;
-import com.research.portal.adapter.out.persistence.repository.JpaSecurityRepository;
+import com.research.portal.adapter.in.web.dto.SuggestionDto;
+import com.research.portal.application.search.IndexedDocument;
+import com.research.portal.application.search.SearchHits;
+import com.research.portal.application.search.SearchIndex;
+import com.research.portal.application.search.SearchQuery;
+import com.research.portal.application.search.SuggestIndex;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Service fuer die globale Suche ueber alle Entitaeten.
  * Durchsucht Reports, Analysten und Wertschriften gleichzeitig
  * und berechnet einen Relevanz-Score fuer jedes Ergebnis.
  *
+ * <p>Die Suche laeuft vollstaendig gegen den {@link SearchIndex}: Der Index
+ * bewertet die Treffer mit BM25 und liefert nur die besten {@code limit}
+ * Dokumente samt exakten Gesamtzahlen. Es findet kein Datenbankzugriff pro Suche statt.
+ *
  * <p>Relevanz-Berechnung:
  * <ul>
- *   <li>1.0 = Exakter Match (Titel/Name/Ticker stimmt exakt ueberein)</li>
- *   <li>0.8 = Titel-/Name-Match (Suchbegriff ist im Primaerfeld enthalten)</li>
- *   <li>0.5 = Sekundaerfeld-Match (Suchbegriff in anderen Feldern gefunden)</li>
+ *   <li>BM25-Score pro Feld, gewichtet mit dem Feld-Boost
+ *       (Ticker 4.0, Titel/Name 3.0, ISIN 2.0, uebrige Felder 1.0)</li>
+ *   <li>Exakter Match auf Titel/Name/Ticker verdoppelt den Score</li>
+ *   <li>Die Relevanz ist der Score relativ zum besten Treffer (bester Treffer = 1.0)</li>
  * </ul>
+ *
+ * <p>Die Anfrage unterstuetzt Phrasen ({@code "margin pressure"}) und
+ * Alternativen ({@code nestle OR novartis}), siehe {@link SearchQuery}.
+ * Highlights werden aus den im Index gespeicherten Offsets geschnitten.
  */
 @Service
 public class SearchService {
 
     private static final int MAX_LIMIT = 100;
     private static final int DEFAULT_LIMIT = 20;
+    private static final int SNIPPET_CONTEXT = 40;
 
-    private final JpaReportRepository reportRepository;
-    private final JpaAnalystRepository analystRepository;
-    private final JpaSecurityRepository securityRepository;
+    private final SearchIndex searchIndex;
+    private final SuggestIndex suggestIndex;
 
-    public SearchService(JpaReportRepository reportRepository,
-                         JpaAnalystRepository analystRepository,
-                         JpaSecurityRepository securityRepository) {
-        this.reportRepository = reportRepository;
-        this.analystRepository = analystRepository;
-        this.securityRepository = securityRepository;
+    public SearchService(SearchIndex searchIndex, SuggestIndex suggestIndex) {
+        this.searchIndex = searchIndex;
+        this.suggestIndex = suggestIndex;
     }
 
     /**
@@ -58,231 +62,83 @@ public class SearchService {
         }
 
         int effectiveLimit = Math.min(Math.max(limit, 1), MAX_LIMIT);
-        String lowerQuery = query.toLowerCase();
+        SearchQuery parsedQuery = SearchQuery.parse(query);
 
-        List<SearchResultDto> allResults = new ArrayList<>();
-
-        if (type == null || "REPORT".equalsIgnoreCase(type)) {
-            allResults.addAll(searchReports(lowerQuery));
-        }
-        if (type == null || "ANALYST".equalsIgnoreCase(type)) {
-            allResults.addAll(searchAnalysts(lowerQuery));
+        SearchHits hits = searchIndex.search(parsedQuery, type, effectiveLimit);
+        if (hits.hits().isEmpty()) {
+            return new SearchResponseDto(query, hits.totalHits(), List.of(), hits.hitsByType());
         }
-        if (type == null || "SECURITY".equalsIgnoreCase(type)) {
-            allResults.addAll(searchSecurities(lowerQuery));
-        }
-
-        // Nach Relevanz absteigend sortieren
-        allResults.sort(Comparator.comparingDouble(SearchResultDto::getRelevance).reversed());
-
-        // Limit anwenden
-        List<SearchResultDto> limitedResults = allResults.stream()
-                .limit(effectiveLimit)
-                .toList();
-
-        // Ergebnisse nach Typ zaehlen (vor dem Limit, um die Gesamtverteilung zu zeigen)
-        Map<String, Integer> resultsByType = allResults.stream()
-                .collect(Collectors.groupingBy(SearchResultDto::getType,
-                        Collectors.collectingAndThen(Collectors.counting(), Long::intValue)));
-
-        return new SearchResponseDto(query, allResults.size(), limitedResults, resultsByType);
-    }
 
-    /**
-     * Durchsucht alle Reports nach dem Suchbegriff.
-     * Durchsuchte Felder: title (primaer), executiveSummary, rating, reportType.
-     */
-    private List<SearchResultDto> searchReports(String lowerQuery) {
-        return reportRepository.findAll().stream()
-                .map(report -> matchReport(report, lowerQuery))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
-    }
+        double topScore = hits.hits().get(0).score();
+        List<SearchResultDto> results = new ArrayList<>(hits.hits().size());
+        for (SearchHits.Hit hit : hits.hits()) {
+            results.add(toResult(hit, parsedQuery.normalizedText(), relevance(hit.score(), topScore)));
+        }
 
-    /**
-     * Durchsucht alle Analysten nach dem Suchbegriff.
-     * Durchsuchte Felder: name (primaer), title, department, email.
-     */
-    private List<SearchResultDto> searchAnalysts(String lowerQuery) {
-        return analystRepository.findAll().stream()
-                .map(analyst -> matchAnalyst(analyst, lowerQuery))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .toList();
+        return new SearchResponseDto(query, hits.totalHits(), results, hits.hitsByType());
     }
 
     /**
-     * Durchsucht alle Wertschriften nach dem Suchbegriff.
-     * Durchsuchte Felder: name (primaer), ticker (primaer), isin, sector, industry.
+     * Liefert Autocomplete-Vorschlaege fuer ein Praefix.
+     *
+     * @param prefix eingegebenes Praefix (case-insensitive)
+     * @param limit  maximale Anzahl Vorschlaege (1-10)
+     * @return Vorschlaege, bester zuerst; leer bei leerem Praefix
      */
-    private List<SearchResultDto> searchSecurities(String lowerQuery) {
-        return securityRepository.findAll().stream()
-                .map(security -> matchSecurity(security, lowerQuery))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int effectiveLimit = Math.min(Math.max(limit, 1), SuggestIndex.TOP_N);
+        return suggestIndex.suggest(prefix, effectiveLimit).stream()
+                .map(s -> new SuggestionDto(s.type(), s.id(), s.value(), s.label()))
                 .toList();
     }
 
     /**
-     * Prueft einen Report auf Uebereinstimmung mit dem Suchbegriff
-     * und berechnet den Relevanz-Score.
+     * Relevanz relativ zum besten Treffer, auf zwei Nachkommastellen gerundet.
      */
-    private Optional<SearchResultDto> matchReport(ResearchReportEntity report, String lowerQuery) {
-        String title = nullSafe(report.getTitle());
-        String summary = nullSafe(report.getExecutiveSummary());
-        String rating = nullSafe(report.getRating());
-        String reportType = nullSafe(report.getReportType());
-
-        double relevance = 0.0;
-        String highlight = null;
-
-        // Exakter Match auf Titel
-        if (title.toLowerCase().equals(lowerQuery)) {
-            relevance = 1.0;
-            highlight = title;
-        }
-        // Titel enthaelt Suchbegriff
-        else if (title.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.8;
-            highlight = extractHighlight(title, lowerQuery);
-        }
-        // Sekundaere Felder
-        else if (summary.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.5;
-            highlight = extractHighlight(summary, lowerQuery);
-        }
-        else if (rating.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.5;
-            highlight = rating;
-        }
-        else if (reportType.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.5;
-            highlight = reportType;
+    private double relevance(double score, double topScore) {
+        if (topScore <= 0.0) {
+            return 0.0;
         }
-
-        if (relevance > 0.0) {
-            String subtitle = rating + " | " + reportType;
-            return Optional.of(new SearchResultDto("REPORT", report.getId(), title, subtitle, highlight, relevance));
-        }
-        return Optional.empty();
+        return Math.round(score / topScore * 100.0) / 100.0;
     }
 
-    /**
-     * Prueft einen Analysten auf Uebereinstimmung mit dem Suchbegriff
-     * und berechnet den Relevanz-Score.
-     */
-    private Optional<SearchResultDto> matchAnalyst(AnalystEntity analyst, String lowerQuery) {
-        String name = nullSafe(analyst.getName());
-        String analystTitle = nullSafe(analyst.getTitle());
-        String department = nullSafe(analyst.getDepartment());
-        String email = nullSafe(analyst.getEmail());
-
-        double relevance = 0.0;
-        String highlight = null;
-
-        // Exakter Match auf Name
-        if (name.toLowerCase().equals(lowerQuery)) {
-            relevance = 1.0;
-            highlight = name;
-        }
-        // Name enthaelt Suchbegriff
-        else if (name.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.8;
-            highlight = extractHighlight(name, lowerQuery);
-        }
-        // Sekundaere Felder
-        else if (analystTitle.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.5;
-            highlight = extractHighlight(analystTitle, lowerQuery);
-        }
-        else if (department.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.5;
-            highlight = extractHighlight(department, lowerQuery);
-        }
-        else if (email.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.5;
-            highlight = email;
-        }
-
-        if (relevance > 0.0) {
-            String subtitle = analystTitle + " | " + department;
-            return Optional.of(new SearchResultDto("ANALYST", analyst.getId(), name, subtitle, highlight, relevance));
-        }
-        return Optional.empty();
+    private SearchResultDto toResult(SearchHits.Hit hit, String lowerQuery, double relevance) {
+        IndexedDocument document = hit.document();
+        return new SearchResultDto(document.type(), document.id(), document.title(),
+                document.subtitle(), highlight(hit, lowerQuery), relevance);
     }
 
     /**
-     * Prueft eine Wertschrift auf Uebereinstimmung mit dem Suchbegriff
-     * und berechnet den Relevanz-Score.
+     * Bestimmt den Highlight-Text: bei exaktem Match das ganze Feld,
+     * sonst ein Snippet rund um die Fundstelle im am besten bewerteten Feld.
      */
-    private Optional<SearchResultDto> matchSecurity(SecurityEntity security, String lowerQuery) {
-        String name = nullSafe(security.getName());
-        String ticker = nullSafe(security.getTicker());
-        String isin = nullSafe(security.getIsin());
-        String sector = nullSafe(security.getSector());
-        String industry = nullSafe(security.getIndustry());
-
-        double relevance = 0.0;
-        String highlight = null;
-
-        // Exakter Match auf Ticker oder Name
-        if (ticker.toLowerCase().equals(lowerQuery) || name.toLowerCase().equals(lowerQuery)) {
-            relevance = 1.0;
-            highlight = ticker.toLowerCase().equals(lowerQuery) ? ticker : name;
-        }
-        // Name oder Ticker enthaelt Suchbegriff
-        else if (name.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.8;
-            highlight = extractHighlight(name, lowerQuery);
-        }
-        else if (ticker.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.8;
-            highlight = ticker;
+    private String highlight(SearchHits.Hit hit, String lowerQuery) {
+        for (IndexedDocument.Field field : hit.document().fields()) {
+            if (field.exactMatch() && field.normalized().equals(lowerQuery)) {
+                return field.value();
+            }
         }
-        // Sekundaere Felder
-        else if (isin.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.5;
-            highlight = isin;
+        IndexedDocument.Field field = hit.field();
+        if (field.fullHighlight()) {
+            return field.value();
         }
-        else if (sector.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.5;
-            highlight = extractHighlight(sector, lowerQuery);
-        }
-        else if (industry.toLowerCase().contains(lowerQuery)) {
-            relevance = 0.5;
-            highlight = extractHighlight(industry, lowerQuery);
-        }
-
-        if (relevance > 0.0) {
-            String subtitle = ticker + " | " + sector;
-            return Optional.of(new SearchResultDto("SECURITY", security.getId(), name, subtitle, highlight, relevance));
-        }
-        return Optional.empty();
+        return buildSnippet(field.value(), hit.highlightStart(), hit.highlightEnd());
     }
 
     /**
-     * Extrahiert einen Textausschnitt rund um den gefundenen Suchbegriff.
+     * Schneidet einen Textausschnitt rund um die Fundstelle aus.
      * Zeigt maximal 40 Zeichen vor und nach dem Treffer.
      */
-    private String extractHighlight(String text, String lowerQuery) {
-        int index = text.toLowerCase().indexOf(lowerQuery);
-        if (index < 0) {
-            return text;
-        }
-        int start = Math.max(0, index - 40);
-        int end = Math.min(text.length(), index + lowerQuery.length() + 40);
+    private String buildSnippet(String text, int matchStart, int matchEnd) {
+        int start = Math.max(0, matchStart - SNIPPET_CONTEXT);
+        int end = Math.min(text.length(), matchEnd + SNIPPET_CONTEXT);
         StringBuilder sb = new StringBuilder();
         if (start > 0) sb.append("...");
         sb.append(text, start, end);
         if (end < text.length()) sb.append("...");
         return sb.toString();
     }
-
-    /**
-     * Null-sichere String-Konvertierung.
-     */
-    private String nullSafe(String value) {
-        return value != null ? value : "";
-    }
 }
@@ -1,5 +1,7 @@
 package com.research.portal.application.service;
 
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.model.Security;
 import com.research.portal.domain.port.in.GetSecuritiesUseCase;
 import com.research.portal.domain.port.out.SecurityRepository;
@@ -22,6 +24,11 @@ public class SecurityService implements GetSecuritiesUseCase {
         return securityRepository.findAll();
     }
 
+    @Override
+    public CursorPage<Security> getSecuritiesPage(PageQuery query) {
+        return securityRepository.findPage(query);
+    }
+
     @Override
     public Optional<Security> getSecurityById(Long id) {
         return securityRepository.findById(id);
@@ -0,0 +1,165 @@
+package com.research.portal.application.service;
+
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.validation.ValidatorHandler;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * XMLStreamReader, der jedes gelesene Ereignis zusaetzlich an einen
+ * {@link ValidatorHandler} weitergibt. Validierung und Import lesen die
+ * Datei damit in einem einzigen Durchgang.
+ *
+ * Schemaverletzungen brechen das Lesen nicht ab, sondern werden gesammelt;
+ * der Aufrufer holt sie mit {@link #takeErrors()} ab und ordnet sie dem
+ * gerade gelesenen Report zu.
+ */
+final class ValidatingStreamReader extends StreamReaderDelegate {
+
+    private final ValidatorHandler handler;
+    private final List<String> errors = new ArrayList<>();
+    private final AttributesImpl attributes = new AttributesImpl();
+
+    ValidatingStreamReader(XMLStreamReader reader, ReportXmlSchema schema) throws XMLStreamException {
+        super(reader);
+        this.handler = schema.handler(errors);
+        handler.setDocumentLocator(new StreamLocator());
+        try {
+            handler.startDocument();
+        } catch (SAXException e) {
+            throw new XMLStreamException("Schema-Validierung konnte nicht starten", e);
+        }
+    }
+
+    /**
+     * Liefert die seit dem letzten Aufruf gesammelten Schemaverletzungen.
+     */
+    List<String> takeErrors() {
+        if (errors.isEmpty()) {
+            return List.of();
+        }
+        List<String> taken = List.copyOf(errors);
+        errors.clear();
+        return taken;
+    }
+
+    @Override
+    public int next() throws XMLStreamException {
+        int event = super.next();
+        forward(event);
+        return event;
+    }
+
+    // Die Delegate-Implementierungen lesen am Validator vorbei und muessen ueber next() laufen
+
+    @Override
+    public int nextTag() throws XMLStreamException {
+        int event = next();
+        while (event == XMLStreamConstants.SPACE || event == XMLStreamConstants.COMMENT
+                || event == XMLStreamConstants.PROCESSING_INSTRUCTION
+                || (event == XMLStreamConstants.CHARACTERS && isWhiteSpace())) {
+            event = next();
+        }
+        if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+            throw new XMLStreamException("Start- oder End-Tag erwartet", getLocation());
+        }
+        return event;
+    }
+
+    @Override
+    public String getElementText() throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int event = next();
+        while (event != XMLStreamConstants.END_ELEMENT) {
+            if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE || event == XMLStreamConstants.ENTITY_REFERENCE) {
+                text.append(getText());
+            } else if (event == XMLStreamConstants.START_ELEMENT || event == XMLStreamConstants.END_DOCUMENT) {
+                throw new XMLStreamException("Element mit reinem Textinhalt erwartet", getLocation());
+            }
+            event = next();
+        }
+        return text.toString();
+    }
+
+    private void forward(int event) throws XMLStreamException {
+        try {
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT -> startElement();
+                case XMLStreamConstants.END_ELEMENT -> endElement();
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        handler.characters(getTextCharacters(), getTextStart(), getTextLength());
+                case XMLStreamConstants.END_DOCUMENT -> handler.endDocument();
+                default -> {
+                    // Kommentare und Processing Instructions sind fuer das Schema ohne Bedeutung
+                }
+            }
+        } catch (SAXException e) {
+            throw new XMLStreamException("Schema-Validierung abgebrochen: " + e.getMessage(), getLocation(), e);
+        }
+    }
+
+    private void startElement() throws SAXException {
+        for (int i = 0; i < getNamespaceCount(); i++) {
+            handler.startPrefixMapping(nonNull(getNamespacePrefix(i)), nonNull(getNamespaceURI(i)));
+        }
+        attributes.clear();
+        for (int i = 0; i < getAttributeCount(); i++) {
+            attributes.addAttribute(nonNull(getAttributeNamespace(i)), getAttributeLocalName(i),
+                    qName(getAttributePrefix(i), getAttributeLocalName(i)),
+                    getAttributeType(i), getAttributeValue(i));
+        }
+        handler.startElement(nonNull(getNamespaceURI()), getLocalName(), qName(getPrefix(), getLocalName()), attributes);
+    }
+
+    private void endElement() throws SAXException {
+        handler.endElement(nonNull(getNamespaceURI()), getLocalName(), qName(getPrefix(), getLocalName()));
+        for (int i = 0; i < getNamespaceCount(); i++) {
+            handler.endPrefixMapping(nonNull(getNamespacePrefix(i)));
+        }
+    }
+
+    private static String qName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String nonNull(String value) {
+        return value != null ? value : "";
+    }
+
+    /** Liefert dem Validator die Position des Readers fuer Zeilenangaben in Fehlern. */
+    private final class StreamLocator implements Locator {
+
+        @Override
+        public String getPublicId() {
+            return location().getPublicId();
+        }
+
+        @Override
+        public String getSystemId() {
+            return location().getSystemId();
+        }
+
+        @Override
+        public int getLineNumber() {
+            return location().getLineNumber();
+        }
+
+        @Override
+        public int getColumnNumber() {
+            return location().getColumnNumber();
+        }
+
+        private Location location() {
+            return getLocation();
+        }
+    }
+}
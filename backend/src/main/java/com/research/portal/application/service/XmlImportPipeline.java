@@ -0,0 +1,466 @@
+package com.research.portal.application.service;
+
+import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.application.service.XmlReportParserService.ReportFields;
+import com.research.portal.config.ImportProperties;
+import com.research.portal.domain.model.ResearchReport;
+import com.research.portal.domain.port.in.ReportBulkImport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Paralleler XML-Import in drei Stufen, verbunden durch begrenzte Queues:
+ *
+ * <ol>
+ *   <li><b>parse</b>: ein Thread liest die Datei per StAX und legt die Rohwerte
+ *       jedes Reports in die erste Queue.</li>
+ *   <li><b>map</b>: mehrere Worker wandeln die Rohwerte in Domain-Objekte um und
+ *       pruefen die Pflichtfelder; ungueltige Reports werden als Fehler gemeldet.</li>
+ *   <li><b>write</b>: der aufrufende Thread uebergibt die Reports an den
+ *       {@link ReportBulkImport}, der sie batchweise speichert.</li>
+ * </ol>
+ *
+ * <p>Volle Queues bremsen die vorgelagerte Stufe (Back-Pressure); der
+ * Speicherbedarf ist damit durch die Queue-Kapazitaet begrenzt. Die Reports
+ * kommen beim Writer nicht in Dateireihenfolge an; Fehler tragen deshalb die
+ * Position aus der Datei.
+ *
+ * <p>Auf Wunsch validiert die Parse-Stufe im selben Durchgang gegen das
+ * Report-Schema; Reports mit Schemaverletzungen werden dann einzeln verworfen.
+ *
+ * <p>Ein Import kann ueber {@link #cancel(long)} abgebrochen werden. Bereits
+ * gespeicherte Batches bleiben erhalten; Parser und Worker werden unterbrochen.
+ *
+ * <p>Metriken: verarbeitete Reports pro Stufe als Zaehler {@value #REPORTS_METER}
+ * (Durchsatz ueber die Rate; sequentielle Importe zaehlen unter {@code write}),
+ * laufende Importe und die Queue-Tiefe vor map und write als Gauges und die
+ * Dauer der Pipeline-Importe nach Ergebnis als Timer {@value #DURATION_METER}.
+ */
+@Service
+public class XmlImportPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(XmlImportPipeline.class);
+
+    private static final int RECENT_RUNS = 10;
+    private static final long POLL_MILLIS = 100;
+
+    static final String REPORTS_METER = "portal.import.reports";
+    static final String DURATION_METER = "portal.import.duration";
+
+    /** SLO-Grenzen der Import-Dauer; grosse Dateien laufen mehrere Minuten. */
+    private static final Duration[] DURATION_SLOS = {
+            Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(30),
+            Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15)
+    };
+
+    private final XmlReportParserService parserService;
+    private final int workers;
+    private final int queueCapacity;
+    private final long parallelThresholdBytes;
+
+    private final AtomicLong runIds = new AtomicLong();
+    private final Map<Long, Run> activeRuns = new ConcurrentHashMap<>();
+    private final Deque<Run> recentRuns = new ArrayDeque<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter parsedReports;
+    private final Counter mappedReports;
+    private final Counter writtenReports;
+
+    public XmlImportPipeline(XmlReportParserService parserService, ImportProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.parserService = parserService;
+        this.meterRegistry = meterRegistry;
+        this.parsedReports = reportCounter("parse");
+        this.mappedReports = reportCounter("map");
+        this.writtenReports = reportCounter("write");
+        Gauge.builder("portal.import.active", activeRuns, Map::size)
+                .description("Laufende Pipeline-Importe")
+                .register(meterRegistry);
+        Gauge.builder("portal.import.queue.depth", this, pipeline -> pipeline.queueDepth(run -> run.parsed))
+                .description("Wartende Reports vor der Stufe ueber alle laufenden Importe")
+                .tag("stage", "map")
+                .register(meterRegistry);
+        Gauge.builder("portal.import.queue.depth", this, pipeline -> pipeline.queueDepth(run -> run.mapped))
+                .description("Wartende Reports vor der Stufe ueber alle laufenden Importe")
+                .tag("stage", "write")
+                .register(meterRegistry);
+        this.workers = properties.getPipelineWorkers() > 0
+                ? properties.getPipelineWorkers()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() - 2);
+        this.queueCapacity = Math.max(1, properties.getPipelineQueueCapacity());
+        this.parallelThresholdBytes = properties.getParallelThresholdMb() * 1024L * 1024L;
+    }
+
+    /**
+     * Fuehrt einen Import aus und blockiert, bis alle gelesenen Reports an den
+     * {@link ReportBulkImport} uebergeben sind. {@link ReportBulkImport#finish()}
+     * ruft der Aufrufer auf, auch nach einem Fehler.
+     *
+     * @param xml    InputStream mit XML-Daten
+     * @param ticker optional: nur Reports dieses Tickers
+     * @param sink   nimmt die aufbereiteten Reports entgegen (nur im aufrufenden Thread)
+     * @return Kennzahlen des abgeschlossenen Imports
+     * @throws XmlReportParserService.XmlParseException wenn die Datei nicht gelesen werden kann;
+     *         die bis dahin gelesenen Reports sind dann bereits uebergeben
+     * @throws CancellationException wenn der Import abgebrochen wurde
+     */
+    public ImportPipelineStats run(InputStream xml, String ticker, ReportBulkImport sink) {
+        return run(xml, ticker, false, sink);
+    }
+
+    /**
+     * Wie {@link #run(InputStream, String, ReportBulkImport)}, validiert auf Wunsch
+     * aber waehrend des Lesens gegen das Report-Schema.
+     *
+     * @param validate true: Reports mit Schemaverletzungen verwerfen; Verletzungen
+     *                 ausserhalb eines Reports brechen den Import mit XmlParseException ab
+     */
+    public ImportPipelineStats run(InputStream xml, String ticker, boolean validate, ReportBulkImport sink) {
+        Run run = new Run(runIds.incrementAndGet());
+        activeRuns.put(run.id, run);
+        try {
+            run.executor.execute(() -> run.parse(xml, ticker, validate));
+            for (int i = 0; i < workers; i++) {
+                run.executor.execute(run::map);
+            }
+            run.write(sink);
+            if (run.parseFailure != null) {
+                throw run.parseFailure;
+            }
+            end(run, "COMPLETED");
+            return run.stats();
+        } catch (RuntimeException e) {
+            end(run, run.cancelled ? "CANCELLED" : "FAILED");
+            throw e;
+        } finally {
+            run.executor.shutdownNow();
+            activeRuns.remove(run.id);
+            remember(run);
+            log.info("XML-Import-Pipeline {}: {}", run.id, run.stats());
+        }
+    }
+
+    /**
+     * Sequentielle Variante fuer kleine Dateien: liest, wandelt um und uebergibt
+     * jeden Report im aufrufenden Thread. Ungueltige Reports werden wie in der
+     * Pipeline einzeln verworfen.
+     *
+     * @throws XmlReportParserService.XmlParseException wenn die Datei nicht gelesen werden kann
+     */
+    public void runSequential(InputStream xml, String ticker, ReportBulkImport sink) {
+        runSequential(xml, ticker, false, sink);
+    }
+
+    /**
+     * Sequentielle Variante mit optionaler Schema-Validierung im selben Durchgang.
+     *
+     * @see #run(InputStream, String, boolean, ReportBulkImport)
+     */
+    public void runSequential(InputStream xml, String ticker, boolean validate, ReportBulkImport sink) {
+        parserService.streamReportFields(xml, ticker, validate, (position, fields) -> {
+            Mapped item = toMapped(new Parsed(position, fields));
+            if (item.report() != null) {
+                sink.add(item.position(), item.report());
+            } else {
+                sink.reject(item.position(), item.title(), item.reason());
+            }
+            writtenReports.increment();
+        });
+    }
+
+    /**
+     * Ob sich die Pipeline fuer eine Datei dieser Groesse lohnt
+     * ({@code app.import.parallel-threshold-mb}).
+     */
+    public boolean isWorthwhile(long fileSizeBytes) {
+        return fileSizeBytes >= parallelThresholdBytes;
+    }
+
+    /**
+     * Bricht einen laufenden Import ab.
+     *
+     * @throws ResourceNotFoundException wenn kein Import mit dieser ID laeuft
+     */
+    public void cancel(long id) {
+        Run run = activeRuns.get(id);
+        if (run == null) {
+            throw new ResourceNotFoundException("Import", id);
+        }
+        run.cancel();
+    }
+
+    /**
+     * Kennzahlen der laufenden und der zuletzt beendeten Imports, neueste zuerst.
+     */
+    public List<ImportPipelineStats> stats() {
+        List<ImportPipelineStats> result = new ArrayList<>();
+        activeRuns.values().stream()
+                .sorted((a, b) -> Long.compare(b.id, a.id))
+                .forEach(run -> result.add(run.stats()));
+        synchronized (recentRuns) {
+            recentRuns.forEach(run -> result.add(run.stats()));
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        activeRuns.values().forEach(Run::cancel);
+    }
+
+    private void end(Run run, String finalState) {
+        run.end(finalState);
+        Timer.builder(DURATION_METER)
+                .description("Dauer der Pipeline-Importe")
+                .tag("outcome", finalState)
+                .serviceLevelObjectives(DURATION_SLOS)
+                .register(meterRegistry)
+                .record(run.endNanos - run.startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter reportCounter(String stage) {
+        return Counter.builder(REPORTS_METER)
+                .description("Von der Import-Stufe verarbeitete Reports")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+
+    private double queueDepth(Function<Run, BlockingQueue<?>> queue) {
+        int depth = 0;
+        for (Run run : activeRuns.values()) {
+            depth += queue.apply(run).size();
+        }
+        return depth;
+    }
+
+    private Mapped toMapped(Parsed item) {
+        String title = item.fields().value("title");
+        List<String> schemaErrors = item.fields().schemaErrors();
+        if (!schemaErrors.isEmpty()) {
+            String more = schemaErrors.size() > 1 ? " (+" + (schemaErrors.size() - 1) + " weitere)" : "";
+            return new Mapped(item.position(), null, title, "Schema: " + schemaErrors.get(0) + more);
+        }
+        try {
+            ResearchReport report = parserService.toReport(item.fields());
+            String missing = ReportService.missingField(report);
+            if (missing != null) {
+                return new Mapped(item.position(), null, title, "Pflichtfeld fehlt: " + missing);
+            }
+            return new Mapped(item.position(), report, title, null);
+        } catch (RuntimeException e) {
+            return new Mapped(item.position(), null, title, "Ungueltiger Wert: " + e.getMessage());
+        }
+    }
+
+    private void remember(Run run) {
+        synchronized (recentRuns) {
+            recentRuns.addFirst(run);
+            while (recentRuns.size() > RECENT_RUNS) {
+                recentRuns.removeLast();
+            }
+        }
+    }
+
+    private record Parsed(int position, ReportFields fields) {
+    }
+
+    // report == null: verworfen mit reason; position == 0: Ende-Markierung eines Workers
+    private record Mapped(int position, ResearchReport report, String title, String reason) {
+    }
+
+    private static final Parsed END_OF_INPUT = new Parsed(0, null);
+    private static final Mapped WORKER_DONE = new Mapped(0, null, null, null);
+
+    /** Zaehler und Eingangs-Queue einer Stufe; {@code total} ist der Zaehler ueber alle Importe. */
+    private static final class Stage {
+        private final String name;
+        private final int threads;
+        private final BlockingQueue<?> input;
+        private final Counter total;
+        private final LongAdder items = new LongAdder();
+        private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+        Stage(String name, int threads, BlockingQueue<?> input, Counter total) {
+            this.name = name;
+            this.threads = threads;
+            this.input = input;
+            this.total = total;
+        }
+
+        /** Zaehlt einen Report fuer diesen Import und ueber alle Importe. */
+        void processed() {
+            items.increment();
+            total.increment();
+        }
+
+        ImportPipelineStats.Stage stats(long elapsedNanos) {
+            long count = items.sum();
+            double seconds = Math.max(elapsedNanos, 1) / 1e9;
+            return new ImportPipelineStats.Stage(name, threads, count,
+                    Math.round(count / seconds * 10) / 10.0,
+                    input != null ? input.size() : null,
+                    input != null ? maxQueueDepth.get() : null,
+                    input != null ? input.size() + input.remainingCapacity() : null);
+        }
+    }
+
+    /** Ein einzelner Import mit eigenen Threads und Queues. */
+    private final class Run {
+
+        private final long id;
+        private final long startNanos = System.nanoTime();
+        private volatile long endNanos;
+        private volatile String state = "RUNNING";
+        private volatile boolean cancelled;
+        private volatile XmlReportParserService.XmlParseException parseFailure;
+
+        private final BlockingQueue<Parsed> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<Mapped> mapped = new ArrayBlockingQueue<>(queueCapacity);
+        private final Stage parseStage = new Stage("parse", 1, null, parsedReports);
+        private final Stage mapStage = new Stage("map", workers, parsed, mappedReports);
+        private final Stage writeStage = new Stage("write", 1, mapped, writtenReports);
+        private final ExecutorService executor;
+
+        Run(long id) {
+            this.id = id;
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(workers + 1, runnable -> {
+                Thread thread = new Thread(runnable, "xml-import-" + id + "-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void parse(InputStream xml, String ticker, boolean validate) {
+            try {
+                parserService.streamReportFields(xml, ticker, validate, (position, fields) -> {
+                    put(parsed, new Parsed(position, fields), mapStage);
+                    parseStage.processed();
+                });
+            } catch (XmlReportParserService.XmlParseException e) {
+                parseFailure = e;
+            } catch (CancellationException e) {
+                return;
+            } catch (RuntimeException e) {
+                parseFailure = new XmlReportParserService.XmlParseException("Fehler beim Lesen der XML-Daten", e);
+            }
+            for (int i = 0; i < workers; i++) {
+                if (!putUnlessCancelled(parsed, END_OF_INPUT)) {
+                    return;
+                }
+            }
+        }
+
+        void map() {
+            try {
+                while (true) {
+                    Parsed item = parsed.take();
+                    if (item == END_OF_INPUT) {
+                        break;
+                    }
+                    put(mapped, toMapped(item), writeStage);
+                    mapStage.processed();
+                }
+            } catch (InterruptedException | CancellationException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            putUnlessCancelled(mapped, WORKER_DONE);
+        }
+
+        void write(ReportBulkImport sink) {
+            int finishedWorkers = 0;
+            while (finishedWorkers < workers) {
+                Mapped item = poll();
+                if (item == null) {
+                    continue;
+                }
+                if (item == WORKER_DONE) {
+                    finishedWorkers++;
+                } else if (item.report() != null) {
+                    sink.add(item.position(), item.report());
+                    writeStage.processed();
+                } else {
+                    sink.reject(item.position(), item.title(), item.reason());
+                    writeStage.processed();
+                }
+            }
+        }
+
+        private Mapped poll() {
+            if (cancelled) {
+                throw new CancellationException("XML-Import " + id + " wurde abgebrochen");
+            }
+            try {
+                return mapped.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+                throw new CancellationException("XML-Import " + id + " wurde unterbrochen");
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            executor.shutdownNow();
+        }
+
+        void end(String finalState) {
+            endNanos = System.nanoTime();
+            state = finalState;
+        }
+
+        ImportPipelineStats stats() {
+            long elapsed = (endNanos != 0 ? endNanos : System.nanoTime()) - startNanos;
+            return new ImportPipelineStats(id, state, elapsed / 1_000_000, List.of(
+                    parseStage.stats(elapsed), mapStage.stats(elapsed), writeStage.stats(elapsed)));
+        }
+
+        private <T> void put(BlockingQueue<T> queue, T item, Stage consumer) {
+            try {
+                queue.put(item);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("XML-Import " + id + " wurde abgebrochen");
+            }
+            consumer.maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+        }
+
+        // Ende-Markierungen: blockierend, ausser der Import wurde abgebrochen
+        private <T> boolean putUnlessCancelled(BlockingQueue<T> queue, T item) {
+            try {
+                queue.put(item);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -14,31 +14,45 @@ import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
-import javax.xml.xpath.*;
+import javax.xml.xpath.XPathExpressionException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
- * Service zum Parsen von Research Reports aus XML-Dateien mittels XPath.
+ * Service zum Parsen von Research Reports aus XML-Dateien.
  *
- * Demonstriert verschiedene XPath-Expressions:
+ * Der Import aller Reports ({@link #streamReports}) liest die Datei mit StAX
+ * und gibt jeden Report sofort weiter, sobald sein {@code </report>} gelesen ist.
+ * Der Speicherbedarf haengt damit nicht von der Dateigroesse ab.
+ *
+ * Die Filter-Abfragen arbeiten auf dem DOM und demonstrieren verschiedene XPath-Expressions:
  * <ul>
  *   <li>{@code //report} - Alle Reports selektieren</li>
- *   <li>{@code //report[security/ticker='NESN']} - Filter per Ticker-Symbol</li>
- *   <li>{@code //report[rating='BUY']} - Filter per Rating</li>
- *   <li>{@code //report[number(targetPrice) > 100]} - Numerischer Vergleich</li>
+ *   <li>{@code //report[security/ticker = $ticker]} - Filter per Ticker-Symbol</li>
+ *   <li>{@code //report[rating = $rating]} - Filter per Rating</li>
+ *   <li>{@code //report[number(targetPrice) > $minTarget]} - Numerischer Vergleich</li>
  *   <li>{@code //report/catalysts/catalyst} - Verschachtelte Elemente</li>
  * </ul>
+ * Die Ausdruecke sind pro Thread vorkompiliert ({@link ReportXPathQueries}); Suchwerte
+ * werden als Variablen gebunden. Fuer mehrere Abfragen auf derselben Datei
+ * {@link #openDocument(InputStream)} verwenden, dann wird sie nur einmal geparst.
  *
  * @see ResearchReport
  */
@@ -47,64 +61,144 @@ public class XmlReportParserService {
 
     private static final Logger log = LoggerFactory.getLogger(XmlReportParserService.class);
 
-    /** XPath: Selektiert alle Report-Elemente */
-    private static final String XPATH_ALL_REPORTS = "//report";
-
-    /** XPath: Selektiert Reports per Ticker-Symbol */
-    private static final String XPATH_BY_TICKER = "//report[security/ticker='%s']";
-
-    /** XPath: Selektiert Reports per Rating */
-    private static final String XPATH_BY_RATING = "//report[rating='%s']";
-
-    /** XPath: Selektiert Reports mit Kursziel über einem Schwellenwert */
-    private static final String XPATH_TARGET_ABOVE = "//report[number(targetPrice) > %s]";
-
-    /** XPath: Selektiert alle Katalysatoren eines Reports */
-    private static final String XPATH_CATALYSTS = "catalysts/catalyst";
+    /** Direkte Kind-Elemente von {@code <report>} mit Textinhalt */
+    private static final List<String> LEAF_FIELDS = List.of(
+            "title", "executiveSummary", "publishedAt", "reportType", "rating", "previousRating",
+            "riskLevel", "targetPrice", "previousTarget", "currentPrice");
 
-    /** XPath: Selektiert alle Risiken eines Reports */
-    private static final String XPATH_RISKS = "risks/risk";
+    /** Direkte Kind-Elemente von {@code <report>} mit verschachtelten Werten */
+    private static final List<String> CONTAINERS = List.of(
+            "analyst", "security", "catalysts", "risks", "tags");
 
-    /** XPath: Selektiert alle Tags eines Reports */
-    private static final String XPATH_TAGS = "tags/tag";
-
-    private final XPathFactory xPathFactory;
     private final DocumentBuilderFactory documentBuilderFactory;
+    private final XMLInputFactory xmlInputFactory;
+    private final ReportXmlSchema reportSchema;
 
     public XmlReportParserService() {
-        this.xPathFactory = XPathFactory.newInstance();
         this.documentBuilderFactory = createSecureDocumentBuilderFactory();
+        this.xmlInputFactory = createSecureXmlInputFactory();
+        this.reportSchema = ReportXmlSchema.load(ReportXmlSchema.CLASSPATH_LOCATION);
     }
 
     /**
      * Parst alle Research Reports aus einem XML-InputStream.
      *
-     * Verwendet den XPath-Ausdruck {@code //report}, um alle Report-Elemente
-     * im Dokument zu finden und in Domain-Objekte zu konvertieren.
+     * Sammelt die Reports aus {@link #streamReports(InputStream, String, Consumer)}
+     * in einer Liste. Fuer grosse Dateien den Consumer direkt verwenden.
      *
      * @param xml InputStream mit XML-Daten im erwarteten Schema
      * @return Liste aller geparsten ResearchReport-Objekte
      * @throws XmlParseException wenn das XML nicht gelesen oder geparst werden kann
      */
     public List<ResearchReport> parseReportsFromXml(InputStream xml) {
-        try {
-            Document document = parseDocument(xml);
-            XPath xpath = xPathFactory.newXPath();
+        List<ResearchReport> reports = new ArrayList<>();
+        streamReports(xml, null, reports::add);
+        return reports;
+    }
 
-            NodeList reportNodes = (NodeList) xpath.evaluate(
-                    XPATH_ALL_REPORTS, document, XPathConstants.NODESET);
+    /**
+     * Liest Research Reports mit StAX und uebergibt jeden Report einzeln an den Consumer.
+     *
+     * Es wird nie mehr als ein Report gleichzeitig im Speicher gehalten. Wirft der
+     * Consumer eine Exception, bricht das Lesen ab; bereits uebergebene Reports
+     * bleiben verarbeitet.
+     *
+     * @param xml      InputStream mit XML-Daten im erwarteten Schema
+     * @param ticker   optional: nur Reports mit {@code security/ticker} gleich diesem Wert
+     * @param consumer erhaelt die Reports in Dokumentreihenfolge
+     * @return Anzahl uebergebener Reports
+     * @throws XmlParseException wenn das XML nicht gelesen oder geparst werden kann
+     */
+    public int streamReports(InputStream xml, String ticker, Consumer<ResearchReport> consumer) {
+        return streamReportFields(xml, ticker, (position, fields) -> consumer.accept(toReport(fields)));
+    }
 
-            List<ResearchReport> reports = new ArrayList<>();
-            for (int i = 0; i < reportNodes.getLength(); i++) {
-                Element reportElement = (Element) reportNodes.item(i);
-                reports.add(mapElementToReport(reportElement, xpath));
+    /**
+     * Liest die Rohwerte der Reports mit StAX, ohne sie in Domain-Objekte umzuwandeln.
+     * Die Umwandlung ({@link #toReport(ReportFields)}) kann damit auf andere Threads
+     * verteilt werden.
+     *
+     * @param consumer erhaelt Position (1-basiert, nach Ticker-Filter) und Rohwerte
+     * @return Anzahl uebergebener Reports
+     */
+    int streamReportFields(InputStream xml, String ticker, BiConsumer<Integer, ReportFields> consumer) {
+        return streamReportFields(xml, ticker, false, consumer);
+    }
+
+    /**
+     * Wie {@link #streamReportFields(InputStream, String, BiConsumer)}, validiert
+     * auf Wunsch aber im selben Durchgang gegen das Report-Schema.
+     *
+     * Schemaverletzungen innerhalb eines Reports stehen in
+     * {@link ReportFields#schemaErrors()}; der Report wird trotzdem uebergeben.
+     * Verletzungen ausserhalb eines Reports (z.B. falsches Wurzelelement)
+     * brechen das Lesen ab.
+     *
+     * @param validate true: gegen {@code research-report.xsd} validieren
+     * @throws XmlParseException bei nicht lesbarem XML oder Schemafehlern ausserhalb eines Reports
+     */
+    int streamReportFields(InputStream xml, String ticker, boolean validate,
+                           BiConsumer<Integer, ReportFields> consumer) {
+        XMLStreamReader reader = null;
+        int count = 0;
+        try {
+            reader = xmlInputFactory.createXMLStreamReader(xml);
+            ValidatingStreamReader validating = null;
+            if (validate) {
+                validating = new ValidatingStreamReader(reader, reportSchema);
+                reader = validating;
+            }
+            while (reader.hasNext()) {
+                int event = reader.next();
+                List<String> schemaErrors = validating != null ? validating.takeErrors() : List.of();
+                if (event == XMLStreamConstants.START_ELEMENT && "report".equals(reader.getLocalName())) {
+                    ReportFields fields = readReport(reader);
+                    if (validating != null) {
+                        fields.schemaErrors.addAll(schemaErrors);
+                        fields.schemaErrors.addAll(validating.takeErrors());
+                    }
+                    if (ticker == null || ticker.equals(fields.value("security/ticker"))) {
+                        consumer.accept(++count, fields);
+                    }
+                } else if (!schemaErrors.isEmpty()) {
+                    throw new XmlParseException("XML entspricht nicht dem Schema nach " + count
+                            + " Reports: " + schemaErrors.get(0), null);
+                }
             }
+            log.info("{} Reports aus XML gelesen (StAX)", count);
+            return count;
 
-            log.info("{} Reports aus XML geparst", reports.size());
-            return reports;
+        } catch (XMLStreamException e) {
+            throw new XmlParseException("Fehler beim Parsen der XML-Daten nach " + count + " Reports", e);
+        } finally {
+            closeQuietly(reader);
+        }
+    }
 
-        } catch (XPathExpressionException | IOException | SAXException |
-                 ParserConfigurationException e) {
+    /**
+     * DOM/XPath-Variante von {@link #parseReportsFromXml(InputStream)}.
+     *
+     * Laedt das ganze Dokument in den Speicher; bleibt als Referenz fuer
+     * Vergleichstests und den Import-Benchmark erhalten.
+     */
+    List<ResearchReport> parseReportsFromXmlDom(InputStream xml) {
+        List<ResearchReport> reports = openDocument(xml).findAll();
+        log.info("{} Reports aus XML geparst", reports.size());
+        return reports;
+    }
+
+    /**
+     * Parst ein XML-Dokument einmal fuer beliebig viele XPath-Abfragen.
+     *
+     * @param xml InputStream mit XML-Daten
+     * @return das geparste Dokument; nicht threadsicher
+     * @throws XmlParseException wenn das XML nicht gelesen oder geparst werden kann
+     */
+    public ReportDocument openDocument(InputStream xml) {
+        try {
+            DocumentBuilder builder = documentBuilderFactory.newDocumentBuilder();
+            return new ReportDocument(builder.parse(xml), builder);
+        } catch (IOException | SAXException | ParserConfigurationException e) {
             throw new XmlParseException("Fehler beim Parsen der XML-Daten", e);
         }
     }
@@ -112,7 +206,7 @@ public class XmlReportParserService {
     /**
      * Sucht einen spezifischen Report anhand des Ticker-Symbols der Wertschrift.
      *
-     * Verwendet den XPath-Ausdruck {@code //report[security/ticker='NESN']},
+     * Verwendet den XPath-Ausdruck {@code //report[security/ticker = $ticker]},
      * um gezielt nach einem Ticker zu filtern.
      *
      * @param xml InputStream mit XML-Daten
@@ -121,35 +215,13 @@ public class XmlReportParserService {
      * @throws XmlParseException wenn das XML nicht gelesen oder geparst werden kann
      */
     public Optional<ResearchReport> parseReportByTicker(InputStream xml, String ticker) {
-        try {
-            Document document = parseDocument(xml);
-            XPath xpath = xPathFactory.newXPath();
-
-            String expression = String.format(XPATH_BY_TICKER, ticker);
-            NodeList reportNodes = (NodeList) xpath.evaluate(
-                    expression, document, XPathConstants.NODESET);
-
-            if (reportNodes.getLength() == 0) {
-                log.debug("Kein Report gefunden für Ticker: {}", ticker);
-                return Optional.empty();
-            }
-
-            Element reportElement = (Element) reportNodes.item(0);
-            ResearchReport report = mapElementToReport(reportElement, xpath);
-            log.info("Report für Ticker {} gefunden: {}", ticker, report.getTitle());
-            return Optional.of(report);
-
-        } catch (XPathExpressionException | IOException | SAXException |
-                 ParserConfigurationException e) {
-            throw new XmlParseException(
-                    "Fehler beim Suchen des Reports für Ticker: " + ticker, e);
-        }
+        return openDocument(xml).findByTicker(ticker);
     }
 
     /**
      * Filtert Reports nach Rating (Analystenempfehlung).
      *
-     * Verwendet den XPath-Ausdruck {@code //report[rating='BUY']},
+     * Verwendet den XPath-Ausdruck {@code //report[rating = $rating]},
      * um nach einer bestimmten Empfehlung zu filtern.
      *
      * @param xml InputStream mit XML-Daten
@@ -158,34 +230,13 @@ public class XmlReportParserService {
      * @throws XmlParseException wenn das XML nicht gelesen oder geparst werden kann
      */
     public List<ResearchReport> parseReportsByRating(InputStream xml, Rating rating) {
-        try {
-            Document document = parseDocument(xml);
-            XPath xpath = xPathFactory.newXPath();
-
-            String expression = String.format(XPATH_BY_RATING, rating.name());
-            NodeList reportNodes = (NodeList) xpath.evaluate(
-                    expression, document, XPathConstants.NODESET);
-
-            List<ResearchReport> reports = new ArrayList<>();
-            for (int i = 0; i < reportNodes.getLength(); i++) {
-                Element reportElement = (Element) reportNodes.item(i);
-                reports.add(mapElementToReport(reportElement, xpath));
-            }
-
-            log.info("{} Reports mit Rating {} gefunden", reports.size(), rating);
-            return reports;
-
-        } catch (XPathExpressionException | IOException | SAXException |
-                 ParserConfigurationException e) {
-            throw new XmlParseException(
-                    "Fehler beim Filtern nach Rating: " + rating, e);
-        }
+        return openDocument(xml).findByRating(rating);
     }
 
     /**
      * Filtert Reports nach Kursziel über einem Schwellenwert.
      *
-     * Verwendet den XPath-Ausdruck {@code //report[number(targetPrice) > 100]},
+     * Verwendet den XPath-Ausdruck {@code //report[number(targetPrice) > $minTarget]},
      * um numerische Vergleiche direkt in XPath durchzuführen.
      *
      * @param xml InputStream mit XML-Daten
@@ -195,37 +246,40 @@ public class XmlReportParserService {
      */
     public List<ResearchReport> parseReportsWithTargetAbove(InputStream xml,
                                                              BigDecimal minTargetPrice) {
-        try {
-            Document document = parseDocument(xml);
-            XPath xpath = xPathFactory.newXPath();
-
-            String expression = String.format(XPATH_TARGET_ABOVE,
-                    minTargetPrice.toPlainString());
-            NodeList reportNodes = (NodeList) xpath.evaluate(
-                    expression, document, XPathConstants.NODESET);
+        return openDocument(xml).findWithTargetAbove(minTargetPrice);
+    }
 
-            List<ResearchReport> reports = new ArrayList<>();
-            for (int i = 0; i < reportNodes.getLength(); i++) {
-                Element reportElement = (Element) reportNodes.item(i);
-                reports.add(mapElementToReport(reportElement, xpath));
+    /**
+     * Validiert ein XML-Dokument gegen das Report-Schema ({@code research-report.xsd}).
+     *
+     * Das Schema ist beim Start einmal kompiliert worden; jeder Thread verwendet
+     * seinen eigenen, wiederverwendeten Validator. Alle Schemaverletzungen werden
+     * gesammelt, nicht nur die erste.
+     *
+     * @param xml InputStream mit den zu validierenden XML-Daten
+     * @return Ergebnis mit den Fehlermeldungen (Zeile, Spalte, Meldung)
+     */
+    public XmlValidationResult validateXml(InputStream xml) {
+        try {
+            XmlValidationResult result = reportSchema.validate(xml);
+            if (result.valid()) {
+                log.info("XML-Validierung erfolgreich");
+            } else {
+                log.warn("XML-Validierung fehlgeschlagen: {} Fehler, erster: {}",
+                        result.errors().size(), result.errors().get(0));
             }
-
-            log.info("{} Reports mit Kursziel > {} gefunden",
-                    reports.size(), minTargetPrice);
-            return reports;
-
-        } catch (XPathExpressionException | IOException | SAXException |
-                 ParserConfigurationException e) {
-            throw new XmlParseException(
-                    "Fehler beim Filtern nach Kursziel > " + minTargetPrice, e);
+            return result;
+        } catch (IOException e) {
+            log.error("I/O-Fehler bei XML-Validierung", e);
+            return new XmlValidationResult(false, List.of("Datei konnte nicht gelesen werden: " + e.getMessage()));
         }
     }
 
     /**
-     * Validiert ein XML-Dokument gegen ein XSD-Schema.
+     * Validiert ein XML-Dokument gegen ein beliebiges XSD-Schema.
      *
-     * Prüft ob die Struktur und Datentypen des XML dem erwarteten Schema
-     * entsprechen, bevor ein Import durchgeführt wird.
+     * Das Schema wird bei jedem Aufruf neu kompiliert; fuer das Report-Schema
+     * {@link #validateXml(InputStream)} verwenden.
      *
      * @param xml InputStream mit den zu validierenden XML-Daten
      * @param xsd InputStream mit dem XSD-Validierungsschema
@@ -233,9 +287,7 @@ public class XmlReportParserService {
      */
     public boolean validateXml(InputStream xml, InputStream xsd) {
         try {
-            SchemaFactory schemaFactory = SchemaFactory.newInstance(
-                    XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            Schema schema = schemaFactory.newSchema(new StreamSource(xsd));
+            Schema schema = ReportXmlSchema.compile(xsd);
             Validator validator = schema.newValidator();
             validator.validate(new StreamSource(xml));
 
@@ -275,85 +327,196 @@ public class XmlReportParserService {
     }
 
     /**
-     * Parst einen InputStream zu einem DOM-Document.
+     * Erstellt eine XMLInputFactory ohne DTD- und Entity-Aufloesung (XXE-Schutz).
      */
-    private Document parseDocument(InputStream xml)
-            throws ParserConfigurationException, SAXException, IOException {
-        DocumentBuilder builder = documentBuilderFactory.newDocumentBuilder();
-        return builder.parse(xml);
+    private XMLInputFactory createSecureXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
     }
 
     /**
      * Konvertiert ein XML-Report-Element in ein ResearchReport Domain-Objekt.
      *
-     * Verwendet relative XPath-Expressions, um die einzelnen Felder
-     * aus dem Element zu extrahieren, einschliesslich verschachtelter
-     * Strukturen wie Katalysatoren, Risiken und Tags.
+     * Verwendet die vorkompilierten relativen XPath-Expressions, um die
+     * einzelnen Felder aus dem Element zu extrahieren, einschliesslich
+     * verschachtelter Strukturen wie Katalysatoren, Risiken und Tags.
+     *
+     * Die Ausdruecke laufen auf einer Kopie des Reports in einem eigenen
+     * Dokument: auf dem Original baut die JDK-Implementierung bei jeder
+     * Auswertung das interne Abbild (DTM) des ganzen Dokuments bis zu diesem
+     * Element auf, was ueber alle Reports quadratisch waechst.
      */
-    private ResearchReport mapElementToReport(Element reportElement, XPath xpath)
-            throws XPathExpressionException {
+    private ResearchReport mapElementToReport(Element element, ReportXPathQueries queries,
+                                              DocumentBuilder builder) throws XPathExpressionException {
+
+        Document single = builder.newDocument();
+        Element reportElement = (Element) single.appendChild(single.importNode(element, true));
+
+        ReportFields fields = new ReportFields();
+        for (String name : LEAF_FIELDS) {
+            fields.values.put(name, getTextContent(reportElement, name));
+        }
+        // Verschachtelte Referenzen
+        fields.values.put(ReportXPathQueries.ANALYST_ID, queries.analystId(reportElement));
+        fields.values.put(ReportXPathQueries.SECURITY_ID, queries.securityId(reportElement));
+
+        // Verschachtelte Listen per XPath: //report/catalysts/catalyst usw.
+        fields.catalysts.addAll(textValues(queries.catalysts(reportElement)));
+        fields.risks.addAll(textValues(queries.risks(reportElement)));
+        fields.tags.addAll(textValues(queries.tags(reportElement)));
+
+        return toReport(fields);
+    }
+
+    /**
+     * Liest ein {@code <report>}-Element mit StAX bis zum schliessenden Tag.
+     *
+     * Erwartet den Reader auf dem START_ELEMENT von {@code report}. Unbekannte
+     * Elemente werden samt Inhalt uebersprungen.
+     */
+    private ReportFields readReport(XMLStreamReader reader) throws XMLStreamException {
+        ReportFields fields = new ReportFields();
+        String container = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                if (container == null) {
+                    return fields;           // </report>
+                }
+                container = null;            // </analyst>, </catalysts>, ...
+            } else if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if (container == null) {
+                    if (CONTAINERS.contains(name)) {
+                        container = name;
+                    } else if (LEAF_FIELDS.contains(name)) {
+                        fields.values.putIfAbsent(name, reader.getElementText());
+                    } else {
+                        skipElement(reader);
+                    }
+                } else {
+                    readContainerChild(reader, container + "/" + name, fields);
+                }
+            }
+        }
+        throw new XMLStreamException("Unerwartetes Dateiende innerhalb von <report>");
+    }
+
+    private void readContainerChild(XMLStreamReader reader, String path, ReportFields fields)
+            throws XMLStreamException {
+        switch (path) {
+            case ReportXPathQueries.ANALYST_ID, ReportXPathQueries.SECURITY_ID, "security/ticker" ->
+                    fields.values.putIfAbsent(path, reader.getElementText().trim());
+            case ReportXPathQueries.CATALYSTS -> addTrimmed(fields.catalysts, reader.getElementText());
+            case ReportXPathQueries.RISKS -> addTrimmed(fields.risks, reader.getElementText());
+            case ReportXPathQueries.TAGS -> addTrimmed(fields.tags, reader.getElementText());
+            default -> skipElement(reader);
+        }
+    }
+
+    /**
+     * Ueberspringt das aktuelle Element samt Kindern bis zum passenden END_ELEMENT.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static void addTrimmed(List<String> target, String text) {
+        if (text != null && !text.trim().isEmpty()) {
+            target.add(text.trim());
+        }
+    }
+
+    private static void closeQuietly(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                log.debug("XMLStreamReader konnte nicht geschlossen werden", e);
+            }
+        }
+    }
+
+    /**
+     * Konvertiert die gelesenen Rohwerte in ein ResearchReport Domain-Objekt.
+     * Gemeinsame Abbildung fuer den StAX- und den DOM-Pfad; zustandslos und
+     * damit aus mehreren Threads aufrufbar.
+     *
+     * @throws IllegalArgumentException bei ungueltigen Zahlen oder Enum-Werten
+     * @throws java.time.format.DateTimeParseException bei ungueltigem Publikationsdatum
+     */
+    ResearchReport toReport(ReportFields fields) {
 
         ResearchReport report = new ResearchReport();
 
         // Einfache Text-Felder
-        report.setTitle(getTextContent(reportElement, "title"));
-        report.setExecutiveSummary(
-                getTextContent(reportElement, "executiveSummary").trim());
+        report.setTitle(fields.value("title"));
+        report.setExecutiveSummary(fields.value("executiveSummary").trim());
 
         // Analyst-Referenz (verschachtelt)
-        String analystIdStr = (String) xpath.evaluate(
-                "analyst/analystId", reportElement, XPathConstants.STRING);
+        String analystIdStr = fields.value("analyst/analystId");
         if (!analystIdStr.isEmpty()) {
             report.setAnalystId(Long.parseLong(analystIdStr));
         }
 
         // Wertschrift-Referenz (verschachtelt)
-        String securityIdStr = (String) xpath.evaluate(
-                "security/securityId", reportElement, XPathConstants.STRING);
+        String securityIdStr = fields.value("security/securityId");
         if (!securityIdStr.isEmpty()) {
             report.setSecurityId(Long.parseLong(securityIdStr));
         }
 
         // Zeitstempel
-        String publishedAtStr = getTextContent(reportElement, "publishedAt");
+        String publishedAtStr = fields.value("publishedAt");
         if (!publishedAtStr.isEmpty()) {
             report.setPublishedAt(LocalDateTime.parse(publishedAtStr));
         }
 
         // Enums
-        String reportTypeStr = getTextContent(reportElement, "reportType");
+        String reportTypeStr = fields.value("reportType");
         if (!reportTypeStr.isEmpty()) {
             report.setReportType(ReportType.valueOf(reportTypeStr));
         }
 
-        String ratingStr = getTextContent(reportElement, "rating");
+        String ratingStr = fields.value("rating");
         if (!ratingStr.isEmpty()) {
             report.setRating(Rating.valueOf(ratingStr));
         }
 
-        String previousRatingStr = getTextContent(reportElement, "previousRating");
+        String previousRatingStr = fields.value("previousRating");
         if (!previousRatingStr.isEmpty()) {
             report.setPreviousRating(Rating.valueOf(previousRatingStr));
             report.setRatingChanged(!ratingStr.equals(previousRatingStr));
         }
 
-        String riskLevelStr = getTextContent(reportElement, "riskLevel");
+        String riskLevelStr = fields.value("riskLevel");
         if (!riskLevelStr.isEmpty()) {
             report.setRiskLevel(RiskLevel.valueOf(riskLevelStr));
         }
 
         // Finanzkennzahlen
-        String targetPriceStr = getTextContent(reportElement, "targetPrice");
+        String targetPriceStr = fields.value("targetPrice");
         if (!targetPriceStr.isEmpty()) {
             report.setTargetPrice(new BigDecimal(targetPriceStr));
         }
 
-        String previousTargetStr = getTextContent(reportElement, "previousTarget");
+        String previousTargetStr = fields.value("previousTarget");
         if (!previousTargetStr.isEmpty()) {
             report.setPreviousTarget(new BigDecimal(previousTargetStr));
         }
 
-        String currentPriceStr = getTextContent(reportElement, "currentPrice");
+        String currentPriceStr = fields.value("currentPrice");
         if (!currentPriceStr.isEmpty()) {
             report.setCurrentPrice(new BigDecimal(currentPriceStr));
         }
@@ -368,17 +531,9 @@ public class XmlReportParserService {
             report.setImpliedUpside(upside);
         }
 
-        // Verschachtelte Listen per XPath: //report/catalysts/catalyst
-        report.setInvestmentCatalysts(
-                extractStringList(reportElement, xpath, XPATH_CATALYSTS));
-
-        // Verschachtelte Listen per XPath: //report/risks/risk
-        report.setKeyRisks(
-                extractStringList(reportElement, xpath, XPATH_RISKS));
-
-        // Verschachtelte Listen per XPath: //report/tags/tag
-        report.setTags(
-                extractStringList(reportElement, xpath, XPATH_TAGS));
+        report.setInvestmentCatalysts(fields.catalysts);
+        report.setKeyRisks(fields.risks);
+        report.setTags(fields.tags);
 
         return report;
     }
@@ -395,26 +550,125 @@ public class XmlReportParserService {
     }
 
     /**
-     * Extrahiert eine Liste von String-Werten mittels XPath-Expression.
+     * Liefert die getrimmten, nicht leeren Textinhalte einer Knotenliste.
      * Wird für verschachtelte Elemente wie Katalysatoren, Risiken und Tags verwendet.
      */
-    private List<String> extractStringList(Element context, XPath xpath,
-                                           String expression)
-            throws XPathExpressionException {
-
-        NodeList nodes = (NodeList) xpath.evaluate(
-                expression, context, XPathConstants.NODESET);
-
+    private static List<String> textValues(NodeList nodes) {
         List<String> result = new ArrayList<>();
         for (int i = 0; i < nodes.getLength(); i++) {
-            String text = nodes.item(i).getTextContent();
-            if (text != null && !text.trim().isEmpty()) {
-                result.add(text.trim());
-            }
+            addTrimmed(result, nodes.item(i).getTextContent());
         }
         return result;
     }
 
+    /**
+     * Ein einmal geparstes Report-Dokument fuer mehrere XPath-Abfragen.
+     *
+     * Jede Abfrage durchsucht das vorhandene DOM mit den vorkompilierten
+     * Ausdruecken des aufrufenden Threads. Nicht threadsicher: ein DOM darf
+     * nicht aus mehreren Threads gleichzeitig gelesen werden.
+     */
+    public final class ReportDocument {
+
+        private final Document document;
+        private final DocumentBuilder builder;
+
+        private ReportDocument(Document document, DocumentBuilder builder) {
+            this.document = document;
+            this.builder = builder;
+        }
+
+        /**
+         * Alle Reports des Dokuments in Dokumentreihenfolge.
+         */
+        public List<ResearchReport> findAll() {
+            try {
+                return mapAll(queries().allReports(document));
+            } catch (XPathExpressionException e) {
+                throw new XmlParseException("Fehler beim Parsen der XML-Daten", e);
+            }
+        }
+
+        /**
+         * Der erste Report zum Ticker-Symbol, oder leer.
+         */
+        public Optional<ResearchReport> findByTicker(String ticker) {
+            try {
+                ReportXPathQueries queries = queries();
+                NodeList reportNodes = queries.byTicker(document, ticker);
+                if (reportNodes.getLength() == 0) {
+                    log.debug("Kein Report gefunden für Ticker: {}", ticker);
+                    return Optional.empty();
+                }
+                ResearchReport report = mapElementToReport((Element) reportNodes.item(0), queries, builder);
+                log.info("Report für Ticker {} gefunden: {}", ticker, report.getTitle());
+                return Optional.of(report);
+            } catch (XPathExpressionException e) {
+                throw new XmlParseException("Fehler beim Suchen des Reports für Ticker: " + ticker, e);
+            }
+        }
+
+        /**
+         * Alle Reports mit diesem Rating.
+         */
+        public List<ResearchReport> findByRating(Rating rating) {
+            try {
+                List<ResearchReport> reports = mapAll(queries().byRating(document, rating));
+                log.info("{} Reports mit Rating {} gefunden", reports.size(), rating);
+                return reports;
+            } catch (XPathExpressionException e) {
+                throw new XmlParseException("Fehler beim Filtern nach Rating: " + rating, e);
+            }
+        }
+
+        /**
+         * Alle Reports mit einem Kursziel ueber dem Schwellenwert.
+         */
+        public List<ResearchReport> findWithTargetAbove(BigDecimal minTargetPrice) {
+            try {
+                List<ResearchReport> reports = mapAll(queries().targetAbove(document, minTargetPrice));
+                log.info("{} Reports mit Kursziel > {} gefunden", reports.size(), minTargetPrice);
+                return reports;
+            } catch (XPathExpressionException e) {
+                throw new XmlParseException("Fehler beim Filtern nach Kursziel > " + minTargetPrice, e);
+            }
+        }
+
+        private List<ResearchReport> mapAll(NodeList reportNodes) throws XPathExpressionException {
+            ReportXPathQueries queries = queries();
+            List<ResearchReport> reports = new ArrayList<>(reportNodes.getLength());
+            for (int i = 0; i < reportNodes.getLength(); i++) {
+                reports.add(mapElementToReport((Element) reportNodes.item(i), queries, builder));
+            }
+            return reports;
+        }
+
+        private ReportXPathQueries queries() {
+            return ReportXPathQueries.forCurrentThread();
+        }
+    }
+
+    /**
+     * Rohwerte eines Reports, unabhaengig davon, ob sie per StAX oder DOM gelesen wurden.
+     * Schluessel sind Elementnamen bzw. relative Pfade wie {@code analyst/analystId}.
+     */
+    static final class ReportFields {
+        private final Map<String, String> values = new HashMap<>();
+        private final List<String> catalysts = new ArrayList<>();
+        private final List<String> risks = new ArrayList<>();
+        private final List<String> tags = new ArrayList<>();
+        private final List<String> schemaErrors = new ArrayList<>();
+
+        String value(String key) {
+            return values.getOrDefault(key, "");
+        }
+
+        /** Schemaverletzungen dieses Reports; leer ohne Validierung. */
+        List<String> schemaErrors() {
+            return schemaErrors;
+        }
+    }
+
     /**
      * Exception für XML-Parse-Fehler.
      * Wird geworfen wenn die XML-Verarbeitung fehlschlägt.
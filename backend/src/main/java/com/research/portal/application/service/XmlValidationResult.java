@@ -0,0 +1,12 @@
+package com.research.portal.application.service;
+
+import java.util.List;
+
+/**
+ * Ergebnis einer XSD-Validierung.
+ *
+ * @param valid  true, wenn das Dokument dem Schema entspricht
+ * @param errors Meldungen mit Zeile und Spalte, hoechstens 100
+ */
+public record XmlValidationResult(boolean valid, List<String> errors) {
+}
@@ -1,19 +1,58 @@
 package com.research.portal.config;
 
 import com.research.portal.adapter.in.web.dto.ApiMetricsDto;
+import com.research.portal.adapter.in.web.dto.EndpointCostDto;
+import com.research.portal.adapter.in.web.dto.EndpointLayersDto;
+import com.research.portal.adapter.in.web.dto.EndpointLatencyDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
 
 /**
  * Thread-sicherer Collector fuer API-Nutzungsmetriken.
  *
- * <p>Sammelt Anfragezaehler, Fehlerzaehler, Antwortzeiten und Aufschluesselungen
- * nach Endpunkt und HTTP-Statuscode. Alle Operationen sind lock-free und
- * fuer hohe Parallelitaet optimiert (AtomicLong + ConcurrentHashMap).
+ * <p>Jeder Request wird als Micrometer-Meter in der {@link MeterRegistry}
+ * erfasst und ist damit auch unter {@code /api/actuator/prometheus} abrufbar:
+ * ein Timer {@value #REQUESTS_METER} pro Methode, Route und Statusklasse mit
+ * SLO-Buckets und ein Zaehler {@value #RESPONSES_METER} pro Statuscode.
+ * {@link #getMetrics()} liest Anfragen, Fehler, Antwortzeiten und
+ * Aufschluesselungen aus genau diesen Metern, es gibt keine zweite Buchfuehrung.
+ * Die Meter zaehlen lock-free mit gestreiften Zaehlern ({@code LongAdder}).
+ *
+ * <p>Misst der {@link RequestLoggingInterceptor} CPU-Zeit und allozierte Bytes
+ * eines Requests, landen sie pro Endpunkt im Timer {@value #CPU_METER} und in
+ * der Verteilung {@value #ALLOCATED_METER}; {@link #getCost()} stellt sie der
+ * Antwortzeit gegenueber.
+ *
+ * <p>Mit {@code app.metrics.layer-timing} kommt pro Endpunkt und Schicht
+ * (controller, usecase, repository, mapper, serialization) ein Timer
+ * {@value #LAYERS_METER} mit der Eigenzeit der Schicht pro Request dazu;
+ * {@link #getLayers()} schluesselt die Antwortzeit damit auf.
+ *
+ * <p>Pro Endpunkt (Methode und Routen-Template, z.B. {@code GET /api/reports/{id}})
+ * und Statusklasse fuehrt er zusaetzlich ein {@link LatencyHistogram} mit Minuten-Slots, aus
+ * dem {@link #getLatency(String)} Perzentile, Maximum und Durchsatz fuer die
+ * letzten 1, 5 oder 15 Minuten liefert. Bekannte Endpunkte werden ohne
+ * Allokation aufgezeichnet. Die Kardinalitaet ist hart begrenzt: unbekannte
+ * HTTP-Methoden zaehlen als {@value #OTHER_METHOD}, ab {@value #MAX_ENDPOINTS}
+ * Endpunkten landen neue Routen pro Methode unter {@value #OTHER_ROUTE}.
  *
  * <p>Wird vom {@link RequestLoggingInterceptor} nach jeder HTTP-Anfrage befuellt
  * und vom MetricsController als DTO ausgeliefert.
@@ -23,11 +62,91 @@ import java.util.stream.Collectors;
  */
 public class ApiMetricsCollector {
 
-    private final AtomicLong totalRequests = new AtomicLong(0);
-    private final AtomicLong totalErrors = new AtomicLong(0);
-    private final AtomicLong totalDurationMs = new AtomicLong(0);
-    private final ConcurrentHashMap<String, AtomicLong> requestsByEndpoint = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<Integer, AtomicLong> requestsByStatus = new ConcurrentHashMap<>();
+    /** Timer pro Methode, Route und Statusklasse. */
+    static final String REQUESTS_METER = "portal.api.requests";
+
+    /** Zaehler pro HTTP-Statuscode. */
+    static final String RESPONSES_METER = "portal.api.responses";
+
+    /** CPU-Zeit der Requests pro Methode und Route. */
+    static final String CPU_METER = "portal.api.requests.cpu";
+
+    /** Allozierte Bytes der Requests pro Methode und Route. */
+    static final String ALLOCATED_METER = "portal.api.requests.allocated";
+
+    /** Eigenzeit pro Methode, Route und Schicht. */
+    static final String LAYERS_METER = "portal.api.layers";
+
+    /** Obergrenze fuer Endpunkte mit eigenen Histogrammen (je Statusklasse rund 47 KB). */
+    static final int MAX_ENDPOINTS = 200;
+
+    /** Routen-Sammelbecken, sobald {@link #MAX_ENDPOINTS} erreicht ist. */
+    static final String OTHER_ROUTE = "(other)";
+
+    /** Sammelbecken fuer HTTP-Methoden ausserhalb von {@link #KNOWN_METHODS}. */
+    static final String OTHER_METHOD = "OTHER";
+
+    private static final Set<String> KNOWN_METHODS =
+            Set.of("GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS", "TRACE");
+
+    /** SLO-Grenzen der Request-Timer; Prometheus zaehlt pro Grenze die schnelleren Requests. */
+    private static final Duration[] REQUEST_SLOS = {
+            Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100),
+            Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500)
+    };
+
+    /** SLO-Grenzen der Schicht-Timer; feiner als bei Requests, eine Schicht ist nur ein Teil davon. */
+    private static final Duration[] LAYER_SLOS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25),
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofSeconds(1)
+    };
+
+    /** Unterstuetzte Zeitfenster in Minuten. */
+    private static final Map<String, Integer> WINDOWS = Map.of("1m", 1, "5m", 5, "15m", 15);
+
+    private static final long MINUTE_NANOS = 60_000_000_000L;
+    private static final long SECOND_NANOS = 1_000_000_000L;
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry registry;
+    private final LongSupplier nanoClock;
+
+    /** Bezugspunkt der Minuten-Slots */
+    private final long originNanos;
+
+    /** Zeitpunkt des letzten Zuruecksetzens; begrenzt die Durchsatz-Berechnung */
+    private volatile long resetNanos;
+
+    /** Endpunkte nach Methode und Route; verschachtelt, damit kein Schluessel zusammengesetzt werden muss */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, EndpointMetrics>> endpoints =
+            new ConcurrentHashMap<>();
+    private final AtomicInteger endpointCount = new AtomicInteger();
+
+    /** Zaehler pro Statuscode 100-599, Index = Statuscode; erst beim ersten Auftreten registriert */
+    private final AtomicReferenceArray<Counter> requestsByStatus = new AtomicReferenceArray<>(600);
+
+    /** Statuscodes ausserhalb 100-599 (kommen praktisch nicht vor) */
+    private final ConcurrentHashMap<Integer, Counter> unusualStatus = new ConcurrentHashMap<>();
+
+    /** Mit eigener, lokaler Registry; fuer Tests und Benchmarks. */
+    public ApiMetricsCollector() {
+        this(new SimpleMeterRegistry());
+    }
+
+    public ApiMetricsCollector(MeterRegistry registry) {
+        this(registry, System::nanoTime);
+    }
+
+    ApiMetricsCollector(LongSupplier nanoClock) {
+        this(new SimpleMeterRegistry(), nanoClock);
+    }
+
+    ApiMetricsCollector(MeterRegistry registry, LongSupplier nanoClock) {
+        this.registry = registry;
+        this.nanoClock = nanoClock;
+        this.originNanos = nanoClock.getAsLong();
+        this.resetNanos = originNanos;
+    }
 
     /**
      * Zeichnet eine einzelne HTTP-Anfrage auf.
@@ -38,43 +157,104 @@ public class ApiMetricsCollector {
      * @param durationMs Verarbeitungsdauer in Millisekunden
      */
     public void recordRequest(String method, String uri, int status, long durationMs) {
-        totalRequests.incrementAndGet();
-        totalDurationMs.addAndGet(durationMs);
+        recordRequestNanos(method, uri, status, durationMs * 1_000_000);
+    }
+
+    /**
+     * Zeichnet eine einzelne HTTP-Anfrage mit Nanosekunden-Aufloesung auf.
+     *
+     * @param method        HTTP-Methode
+     * @param route         Routen-Template des Controller-Mappings (z.B. /api/reports/{id});
+     *                      nie die rohe URI, sonst waechst die Zahl der Endpunkte mit jeder ID
+     * @param status        HTTP-Statuscode der Response
+     * @param durationNanos Verarbeitungsdauer in Nanosekunden
+     */
+    public void recordRequestNanos(String method, String route, int status, long durationNanos) {
+        recordRequestNanos(method, route, status, durationNanos, -1, -1);
+    }
 
-        // 4xx und 5xx als Fehler zaehlen
-        if (status >= 400) {
-            totalErrors.incrementAndGet();
+    /**
+     * Zeichnet eine HTTP-Anfrage samt CPU-Zeit und allozierten Bytes auf.
+     *
+     * @param cpuNanos       CPU-Zeit aller Threads des Requests in Nanosekunden; negativ = nicht gemessen
+     * @param allocatedBytes von den Threads des Requests allozierte Bytes; negativ = nicht gemessen
+     * @see #recordRequestNanos(String, String, int, long)
+     */
+    public void recordRequestNanos(String method, String route, int status, long durationNanos,
+                                   long cpuNanos, long allocatedBytes) {
+        if (status >= 100 && status < 600) {
+            statusCounter(status).increment();
+        } else {
+            unusualStatus.computeIfAbsent(status, this::registerStatusCounter).increment();
         }
 
-        // Endpunkt-Zaehler: "GET /api/reports"
-        String endpointKey = method + " " + uri;
-        requestsByEndpoint
-                .computeIfAbsent(endpointKey, k -> new AtomicLong(0))
-                .incrementAndGet();
+        EndpointMetrics endpoint = endpoint(method, route);
+        int statusClass = Math.min(Math.max(status / 100, 1), 5) - 1;
+        Series series = endpoint.series(statusClass);
+        series.timer().record(durationNanos, TimeUnit.NANOSECONDS);
+        series.histogram().record(durationNanos / 1_000, minute(nanoClock.getAsLong()));
+        if (cpuNanos >= 0) {
+            endpoint.cpu.record(cpuNanos, TimeUnit.NANOSECONDS);
+        }
+        if (allocatedBytes >= 0) {
+            endpoint.allocated.record(allocatedBytes);
+        }
+    }
 
-        // Status-Zaehler: 200 -> count
-        requestsByStatus
-                .computeIfAbsent(status, k -> new AtomicLong(0))
-                .incrementAndGet();
+    /**
+     * Zeichnet die Eigenzeit pro Schicht einer HTTP-Anfrage auf.
+     *
+     * @param layerNanos Eigenzeit in Nanosekunden, Index = Ordinal von {@link LayerTimings.Layer}
+     * @see #recordRequestNanos(String, String, int, long)
+     */
+    public void recordLayers(String method, String route, long[] layerNanos) {
+        EndpointMetrics endpoint = endpoint(method, route);
+        for (LayerTimings.Layer layer : LayerTimings.Layer.ALL) {
+            endpoint.layer(layer).record(layerNanos[layer.ordinal()], TimeUnit.NANOSECONDS);
+        }
     }
 
     /**
-     * Liefert eine Momentaufnahme aller gesammelten Metriken als DTO.
+     * Liefert eine Momentaufnahme aller gesammelten Metriken als DTO,
+     * gelesen aus den registrierten Metern.
      *
      * @return aktuelle API-Metriken
      */
     public ApiMetricsDto getMetrics() {
-        long requests = totalRequests.get();
-        long errors = totalErrors.get();
-        long duration = totalDurationMs.get();
+        long requests = 0;
+        long errors = 0;
+        double durationMs = 0;
 
-        double avgResponseTime = requests > 0 ? (double) duration / requests : 0.0;
+        Map<String, Long> endpointMap = new HashMap<>();
+        for (EndpointMetrics endpoint : allEndpoints()) {
+            long endpointRequests = 0;
+            for (int statusClass = 0; statusClass < STATUS_CLASSES.length; statusClass++) {
+                Series series = endpoint.series.get(statusClass);
+                if (series == null) {
+                    continue;
+                }
+                long count = series.timer().count();
+                endpointRequests += count;
+                durationMs += series.timer().totalTime(TimeUnit.MILLISECONDS);
+                // 4xx und 5xx als Fehler zaehlen
+                if (statusClass >= 3) {
+                    errors += count;
+                }
+            }
+            requests += endpointRequests;
+            endpointMap.put(endpoint.method + " " + endpoint.route, endpointRequests);
+        }
 
-        Map<String, Long> endpointMap = requestsByEndpoint.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
+        double avgResponseTime = requests > 0 ? durationMs / requests : 0.0;
 
-        Map<Integer, Long> statusMap = requestsByStatus.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().get()));
+        Map<Integer, Long> statusMap = new HashMap<>();
+        for (int status = 100; status < 600; status++) {
+            Counter counter = requestsByStatus.get(status);
+            if (counter != null && counter.count() > 0) {
+                statusMap.put(status, (long) counter.count());
+            }
+        }
+        unusualStatus.forEach((status, count) -> statusMap.put(status, (long) count.count()));
 
         String uptime = formatUptime(ManagementFactory.getRuntimeMXBean().getUptime());
 
@@ -82,14 +262,136 @@ public class ApiMetricsCollector {
     }
 
     /**
-     * Setzt alle Metriken auf Null zurueck. Primaer fuer Tests gedacht.
+     * Latenz-Perzentile, Maximum und Durchsatz pro Endpunkt und Statusklasse,
+     * absteigend nach p99 sortiert.
+     *
+     * @param window Zeitfenster: 1m, 5m oder 15m
+     * @throws IllegalArgumentException bei einem unbekannten Zeitfenster
+     */
+    public List<EndpointLatencyDto> getLatency(String window) {
+        Integer windowMinutes = window != null ? WINDOWS.get(window) : null;
+        if (windowMinutes == null) {
+            throw new IllegalArgumentException("Unbekanntes Zeitfenster: " + window + " (erlaubt: 1m, 5m, 15m)");
+        }
+        long now = nanoClock.getAsLong();
+        long currentMinute = minute(now);
+        // Fenster: angebrochene laufende Minute plus die vollen Minuten davor, hoechstens seit dem Reset
+        long windowStart = originNanos + (currentMinute - windowMinutes + 1) * MINUTE_NANOS;
+        double seconds = Math.max(now - Math.max(windowStart, resetNanos), SECOND_NANOS) / (double) SECOND_NANOS;
+
+        List<EndpointLatencyDto> result = new ArrayList<>();
+        for (EndpointMetrics endpoint : allEndpoints()) {
+            for (int statusClass = 0; statusClass < STATUS_CLASSES.length; statusClass++) {
+                Series series = endpoint.series.get(statusClass);
+                if (series == null) {
+                    continue;
+                }
+                LatencyHistogram.Snapshot snapshot = series.histogram().snapshot(windowMinutes, currentMinute);
+                long count = snapshot.count();
+                if (count == 0) {
+                    continue;
+                }
+                result.add(new EndpointLatencyDto(endpoint.method + " " + endpoint.route,
+                        STATUS_CLASSES[statusClass], window, count, count / seconds,
+                        toMillis(snapshot.percentileMicros(0.50)),
+                        toMillis(snapshot.percentileMicros(0.90)),
+                        toMillis(snapshot.percentileMicros(0.95)),
+                        toMillis(snapshot.percentileMicros(0.99)),
+                        toMillis(snapshot.maxMicros()),
+                        snapshot.meanMicros() / 1_000.0));
+            }
+        }
+        result.sort(Comparator.comparingDouble(EndpointLatencyDto::getP99Ms).reversed());
+        return result;
+    }
+
+    /**
+     * CPU-Zeit, Wartezeit und Allokation pro Endpunkt seit dem Start bzw. letzten
+     * Reset, absteigend nach allozierten Bytes insgesamt. Die Wartezeit ist die
+     * durchschnittliche Antwortzeit abzueglich der durchschnittlichen CPU-Zeit.
+     */
+    public List<EndpointCostDto> getCost() {
+        List<EndpointCostDto> result = new ArrayList<>();
+        for (EndpointMetrics endpoint : allEndpoints()) {
+            long measured = endpoint.cpu.count();
+            long allocations = endpoint.allocated.count();
+            if (measured == 0 && allocations == 0) {
+                continue;
+            }
+            double avgDurationMs = avgDurationMs(endpoint);
+            double totalCpuMs = endpoint.cpu.totalTime(TimeUnit.MILLISECONDS);
+            double avgCpuMs = measured > 0 ? totalCpuMs / measured : 0.0;
+            long totalAllocated = (long) endpoint.allocated.totalAmount();
+            result.add(new EndpointCostDto(endpoint.method + " " + endpoint.route, Math.max(measured, allocations),
+                    avgDurationMs, avgCpuMs, Math.max(0.0, avgDurationMs - avgCpuMs),
+                    allocations > 0 ? totalAllocated / allocations : 0, totalCpuMs, totalAllocated));
+        }
+        result.sort(Comparator.comparingLong(EndpointCostDto::getTotalAllocatedBytes).reversed());
+        return result;
+    }
+
+    /**
+     * Durchschnittliche Eigenzeit pro Schicht und Endpunkt seit dem Start bzw. letzten
+     * Reset, absteigend nach durchschnittlicher Antwortzeit. Was die Schichten nicht
+     * erklaeren (Filter, Interceptoren, Framework), steht als Rest daneben.
+     */
+    public List<EndpointLayersDto> getLayers() {
+        List<EndpointLayersDto> result = new ArrayList<>();
+        for (EndpointMetrics endpoint : allEndpoints()) {
+            Timer first = endpoint.layers.get(0);
+            if (first == null || first.count() == 0) {
+                continue;
+            }
+            long requests = first.count();
+            Map<String, Double> avgLayerMs = new LinkedHashMap<>();
+            double layersMs = 0;
+            for (LayerTimings.Layer layer : LayerTimings.Layer.ALL) {
+                Timer timer = endpoint.layers.get(layer.ordinal());
+                double avgMs = timer != null ? timer.totalTime(TimeUnit.MILLISECONDS) / requests : 0.0;
+                avgLayerMs.put(layer.metricName(), avgMs);
+                layersMs += avgMs;
+            }
+            double avgDurationMs = avgDurationMs(endpoint);
+            result.add(new EndpointLayersDto(endpoint.method + " " + endpoint.route, requests, avgDurationMs,
+                    avgLayerMs, Math.max(0.0, avgDurationMs - layersMs)));
+        }
+        result.sort(Comparator.comparingDouble(EndpointLayersDto::getAvgDurationMs).reversed());
+        return result;
+    }
+
+    /**
+     * Setzt alle Metriken auf Null zurueck, indem die Meter aus der Registry
+     * entfernt werden; Prometheus sieht danach neue Zeitreihen ab Null.
+     * Primaer fuer Tests gedacht.
      */
     public void reset() {
-        totalRequests.set(0);
-        totalErrors.set(0);
-        totalDurationMs.set(0);
-        requestsByEndpoint.clear();
-        requestsByStatus.clear();
+        for (EndpointMetrics endpoint : allEndpoints()) {
+            for (int statusClass = 0; statusClass < STATUS_CLASSES.length; statusClass++) {
+                Series series = endpoint.series.get(statusClass);
+                if (series != null) {
+                    registry.remove(series.timer());
+                }
+            }
+            registry.remove(endpoint.cpu);
+            registry.remove(endpoint.allocated);
+            for (int layer = 0; layer < endpoint.layers.length(); layer++) {
+                Timer timer = endpoint.layers.get(layer);
+                if (timer != null) {
+                    registry.remove(timer);
+                }
+            }
+        }
+        endpoints.clear();
+        endpointCount.set(0);
+        for (int status = 0; status < requestsByStatus.length(); status++) {
+            Counter counter = requestsByStatus.getAndSet(status, null);
+            if (counter != null) {
+                registry.remove(counter);
+            }
+        }
+        unusualStatus.values().forEach(registry::remove);
+        unusualStatus.clear();
+        resetNanos = nanoClock.getAsLong();
     }
 
     /**
@@ -114,4 +416,134 @@ public class ApiMetricsCollector {
         sb.append(seconds).append("s");
         return sb.toString();
     }
+
+    private Counter statusCounter(int status) {
+        Counter counter = requestsByStatus.get(status);
+        if (counter == null) {
+            // Die Registry liefert fuer dieselben Tags denselben Zaehler; ein verlorenes CAS schadet nicht
+            requestsByStatus.compareAndSet(status, null, registerStatusCounter(status));
+            counter = requestsByStatus.get(status);
+        }
+        return counter;
+    }
+
+    private Counter registerStatusCounter(int status) {
+        return Counter.builder(RESPONSES_METER)
+                .description("API-Responses pro HTTP-Statuscode")
+                .tag("status", String.valueOf(status))
+                .register(registry);
+    }
+
+    private List<EndpointMetrics> allEndpoints() {
+        List<EndpointMetrics> all = new ArrayList<>();
+        endpoints.values().forEach(routes -> all.addAll(routes.values()));
+        return all;
+    }
+
+    private EndpointMetrics endpoint(String method, String route) {
+        // Beliebige Methoden-Tokens sind erlaubt; jede unbekannte wuerde sonst eine eigene Map anlegen
+        String knownMethod = method != null && KNOWN_METHODS.contains(method) ? method : OTHER_METHOD;
+        ConcurrentHashMap<String, EndpointMetrics> routes = endpoints.get(knownMethod);
+        if (routes == null) {
+            routes = endpoints.computeIfAbsent(knownMethod, m -> new ConcurrentHashMap<>());
+        }
+        EndpointMetrics metrics = routes.get(route);
+        if (metrics != null) {
+            return metrics;
+        }
+        // Der Platz wird vor dem Anlegen reserviert: auch parallel entstehen nie mehr als MAX_ENDPOINTS
+        metrics = routes.computeIfAbsent(route, r -> {
+            if (endpointCount.incrementAndGet() > MAX_ENDPOINTS) {
+                endpointCount.decrementAndGet();
+                return null;
+            }
+            return new EndpointMetrics(knownMethod, r);
+        });
+        return metrics != null
+                ? metrics
+                : routes.computeIfAbsent(OTHER_ROUTE, r -> new EndpointMetrics(knownMethod, r));
+    }
+
+    /** Durchschnittliche Antwortzeit eines Endpunkts ueber alle Statusklassen. */
+    private static double avgDurationMs(EndpointMetrics endpoint) {
+        long requests = 0;
+        double durationMs = 0;
+        for (int statusClass = 0; statusClass < STATUS_CLASSES.length; statusClass++) {
+            Series series = endpoint.series.get(statusClass);
+            if (series != null) {
+                requests += series.timer().count();
+                durationMs += series.timer().totalTime(TimeUnit.MILLISECONDS);
+            }
+        }
+        return requests > 0 ? durationMs / requests : 0.0;
+    }
+
+    private long minute(long nanos) {
+        return Math.floorDiv(nanos - originNanos, MINUTE_NANOS);
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    /** Timer und Latenz-Histogramm einer Statusklasse eines Endpunkts. */
+    private record Series(Timer timer, LatencyHistogram histogram) {
+    }
+
+    /**
+     * Reihen eines Endpunkts; eine Statusklasse wird erst beim ersten Request registriert,
+     * CPU-Zeit und Allokation gleich mit dem Endpunkt, die Schichten beim ersten
+     * Request mit Schicht-Messung.
+     */
+    private final class EndpointMetrics {
+
+        private final String method;
+        private final String route;
+        private final AtomicReferenceArray<Series> series = new AtomicReferenceArray<>(STATUS_CLASSES.length);
+        private final Timer cpu;
+        private final DistributionSummary allocated;
+        private final AtomicReferenceArray<Timer> layers = new AtomicReferenceArray<>(LayerTimings.Layer.ALL.length);
+
+        private EndpointMetrics(String method, String route) {
+            this.method = method;
+            this.route = route;
+            this.cpu = Timer.builder(CPU_METER)
+                    .description("CPU-Zeit der API-Requests ueber alle beteiligten Threads")
+                    .tags("method", method, "route", route)
+                    .register(registry);
+            this.allocated = DistributionSummary.builder(ALLOCATED_METER)
+                    .description("Von den API-Requests allozierter Heap-Speicher")
+                    .baseUnit("bytes")
+                    .tags("method", method, "route", route)
+                    .register(registry);
+        }
+
+        private Series series(int statusClass) {
+            Series current = series.get(statusClass);
+            if (current == null) {
+                Timer timer = Timer.builder(REQUESTS_METER)
+                        .description("Verarbeitungsdauer der API-Requests pro Route und Statusklasse")
+                        .tags("method", method, "route", route, "status", STATUS_CLASSES[statusClass])
+                        .serviceLevelObjectives(REQUEST_SLOS)
+                        .register(registry);
+                series.compareAndSet(statusClass, null, new Series(timer, new LatencyHistogram()));
+                current = series.get(statusClass);
+            }
+            return current;
+        }
+
+        private Timer layer(LayerTimings.Layer layer) {
+            Timer current = layers.get(layer.ordinal());
+            if (current == null) {
+                // Die Registry liefert fuer dieselben Tags denselben Timer; ein verlorenes CAS schadet nicht
+                layers.compareAndSet(layer.ordinal(), null, Timer.builder(LAYERS_METER)
+                        .description("Eigenzeit einer Schicht pro API-Request")
+                        .tags("method", method, "route", route, "layer", layer.metricName())
+                        .serviceLevelObjectives(LAYER_SLOS)
+                        .register(registry));
+                current = layers.get(layer.ordinal());
+            }
+            return current;
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package com.research.portal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Einstellungen fuer asynchrone Export-Jobs und PDF-Sammelexporte ({@code app.export.*}).
+ *
+ * <p>Jedes Format hat einen eigenen, begrenzten Worker-Pool: ein grosser
+ * Excel-Export blockiert damit keine PDF-Exporte und umgekehrt.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.export")
+public class ExportJobProperties {
+
+    /** Spool-Verzeichnis fuer fertige Export-Dateien. */
+    private String spoolDir = System.getProperty("java.io.tmpdir") + "/research-portal-exports";
+
+    /** Maximale Anzahl gleichzeitiger CSV-Exporte. */
+    private int maxConcurrentCsv = 2;
+
+    /** Maximale Anzahl gleichzeitiger Excel-Exporte (speicher- und CPU-intensiv). */
+    private int maxConcurrentExcel = 1;
+
+    /** Maximale Anzahl gleichzeitiger PDF-Exporte. */
+    private int maxConcurrentPdf = 2;
+
+    /** Maximale Anzahl wartender Jobs pro Format; weitere werden mit 503 abgelehnt. */
+    private int queueCapacity = 20;
+
+    /** Aufbewahrungsdauer fertiger Jobs und Spool-Dateien in Minuten. */
+    private int retentionMinutes = 60;
+
+    /** Render-Threads fuer PDF-Sammelexporte; 0 = Anzahl CPU-Kerne. */
+    private int pdfBundleParallelism = 0;
+
+    /** Maximal gerenderte, noch nicht geschriebene PDFs pro Sammelexport; 0 = doppelte Parallelitaet. */
+    private int pdfBundleMaxInFlight = 0;
+
+    /** Maximale Anzahl Reports pro Sammelexport. */
+    private int pdfBundleMaxReports = 500;
+
+    /** Speicherbudget des Caches fuer gerenderte Einzel-PDFs in MB. */
+    private int pdfCacheMemoryMb = 32;
+
+    /** Plattenbudget fuer aus dem Speicher verdraengte PDFs in MB; 0 = keine Auslagerung. */
+    private int pdfCacheDiskMb = 256;
+
+    public String getSpoolDir() { return spoolDir; }
+    public void setSpoolDir(String spoolDir) { this.spoolDir = spoolDir; }
+
+    public int getMaxConcurrentCsv() { return maxConcurrentCsv; }
+    public void setMaxConcurrentCsv(int maxConcurrentCsv) { this.maxConcurrentCsv = maxConcurrentCsv; }
+
+    public int getMaxConcurrentExcel() { return maxConcurrentExcel; }
+    public void setMaxConcurrentExcel(int maxConcurrentExcel) { this.maxConcurrentExcel = maxConcurrentExcel; }
+
+    public int getMaxConcurrentPdf() { return maxConcurrentPdf; }
+    public void setMaxConcurrentPdf(int maxConcurrentPdf) { this.maxConcurrentPdf = maxConcurrentPdf; }
+
+    public int getQueueCapacity() { return queueCapacity; }
+    public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+    public int getRetentionMinutes() { return retentionMinutes; }
+    public void setRetentionMinutes(int retentionMinutes) { this.retentionMinutes = retentionMinutes; }
+
+    public int getPdfBundleParallelism() { return pdfBundleParallelism; }
+    public void setPdfBundleParallelism(int pdfBundleParallelism) { this.pdfBundleParallelism = pdfBundleParallelism; }
+
+    public int getPdfBundleMaxInFlight() { return pdfBundleMaxInFlight; }
+    public void setPdfBundleMaxInFlight(int pdfBundleMaxInFlight) { this.pdfBundleMaxInFlight = pdfBundleMaxInFlight; }
+
+    public int getPdfBundleMaxReports() { return pdfBundleMaxReports; }
+    public void setPdfBundleMaxReports(int pdfBundleMaxReports) { this.pdfBundleMaxReports = pdfBundleMaxReports; }
+
+    public int getPdfCacheMemoryMb() { return pdfCacheMemoryMb; }
+    public void setPdfCacheMemoryMb(int pdfCacheMemoryMb) { this.pdfCacheMemoryMb = pdfCacheMemoryMb; }
+
+    public int getPdfCacheDiskMb() { return pdfCacheDiskMb; }
+    public void setPdfCacheDiskMb(int pdfCacheDiskMb) { this.pdfCacheDiskMb = pdfCacheDiskMb; }
+}
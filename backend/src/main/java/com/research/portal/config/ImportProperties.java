@@ -0,0 +1,36 @@
+package com.research.portal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Einstellungen fuer Massenimporte von Research Reports ({@code app.import.*}).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+
+    /** Reports pro Transaktion beim Massenimport. */
+    private int batchSize = 500;
+
+    /** Ab dieser Dateigroesse (MB) nutzt der XML-Import die parallele Pipeline. */
+    private int parallelThresholdMb = 5;
+
+    /** Mapping-Worker der parallelen Pipeline; 0 = CPU-Kerne minus 2 (mindestens 1). */
+    private int pipelineWorkers = 0;
+
+    /** Kapazitaet der Queues zwischen den Pipeline-Stufen (Reports). */
+    private int pipelineQueueCapacity = 1000;
+
+    public int getBatchSize() { return batchSize; }
+    public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+    public int getParallelThresholdMb() { return parallelThresholdMb; }
+    public void setParallelThresholdMb(int parallelThresholdMb) { this.parallelThresholdMb = parallelThresholdMb; }
+
+    public int getPipelineWorkers() { return pipelineWorkers; }
+    public void setPipelineWorkers(int pipelineWorkers) { this.pipelineWorkers = pipelineWorkers; }
+
+    public int getPipelineQueueCapacity() { return pipelineQueueCapacity; }
+    public void setPipelineQueueCapacity(int pipelineQueueCapacity) { this.pipelineQueueCapacity = pipelineQueueCapacity; }
+}
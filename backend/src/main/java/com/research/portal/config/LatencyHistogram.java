@@ -0,0 +1,174 @@
+package com.research.portal.config;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latenz-Histogramm mit festem Speicher und rollierenden Minuten-Zeitfenstern.
+ *
+ * <p>Die Buckets sind log-linear wie bei HdrHistogram: Werte unter
+ * {@value #SUB_BUCKETS} Mikrosekunden exakt, darueber pro Zweierpotenz
+ * {@value #HALF_SUB_BUCKETS} gleich breite Buckets. Ein Bucket ist damit
+ * hoechstens 1/32 (3.1 %) seines Werts breit; Perzentile werden als obere
+ * Bucketgrenze gemeldet, also nie zu optimistisch. Werte ueber
+ * {@value #MAX_TRACKABLE_MICROS} µs (rund 2 Minuten) landen im letzten Bucket,
+ * das Maximum wird exakt gefuehrt.
+ *
+ * <p>Pro Minute gibt es einen Slot; {@value #SLOTS} Slots decken das
+ * 15-Minuten-Fenster plus die laufende Minute ab. Aufzeichnen ist lock-frei
+ * und alloziert nicht: Bucket-Index berechnen, zwei atomare Inkremente, ein
+ * Maximum per CAS. Nur der erste Request einer neuen Minute leert den
+ * wiederverwendeten Slot unter dessen Lock; parallele Requests derselben
+ * Reihe warten dafuer einige Mikrosekunden.
+ */
+final class LatencyHistogram {
+
+    /** Exakt gezaehlte Werte (2^6); darueber die Haelfte davon pro Zweierpotenz. */
+    static final int SUB_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 6;
+    static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+
+    /** Groesster unterschiedener Wert in Mikrosekunden (2^27 - 1, rund 134 Sekunden). */
+    static final long MAX_TRACKABLE_MICROS = (1L << 27) - 1;
+
+    /** Anzahl Buckets bis {@link #MAX_TRACKABLE_MICROS}. */
+    static final int BUCKETS = bucketIndex(MAX_TRACKABLE_MICROS) + 1;
+
+    /** Minuten-Slots: laengstes Fenster (15 Minuten) plus die laufende Minute. */
+    static final int SLOTS = 16;
+
+    private final Slot[] slots = new Slot[SLOTS];
+
+    LatencyHistogram() {
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Zeichnet eine Dauer auf.
+     *
+     * @param micros Dauer in Mikrosekunden
+     * @param minute laufende Minute (monoton, z.B. nanoTime / 60 s)
+     */
+    void record(long micros, long minute) {
+        Slot slot = slots[Math.floorMod(minute, SLOTS)];
+        if (slot.minute != minute) {
+            slot.rotate(minute);
+        }
+        long value = Math.max(0, micros);
+        slot.counts.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKABLE_MICROS)));
+        slot.sumMicros.addAndGet(value);
+        slot.maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Fasst die Slots der letzten {@code windowMinutes} Minuten (inklusive der laufenden) zusammen.
+     */
+    Snapshot snapshot(int windowMinutes, long minute) {
+        long[] merged = new long[BUCKETS];
+        long sum = 0;
+        long max = 0;
+        for (Slot slot : slots) {
+            long age = minute - slot.minute;
+            if (age < 0 || age >= windowMinutes) {
+                continue;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                merged[i] += slot.counts.get(i);
+            }
+            sum += slot.sumMicros.get();
+            max = Math.max(max, slot.maxMicros.get());
+        }
+        return new Snapshot(merged, sum, max);
+    }
+
+    /**
+     * Bucket eines Werts: unter {@link #SUB_BUCKETS} der Wert selbst, darueber die
+     * obersten sechs Bits plus die Zweierpotenz.
+     */
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(micros) - (SUB_BUCKET_BITS - 1);
+        return shift * HALF_SUB_BUCKETS + (int) (micros >>> shift);
+    }
+
+    /** Groesster Wert, der in den Bucket faellt. */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        long subBucket = index - (long) shift * HALF_SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /** Zaehler einer Minute; wird nach {@value #SLOTS} Minuten wiederverwendet. */
+    private static final class Slot {
+
+        /** Minute, zu der die Zaehler gehoeren; -1 = nie benutzt */
+        private volatile long minute = -1;
+
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(BUCKETS);
+        private final AtomicLong sumMicros = new AtomicLong();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        /** Leert den Slot fuer eine neue Minute; die Minute wird erst danach sichtbar. */
+        private synchronized void rotate(long newMinute) {
+            if (minute == newMinute) {
+                return;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            sumMicros.set(0);
+            maxMicros.set(0);
+            minute = newMinute;
+        }
+    }
+
+    /**
+     * Zusammengefasste Zaehler eines Zeitfensters.
+     *
+     * @param counts    Anzahl Werte pro Bucket
+     * @param sumMicros Summe aller Werte
+     * @param maxMicros groesster Wert (exakt)
+     */
+    record Snapshot(long[] counts, long sumMicros, long maxMicros) {
+
+        long count() {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            return total;
+        }
+
+        /**
+         * Wert, unter dem der Anteil {@code quantile} (0..1) aller Werte liegt;
+         * obere Bucketgrenze, hoechstens das exakte Maximum.
+         */
+        long percentileMicros(double quantile) {
+            long total = count();
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(quantile * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+
+        double meanMicros() {
+            long total = count();
+            return total > 0 ? (double) sumMicros / total : 0.0;
+        }
+    }
+}
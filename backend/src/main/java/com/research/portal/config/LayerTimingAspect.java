@@ -0,0 +1,61 @@
+package com.research.portal.config;
+
+import com.research.portal.config.LayerTimings.Layer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * AOP-Aspekt, der die Schichten der hexagonalen Architektur als
+ * {@link LayerTimings}-Spans misst:
+ * <ul>
+ *   <li>controller: REST-Controller in {@code adapter.in.web.controller}</li>
+ *   <li>usecase: Implementierungen der Ports in {@code domain.port.in}</li>
+ *   <li>repository: Implementierungen der Ports in {@code domain.port.out}</li>
+ *   <li>mapper: API- und Persistenz-Mapper</li>
+ * </ul>
+ * Die Serialisierung misst der {@link TimedJacksonHttpMessageConverter}.
+ *
+ * <p>Erfasst werden nur Aufrufe ueber den Spring-Proxy; ein Service, der seine
+ * eigenen Methoden aufruft, oder Services ohne Port zaehlen zur aufrufenden
+ * Schicht. Pro Aufruf kostet die Messung samt Proxy rund 200 ns; die gut 200
+ * allozierten Bytes stammen aus den Aufruf-Objekten von Spring AOP, der Span
+ * selbst alloziert nichts (siehe LayerTimingBenchmarkTest).
+ *
+ * <p>Nur aktiv mit {@code app.metrics.layer-timing=true}; wird in
+ * {@link WebMvcInterceptorConfig} registriert (nicht als @Component, damit
+ * ohne die Property keine Proxys entstehen).
+ */
+@Aspect
+public class LayerTimingAspect {
+
+    @Around("execution(public * com.research.portal.adapter.in.web.controller..*.*(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(Layer.CONTROLLER, joinPoint);
+    }
+
+    @Around("execution(public * com.research.portal.domain.port.in..*.*(..))")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(Layer.USE_CASE, joinPoint);
+    }
+
+    @Around("execution(public * com.research.portal.domain.port.out..*.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(Layer.REPOSITORY, joinPoint);
+    }
+
+    @Around("execution(public * com.research.portal.adapter.in.web.mapper..*.*(..))"
+            + " || execution(public * com.research.portal.adapter.out.persistence.mapper..*.*(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceed(Layer.MAPPER, joinPoint);
+    }
+
+    private static Object proceed(Layer layer, ProceedingJoinPoint joinPoint) throws Throwable {
+        LayerTimings.Span span = LayerTimings.open(layer);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            span.close();
+        }
+    }
+}
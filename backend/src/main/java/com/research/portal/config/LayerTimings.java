@@ -0,0 +1,151 @@
+package com.research.portal.config;
+
+import java.util.Arrays;
+
+/**
+ * Zeit pro Schicht (Controller, Use Case, Repository, Mapper, Serialisierung)
+ * auf dem aktuellen Thread.
+ *
+ * <p>Spans werden mit {@link #open(Layer)} geoeffnet und per try-with-resources
+ * geschlossen; der {@link LayerTimingAspect} tut das fuer die Ports und Mapper,
+ * der {@link TimedJacksonHttpMessageConverter} fuer die Serialisierung:
+ * <pre>
+ *   try (LayerTimings.Span span = LayerTimings.open(Layer.MAPPER)) {
+ *       return toDto(entity);
+ *   }
+ * </pre>
+ * Gezaehlt wird die Eigenzeit: ein Use Case, der 12 ms lang das Repository
+ * aufruft, bekommt diese 12 ms nicht noch einmal gutgeschrieben. Die Schichten
+ * eines Requests summieren sich so zu hoechstens seiner Antwortzeit.
+ *
+ * <p>Gemessen wird nur zwischen {@link #start()} und {@link #stop(long[])}, also
+ * in den Abschnitten, die {@link RequestCost} fuer einen Request misst;
+ * ausserhalb (Scheduler, Import-Threads) ist ein Span ein No-op. Ein Span kostet
+ * zwei {@link System#nanoTime()}-Aufrufe und einen ThreadLocal-Zugriff und
+ * alloziert nichts: Stack und Summen liegen in Arrays pro Thread, der Span
+ * ist ein Objekt pro Thread.
+ */
+public final class LayerTimings {
+
+    /** Instrumentierte Schichten; der Name erscheint in Metriken und im Server-Timing-Header. */
+    public enum Layer {
+        CONTROLLER("controller"),
+        USE_CASE("usecase"),
+        REPOSITORY("repository"),
+        MAPPER("mapper"),
+        SERIALIZATION("serialization");
+
+        static final Layer[] ALL = values();
+
+        private final String metricName;
+
+        Layer(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String metricName() {
+            return metricName;
+        }
+    }
+
+    /** Offener Span; muss genau einmal geschlossen werden. */
+    public interface Span extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /** Verschachtelungstiefe, ab der weitere Spans nicht mehr gemessen werden. */
+    static final int MAX_DEPTH = 64;
+
+    private static final Span NOOP = () -> { };
+
+    private static final ThreadLocal<LayerTimings> CURRENT = ThreadLocal.withInitial(LayerTimings::new);
+
+    /** Eigenzeit pro Schicht seit {@link #start()}, Index = Ordinal */
+    private final long[] selfNanos = new long[Layer.ALL.length];
+    private final int[] layers = new int[MAX_DEPTH];
+    private final long[] starts = new long[MAX_DEPTH];
+
+    /** Zeit der geschlossenen Kind-Spans pro Ebene; wird von der Eigenzeit abgezogen */
+    private final long[] children = new long[MAX_DEPTH];
+    private int depth;
+    private int spans;
+    private boolean active;
+
+    /** Schliesst den innersten offenen Span; einmal pro Thread erzeugt */
+    private final Span span = this::close;
+
+    private LayerTimings() {
+    }
+
+    /**
+     * Oeffnet einen Span fuer die Schicht auf dem aktuellen Thread.
+     * Ausserhalb eines gemessenen Abschnitts oder zu tief verschachtelt ein No-op.
+     */
+    public static Span open(Layer layer) {
+        LayerTimings timings = CURRENT.get();
+        if (!timings.active || timings.depth == MAX_DEPTH) {
+            return NOOP;
+        }
+        int level = timings.depth++;
+        timings.layers[level] = layer.ordinal();
+        timings.children[level] = 0;
+        timings.starts[level] = System.nanoTime();
+        return timings.span;
+    }
+
+    private void close() {
+        long now = System.nanoTime();
+        if (depth == 0) {
+            // Messung wurde neu gestartet, waehrend der Span offen war
+            return;
+        }
+        int level = --depth;
+        long elapsed = now - starts[level];
+        selfNanos[layers[level]] += elapsed - children[level];
+        if (level > 0) {
+            children[level - 1] += elapsed;
+        }
+        spans++;
+    }
+
+    static LayerTimings current() {
+        return CURRENT.get();
+    }
+
+    /** Beginnt die Messung auf diesem Thread mit leeren Summen. */
+    void start() {
+        Arrays.fill(selfNanos, 0);
+        depth = 0;
+        spans = 0;
+        active = true;
+    }
+
+    /**
+     * Beendet die Messung und addiert die Eigenzeiten auf {@code target}.
+     *
+     * @return true, wenn mindestens ein Span geschlossen wurde
+     */
+    boolean stop(long[] target) {
+        boolean timed = addTo(target);
+        active = false;
+        depth = 0;
+        return timed;
+    }
+
+    /**
+     * Addiert die bisherigen Eigenzeiten auf {@code target}, ohne die Messung zu beenden;
+     * offene Spans zaehlen noch nicht.
+     *
+     * @return true, wenn mindestens ein Span geschlossen wurde
+     */
+    boolean addTo(long[] target) {
+        if (!active || spans == 0) {
+            return false;
+        }
+        for (int i = 0; i < selfNanos.length; i++) {
+            target[i] += selfNanos[i];
+        }
+        return true;
+    }
+}
@@ -1,17 +1,21 @@
 package com.research.portal.config;
 
+import com.research.portal.application.service.RateLimitPolicies;
 import com.research.portal.application.service.RateLimitService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Konfiguration fuer API Rate Limiting.
  *
- * <p>Definiert den {@link RateLimitService} und {@link RateLimitInterceptor}
- * als Beans und registriert den Interceptor fuer alle API-Pfade.
- * Actuator-Endpunkte werden ausgeschlossen.
+ * <p>Definiert den {@link RateLimitService} mit den Richtlinien aus
+ * {@link RateLimitProperties}, den {@link RateLimitPolicyReloader} und den
+ * {@link RateLimitInterceptor} als Beans und registriert den Interceptor fuer
+ * alle API-Pfade. Actuator-Endpunkte werden ausgeschlossen.
  *
  * <p>Separater WebMvcConfigurer (nicht in {@link WebMvcInterceptorConfig}),
  * damit die bestehende Konfiguration unveraendert bleibt.
@@ -26,11 +30,31 @@ public class RateLimitConfig {
     /**
      * Erstellt den RateLimitService als Bean.
      *
+     * @param properties    die Rate-Limit-Richtlinien aus application.yml
+     * @param meterRegistry Registry fuer die Rate-Limit-Metriken
      * @return neue Instanz des RateLimitService
+     * @throws IllegalArgumentException wenn die Richtlinien ungueltig sind (Start bricht ab)
      */
     @Bean
-    public RateLimitService rateLimitService() {
-        return new RateLimitService();
+    public RateLimitService rateLimitService(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimitService(RateLimitPolicies.from(properties), properties.getMaxClients(), meterRegistry);
+    }
+
+    /**
+     * Erstellt den Reloader fuer die externe Richtlinien-Datei und liest sie sofort ein.
+     *
+     * @param rateLimitService der Service, in dem neue Richtlinien aktiviert werden
+     * @param properties       die Rate-Limit-Einstellungen (Pfad der Datei)
+     * @param environment      die Anwendungskonfiguration, auf der die Datei aufsetzt
+     * @return neue Instanz des RateLimitPolicyReloader
+     */
+    @Bean
+    public RateLimitPolicyReloader rateLimitPolicyReloader(RateLimitService rateLimitService,
+                                                           RateLimitProperties properties,
+                                                           ConfigurableEnvironment environment) {
+        RateLimitPolicyReloader reloader = new RateLimitPolicyReloader(rateLimitService, properties, environment);
+        reloader.reloadIfChanged();
+        return reloader;
     }
 
     /**
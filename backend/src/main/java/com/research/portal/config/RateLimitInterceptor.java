@@ -1,14 +1,18 @@
 package com.research.portal.config;
 
 import com.research.portal.application.service.RateLimitService;
+import com.research.portal.application.service.RateLimitService.Decision;
 import com.research.portal.application.service.RateLimitService.RateLimitInfo;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
 /**
  * HTTP-Interceptor fuer API Rate Limiting.
@@ -19,14 +23,19 @@ import org.springframework.web.servlet.HandlerInterceptor;
  *
  * <p>Setzt immer die Rate-Limit-Response-Header:
  * <ul>
- *   <li>X-RateLimit-Limit: Maximale Requests pro Zeitfenster</li>
- *   <li>X-RateLimit-Remaining: Verbleibende Requests</li>
+ *   <li>X-RateLimit-Limit: Maximale Einheiten am Stueck (Burst der Richtlinie)</li>
+ *   <li>X-RateLimit-Remaining: Verbleibende Einheiten</li>
  *   <li>X-RateLimit-Reset: Reset-Zeitpunkt (Epoch-Sekunden)</li>
  * </ul>
  *
  * <p>Die Client-IP wird aus dem X-Forwarded-For Header extrahiert,
  * falls vorhanden (Reverse-Proxy-Szenario), ansonsten aus der
- * direkten Verbindung via {@code getRemoteAddr()}.
+ * direkten Verbindung via {@code getRemoteAddr()}. Richtlinien mit
+ * {@code key: USER} zaehlen zusaetzlich zur IP pro Benutzer aus dem X-User-Id
+ * Header, den das vorgelagerte Gateway setzt.
+ *
+ * <p>Die Richtlinie bestimmt der {@link RateLimitService} anhand von Methode
+ * und Controller-Mapping ({@link HandlerMapping#BEST_MATCHING_PATTERN_ATTRIBUTE}).
  *
  * <p>Wird als Bean in {@link RateLimitConfig} registriert
  * (nicht als @Component, um WebMvcTest-Slices nicht zu beeinflussen).
@@ -47,6 +56,9 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     /** Header fuer die Client-IP hinter einem Reverse Proxy. */
     static final String X_FORWARDED_FOR = "X-Forwarded-For";
 
+    /** Header mit der Benutzer-ID fuer benutzerbezogene Kontingente. */
+    static final String X_USER_ID = "X-User-Id";
+
     private final RateLimitService rateLimitService;
 
     /**
@@ -61,8 +73,8 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     /**
      * Wird vor der Controller-Verarbeitung aufgerufen.
      *
-     * <p>Extrahiert die Client-IP, bestimmt die Kategorie, prueft das Rate-Limit
-     * und setzt die entsprechenden Response-Header.
+     * <p>Extrahiert Client-IP und Benutzer, prueft das Rate-Limit der passenden
+     * Richtlinie und setzt die entsprechenden Response-Header.
      * Bei Ueberschreitung wird ein 429-Status mit JSON-Body zurueckgegeben.
      *
      * @return true wenn der Request fortgesetzt werden darf, false bei Limit-Ueberschreitung
@@ -71,23 +83,25 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     public boolean preHandle(HttpServletRequest request,
                              HttpServletResponse response,
                              Object handler) throws Exception {
+        // Gestreamte Antworten (z.B. CSV-Export) laufen ein zweites Mal durch die
+        // Interceptor-Kette; gezaehlt wird nur der urspruengliche Request.
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
         String clientIp = extractClientIp(request);
-        String category = rateLimitService.determineCategory(
-                request.getMethod(), request.getRequestURI());
+        Decision decision = rateLimitService.check(request.getMethod(), request.getRequestURI(),
+                handlerPattern(request, handler), clientIp, request.getHeader(X_USER_ID));
 
-        boolean allowed = rateLimitService.isAllowed(clientIp, category);
-
-        // Rate-Limit-Info fuer Response-Headers holen
-        RateLimitInfo info = rateLimitService.getRateLimitInfo(clientIp, category);
+        RateLimitInfo info = decision.info();
         response.setIntHeader(HEADER_LIMIT, info.limit());
         response.setIntHeader(HEADER_REMAINING, info.remaining());
         response.setHeader(HEADER_RESET, String.valueOf(info.resetAtEpochMs() / 1000));
 
-        if (!allowed) {
-            log.warn("Rate limit ueberschritten: IP={}, Kategorie={}", clientIp, category);
+        if (!decision.allowed()) {
+            log.warn("Rate limit ueberschritten: IP={}, Kategorie={}", clientIp, decision.category());
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            response.getWriter().write(buildErrorJson(clientIp, category, info));
+            response.getWriter().write(buildErrorJson(clientIp, decision.category(), info));
             return false;
         }
 
@@ -110,6 +124,18 @@ public class RateLimitInterceptor implements HandlerInterceptor {
         return request.getRemoteAddr();
     }
 
+    /**
+     * Pfadmuster des Controller-Mappings, z.B. /api/reports/{id}; null fuer andere Handler
+     * (statische Ressourcen), deren Muster keine Aussage ueber den Pfad macht.
+     */
+    private static String handlerPattern(HttpServletRequest request, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return null;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String value ? value : null;
+    }
+
     private String buildErrorJson(String clientIp, String category, RateLimitInfo info) {
         return String.format(
                 "{\"status\":429,"
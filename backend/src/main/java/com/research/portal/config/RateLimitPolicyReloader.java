@@ -0,0 +1,104 @@
+package com.research.portal.config;
+
+import com.research.portal.application.service.RateLimitPolicies;
+import com.research.portal.application.service.RateLimitService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.PropertySourcesPlaceholdersResolver;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Laedt Rate-Limit-Richtlinien aus der externen Datei {@code app.rate-limit.policy-file}
+ * neu, sobald sie sich aendert.
+ *
+ * <p>Die Datei hat das Format von application.yml (Wurzel {@code app.rate-limit}).
+ * Ihre Werte werden vor denen der Anwendungskonfiguration gebunden, zu
+ * {@link RateLimitPolicies} kompiliert und im {@link RateLimitService}
+ * aktiviert. Ist die Datei ungueltig, bleiben die bisherigen Richtlinien aktiv
+ * und der Fehler wird geloggt; die Anwendung muss dafuer nie neu starten.
+ *
+ * <p>Wird als Bean in {@link RateLimitConfig} registriert.
+ */
+public class RateLimitPolicyReloader {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitPolicyReloader.class);
+
+    private static final String PREFIX = "app.rate-limit";
+
+    private final RateLimitService rateLimitService;
+    private final ConfigurableEnvironment environment;
+    private final Path policyFile;
+
+    /** Aenderungszeitpunkt der zuletzt gelesenen Datei; null = noch nie gelesen */
+    private FileTime lastModified;
+
+    public RateLimitPolicyReloader(RateLimitService rateLimitService, RateLimitProperties properties,
+                                   ConfigurableEnvironment environment) {
+        this.rateLimitService = rateLimitService;
+        this.environment = environment;
+        this.policyFile = properties.getPolicyFile() == null || properties.getPolicyFile().isBlank()
+                ? null
+                : Path.of(properties.getPolicyFile());
+    }
+
+    /**
+     * Prueft die Datei und laedt sie, wenn sie seit dem letzten Lesen geaendert wurde.
+     * Laeuft periodisch per @Scheduled; ohne konfigurierte Datei passiert nichts.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.reload-interval-ms:15000}",
+            initialDelayString = "${app.rate-limit.reload-interval-ms:15000}")
+    public synchronized void reloadIfChanged() {
+        if (policyFile == null || !Files.isRegularFile(policyFile)) {
+            return;
+        }
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(policyFile);
+        } catch (IOException e) {
+            log.warn("Rate-Limit-Richtlinien {} nicht lesbar: {}", policyFile, e.getMessage());
+            return;
+        }
+        if (modified.equals(lastModified)) {
+            return;
+        }
+        // Auch bei Fehlern merken, damit eine ungueltige Datei nicht bei jeder Pruefung erneut geloggt wird
+        lastModified = modified;
+        try {
+            rateLimitService.applyPolicies(load(policyFile));
+            log.info("Rate-Limit-Richtlinien aus {} geladen", policyFile);
+        } catch (IOException | RuntimeException e) {
+            log.error("Rate-Limit-Richtlinien aus {} ungueltig, bisherige bleiben aktiv: {}",
+                    policyFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Bindet Datei und Anwendungskonfiguration (Datei zuerst) und kompiliert die Richtlinien.
+     */
+    RateLimitPolicies load(Path file) throws IOException {
+        List<ConfigurationPropertySource> sources = new ArrayList<>();
+        for (PropertySource<?> source : new YamlPropertySourceLoader()
+                .load("rate-limit-policies", new FileSystemResource(file))) {
+            sources.add(ConfigurationPropertySource.from(source));
+        }
+        ConfigurationPropertySources.get(environment).forEach(sources::add);
+        Binder binder = new Binder(sources, new PropertySourcesPlaceholdersResolver(environment));
+        RateLimitProperties properties = binder.bind(PREFIX, RateLimitProperties.class)
+                .orElseGet(RateLimitProperties::new);
+        return RateLimitPolicies.from(properties);
+    }
+}
@@ -0,0 +1,141 @@
+package com.research.portal.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Richtlinien fuer das API Rate Limiting ({@code app.rate-limit.*}).
+ *
+ * <p>Eine Richtlinie (Policy) legt die Dauerrate pro Minute, den Burst und den
+ * Schluessel (IP oder zusaetzlich Benutzer) fest. Routen ordnen Pfade einer Richtlinie zu
+ * und geben an, wie viele Einheiten ein Request kostet; ohne passende Route
+ * gilt READ fuer GET und sonst WRITE. Tiers ueberschreiben die Werte
+ * einzelner Richtlinien fuer bestimmte Benutzer. Ohne konfigurierte
+ * Richtlinien gelten die festen Standard-Limits des RateLimitService.
+ *
+ * <p>Liegt unter {@code policy-file} eine YAML-Datei im selben Format, gehen
+ * deren Werte denen aus application.yml vor: Richtlinien und Tiers einzeln,
+ * die Routen als ganze Liste. Die Datei wird regelmaessig geprueft und bei
+ * Aenderungen ohne Neustart neu geladen.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /** Schluessel einer Richtlinie: Client-IP, oder zusaetzlich zur IP der Benutzer aus dem X-User-Id Header. */
+    public enum KeyType { IP, USER }
+
+    /** Maximale Anzahl gehaltener Clients je Schluesseltyp (IPs bzw. Benutzer). */
+    private int maxClients = 50_000;
+
+    /** Externe YAML-Datei mit Richtlinien; leer = nur application.yml. */
+    private String policyFile = "";
+
+    /** Pruefintervall fuer Aenderungen an der externen Datei in Millisekunden. */
+    private long reloadIntervalMs = 15_000;
+
+    /** Richtlinien nach Name; READ und WRITE muessen vorhanden sein. */
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    /** Routen in Pruefreihenfolge; die erste passende gewinnt. */
+    private List<Route> routes = new ArrayList<>();
+
+    /** Tiers nach Name, z.B. premium. */
+    private Map<String, Tier> tiers = new LinkedHashMap<>();
+
+    public int getMaxClients() { return maxClients; }
+    public void setMaxClients(int maxClients) { this.maxClients = maxClients; }
+
+    public String getPolicyFile() { return policyFile; }
+    public void setPolicyFile(String policyFile) { this.policyFile = policyFile; }
+
+    public long getReloadIntervalMs() { return reloadIntervalMs; }
+    public void setReloadIntervalMs(long reloadIntervalMs) { this.reloadIntervalMs = reloadIntervalMs; }
+
+    public Map<String, Policy> getPolicies() { return policies; }
+    public void setPolicies(Map<String, Policy> policies) { this.policies = policies; }
+
+    public List<Route> getRoutes() { return routes; }
+    public void setRoutes(List<Route> routes) { this.routes = routes; }
+
+    public Map<String, Tier> getTiers() { return tiers; }
+    public void setTiers(Map<String, Tier> tiers) { this.tiers = tiers; }
+
+    /**
+     * Dauerrate und Burst einer Richtlinie.
+     * In einem Tier bedeutet 0 bzw. kein Schluessel: Wert der Basis-Richtlinie uebernehmen.
+     */
+    public static class Policy {
+
+        /** Dauerhaft erlaubte Einheiten pro Minute. */
+        private int requestsPerMinute;
+
+        /** Einheiten, die am Stueck erlaubt sind; 0 = wie requestsPerMinute. */
+        private int burst;
+
+        /** Schluessel des Kontingents; null = IP. */
+        private KeyType key;
+
+        public int getRequestsPerMinute() { return requestsPerMinute; }
+        public void setRequestsPerMinute(int requestsPerMinute) { this.requestsPerMinute = requestsPerMinute; }
+
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+
+        public KeyType getKey() { return key; }
+        public void setKey(KeyType key) { this.key = key; }
+    }
+
+    /**
+     * Zuordnung eines Pfadmusters (Spring PathPattern) zu einer Richtlinie.
+     */
+    public static class Route {
+
+        /** Pfadmuster, z.B. /api/export/reports/{id}/pdf oder /api/search/**. */
+        private String pattern;
+
+        /** HTTP-Methoden; leer = alle. */
+        private List<String> methods = new ArrayList<>();
+
+        /** Name der Richtlinie. */
+        private String policy;
+
+        /** Einheiten, die ein Request verbraucht. */
+        private int cost = 1;
+
+        public String getPattern() { return pattern; }
+        public void setPattern(String pattern) { this.pattern = pattern; }
+
+        public List<String> getMethods() { return methods; }
+        public void setMethods(List<String> methods) { this.methods = methods; }
+
+        public String getPolicy() { return policy; }
+        public void setPolicy(String policy) { this.policy = policy; }
+
+        public int getCost() { return cost; }
+        public void setCost(int cost) { this.cost = cost; }
+    }
+
+    /**
+     * Benutzergruppe mit eigenen Werten fuer einzelne Richtlinien.
+     */
+    public static class Tier {
+
+        /** Benutzer-IDs (X-User-Id) dieses Tiers. */
+        private List<String> users = new ArrayList<>();
+
+        /** Ueberschriebene Richtlinien nach Name; fehlende Werte erben von der Basis. */
+        private Map<String, Policy> policies = new LinkedHashMap<>();
+
+        public List<String> getUsers() { return users; }
+        public void setUsers(List<String> users) { this.users = users; }
+
+        public Map<String, Policy> getPolicies() { return policies; }
+        public void setPolicies(Map<String, Policy> policies) { this.policies = policies; }
+    }
+}
@@ -0,0 +1,128 @@
+package com.research.portal.config;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * CPU-Zeit, allozierte Bytes und Zeit pro Schicht eines Requests.
+ *
+ * <p>Ein Request kann nacheinander auf mehreren Threads laufen: dem
+ * Tomcat-Worker, bei gestreamten Antworten (z.B. Excel-Export) einem
+ * Async-Thread und der Async-Dispatch. Jeder Abschnitt wird mit
+ * {@link #begin()} und {@link #end()} auf seinem Thread gemessen und
+ * aufsummiert. Gemessen wird ueber {@link ThreadMXBean}: CPU-Zeit des
+ * Threads und seine seit Start allozierten Bytes (HotSpot-Erweiterung
+ * {@code com.sun.management.ThreadMXBean}), beides nur fuer den eigenen Thread
+ * und ohne Safepoint.
+ *
+ * <p>Die Differenz zwischen Wanduhr und CPU-Zeit ist Wartezeit: Datenbank,
+ * I/O, Locks oder GC-Pausen. Viel allozierte Bytes bei wenig CPU deuten auf
+ * Objekte hin, die der GC spaeter teuer einsammelt.
+ *
+ * <p>Mit jedem Abschnitt startet und endet auch die Messung der
+ * {@link LayerTimings} des Threads; {@link #layerNanos()} summiert die
+ * Eigenzeiten der Schichten ueber alle Abschnitte.
+ *
+ * <p>Ist eine Messung nicht verfuegbar (JVM ohne Unterstuetzung oder
+ * abgeschaltet), liefern {@link #cpuNanos()} und {@link #allocatedBytes()} -1.
+ */
+final class RequestCost {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /** Null, wenn die JVM allozierte Bytes pro Thread nicht messen kann. */
+    private static final com.sun.management.ThreadMXBean ALLOCATIONS =
+            THREADS instanceof com.sun.management.ThreadMXBean hotspot && hotspot.isThreadAllocatedMemorySupported()
+                    ? hotspot
+                    : null;
+
+    private static final boolean CPU_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private long cpuNanos;
+    private long allocatedBytes;
+    private boolean cpuMeasured = true;
+    private boolean allocationMeasured = true;
+
+    /** Eigenzeit pro Schicht, Index = Ordinal von {@link LayerTimings.Layer} */
+    private final long[] layerNanos = new long[LayerTimings.Layer.ALL.length];
+    private boolean layersTimed;
+
+    /** Thread des laufenden Abschnitts; null zwischen zwei Abschnitten */
+    private Thread thread;
+    private long segmentCpu;
+    private long segmentAllocated;
+
+    /** Beginnt einen Abschnitt auf dem aktuellen Thread; ein offener Abschnitt wird zuvor beendet. */
+    synchronized void begin() {
+        closeSegment();
+        thread = Thread.currentThread();
+        segmentCpu = currentCpu();
+        segmentAllocated = currentAllocated();
+        LayerTimings.current().start();
+    }
+
+    /** Beendet den Abschnitt, falls er auf dem aktuellen Thread laeuft. */
+    synchronized void end() {
+        if (thread == Thread.currentThread()) {
+            closeSegment();
+        }
+    }
+
+    /** CPU-Zeit aller Abschnitte in Nanosekunden, inklusive eines offenen auf dem aktuellen Thread; -1 = unbekannt. */
+    synchronized long cpuNanos() {
+        if (!cpuMeasured || (thread != null && segmentCpu < 0)) {
+            return -1;
+        }
+        return cpuNanos + (thread == Thread.currentThread() ? currentCpu() - segmentCpu : 0);
+    }
+
+    /** Allozierte Bytes aller Abschnitte, inklusive eines offenen auf dem aktuellen Thread; -1 = unbekannt. */
+    synchronized long allocatedBytes() {
+        if (!allocationMeasured || (thread != null && segmentAllocated < 0)) {
+            return -1;
+        }
+        return allocatedBytes + (thread == Thread.currentThread() ? currentAllocated() - segmentAllocated : 0);
+    }
+
+    /**
+     * Eigenzeit pro Schicht in Nanosekunden (Index = Ordinal von {@link LayerTimings.Layer}),
+     * inklusive der geschlossenen Spans eines offenen Abschnitts auf dem aktuellen Thread;
+     * null, wenn kein Span gemessen wurde (z.B. ohne {@code app.metrics.layer-timing}).
+     */
+    synchronized long[] layerNanos() {
+        long[] result = layerNanos.clone();
+        boolean timed = thread == Thread.currentThread() && LayerTimings.current().addTo(result);
+        return layersTimed || timed ? result : null;
+    }
+
+    private void closeSegment() {
+        if (thread == null) {
+            return;
+        }
+        long cpu = currentCpu();
+        long allocated = currentAllocated();
+        // Ein Abschnitt auf einem anderen Thread kann hier nicht mehr gemessen werden
+        if (thread != Thread.currentThread() || cpu < 0 || segmentCpu < 0) {
+            cpuMeasured = false;
+        } else {
+            cpuNanos += cpu - segmentCpu;
+        }
+        if (thread != Thread.currentThread() || allocated < 0 || segmentAllocated < 0) {
+            allocationMeasured = false;
+        } else {
+            allocatedBytes += allocated - segmentAllocated;
+        }
+        if (thread == Thread.currentThread()) {
+            layersTimed |= LayerTimings.current().stop(layerNanos);
+        }
+        thread = null;
+    }
+
+    private static long currentCpu() {
+        return CPU_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long currentAllocated() {
+        return ALLOCATIONS != null ? ALLOCATIONS.getCurrentThreadAllocatedBytes() : -1;
+    }
+}
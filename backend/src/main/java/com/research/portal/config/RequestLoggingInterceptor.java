@@ -1,17 +1,32 @@
 package com.research.portal.config;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.Callable;
 
 /**
  * HTTP-Request-Logging-Interceptor fuer alle API-Endpunkte.
  *
  * <p>Loggt jede eingehende Anfrage mit Methode und URI beim Start,
  * sowie Statuscode und Verarbeitungsdauer nach Abschluss.
- * Langsame Anfragen (ueber 500ms) werden auf WARN-Level geloggt.
+ * Langsame Anfragen (ueber 500ms) werden auf WARN-Level geloggt, mit CPU-Zeit
+ * und allozierten Bytes.
+ *
+ * <p>CPU-Zeit und Allokation misst eine {@link RequestCost} pro Request. Bei
+ * gestreamten Antworten ({@code StreamingResponseBody}) laeuft die eigentliche
+ * Arbeit auf einem Async-Thread; der Interceptor ist deshalb auch als
+ * {@link CallableProcessingInterceptor} registriert und misst diesen Abschnitt mit.
+ * Ist {@code app.metrics.layer-timing} aktiv, gehen auch die Zeiten pro Schicht
+ * aus der {@link RequestCost} an den Collector.
  *
  * <p>Demonstriert Observability-Kompetenz: strukturiertes Request-Logging
  * und Performance-Monitoring als Grundlage fuer produktionsreifes APM.
@@ -27,16 +42,22 @@ import org.springframework.web.servlet.HandlerInterceptor;
  *
  * Bei langsamen Requests (ueber 500ms):
  * <pre>
- *   WARN: &lt;-- 200 GET /api/reports [1250ms] SLOW REQUEST
+ *   WARN: &lt;-- 200 GET /api/reports [1250ms] SLOW REQUEST (cpu 830ms, 412 MB alloziert)
  * </pre>
  */
-public class RequestLoggingInterceptor implements HandlerInterceptor {
+public class RequestLoggingInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
 
     private static final Logger log = LoggerFactory.getLogger(RequestLoggingInterceptor.class);
 
     /** Request-Attribut-Key fuer die Start-Zeit in Nanosekunden. */
     static final String START_TIME_ATTR = "requestStartTime";
 
+    /** Request-Attribut-Key fuer die {@link RequestCost} des Requests. */
+    static final String COST_ATTR = "requestCost";
+
+    /** Endpunkt fuer Requests ohne Controller-Mapping; die rohe URI wuerde beliebig viele Endpunkte erzeugen. */
+    static final String UNMATCHED_ROUTE = "(unmatched)";
+
     /** Schwellenwert in Millisekunden, ab dem ein Request als langsam gilt. */
     static final long SLOW_REQUEST_THRESHOLD_MS = 500;
 
@@ -54,15 +75,61 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
     public boolean preHandle(HttpServletRequest request,
                              HttpServletResponse response,
                              Object handler) {
+        // Bei asynchronen Antworten (Streaming) zaehlt die Startzeit des urspruenglichen Requests
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            if (request.getAttribute(COST_ATTR) instanceof RequestCost cost) {
+                cost.begin();
+            }
+            return true;
+        }
         request.setAttribute(START_TIME_ATTR, System.nanoTime());
+        RequestCost cost = new RequestCost();
+        cost.begin();
+        request.setAttribute(COST_ATTR, cost);
         log.info("--> {} {}", request.getMethod(), request.getRequestURI());
         return true;
     }
 
+    /**
+     * Der Request wechselt auf einen Async-Thread; der Abschnitt des Tomcat-Workers endet hier.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request,
+                                               HttpServletResponse response,
+                                               Object handler) {
+        if (request.getAttribute(COST_ATTR) instanceof RequestCost cost) {
+            cost.end();
+        }
+    }
+
+    /**
+     * Beginnt den Abschnitt des Async-Threads, bevor dieser die gestreamte Antwort schreibt.
+     */
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        if (request.getAttribute(COST_ATTR, RequestAttributes.SCOPE_REQUEST) instanceof RequestCost cost) {
+            cost.begin();
+        }
+    }
+
+    /**
+     * Beendet den Abschnitt des Async-Threads.
+     */
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        if (request.getAttribute(COST_ATTR, RequestAttributes.SCOPE_REQUEST) instanceof RequestCost cost) {
+            cost.end();
+        }
+    }
+
     /**
      * Wird nach vollstaendiger Verarbeitung (inkl. View-Rendering) aufgerufen.
      * Berechnet die Verarbeitungsdauer, loggt das Ergebnis und uebergibt die Metrik
-     * an den {@link ApiMetricsCollector}.
+     * an den {@link ApiMetricsCollector}. Als Endpunkt zaehlt das Routen-Template des
+     * Mappings (z.B. /api/reports/{id}), damit Pfad-IDs keine eigenen Endpunkte erzeugen;
+     * Requests ohne Mapping zaehlen gemeinsam unter {@value #UNMATCHED_ROUTE}.
+     * CPU-Zeit und Allokation gehen mit, sofern sie gemessen werden konnten, ebenso
+     * die Zeiten pro Schicht.
      */
     @Override
     public void afterCompletion(HttpServletRequest request,
@@ -74,17 +141,35 @@ public class RequestLoggingInterceptor implements HandlerInterceptor {
             return;
         }
 
-        long durationMs = (System.nanoTime() - startTime) / 1_000_000;
+        long durationNanos = System.nanoTime() - startTime;
+        long durationMs = durationNanos / 1_000_000;
         int status = response.getStatus();
         String method = request.getMethod();
         String uri = request.getRequestURI();
 
+        long cpuNanos = -1;
+        long allocatedBytes = -1;
+        long[] layerNanos = null;
+        if (request.getAttribute(COST_ATTR) instanceof RequestCost cost) {
+            cost.end();
+            cpuNanos = cost.cpuNanos();
+            allocatedBytes = cost.allocatedBytes();
+            layerNanos = cost.layerNanos();
+        }
+
         if (durationMs > SLOW_REQUEST_THRESHOLD_MS) {
-            log.warn("<-- {} {} {} [{}ms] SLOW REQUEST", status, method, uri, durationMs);
+            log.warn("<-- {} {} {} [{}ms] SLOW REQUEST (cpu {}ms, {} MB alloziert)", status, method, uri, durationMs,
+                    cpuNanos >= 0 ? cpuNanos / 1_000_000 : "?",
+                    allocatedBytes >= 0 ? allocatedBytes / (1024 * 1024) : "?");
         } else {
             log.info("<-- {} {} {} [{}ms]", status, method, uri, durationMs);
         }
 
-        metricsCollector.recordRequest(method, uri, status, durationMs);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern instanceof String template ? template : UNMATCHED_ROUTE;
+        metricsCollector.recordRequestNanos(method, route, status, durationNanos, cpuNanos, allocatedBytes);
+        if (layerNanos != null) {
+            metricsCollector.recordLayers(method, route, layerNanos);
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.research.portal.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Debug-Filter, der Antwortzeit, CPU-Zeit und allozierte Bytes eines Requests
+ * als {@code Server-Timing}-Header ausliefert, z.B.
+ * <pre>
+ *   Server-Timing: app;dur=84.2, cpu;dur=61.7, alloc;desc="18734512 B"
+ * </pre>
+ * Browser zeigen den Header in den Entwicklerwerkzeugen beim Request an. Mit
+ * {@code app.metrics.layer-timing=true} folgen die Schichten mit Eigenzeit, z.B.
+ * {@code controller;dur=0.8, usecase;dur=0.3, repository;dur=71.5, mapper;dur=2.4};
+ * die Serialisierung laeuft erst, wenn der Header schon steht.
+ *
+ * <p>Die Werte stammen aus der Messung des {@link RequestLoggingInterceptor}.
+ * Header muessen vor dem ersten Byte der Antwort stehen; der Filter setzt ihn
+ * deshalb, sobald der Controller die Antwort zu schreiben beginnt. Gemessen
+ * ist damit die Arbeit bis dahin; bei gestreamten Antworten (Exporte) fehlt
+ * das Streaming selbst, das zaehlt nur in den Metriken pro Endpunkt.
+ *
+ * <p>Nur aktiv mit {@code app.metrics.server-timing=true}: der Header verraet
+ * Interna ueber die Verarbeitung und gehoert nicht dauerhaft in Produktion.
+ * Wird in {@link WebMvcInterceptorConfig} registriert.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTimingResponse timed = new ServerTimingResponse(request, response);
+        chain.doFilter(request, timed);
+        // Antworten ohne Body (z.B. 204) werden erst nach dem Filter festgeschrieben
+        timed.addServerTiming();
+    }
+
+    /**
+     * Formatiert die Messwerte als Server-Timing-Header; null ohne Startzeit.
+     */
+    static String headerValue(HttpServletRequest request) {
+        if (!(request.getAttribute(RequestLoggingInterceptor.START_TIME_ATTR) instanceof Long startTime)) {
+            return null;
+        }
+        StringBuilder value = new StringBuilder("app;dur=").append(millis(System.nanoTime() - startTime));
+        if (request.getAttribute(RequestLoggingInterceptor.COST_ATTR) instanceof RequestCost cost) {
+            long cpuNanos = cost.cpuNanos();
+            if (cpuNanos >= 0) {
+                value.append(", cpu;dur=").append(millis(cpuNanos));
+            }
+            long allocatedBytes = cost.allocatedBytes();
+            if (allocatedBytes >= 0) {
+                value.append(", alloc;desc=\"").append(allocatedBytes).append(" B\"");
+            }
+            long[] layerNanos = cost.layerNanos();
+            if (layerNanos != null) {
+                for (LayerTimings.Layer layer : LayerTimings.Layer.ALL) {
+                    if (layerNanos[layer.ordinal()] > 0) {
+                        value.append(", ").append(layer.metricName())
+                                .append(";dur=").append(millis(layerNanos[layer.ordinal()]));
+                    }
+                }
+            }
+        }
+        return value.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    /** Setzt den Header unmittelbar bevor die Antwort festgeschrieben wird. */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private boolean added;
+
+        private ServerTimingResponse(HttpServletRequest request, HttpServletResponse response) {
+            super(response);
+            this.request = request;
+        }
+
+        void addServerTiming() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            String value = headerValue(request);
+            if (value != null) {
+                setHeader(HEADER, value);
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
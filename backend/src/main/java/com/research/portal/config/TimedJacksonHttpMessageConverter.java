@@ -0,0 +1,38 @@
+package com.research.portal.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.research.portal.config.LayerTimings.Layer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson-Converter, der das Schreiben eines JSON-Bodys als Span der Schicht
+ * {@code serialization} misst. Ersetzt mit {@code app.metrics.layer-timing=true}
+ * den Converter von Spring Boot und uebernimmt dessen ObjectMapper.
+ *
+ * <p>Gemessen wird inklusive des Schreibens in den Response-Puffer; ist der Puffer
+ * voll, gehoert auch das Senden an den Client dazu. Der Server-Timing-Header steht
+ * vor dem ersten Byte fest und enthaelt die Serialisierung deshalb nicht, sie
+ * zaehlt nur in den Metriken pro Endpunkt.
+ */
+class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        LayerTimings.Span span = LayerTimings.open(Layer.SERIALIZATION);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            span.close();
+        }
+    }
+}
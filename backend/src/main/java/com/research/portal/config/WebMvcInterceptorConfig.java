@@ -1,15 +1,29 @@
 package com.research.portal.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Konfiguration fuer HTTP-Interceptoren.
  *
  * <p>Definiert den {@link RequestLoggingInterceptor} und den {@link ApiMetricsCollector}
- * als Beans und registriert den Interceptor fuer alle API-Pfade.
+ * als Beans und registriert den Interceptor fuer alle API-Pfade. Der Collector
+ * schreibt in die MeterRegistry von Spring Boot, damit seine Meter unter
+ * {@code /api/actuator/prometheus} erscheinen. Der Interceptor misst auch den
+ * Async-Thread gestreamter Antworten; mit {@code app.metrics.server-timing=true}
+ * kommt der {@link ServerTimingFilter} dazu, mit {@code app.metrics.layer-timing=true}
+ * der {@link LayerTimingAspect} samt {@link TimedJacksonHttpMessageConverter} fuer
+ * die Zeit pro Schicht.
  * Actuator-Endpunkte werden bewusst ausgeschlossen, um Monitoring-Loops
  * zu vermeiden (Health-Checks wuerden sonst die Metriken verfaelschen).
  *
@@ -21,8 +35,8 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebMvcInterceptorConfig {
 
     @Bean
-    public ApiMetricsCollector apiMetricsCollector() {
-        return new ApiMetricsCollector();
+    public ApiMetricsCollector apiMetricsCollector(MeterRegistry meterRegistry) {
+        return new ApiMetricsCollector(meterRegistry);
     }
 
     @Bean
@@ -39,6 +53,39 @@ public class WebMvcInterceptorConfig {
                         .addPathPatterns("/api/**")
                         .excludePathPatterns("/api/actuator/**");
             }
+
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(interceptor);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.metrics", name = "server-timing", havingValue = "true")
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.metrics", name = "layer-timing", havingValue = "true")
+    public LayerTimingAspect layerTimingAspect() {
+        return new LayerTimingAspect();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.metrics", name = "layer-timing", havingValue = "true")
+    public WebMvcConfigurer layerTimingWebMvcConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.replaceAll(converter -> converter.getClass() == MappingJackson2HttpMessageConverter.class
+                        ? new TimedJacksonHttpMessageConverter(
+                                ((MappingJackson2HttpMessageConverter) converter).getObjectMapper())
+                        : converter);
+            }
         };
     }
 }
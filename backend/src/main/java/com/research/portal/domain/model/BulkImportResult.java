@@ -0,0 +1,37 @@
+package com.research.portal.domain.model;
+
+import java.util.List;
+
+/**
+ * Ergebnis eines Massenimports von Research Reports.
+ *
+ * @param importedCount  Anzahl gespeicherter Reports (neu oder aktualisiert)
+ * @param updatedCount   davon aktualisierte bestehende Reports (nur inkrementeller Import)
+ * @param unchangedCount unveränderte Reports, die übersprungen wurden (nur inkrementeller Import)
+ * @param failures       nicht gespeicherte Reports mit Grund, in Eingabereihenfolge
+ */
+public record BulkImportResult(int importedCount, int updatedCount, int unchangedCount, List<Failure> failures) {
+
+    public BulkImportResult(int importedCount, List<Failure> failures) {
+        this(importedCount, 0, 0, failures);
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    /** Anzahl neu eingefügter Reports */
+    public int insertedCount() {
+        return importedCount - updatedCount;
+    }
+
+    /**
+     * Ein Report, der nicht gespeichert werden konnte.
+     *
+     * @param position Position im Import (1-basiert)
+     * @param title    Titel des Reports, soweit vorhanden
+     * @param reason   Fehlerbeschreibung
+     */
+    public record Failure(int position, String title, String reason) {
+    }
+}
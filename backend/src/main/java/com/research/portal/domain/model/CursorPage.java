@@ -0,0 +1,17 @@
+package com.research.portal.domain.model;
+
+import java.util.List;
+
+/**
+ * Eine Seite einer Liste mit Fortsetzungs-Token fuer die naechste Seite.
+ *
+ * @param items      Eintraege dieser Seite in stabiler Reihenfolge
+ * @param nextCursor Token fuer die naechste Seite oder null, wenn dies die letzte Seite ist
+ * @param <T>        Typ der Eintraege
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,28 @@
+package com.research.portal.domain.model;
+
+/**
+ * Anfrage fuer eine Seite einer Liste mit Keyset-Pagination.
+ *
+ * <p>Statt eines Offsets wird ein undurchsichtiges Fortsetzungs-Token
+ * ({@code cursor}) aus der vorherigen Seite uebergeben. Die Datenbank
+ * setzt damit direkt hinter dem letzten gelieferten Eintrag fort,
+ * unabhaengig davon, wie weit hinten die Seite liegt.
+ *
+ * @param limit  Seitengroesse (1 bis {@link #MAX_LIMIT})
+ * @param sort   Sortierung als "feld" oder "feld,asc|desc" (null = Standard der Liste)
+ * @param cursor Fortsetzungs-Token der vorherigen Seite (null = erste Seite)
+ */
+public record PageQuery(int limit, String sort, String cursor) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    public PageQuery {
+        if (limit <= 0) {
+            limit = DEFAULT_LIMIT;
+        }
+        limit = Math.min(limit, MAX_LIMIT);
+        sort = sort == null || sort.isBlank() ? null : sort.trim();
+        cursor = cursor == null || cursor.isBlank() ? null : cursor.trim();
+    }
+}
@@ -0,0 +1,26 @@
+package com.research.portal.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Schlanke Zeile eines Report-Exports.
+ *
+ * <p>Enthaelt nur die exportierten Spalten, damit beim Streamen grosser
+ * Tabellen weder Volltext noch Listenfelder geladen werden.
+ *
+ * @param id            Report-ID
+ * @param title         Titel
+ * @param analystId     ID des Analysten
+ * @param securityId    ID der Wertschrift
+ * @param rating        Rating (Enum-Name)
+ * @param targetPrice   Kursziel
+ * @param currentPrice  aktueller Kurs
+ * @param impliedUpside Upside in Prozent
+ * @param riskLevel     Risikostufe (Enum-Name)
+ * @param publishedAt   Publikationszeitpunkt
+ */
+public record ReportExportRow(Long id, String title, Long analystId, Long securityId,
+                              String rating, BigDecimal targetPrice, BigDecimal currentPrice,
+                              BigDecimal impliedUpside, String riskLevel, LocalDateTime publishedAt) {
+}
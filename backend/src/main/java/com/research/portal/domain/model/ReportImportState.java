@@ -0,0 +1,12 @@
+package com.research.portal.domain.model;
+
+/**
+ * Gespeicherter Stand eines importierten Reports, wie ihn der inkrementelle
+ * Import zum Abgleich braucht – ohne den Report selbst zu laden.
+ *
+ * @param id          Report-ID
+ * @param importKey   Importschlüssel (Wertschrift, Analyst, Typ, Zeitpunkt)
+ * @param contentHash SHA-256 des Inhalts beim letzten Import
+ */
+public record ReportImportState(Long id, String importKey, String contentHash) {
+}
@@ -32,6 +32,8 @@ public class ResearchReport {
     private List<String> investmentCatalysts;
     private List<String> keyRisks;
     private List<String> tags;
+    private String importKey;
+    private String contentHash;
 
     public ResearchReport() {}
 
@@ -91,4 +93,12 @@ public class ResearchReport {
 
     public List<String> getTags() { return tags; }
     public void setTags(List<String> tags) { this.tags = tags; }
+
+    /** Schlüssel für den inkrementellen XML-Import; null bei manuell erfassten Reports */
+    public String getImportKey() { return importKey; }
+    public void setImportKey(String importKey) { this.importKey = importKey; }
+
+    /** SHA-256 des Inhalts beim letzten Import */
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
 }
@@ -2,6 +2,8 @@ package com.research.portal.domain.port.in;
 
 import com.research.portal.domain.model.AuditAction;
 import com.research.portal.domain.model.AuditLog;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 
 import java.util.List;
 
@@ -33,6 +35,14 @@ public interface AuditLogUseCase {
      */
     List<AuditLog> getRecentLogs(int limit);
 
+    /**
+     * Gibt eine Seite des Audit-Trails zurück (Keyset-Pagination, neueste zuerst).
+     *
+     * @param query Seitengrösse, Sortierung und Fortsetzungs-Token
+     * @return Seite mit Token für die nächste Seite
+     */
+    CursorPage<AuditLog> getLogsPage(PageQuery query);
+
     /**
      * Gibt alle Audit-Einträge für eine bestimmte Entität zurück.
      *
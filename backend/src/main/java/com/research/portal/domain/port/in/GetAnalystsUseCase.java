@@ -1,6 +1,8 @@
 package com.research.portal.domain.port.in;
 
 import com.research.portal.domain.model.Analyst;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,5 +11,7 @@ public interface GetAnalystsUseCase {
 
     List<Analyst> getAllAnalysts();
 
+    CursorPage<Analyst> getAnalystsPage(PageQuery query);
+
     Optional<Analyst> getAnalystById(Long id);
 }
@@ -1,7 +1,10 @@
 package com.research.portal.domain.port.in;
 
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.model.ResearchReport;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +17,19 @@ public interface GetReportsUseCase {
 
     List<ResearchReport> getAllReports();
 
+    CursorPage<ResearchReport> getReportsPage(PageQuery query);
+
     Optional<ResearchReport> getReportById(Long id);
 
     List<ResearchReport> getReportsByAnalyst(Long analystId);
 
     List<ResearchReport> getReportsBySecurity(Long securityId);
+
+    /**
+     * Reports eines Publikationszeitraums ({@code from} inklusive, {@code to}
+     * exklusive), optional nur einer Wertschrift, in Publikationsreihenfolge.
+     * Filter, die {@code null} sind, schränken nicht ein; geliefert werden
+     * höchstens {@code limit} Reports.
+     */
+    List<ResearchReport> getReportsPublishedBetween(Long securityId, LocalDateTime from, LocalDateTime to, int limit);
 }
@@ -1,5 +1,7 @@
 package com.research.portal.domain.port.in;
 
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.model.Security;
 
 import java.util.List;
@@ -9,6 +11,8 @@ public interface GetSecuritiesUseCase {
 
     List<Security> getAllSecurities();
 
+    CursorPage<Security> getSecuritiesPage(PageQuery query);
+
     Optional<Security> getSecurityById(Long id);
 
     Optional<Security> getSecurityByTicker(String ticker);
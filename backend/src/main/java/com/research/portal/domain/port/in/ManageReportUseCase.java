@@ -2,6 +2,8 @@ package com.research.portal.domain.port.in;
 
 import com.research.portal.domain.model.ResearchReport;
 
+import java.util.function.Consumer;
+
 /**
  * Use Case: Reports erstellen, aktualisieren, löschen.
  * Trennung von Lese- und Schreib-Operationen (CQRS-Prinzip).
@@ -13,4 +15,24 @@ public interface ManageReportUseCase {
     ResearchReport updateReport(Long id, ResearchReport report);
 
     void deleteReport(Long id);
+
+    /**
+     * Startet einen Massenimport mit batchweisen Transaktionen.
+     *
+     * @param onSaved erhält jeden gespeicherten Report (mit ID)
+     */
+    default ReportBulkImport startBulkImport(Consumer<ResearchReport> onSaved) {
+        return startBulkImport(onSaved, false);
+    }
+
+    /**
+     * Startet einen Massenimport; inkrementell werden bereits importierte Reports
+     * über ihren Importschlüssel erkannt. Unveränderte Reports (gleicher
+     * Inhalts-Hash) werden übersprungen, geänderte aktualisiert, nur neue eingefügt.
+     * Ein erneut hochgeladener Feed erzeugt so keine Duplikate.
+     *
+     * @param onSaved     erhält jeden eingefügten oder aktualisierten Report (mit ID)
+     * @param incremental bestehende Reports abgleichen statt immer neu einzufügen
+     */
+    ReportBulkImport startBulkImport(Consumer<ResearchReport> onSaved, boolean incremental);
 }
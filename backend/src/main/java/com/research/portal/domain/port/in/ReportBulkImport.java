@@ -0,0 +1,39 @@
+package com.research.portal.domain.port.in;
+
+import com.research.portal.domain.model.BulkImportResult;
+import com.research.portal.domain.model.ResearchReport;
+
+/**
+ * Laufender Massenimport von Research Reports.
+ *
+ * Reports werden gesammelt und batchweise gespeichert; jeder Batch ist eine
+ * eigene Transaktion. Ein fehlerhafter Report verhindert nicht das Speichern
+ * der übrigen, sondern erscheint im Ergebnis als Fehler.
+ */
+public interface ReportBulkImport {
+
+    /**
+     * Nimmt einen Report entgegen; ist der Batch voll, wird er gespeichert.
+     * Die Position ist die nächste nach der höchsten bisher gesehenen.
+     */
+    void add(ResearchReport report);
+
+    /**
+     * Nimmt einen Report mit vorgegebener Position entgegen, z.B. wenn Reports
+     * parallel aufbereitet werden und nicht in Dateireihenfolge ankommen.
+     *
+     * @param position Position im Import (1-basiert), erscheint in Fehlermeldungen
+     */
+    void add(int position, ResearchReport report);
+
+    /**
+     * Meldet einen Report, der schon vor dem Speichern verworfen wurde
+     * (z.B. ungültige Werte), damit er im Ergebnis erscheint.
+     */
+    void reject(int position, String title, String reason);
+
+    /**
+     * Speichert die restlichen Reports und liefert das Gesamtergebnis.
+     */
+    BulkImportResult finish();
+}
@@ -1,6 +1,8 @@
 package com.research.portal.domain.port.out;
 
 import com.research.portal.domain.model.Analyst;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,5 +11,11 @@ public interface AnalystRepository {
 
     List<Analyst> findAll();
 
+    /**
+     * Laedt eine Seite per Keyset-Pagination.
+     * Sortierfelder: name (Standard, aufsteigend), id.
+     */
+    CursorPage<Analyst> findPage(PageQuery query);
+
     Optional<Analyst> findById(Long id);
 }
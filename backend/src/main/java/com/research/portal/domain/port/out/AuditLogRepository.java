@@ -1,6 +1,8 @@
 package com.research.portal.domain.port.out;
 
 import com.research.portal.domain.model.AuditLog;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 
 import java.util.List;
 
@@ -28,6 +30,15 @@ public interface AuditLogRepository {
      */
     List<AuditLog> findRecentLogs(int limit);
 
+    /**
+     * Laedt eine Seite des Audit-Trails per Keyset-Pagination.
+     * Sortierfelder: timestamp (Standard, absteigend), id.
+     *
+     * @param query Seitengroesse, Sortierung und Fortsetzungs-Token
+     * @return Seite mit Token fuer die naechste Seite
+     */
+    CursorPage<AuditLog> findPage(PageQuery query);
+
     /**
      * Gibt alle Audit-Einträge für eine bestimmte Entität zurück.
      *
@@ -1,9 +1,16 @@
 package com.research.portal.domain.port.out;
 
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
+import com.research.portal.domain.model.ReportExportRow;
+import com.research.portal.domain.model.ReportImportState;
 import com.research.portal.domain.model.ResearchReport;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Port (Ausgangs-Schnittstelle) für Research Reports.
@@ -14,13 +21,60 @@ public interface ReportRepository {
 
     List<ResearchReport> findAll();
 
+    /**
+     * Laedt eine Seite per Keyset-Pagination.
+     * Sortierfelder: publishedAt (Standard, absteigend), title, id.
+     */
+    CursorPage<ResearchReport> findPage(PageQuery query);
+
+    /**
+     * Uebergibt alle Reports zeilenweise (nach ID sortiert) an den Consumer,
+     * ohne die Tabelle vollstaendig in den Speicher zu laden.
+     */
+    void forEachExportRow(Consumer<ReportExportRow> action);
+
+    long count();
+
     Optional<ResearchReport> findById(Long id);
 
     List<ResearchReport> findByAnalystId(Long analystId);
 
     List<ResearchReport> findBySecurityId(Long securityId);
 
+    /**
+     * Laedt hoechstens {@code limit} Reports, publiziert ab {@code from}
+     * (inklusive) bis {@code to} (exklusive), optional nur einer Wertschrift.
+     * Sortiert nach publishedAt (Reports ohne Datum zuletzt), dann nach ID.
+     * Filter, die {@code null} sind, schraenken nicht ein.
+     */
+    List<ResearchReport> findPublishedBetween(Long securityId, LocalDateTime from, LocalDateTime to, int limit);
+
     ResearchReport save(ResearchReport report);
 
+    /**
+     * Speichert neue Reports in einer Transaktion mit JDBC-Batching.
+     * Schlaegt ein Report fehl, wird keiner der Liste gespeichert.
+     *
+     * @return gespeicherte Reports mit ID, in Eingabereihenfolge
+     */
+    List<ResearchReport> saveAll(List<ResearchReport> reports);
+
+    /**
+     * Aktualisiert bestehende Reports (ID gesetzt) in einer Transaktion mit
+     * JDBC-Batching. Die Reports werden mit einer Abfrage geladen, nicht einzeln.
+     *
+     * @return aktualisierte Reports, in Eingabereihenfolge
+     * @throws IllegalStateException wenn ein Report nicht (mehr) existiert
+     */
+    List<ResearchReport> updateAll(List<ResearchReport> reports);
+
+    /**
+     * Liefert ID und Inhalts-Hash der Reports mit den angegebenen
+     * Importschluesseln, nach ID sortiert. Ein Schluessel kann mehrfach
+     * vorkommen, wenn ein Report vor dem inkrementellen Import doppelt
+     * gespeichert wurde.
+     */
+    List<ReportImportState> findImportStates(Collection<String> importKeys);
+
     void deleteById(Long id);
 }
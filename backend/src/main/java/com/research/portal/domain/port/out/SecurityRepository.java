@@ -1,5 +1,7 @@
 package com.research.portal.domain.port.out;
 
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.model.Security;
 
 import java.util.List;
@@ -9,6 +11,12 @@ public interface SecurityRepository {
 
     List<Security> findAll();
 
+    /**
+     * Laedt eine Seite per Keyset-Pagination.
+     * Sortierfelder: ticker (Standard, aufsteigend), name, id.
+     */
+    CursorPage<Security> findPage(PageQuery query);
+
     Optional<Security> findById(Long id);
 
     Optional<Security> findByTicker(String ticker);
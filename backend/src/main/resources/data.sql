@@ -170,6 +170,9 @@ VALUES (10, 1, 8, '2026-02-20 09:30:00', 'FLASH',
     'Kapazitätsüberangebot CDMO|Kundenkonzentration|Execution-Risiko Grossinvestition',
     'Upgrade|Healthcare|CDMO|Biologics');
 
+-- Sequenz hinter die festen Demo-IDs setzen (Reports nutzen gepoolte Sequenz-IDs)
+ALTER SEQUENCE research_reports_seq RESTART WITH 1000;
+
 -- ────────────────────────────────────────────────
 -- AUDIT LOG (Demo-Daten für FINMA-Compliance-Nachweis)
 -- ────────────────────────────────────────────────
@@ -0,0 +1,7 @@
+-- ============================================================
+-- V6: Sequenz fuer Report-IDs (JDBC-Batching beim Massenimport)
+-- ============================================================
+-- Hibernate holt pro Aufruf 50 IDs (allocationSize). Der Startwert muss
+-- hinter der hoechsten bisher per IDENTITY vergebenen Report-ID liegen.
+
+CREATE SEQUENCE research_reports_seq START WITH 100000 INCREMENT BY 50;
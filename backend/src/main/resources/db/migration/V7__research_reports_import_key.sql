@@ -0,0 +1,19 @@
+-- ============================================================
+-- V7: Importschluessel und Inhalts-Hash fuer den inkrementellen XML-Import
+-- ============================================================
+-- Der Import gleicht jeden Report per import_key ab: gleicher content_hash
+-- = unveraendert (uebersprungen), anderer Hash = Update, kein Treffer = Insert.
+
+ALTER TABLE research_reports ADD import_key VARCHAR(300);
+ALTER TABLE research_reports ADD content_hash VARCHAR(64);
+
+-- Bestehende Reports erhalten ihren Schluessel (Format wie ReportFingerprint,
+-- ohne Publikationszeitpunkt mit dem Titel), damit der erste inkrementelle
+-- Import sie wiedererkennt. Ohne Hash werden sie dabei einmal aktualisiert.
+UPDATE research_reports
+SET import_key = security_id || '|' || analyst_id || '|' || report_type || '|'
+        || CASE WHEN published_at IS NOT NULL
+                THEN TO_CHAR(published_at, 'YYYY-MM-DD"T"HH24:MI:SS')
+                ELSE title END;
+
+CREATE INDEX idx_research_reports_import_key ON research_reports (import_key);
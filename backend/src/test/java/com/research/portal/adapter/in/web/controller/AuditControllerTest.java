@@ -3,6 +3,8 @@ package com.research.portal.adapter.in.web.controller;
 import com.research.portal.adapter.in.web.mapper.AuditLogApiMapper;
 import com.research.portal.domain.model.AuditAction;
 import com.research.portal.domain.model.AuditLog;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
 import com.research.portal.domain.port.in.AuditLogUseCase;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,6 +19,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -119,6 +122,62 @@ class AuditControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/audit/page")
+    class GetAuditLogsPage {
+
+        @Test
+        @DisplayName("Gibt eine Seite mit Fortsetzungs-Token zurück")
+        void shouldReturnPageWithCursor() throws Exception {
+            // Arrange
+            var logs = List.of(
+                    createTestAuditLog(2L, AuditAction.UPDATE, "REPORT", 1L, "Report aktualisiert"),
+                    createTestAuditLog(1L, AuditAction.CREATE, "REPORT", 1L, "Report erstellt")
+            );
+            when(auditLogUseCase.getLogsPage(new PageQuery(2, null, null)))
+                    .thenReturn(new CursorPage<>(logs, "abc"));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/audit/page").param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(2)))
+                    .andExpect(jsonPath("$.items[0].id").value(2))
+                    .andExpect(jsonPath("$.nextCursor").value("abc"))
+                    .andExpect(jsonPath("$.hasMore").value(true))
+                    .andExpect(jsonPath("$.limit").value(2));
+        }
+
+        @Test
+        @DisplayName("Reicht Sortierung und Cursor weiter")
+        void shouldPassSortAndCursor() throws Exception {
+            // Arrange
+            var query = new PageQuery(20, "timestamp,asc", "abc");
+            when(auditLogUseCase.getLogsPage(query)).thenReturn(new CursorPage<>(List.of(), null));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/audit/page")
+                            .param("sort", "timestamp,asc")
+                            .param("cursor", "abc"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items", hasSize(0)))
+                    .andExpect(jsonPath("$.hasMore").value(false));
+
+            verify(auditLogUseCase).getLogsPage(query);
+        }
+
+        @Test
+        @DisplayName("Gibt 400 bei ungültigem Cursor zurück")
+        void shouldReturn400ForInvalidCursor() throws Exception {
+            // Arrange
+            when(auditLogUseCase.getLogsPage(any()))
+                    .thenThrow(new IllegalArgumentException("Ungueltiger Cursor"));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/audit/page").param("cursor", "kaputt"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/audit/report/{id}")
     class GetAuditTrailForReport {
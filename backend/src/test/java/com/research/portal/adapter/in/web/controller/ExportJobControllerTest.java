@@ -0,0 +1,159 @@
+package com.research.portal.adapter.in.web.controller;
+
+import com.research.portal.adapter.in.web.GlobalExceptionHandler;
+import com.research.portal.adapter.in.web.mapper.ReportApiMapper;
+import com.research.portal.application.exception.ExportCapacityExceededException;
+import com.research.portal.application.export.ExportFormat;
+import com.research.portal.application.export.ExportJob;
+import com.research.portal.application.export.ExportJobService;
+import com.research.portal.domain.port.in.GetReportsUseCase;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller-Tests für ExportJobController.
+ * Der ExportJobService wird gemockt; geprüft werden Statuscodes und Antwortformat.
+ */
+@WebMvcTest(ExportJobController.class)
+@Import({ReportApiMapper.class, GlobalExceptionHandler.class})
+class ExportJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ExportJobService exportJobService;
+
+    @MockitoBean
+    private GetReportsUseCase getReportsUseCase;
+
+    @TempDir
+    Path tempDir;
+
+    @Nested
+    @DisplayName("POST /api/export/jobs")
+    class SubmitJob {
+
+        @Test
+        @DisplayName("CSV-Job wird mit 202 und Location eingereiht")
+        void submitCsv() throws Exception {
+            ExportJob job = new ExportJob("job-1", ExportFormat.CSV, null, "key");
+            when(exportJobService.submit(ExportFormat.CSV)).thenReturn(job);
+
+            mockMvc.perform(post("/api/export/jobs")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"format\":\"csv\"}"))
+                    .andExpect(status().isAccepted())
+                    .andExpect(header().string("Location", "/api/export/jobs/job-1"))
+                    .andExpect(jsonPath("$.id", is("job-1")))
+                    .andExpect(jsonPath("$.format", is("CSV")))
+                    .andExpect(jsonPath("$.status", is("QUEUED")))
+                    .andExpect(jsonPath("$.downloadUrl").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Ungültiges Format liefert 400")
+        void invalidFormat() throws Exception {
+            mockMvc.perform(post("/api/export/jobs")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"format\":\"DOCX\"}"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(exportJobService);
+        }
+
+        @Test
+        @DisplayName("PDF ohne reportId liefert 400")
+        void pdfWithoutReportId() throws Exception {
+            mockMvc.perform(post("/api/export/jobs")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"format\":\"PDF\"}"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("PDF für unbekannten Report liefert 404")
+        void pdfUnknownReport() throws Exception {
+            when(getReportsUseCase.getReportById(99L)).thenReturn(Optional.empty());
+
+            mockMvc.perform(post("/api/export/jobs")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"format\":\"PDF\",\"reportId\":99}"))
+                    .andExpect(status().isNotFound());
+
+            verify(exportJobService, never()).submitPdf(any());
+        }
+
+        @Test
+        @DisplayName("Volle Warteschlange liefert 503 mit Retry-After")
+        void capacityExceeded() throws Exception {
+            when(exportJobService.submit(ExportFormat.EXCEL))
+                    .thenThrow(new ExportCapacityExceededException("EXCEL"));
+
+            mockMvc.perform(post("/api/export/jobs")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"format\":\"EXCEL\"}"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "30"));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/export/jobs/{id}")
+    class GetJob {
+
+        @Test
+        @DisplayName("Unbekannter Job liefert 404")
+        void unknownJob() throws Exception {
+            when(exportJobService.getJob("nope")).thenReturn(Optional.empty());
+
+            mockMvc.perform(get("/api/export/jobs/nope"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Download eines Ergebnisses liefert Datei mit Content-Disposition")
+        void downloadResult() throws Exception {
+            Path file = Files.writeString(tempDir.resolve("result.csv"), "a;b\n1;2\n");
+            ExportJob job = new ExportJob("job-2", ExportFormat.CSV, null, "key");
+            when(exportJobService.getResult("job-2")).thenReturn(file);
+            when(exportJobService.getJob("job-2")).thenReturn(Optional.of(job));
+
+            mockMvc.perform(get("/api/export/jobs/job-2/download"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                    .andExpect(header().string("Content-Disposition",
+                            allOf(Matchers.startsWith("attachment; filename=\"research-reports-"), Matchers.endsWith(".csv\""))))
+                    .andExpect(content().string("a;b\n1;2\n"));
+        }
+
+        @Test
+        @DisplayName("Download eines laufenden Jobs liefert 409")
+        void downloadRunningJob() throws Exception {
+            when(exportJobService.getResult("job-3"))
+                    .thenThrow(new IllegalStateException("Export-Job job-3 ist nicht abgeschlossen"));
+
+            mockMvc.perform(get("/api/export/jobs/job-3/download"))
+                    .andExpect(status().isConflict());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.research.portal.adapter.in.web.controller;
 
 import com.research.portal.adapter.in.web.dto.ApiMetricsDto;
+import com.research.portal.adapter.in.web.dto.EndpointCostDto;
+import com.research.portal.adapter.in.web.dto.EndpointLatencyDto;
+import com.research.portal.adapter.in.web.dto.EndpointLayersDto;
 import com.research.portal.config.ApiMetricsCollector;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,6 +14,8 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
@@ -142,6 +147,98 @@ class MetricsControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/metrics/latency")
+    class GetLatency {
+
+        @Test
+        @DisplayName("Gibt Perzentile pro Endpunkt fuer das 5-Minuten-Fenster zurueck")
+        void shouldReturnLatencyForDefaultWindow() throws Exception {
+            when(metricsCollector.getLatency("5m")).thenReturn(List.of(new EndpointLatencyDto(
+                    "GET /api/reports/{id}", "2xx", "5m", 1240, 4.13, 12.3, 31.7, 48.1, 112.6, 640.2, 17.9)));
+
+            mockMvc.perform(get("/api/metrics/latency"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].endpoint").value("GET /api/reports/{id}"))
+                    .andExpect(jsonPath("$[0].statusClass").value("2xx"))
+                    .andExpect(jsonPath("$[0].count").value(1240))
+                    .andExpect(jsonPath("$[0].p99Ms").value(112.6))
+                    .andExpect(jsonPath("$[0].maxMs").value(640.2));
+        }
+
+        @Test
+        @DisplayName("Reicht das gewaehlte Zeitfenster an den Collector weiter")
+        void shouldPassWindowToCollector() throws Exception {
+            when(metricsCollector.getLatency("15m")).thenReturn(List.of());
+
+            mockMvc.perform(get("/api/metrics/latency").param("window", "15m"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$").isEmpty());
+
+            verify(metricsCollector).getLatency("15m");
+        }
+
+        @Test
+        @DisplayName("Gibt 400 bei unbekanntem Zeitfenster zurueck")
+        void shouldReturn400ForUnknownWindow() throws Exception {
+            when(metricsCollector.getLatency("2h"))
+                    .thenThrow(new IllegalArgumentException("Unbekanntes Zeitfenster: 2h"));
+
+            mockMvc.perform(get("/api/metrics/latency").param("window", "2h"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/metrics/cost")
+    class GetCost {
+
+        @Test
+        @DisplayName("Gibt CPU-Zeit, Wartezeit und Allokation pro Endpunkt zurueck")
+        void shouldReturnCostPerEndpoint() throws Exception {
+            when(metricsCollector.getCost()).thenReturn(List.of(new EndpointCostDto(
+                    "GET /api/export/reports/excel", 42, 812.4, 604.9, 207.5, 187_432_960L, 25_405.8, 7_872_184_320L)));
+
+            mockMvc.perform(get("/api/metrics/cost"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].endpoint").value("GET /api/export/reports/excel"))
+                    .andExpect(jsonPath("$[0].requests").value(42))
+                    .andExpect(jsonPath("$[0].avgCpuMs").value(604.9))
+                    .andExpect(jsonPath("$[0].avgWaitMs").value(207.5))
+                    .andExpect(jsonPath("$[0].avgAllocatedBytes").value(187_432_960L))
+                    .andExpect(jsonPath("$[0].totalAllocatedBytes").value(7_872_184_320L));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/metrics/layers")
+    class GetLayers {
+
+        @Test
+        @DisplayName("Gibt die Eigenzeit pro Schicht und Endpunkt zurueck")
+        void shouldReturnLayersPerEndpoint() throws Exception {
+            Map<String, Double> avgLayerMs = new LinkedHashMap<>();
+            avgLayerMs.put("controller", 0.8);
+            avgLayerMs.put("usecase", 0.3);
+            avgLayerMs.put("repository", 71.5);
+            avgLayerMs.put("mapper", 2.4);
+            avgLayerMs.put("serialization", 6.1);
+            when(metricsCollector.getLayers()).thenReturn(List.of(
+                    new EndpointLayersDto("GET /api/reports/{id}", 42, 83.2, avgLayerMs, 2.1)));
+
+            mockMvc.perform(get("/api/metrics/layers"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].endpoint").value("GET /api/reports/{id}"))
+                    .andExpect(jsonPath("$[0].requests").value(42))
+                    .andExpect(jsonPath("$[0].avgLayerMs.repository").value(71.5))
+                    .andExpect(jsonPath("$[0].avgLayerMs.serialization").value(6.1))
+                    .andExpect(jsonPath("$[0].avgOtherMs").value(2.1));
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /api/metrics")
     class ResetMetrics {
@@ -0,0 +1,168 @@
+package com.research.portal.adapter.in.web.controller;
+
+import com.research.portal.adapter.in.web.GlobalExceptionHandler;
+import com.research.portal.adapter.in.web.mapper.ReportApiMapper;
+import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.application.export.PdfBundleService;
+import com.research.portal.application.export.RenderedPdfCache;
+import com.research.portal.application.export.RenderedPdfCache.RenderedPdf;
+import com.research.portal.domain.model.Rating;
+import com.research.portal.domain.model.ReportType;
+import com.research.portal.domain.model.ResearchReport;
+import com.research.portal.domain.port.in.GetReportsUseCase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Controller-Tests für PdfExportController.
+ * Cache und Renderer werden gemockt; geprüft werden ETag und bedingte Anfragen.
+ */
+@WebMvcTest(PdfExportController.class)
+@Import({ReportApiMapper.class, GlobalExceptionHandler.class})
+class PdfExportControllerTest {
+
+    private static final byte[] PDF = "%PDF-1.5 test".getBytes();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private GetReportsUseCase getReportsUseCase;
+
+    @MockitoBean
+    private RenderedPdfCache pdfCache;
+
+    @MockitoBean
+    private PdfBundleService pdfBundleService;
+
+    @Nested
+    @DisplayName("GET /api/export/reports/{id}/pdf")
+    class ExportReportPdf {
+
+        @Test
+        @DisplayName("Liefert PDF mit starkem ETag")
+        void returnsPdfWithETag() throws Exception {
+            when(pdfCache.etag(1L)).thenReturn(Optional.empty());
+            when(pdfCache.getOrRender(eq(1L), any())).thenReturn(new RenderedPdf(PDF, "abc123"));
+
+            mockMvc.perform(get("/api/export/reports/1/pdf"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"abc123\""))
+                    .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                    .andExpect(header().string("Content-Disposition", startsWith("attachment; filename=\"research-report-1-")))
+                    .andExpect(content().bytes(PDF));
+        }
+
+        @Test
+        @DisplayName("Passender If-None-Match liefert 304 ohne Datenbank und Renderer")
+        void notModified() throws Exception {
+            when(pdfCache.etag(1L)).thenReturn(Optional.of("abc123"));
+
+            mockMvc.perform(get("/api/export/reports/1/pdf").header("If-None-Match", "\"abc123\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().stringValues("ETag", contains("\"abc123\"")))
+                    .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                    .andExpect(content().bytes(new byte[0]));
+
+            verify(pdfCache, never()).getOrRender(any(), any());
+            verifyNoInteractions(getReportsUseCase);
+        }
+
+        @Test
+        @DisplayName("Veralteter ETag liefert das aktuelle PDF")
+        void staleETag() throws Exception {
+            when(pdfCache.etag(1L)).thenReturn(Optional.of("neu"));
+            when(pdfCache.getOrRender(eq(1L), any())).thenReturn(new RenderedPdf(PDF, "neu"));
+
+            mockMvc.perform(get("/api/export/reports/1/pdf").header("If-None-Match", "\"alt\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"neu\""));
+        }
+
+        @Test
+        @DisplayName("Unbekannter Report liefert 404")
+        void unknownReport() throws Exception {
+            when(pdfCache.etag(99L)).thenReturn(Optional.empty());
+            when(pdfCache.getOrRender(eq(99L), any()))
+                    .thenThrow(new ResourceNotFoundException("Report", 99L));
+
+            mockMvc.perform(get("/api/export/reports/99/pdf"))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/export/reports/bundle")
+    class ExportReportBundle {
+
+        @Test
+        @DisplayName("Fragt den Zeitraum halboffen und höchstens maxReports + 1 Reports ab")
+        void selectsPublishedRangeInDatabase() throws Exception {
+            when(pdfBundleService.getMaxReports()).thenReturn(2);
+            when(getReportsUseCase.getReportsPublishedBetween(any(), any(), any(), anyInt()))
+                    .thenReturn(List.of(report(1L)));
+
+            mockMvc.perform(get("/api/export/reports/bundle")
+                            .param("securityId", "1").param("from", "2026-01-01").param("to", "2026-03-31"))
+                    .andExpect(status().isOk());
+
+            verify(getReportsUseCase).getReportsPublishedBetween(1L, LocalDateTime.of(2026, 1, 1, 0, 0),
+                    LocalDateTime.of(2026, 4, 1, 0, 0), 3);
+            verify(getReportsUseCase, never()).getAllReports();
+        }
+
+        @Test
+        @DisplayName("Mehr als maxReports Treffer liefert 400")
+        void tooManyReports() throws Exception {
+            when(pdfBundleService.getMaxReports()).thenReturn(2);
+            when(getReportsUseCase.getReportsPublishedBetween(eq(null), any(), eq(null), eq(3)))
+                    .thenReturn(List.of(report(1L), report(2L), report(3L)));
+
+            mockMvc.perform(get("/api/export/reports/bundle").param("from", "2026-01-01"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Leere Auswahl liefert 404")
+        void noReports() throws Exception {
+            when(pdfBundleService.getMaxReports()).thenReturn(2);
+            when(getReportsUseCase.getReportsPublishedBetween(any(), any(), any(), anyInt())).thenReturn(List.of());
+
+            mockMvc.perform(get("/api/export/reports/bundle").param("securityId", "7"))
+                    .andExpect(status().isNotFound());
+        }
+
+        private ResearchReport report(Long id) {
+            ResearchReport report = new ResearchReport();
+            report.setId(id);
+            report.setAnalystId(1L);
+            report.setSecurityId(1L);
+            report.setPublishedAt(LocalDateTime.of(2026, 2, 1, 10, 0));
+            report.setReportType(ReportType.UPDATE);
+            report.setTitle("Report " + id);
+            report.setRating(Rating.BUY);
+            return report;
+        }
+    }
+}
@@ -141,6 +141,21 @@ class RateLimitControllerTest {
                     .andExpect(jsonPath("$.activeClients").value(5));
         }
 
+        @Test
+        @DisplayName("Response enthaelt evictedClients")
+        void shouldContainEvictedClients() throws Exception {
+            Map<String, Object> stats = Map.of(
+                    "totalBlocked", 0L,
+                    "activeClients", 50_000,
+                    "evictedClients", 1_234L,
+                    "blockedByCategory", Map.of()
+            );
+            when(rateLimitService.getStats()).thenReturn(stats);
+
+            mockMvc.perform(get("/api/rate-limit/stats"))
+                    .andExpect(jsonPath("$.evictedClients").value(1234));
+        }
+
         @Test
         @DisplayName("Response enthaelt blockedByCategory als Map")
         void shouldContainBlockedByCategoryMap() throws Exception {
@@ -3,6 +3,7 @@ package com.research.portal.adapter.in.web.controller;
 import com.research.portal.adapter.in.web.GlobalExceptionHandler;
 import com.research.portal.adapter.in.web.dto.SearchResponseDto;
 import com.research.portal.adapter.in.web.dto.SearchResultDto;
+import com.research.portal.adapter.in.web.dto.SuggestionDto;
 import com.research.portal.application.service.SearchService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -193,4 +194,30 @@ class SearchControllerTest {
                     .andExpect(jsonPath("$.results", hasSize(0)));
         }
     }
+
+    @Nested
+    @DisplayName("GET /api/search/suggest?q=...")
+    class Suggest {
+
+        @Test
+        @DisplayName("Gibt 200 und Vorschlaege zurück")
+        void shouldReturnSuggestions() throws Exception {
+            when(searchService.suggest(eq("nes"), eq(10))).thenReturn(List.of(
+                    new SuggestionDto("SECURITY", 1L, "NESN", "Nestlé SA")));
+
+            mockMvc.perform(get("/api/search/suggest").param("q", "nes"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].type").value("SECURITY"))
+                    .andExpect(jsonPath("$[0].value").value("NESN"))
+                    .andExpect(jsonPath("$[0].label").value("Nestlé SA"));
+        }
+
+        @Test
+        @DisplayName("Gibt 400 zurück ohne q-Parameter")
+        void shouldReturn400WhenPrefixMissing() throws Exception {
+            mockMvc.perform(get("/api/search/suggest"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
 }
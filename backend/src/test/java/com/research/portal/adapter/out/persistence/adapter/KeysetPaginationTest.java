@@ -0,0 +1,149 @@
+package com.research.portal.adapter.out.persistence.adapter;
+
+import com.research.portal.domain.model.CursorPage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit Tests für die Keyset-Pagination-Hilfsfunktionen.
+ * Testet Sortierung, Token-Kodierung und Fehlerfälle.
+ */
+class KeysetPaginationTest {
+
+    private static final Set<String> FIELDS = Set.of("publishedAt", "title", "id");
+    private static final Sort.Order DEFAULT = Sort.Order.desc("publishedAt");
+
+    private record Row(Long id, LocalDateTime publishedAt, String title) {
+    }
+
+    private static Window<Row> window(List<Row> rows, boolean hasNext) {
+        return Window.from(rows, index -> {
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("publishedAt", rows.get(index).publishedAt());
+            keys.put("id", rows.get(index).id());
+            return ScrollPosition.forward(keys);
+        }, hasNext);
+    }
+
+    @Nested
+    @DisplayName("parseSort()")
+    class ParseSort {
+
+        @Test
+        @DisplayName("Verwendet die Standard-Sortierung und ergänzt die ID")
+        void shouldUseDefaultAndAppendId() {
+            Sort sort = KeysetPagination.parseSort(null, FIELDS, DEFAULT);
+
+            assertThat(sort).containsExactly(Sort.Order.desc("publishedAt"), Sort.Order.desc("id"));
+        }
+
+        @Test
+        @DisplayName("Übernimmt Feld und Richtung aus der Anfrage")
+        void shouldParseFieldAndDirection() {
+            Sort sort = KeysetPagination.parseSort("title,asc", FIELDS, DEFAULT);
+
+            assertThat(sort).containsExactly(Sort.Order.asc("title"), Sort.Order.asc("id"));
+        }
+
+        @Test
+        @DisplayName("Sortierung nach ID wird nicht doppelt ergänzt")
+        void shouldNotDuplicateId() {
+            Sort sort = KeysetPagination.parseSort("id,desc", FIELDS, DEFAULT);
+
+            assertThat(sort).containsExactly(Sort.Order.desc("id"));
+        }
+
+        @Test
+        @DisplayName("Wirft Exception bei unbekanntem Feld")
+        void shouldRejectUnknownField() {
+            assertThatThrownBy(() -> KeysetPagination.parseSort("rating", FIELDS, DEFAULT))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("rating");
+        }
+
+        @Test
+        @DisplayName("Wirft Exception bei ungültiger Richtung")
+        void shouldRejectUnknownDirection() {
+            assertThatThrownBy(() -> KeysetPagination.parseSort("title,up", FIELDS, DEFAULT))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Cursor")
+    class Cursor {
+
+        private final Sort sort = KeysetPagination.parseSort(null, FIELDS, DEFAULT);
+
+        @Test
+        @DisplayName("Ohne Cursor beginnt die erste Seite")
+        void shouldStartAtFirstPage() {
+            ScrollPosition position = KeysetPagination.decode(null, sort);
+
+            assertThat(position.isInitial()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Token der letzten Zeile wird verlustfrei zurückgelesen")
+        void shouldRoundTripLastRow() {
+            var rows = List.of(
+                    new Row(7L, LocalDateTime.of(2026, 2, 22, 10, 0), "A|B=C"),
+                    new Row(5L, LocalDateTime.of(2026, 2, 21, 9, 30), "Z"));
+
+            CursorPage<String> page = KeysetPagination.toPage(window(rows, true), sort, Row::title);
+
+            assertThat(page.items()).containsExactly("A|B=C", "Z");
+            assertThat(page.hasMore()).isTrue();
+            var position = (KeysetScrollPosition) KeysetPagination.decode(page.nextCursor(), sort);
+            assertThat(position.getKeys())
+                    .containsEntry("publishedAt", LocalDateTime.of(2026, 2, 21, 9, 30))
+                    .containsEntry("id", 5L);
+        }
+
+        @Test
+        @DisplayName("Letzte Seite liefert keinen Cursor")
+        void shouldNotReturnCursorOnLastPage() {
+            var rows = List.of(new Row(1L, LocalDateTime.of(2026, 1, 1, 0, 0), "X"));
+
+            CursorPage<String> page = KeysetPagination.toPage(window(rows, false), sort, Row::title);
+
+            assertThat(page.nextCursor()).isNull();
+            assertThat(page.hasMore()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Cursor einer anderen Sortierung wird abgelehnt")
+        void shouldRejectCursorForOtherSort() {
+            var rows = List.of(new Row(1L, LocalDateTime.of(2026, 1, 1, 0, 0), "X"));
+            String cursor = KeysetPagination.toPage(window(rows, true), sort, Row::title).nextCursor();
+            Sort other = KeysetPagination.parseSort("publishedAt,asc", FIELDS, DEFAULT);
+
+            assertThatThrownBy(() -> KeysetPagination.decode(cursor, other))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Sortierung");
+        }
+
+        @Test
+        @DisplayName("Manipulierter Cursor wird abgelehnt")
+        void shouldRejectMalformedCursor() {
+            assertThatThrownBy(() -> KeysetPagination.decode("%%%nicht-base64", sort))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> KeysetPagination.decode("djJ8Zm9v", sort))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.research.portal.adapter.out.persistence.adapter;
+
+import com.research.portal.adapter.out.persistence.entity.ResearchReportEntity;
+import com.research.portal.adapter.out.persistence.mapper.ReportPersistenceMapper;
+import com.research.portal.adapter.out.persistence.repository.JpaReportRepository;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
+import com.research.portal.domain.model.ResearchReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Keyset-Pagination der Reports gegen die Datenbank.
+ *
+ * <p>publishedAt ist nullable; beim Blaettern ueber Reports mit und ohne Datum
+ * darf keiner verloren gehen, egal wo die Seitengrenzen liegen.
+ */
+@DataJpaTest
+@Import({ReportPersistenceAdapter.class, ReportPersistenceMapper.class})
+@DisplayName("Report-Pagination mit Reports ohne Datum")
+class ReportPaginationJpaTest {
+
+    @Autowired
+    private JpaReportRepository jpaRepository;
+
+    @Autowired
+    private ReportPersistenceAdapter adapter;
+
+    private final List<Long> dated = new ArrayList<>();
+    private final List<Long> undated = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jpaRepository.deleteAll();
+        // Zwei Reports mit gleichem Datum, damit auch die ID als zweiter Schluessel greift
+        dated.add(save(LocalDateTime.of(2026, 1, 10, 9, 0)));
+        dated.add(save(LocalDateTime.of(2026, 2, 10, 9, 0)));
+        dated.add(save(LocalDateTime.of(2026, 2, 10, 9, 0)));
+        dated.add(save(LocalDateTime.of(2026, 3, 10, 9, 0)));
+        undated.add(save(null));
+        undated.add(save(null));
+        undated.add(save(null));
+    }
+
+    @Test
+    @DisplayName("Absteigend (Standard): Reports ohne Datum folgen nach der Seitengrenze")
+    void descendingKeepsUndatedReports() {
+        for (int limit = 1; limit <= 7; limit++) {
+            List<ResearchReport> all = pageThrough(null, limit);
+
+            assertThat(all).extracting(ResearchReport::getId).containsExactly(
+                    dated.get(3), dated.get(2), dated.get(1), dated.get(0),
+                    undated.get(2), undated.get(1), undated.get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Aufsteigend: Reports mit Datum folgen nach einer Grenze im NULL-Block")
+    void ascendingKeepsDatedReports() {
+        for (int limit = 1; limit <= 7; limit++) {
+            List<ResearchReport> all = pageThrough("publishedAt,asc", limit);
+
+            assertThat(all).extracting(ResearchReport::getId).containsExactly(
+                    undated.get(0), undated.get(1), undated.get(2),
+                    dated.get(0), dated.get(1), dated.get(2), dated.get(3));
+        }
+    }
+
+    @Test
+    @DisplayName("Andere Sortierfelder laufen weiter ueber die Spring-Data-Keyset-Abfrage")
+    void otherSortFieldsStillPage() {
+        List<ResearchReport> all = pageThrough("id", 3);
+
+        assertThat(all).extracting(ResearchReport::getId).isSorted().hasSize(7);
+    }
+
+    private List<ResearchReport> pageThrough(String sort, int limit) {
+        List<ResearchReport> all = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ResearchReport> page = adapter.findPage(new PageQuery(limit, sort, cursor));
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(limit);
+            all.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null && all.size() <= 7);
+        return all;
+    }
+
+    private Long save(LocalDateTime publishedAt) {
+        ResearchReportEntity entity = new ResearchReportEntity();
+        entity.setAnalystId(1L);
+        entity.setSecurityId(1L);
+        entity.setPublishedAt(publishedAt);
+        entity.setReportType("UPDATE");
+        entity.setTitle("Report " + publishedAt);
+        entity.setRating("BUY");
+        entity.setRatingChanged(false);
+        return jpaRepository.save(entity).getId();
+    }
+}
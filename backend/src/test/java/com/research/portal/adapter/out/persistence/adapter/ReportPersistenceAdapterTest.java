@@ -4,6 +4,7 @@ import com.research.portal.adapter.out.persistence.entity.ResearchReportEntity;
 import com.research.portal.adapter.out.persistence.mapper.ReportPersistenceMapper;
 import com.research.portal.adapter.out.persistence.repository.JpaReportRepository;
 import com.research.portal.domain.model.*;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,13 +12,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -34,11 +40,14 @@ class ReportPersistenceAdapterTest {
     @Mock
     private ReportPersistenceMapper mapper;
 
+    @Mock
+    private EntityManager entityManager;
+
     private ReportPersistenceAdapter adapter;
 
     @BeforeEach
     void setUp() {
-        adapter = new ReportPersistenceAdapter(jpaRepository, mapper);
+        adapter = new ReportPersistenceAdapter(jpaRepository, mapper, entityManager, 2);
     }
 
     // Hilfsmethode: Erstellt eine Test-Entity
@@ -109,6 +118,30 @@ class ReportPersistenceAdapterTest {
         }
     }
 
+    @Nested
+    @DisplayName("forEachExportRow()")
+    class ForEachExportRow {
+
+        @Test
+        @DisplayName("Übergibt alle Zeilen und schliesst den Stream")
+        void shouldPassRowsAndCloseStream() {
+            // Arrange
+            var row = new ReportExportRow(1L, "Test Report", 1L, 1L, "BUY",
+                    new BigDecimal("120.00"), null, null, "MEDIUM", LocalDateTime.of(2026, 2, 22, 10, 0));
+            AtomicBoolean closed = new AtomicBoolean();
+            when(jpaRepository.streamExportRows()).thenReturn(Stream.of(row).onClose(() -> closed.set(true)));
+            List<ReportExportRow> received = new ArrayList<>();
+
+            // Act
+            adapter.forEachExportRow(received::add);
+
+            // Assert
+            assertThat(received).containsExactly(row);
+            assertThat(closed).isTrue();
+            verifyNoInteractions(mapper);
+        }
+    }
+
     @Nested
     @DisplayName("findById()")
     class FindById {
@@ -176,6 +209,26 @@ class ReportPersistenceAdapterTest {
         }
     }
 
+    @Nested
+    @DisplayName("findPublishedBetween()")
+    class FindPublishedBetween {
+
+        @Test
+        @DisplayName("Reicht Filter und Limit an die Abfrage durch")
+        void shouldPassFiltersAndLimit() {
+            LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+            LocalDateTime to = LocalDateTime.of(2026, 4, 1, 0, 0);
+            when(jpaRepository.findPublishedBetween(null, from, to, Limit.of(51)))
+                    .thenReturn(List.of(createTestEntity(1L)));
+            when(mapper.toDomain(any(ResearchReportEntity.class))).thenReturn(createTestDomain(1L));
+
+            List<ResearchReport> result = adapter.findPublishedBetween(null, from, to, 51);
+
+            assertThat(result).extracting(ResearchReport::getId).containsExactly(1L);
+            verify(jpaRepository, never()).findAll();
+        }
+    }
+
     @Nested
     @DisplayName("save()")
     class Save {
@@ -201,6 +254,83 @@ class ReportPersistenceAdapterTest {
         }
     }
 
+    @Nested
+    @DisplayName("saveAll()")
+    class SaveAll {
+
+        @Test
+        @DisplayName("Persistiert neue Entities und leert den Persistence-Context pro JDBC-Batch")
+        void shouldPersistAndFlushPerBatch() {
+            List<ResearchReport> reports = List.of(createTestDomain(null), createTestDomain(null), createTestDomain(null));
+            when(mapper.toEntity(any(ResearchReport.class))).thenAnswer(invocation -> createTestEntity(99L));
+            when(mapper.toDomain(any(ResearchReportEntity.class))).thenReturn(createTestDomain(1L));
+
+            List<ResearchReport> saved = adapter.saveAll(reports);
+
+            assertThat(saved).hasSize(3);
+            // IDs kommen aus der Sequenz, nie aus dem Domain-Objekt
+            verify(entityManager, times(3)).persist(argThat(entity ->
+                    ((ResearchReportEntity) entity).getId() == null));
+            verify(entityManager, times(2)).flush();
+            verify(entityManager, times(2)).clear();
+            verifyNoInteractions(jpaRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("updateAll()")
+    class UpdateAll {
+
+        @Test
+        @DisplayName("Lädt die Entities pro JDBC-Batch mit einer Abfrage und überträgt die Werte")
+        void shouldLoadOncePerBatchAndCopy() {
+            List<ResearchReport> reports = List.of(createTestDomain(1L), createTestDomain(2L), createTestDomain(3L));
+            when(jpaRepository.findAllById(List.of(1L, 2L)))
+                    .thenReturn(List.of(createTestEntity(1L), createTestEntity(2L)));
+            when(jpaRepository.findAllById(List.of(3L))).thenReturn(List.of(createTestEntity(3L)));
+            when(mapper.toDomain(any(ResearchReportEntity.class)))
+                    .thenAnswer(invocation -> createTestDomain(((ResearchReportEntity) invocation.getArgument(0)).getId()));
+
+            List<ResearchReport> saved = adapter.updateAll(reports);
+
+            assertThat(saved).extracting(ResearchReport::getId).containsExactly(1L, 2L, 3L);
+            verify(mapper, times(3)).copyToEntity(any(ResearchReport.class), any(ResearchReportEntity.class));
+            verify(entityManager, never()).persist(any());
+            verify(entityManager, times(2)).flush();
+        }
+
+        @Test
+        @DisplayName("Wirft IllegalStateException, wenn ein Report nicht mehr existiert")
+        void shouldFailForMissingReport() {
+            when(jpaRepository.findAllById(List.of(5L))).thenReturn(List.of());
+
+            assertThatThrownBy(() -> adapter.updateAll(List.of(createTestDomain(5L))))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("5");
+        }
+    }
+
+    @Nested
+    @DisplayName("findImportStates()")
+    class FindImportStates {
+
+        @Test
+        @DisplayName("Fragt die Datenbank ohne Schlüssel nicht ab")
+        void shouldSkipEmptyKeys() {
+            assertThat(adapter.findImportStates(List.of())).isEmpty();
+            verifyNoInteractions(jpaRepository);
+        }
+
+        @Test
+        @DisplayName("Delegiert an die Projektion des JPA Repository")
+        void shouldDelegate() {
+            var state = new ReportImportState(1L, "1|1|UPDATE|2026-02-22T10:00:00", "abc");
+            when(jpaRepository.findImportStates(List.of(state.importKey()))).thenReturn(List.of(state));
+
+            assertThat(adapter.findImportStates(List.of(state.importKey()))).containsExactly(state);
+        }
+    }
+
     @Nested
     @DisplayName("deleteById()")
     class DeleteById {
@@ -0,0 +1,318 @@
+package com.research.portal.application.export;
+
+import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.application.exception.ExportCapacityExceededException;
+import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.application.service.ExportService;
+import com.research.portal.application.service.PdfExportService;
+import com.research.portal.config.ExportJobProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests für ExportJobService.
+ *
+ * Die Exporte selbst werden gemockt; geprüft werden Job-Lebenszyklus,
+ * Spool-Cache, Deduplizierung und die Begrenzung der Warteschlangen.
+ */
+@DisplayName("ExportJobService Tests")
+class ExportJobServiceTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private ExportService exportService;
+    private PdfExportService pdfExportService;
+    private ReportDataVersion dataVersion;
+    private SimpleMeterRegistry meterRegistry;
+    private ExportJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = mock(ExportService.class);
+        pdfExportService = mock(PdfExportService.class);
+        dataVersion = new ReportDataVersion();
+
+        ExportJobProperties properties = new ExportJobProperties();
+        properties.setSpoolDir(spoolDir.toString());
+        properties.setMaxConcurrentPdf(1);
+        properties.setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        jobService = new ExportJobService(exportService, pdfExportService, dataVersion, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    // Hilfsmethode: CSV-Export schreibt drei Zeilen und meldet jede als Fortschritt
+    private void givenCsvExport() throws IOException {
+        when(exportService.countReports()).thenReturn(3L);
+        when(exportService.writeReportsCsv(any(OutputStream.class), any(Runnable.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            Runnable onRow = invocation.getArgument(1);
+            for (int i = 1; i <= 3; i++) {
+                out.write(("Zeile " + i + "\n").getBytes(StandardCharsets.UTF_8));
+                onRow.run();
+            }
+            return 3;
+        });
+    }
+
+    // Hilfsmethode: wartet, bis der Job fertig ist
+    private ExportJob awaitFinished(ExportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.isFinished()).as("Job sollte innerhalb von 5s fertig sein").isTrue();
+        return job;
+    }
+
+    private ReportDto report(long id) {
+        ReportDto dto = new ReportDto();
+        dto.setId(id);
+        dto.setTitle("Report " + id);
+        return dto;
+    }
+
+    @Nested
+    @DisplayName("Job-Ausführung")
+    class ExecutionTests {
+
+        @Test
+        @DisplayName("CSV-Job wird abgeschlossen und schreibt die Datei ins Spool-Verzeichnis")
+        void csvJobCompletes() throws Exception {
+            givenCsvExport();
+
+            ExportJob job = awaitFinished(jobService.submit(ExportFormat.CSV));
+
+            assertThat(job.getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+            assertThat(job.getProcessed()).isEqualTo(3);
+            assertThat(job.getTotal()).isEqualTo(3);
+            assertThat(job.progressPercent()).isEqualTo(100);
+            assertThat(job.isCached()).isFalse();
+
+            Path result = jobService.getResult(job.getId());
+            assertThat(result.getParent()).isEqualTo(spoolDir);
+            assertThat(result.getFileName().toString()).endsWith(".csv");
+            assertThat(Files.readString(result)).isEqualTo("Zeile 1\nZeile 2\nZeile 3\n");
+            assertThat(job.getResultSize()).isEqualTo(Files.size(result));
+        }
+
+        @Test
+        @DisplayName("Fehler im Export setzt Status FAILED und hinterlässt keine Teildatei")
+        void failedJob() throws Exception {
+            when(exportService.countReports()).thenReturn(10L);
+            when(exportService.writeReportsExcel(any(OutputStream.class), any(Runnable.class)))
+                    .thenThrow(new IOException("Datenbank nicht erreichbar"));
+
+            ExportJob job = awaitFinished(jobService.submit(ExportFormat.EXCEL));
+
+            assertThat(job.getStatus()).isEqualTo(ExportJob.Status.FAILED);
+            assertThat(job.getError()).isEqualTo("Datenbank nicht erreichbar");
+            try (var files = Files.list(spoolDir)) {
+                assertThat(files).isEmpty();
+            }
+            assertThatThrownBy(() -> jobService.getResult(job.getId()))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("PDF-Job schreibt das PDF des einzelnen Reports")
+        void pdfJobCompletes() throws Exception {
+            byte[] pdf = "%PDF-1.4 test".getBytes(StandardCharsets.UTF_8);
+            when(pdfExportService.exportReportPdf(any(ReportDto.class))).thenReturn(pdf);
+
+            ExportJob job = awaitFinished(jobService.submitPdf(report(7L)));
+
+            assertThat(job.getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+            assertThat(job.getReportId()).isEqualTo(7L);
+            assertThat(Files.readAllBytes(jobService.getResult(job.getId()))).isEqualTo(pdf);
+        }
+
+        @Test
+        @DisplayName("PDF über submit() wird abgelehnt")
+        void pdfRequiresReport() {
+            assertThatThrownBy(() -> jobService.submit(ExportFormat.PDF))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Unbekannte Job-ID führt zu ResourceNotFoundException")
+        void unknownJob() {
+            assertThat(jobService.getJob("gibt-es-nicht")).isEmpty();
+            assertThatThrownBy(() -> jobService.getResult("gibt-es-nicht"))
+                    .isInstanceOf(ResourceNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Spool-Cache")
+    class CacheTests {
+
+        @Test
+        @DisplayName("Identischer Export bei unverändertem Datenbestand kommt aus dem Cache")
+        void repeatedExportIsCached() throws Exception {
+            givenCsvExport();
+            ExportJob first = awaitFinished(jobService.submit(ExportFormat.CSV));
+
+            ExportJob second = jobService.submit(ExportFormat.CSV);
+
+            assertThat(second.getId()).isNotEqualTo(first.getId());
+            assertThat(second.getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+            assertThat(second.isCached()).isTrue();
+            assertThat(jobService.getResult(second.getId())).isEqualTo(first.getResult());
+            verify(exportService, times(1)).writeReportsCsv(any(OutputStream.class), any(Runnable.class));
+        }
+
+        @Test
+        @DisplayName("Änderung am Datenbestand invalidiert den Cache")
+        void dataChangeInvalidatesCache() throws Exception {
+            givenCsvExport();
+            ExportJob first = awaitFinished(jobService.submit(ExportFormat.CSV));
+
+            dataVersion.increment();
+            ExportJob second = awaitFinished(jobService.submit(ExportFormat.CSV));
+
+            assertThat(second.isCached()).isFalse();
+            assertThat(second.getCacheKey()).isNotEqualTo(first.getCacheKey());
+            verify(exportService, times(2)).writeReportsCsv(any(OutputStream.class), any(Runnable.class));
+        }
+
+        @Test
+        @DisplayName("Cache-Schlüssel unterscheidet Format, Report und Version")
+        void cacheKeyComponents() {
+            String base = ExportJobService.cacheKey(ExportFormat.PDF, 1L, "v1");
+
+            assertThat(ExportJobService.cacheKey(ExportFormat.PDF, 1L, "v1")).isEqualTo(base);
+            assertThat(ExportJobService.cacheKey(ExportFormat.PDF, 2L, "v1")).isNotEqualTo(base);
+            assertThat(ExportJobService.cacheKey(ExportFormat.PDF, 1L, "v2")).isNotEqualTo(base);
+            assertThat(ExportJobService.cacheKey(ExportFormat.CSV, null, "v1")).isNotEqualTo(base).hasSize(64);
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallele Anfragen und Kapazität")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Laufender identischer Export wird wiederverwendet, Download erst nach Abschluss")
+        void inFlightJobIsShared() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            when(pdfExportService.exportReportPdf(any(ReportDto.class))).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return new byte[]{1, 2, 3};
+            });
+
+            ExportJob first = jobService.submitPdf(report(1L));
+            ExportJob second = jobService.submitPdf(report(1L));
+
+            assertThat(second).isSameAs(first);
+            assertThatThrownBy(() -> jobService.getResult(first.getId()))
+                    .isInstanceOf(IllegalStateException.class);
+
+            release.countDown();
+            awaitFinished(first);
+            assertThat(first.getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+            verify(pdfExportService, times(1)).exportReportPdf(any(ReportDto.class));
+        }
+
+        @Test
+        @DisplayName("Volle Warteschlange wird mit ExportCapacityExceededException abgelehnt")
+        void fullQueueIsRejected() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            when(pdfExportService.exportReportPdf(any(ReportDto.class))).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return new byte[]{1};
+            });
+
+            // Pool 1 Thread + Warteschlange 1: der dritte Job passt nicht mehr
+            ExportJob running = jobService.submitPdf(report(1L));
+            ExportJob queued = jobService.submitPdf(report(2L));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (running.getStatus() == ExportJob.Status.QUEUED && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThatThrownBy(() -> jobService.submitPdf(report(3L)))
+                    .isInstanceOf(ExportCapacityExceededException.class);
+
+            release.countDown();
+            awaitFinished(running);
+            awaitFinished(queued);
+            assertThat(queued.getStatus()).isEqualTo(ExportJob.Status.COMPLETED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Metriken")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Abgeschlossene Jobs und Cache-Treffer werden pro Format gezählt")
+        void jobsAndSubmissionsAreMetered() throws Exception {
+            givenCsvExport();
+            awaitFinished(jobService.submit(ExportFormat.CSV));
+            jobService.submit(ExportFormat.CSV);
+
+            assertThat(meterRegistry.get(ExportJobService.JOBS_METER)
+                    .tags("format", "CSV", "outcome", "completed").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get(ExportJobService.SUBMISSIONS_METER)
+                    .tags("format", "CSV", "result", "queued").counter().count()).isEqualTo(1.0);
+            assertThat(meterRegistry.get(ExportJobService.SUBMISSIONS_METER)
+                    .tags("format", "CSV", "result", "cached").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Warteschlangentiefe, laufende und abgelehnte Jobs sind sichtbar")
+        void queueDepthIsGauged() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            when(pdfExportService.exportReportPdf(any(ReportDto.class))).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return new byte[]{1};
+            });
+
+            ExportJob running = jobService.submitPdf(report(1L));
+            ExportJob queued = jobService.submitPdf(report(2L));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (running.getStatus() == ExportJob.Status.QUEUED && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThatThrownBy(() -> jobService.submitPdf(report(3L)))
+                    .isInstanceOf(ExportCapacityExceededException.class);
+
+            assertThat(meterRegistry.get("portal.export.queue.depth").tag("format", "PDF").gauge().value())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get("portal.export.active").tag("format", "PDF").gauge().value())
+                    .isEqualTo(1.0);
+            assertThat(meterRegistry.get(ExportJobService.SUBMISSIONS_METER)
+                    .tags("format", "PDF", "result", "rejected").counter().count()).isEqualTo(1.0);
+
+            release.countDown();
+            awaitFinished(running);
+            awaitFinished(queued);
+            assertThat(meterRegistry.get("portal.export.queue.depth").tag("format", "PDF").gauge().value())
+                    .isZero();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.research.portal.application.export;
+
+import com.lowagie.text.pdf.PdfReader;
+import com.lowagie.text.pdf.SimpleBookmark;
+import com.lowagie.text.pdf.parser.PdfTextExtractor;
+import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.application.service.PdfExportService;
+import com.research.portal.config.ExportJobProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit Tests für PdfBundleService.
+ *
+ * Rendert echte PDFs mit PdfExportService; geprüft werden Reihenfolge,
+ * Inhaltsverzeichnis, Lesezeichen und die Begrenzung offener Render-Aufträge.
+ */
+@DisplayName("PdfBundleService Tests")
+class PdfBundleServiceTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private PdfBundleService bundleService;
+
+    @AfterEach
+    void tearDown() {
+        if (bundleService != null) {
+            bundleService.shutdown();
+        }
+    }
+
+    private PdfBundleService createService(PdfExportService pdfExportService, int parallelism, int maxInFlight) {
+        ExportJobProperties properties = new ExportJobProperties();
+        properties.setSpoolDir(spoolDir.toString());
+        properties.setPdfBundleParallelism(parallelism);
+        properties.setPdfBundleMaxInFlight(maxInFlight);
+        properties.setPdfBundleMaxReports(50);
+        bundleService = new PdfBundleService(pdfExportService, properties);
+        return bundleService;
+    }
+
+    private static List<ReportDto> reports(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> {
+            ReportDto dto = new ReportDto();
+            dto.setId(id);
+            dto.setTitle("Report Nummer " + id);
+            dto.setRating("BUY");
+            dto.setPublishedAt(LocalDateTime.of(2026, 1, 1, 9, 0).plusDays(id));
+            dto.setExecutiveSummary("Zusammenfassung " + id);
+            return dto;
+        }).toList();
+    }
+
+    @Nested
+    @DisplayName("ZIP-Export")
+    class ZipTests {
+
+        @Test
+        @DisplayName("ZIP enthält ein gültiges PDF pro Report in Eingabereihenfolge")
+        void zipContainsOnePdfPerReport() throws IOException {
+            createService(new PdfExportService(), 4, 4);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int count = bundleService.writeZip(reports(12), out);
+
+            assertThat(count).isEqualTo(12);
+            List<String> names = new ArrayList<>();
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    names.add(entry.getName());
+                    byte[] pdf = zip.readAllBytes();
+                    assertThat(new String(pdf, 0, 5)).isEqualTo("%PDF-");
+                }
+            }
+            assertThat(names).hasSize(12)
+                    .first().isEqualTo("research-report-1.pdf");
+            assertThat(names).last().isEqualTo("research-report-12.pdf");
+        }
+
+        @Test
+        @DisplayName("Nie mehr offene Render-Aufträge als maxInFlight")
+        void renderingIsBoundedByWindow() throws IOException {
+            AtomicInteger started = new AtomicInteger();
+            AtomicInteger maxAhead = new AtomicInteger();
+            PdfExportService countingService = new PdfExportService() {
+                @Override
+                public byte[] exportReportPdf(ReportDto report) {
+                    started.incrementAndGet();
+                    return super.exportReportPdf(report);
+                }
+            };
+            createService(countingService, 4, 3);
+
+            // Beim Schreiben jedes ZIP-Eintrags (Signatur PK\3\4) wird geprüft,
+            // wie weit das Rendering vorausläuft
+            OutputStream client = new OutputStream() {
+                private final byte[] signature = {'P', 'K', 3, 4};
+                private int matched;
+                private int entries;
+
+                @Override
+                public void write(int b) {
+                    matched = (byte) b == signature[matched] ? matched + 1 : ((byte) b == 'P' ? 1 : 0);
+                    if (matched == signature.length) {
+                        matched = 0;
+                        maxAhead.accumulateAndGet(started.get() - entries++, Math::max);
+                    }
+                }
+            };
+
+            bundleService.writeZip(reports(20), client);
+
+            assertThat(started.get()).isEqualTo(20);
+            assertThat(maxAhead.get()).isBetween(1, 3);
+        }
+
+        @Test
+        @DisplayName("Renderfehler wird an den Aufrufer weitergegeben")
+        void renderFailurePropagates() {
+            PdfExportService failing = new PdfExportService() {
+                @Override
+                public byte[] exportReportPdf(ReportDto report) {
+                    if (report.getId() == 3L) {
+                        throw new IllegalStateException("Render-Fehler");
+                    }
+                    return super.exportReportPdf(report);
+                }
+            };
+            createService(failing, 2, 2);
+
+            assertThatThrownBy(() -> bundleService.writeZip(reports(5), new ByteArrayOutputStream()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Render-Fehler");
+        }
+
+        @Test
+        @DisplayName("Zu viele Reports werden abgelehnt")
+        void tooManyReports() {
+            createService(new PdfExportService(), 1, 1);
+
+            assertThatThrownBy(() -> bundleService.writeZip(reports(51), new ByteArrayOutputStream()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Zusammengeführtes PDF")
+    class MergedTests {
+
+        @Test
+        @DisplayName("PDF enthält Inhaltsverzeichnis, alle Reports und Lesezeichen auf die richtigen Seiten")
+        void mergedPdfWithTocAndBookmarks() throws IOException {
+            createService(new PdfExportService(), 4, 4);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int count = bundleService.writeMerged(reports(5), "Quartal Q1 2026", out);
+
+            assertThat(count).isEqualTo(5);
+            PdfReader reader = new PdfReader(out.toByteArray());
+            try {
+                String firstPage = new PdfTextExtractor(reader).getTextFromPage(1);
+                assertThat(firstPage).contains("Quartal Q1 2026", "Inhaltsverzeichnis", "Report Nummer 5");
+
+                List<Map<String, Object>> bookmarks = SimpleBookmark.getBookmarkList(reader);
+                assertThat(bookmarks).hasSize(5);
+                assertThat(bookmarks.get(0).get("Title")).isEqualTo("#1 Report Nummer 1");
+
+                // Jedes Lesezeichen zeigt auf die Seite mit dem Titel des Reports
+                for (int i = 0; i < bookmarks.size(); i++) {
+                    int page = Integer.parseInt(((String) bookmarks.get(i).get("Page")).split(" ")[0]);
+                    assertThat(new PdfTextExtractor(reader).getTextFromPage(page))
+                            .contains("Report Nummer " + (i + 1));
+                }
+            } finally {
+                reader.close();
+            }
+        }
+
+        @Test
+        @DisplayName("Arbeitsverzeichnis wird nach dem Export gelöscht")
+        void workDirIsRemoved() throws IOException {
+            createService(new PdfExportService(), 2, 2);
+
+            bundleService.writeMerged(reports(3), "Test", new ByteArrayOutputStream());
+
+            try (var files = Files.list(spoolDir)) {
+                assertThat(files).isEmpty();
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.research.portal.application.export;
+
+import com.research.portal.adapter.in.web.controller.PdfExportController;
+import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.adapter.in.web.mapper.ReportApiMapper;
+import com.research.portal.application.search.SearchIndex;
+import com.research.portal.application.service.PdfExportService;
+import com.research.portal.application.service.ReportService;
+import com.research.portal.config.ExportJobProperties;
+import com.research.portal.config.ImportProperties;
+import com.research.portal.domain.model.Rating;
+import com.research.portal.domain.model.ReportImportState;
+import com.research.portal.domain.model.ReportType;
+import com.research.portal.domain.model.ResearchReport;
+import com.research.portal.domain.port.in.ReportBulkImport;
+import com.research.portal.domain.port.out.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Zusammenspiel von inkrementellem Import, {@link ReportDataVersion} und
+ * {@link RenderedPdfCache}: ein geaenderter Re-Import muss das gecachte PDF
+ * und seinen ETag verwerfen wie ein Update ueber die API.
+ *
+ * <p>Service, Versionszaehler, Cache, Mapper und Controller sind echt;
+ * Repository (als Map), Suchindex und PDF-Renderer werden ersetzt.
+ */
+@DisplayName("Re-Import invalidiert gecachte PDFs")
+class ReimportPdfInvalidationTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private final Map<Long, ResearchReport> stored = new HashMap<>();
+    private ReportService reportService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ReportRepository repository = mock(ReportRepository.class);
+        when(repository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.getArgument(0))));
+        when(repository.findImportStates(any())).thenAnswer(invocation -> stored.values().stream()
+                .map(report -> new ReportImportState(report.getId(), report.getImportKey(), report.getContentHash()))
+                .toList());
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ResearchReport> saved = new ArrayList<>();
+            for (ResearchReport report : invocation.<List<ResearchReport>>getArgument(0)) {
+                report.setId(stored.size() + 1L);
+                stored.put(report.getId(), report);
+                saved.add(report);
+            }
+            return saved;
+        });
+        when(repository.updateAll(anyList())).thenAnswer(invocation -> {
+            invocation.<List<ResearchReport>>getArgument(0).forEach(report -> stored.put(report.getId(), report));
+            return invocation.getArgument(0);
+        });
+
+        // Der Renderer schreibt das Kursziel ins PDF: geaenderte Daten ergeben einen anderen ETag
+        PdfExportService renderer = mock(PdfExportService.class);
+        when(renderer.exportReportPdf(any(ReportDto.class))).thenAnswer(invocation -> ("%PDF " + invocation
+                .<ReportDto>getArgument(0).getTargetPrice()).getBytes(StandardCharsets.UTF_8));
+
+        ReportDataVersion dataVersion = new ReportDataVersion();
+        ExportJobProperties exportProperties = new ExportJobProperties();
+        exportProperties.setSpoolDir(spoolDir.toString());
+        RenderedPdfCache pdfCache = new RenderedPdfCache(renderer, dataVersion, exportProperties);
+
+        reportService = new ReportService(repository, mock(SearchIndex.class), dataVersion, new ImportProperties());
+        mockMvc = MockMvcBuilders.standaloneSetup(new PdfExportController(reportService, new ReportApiMapper(),
+                pdfCache, mock(PdfBundleService.class))).build();
+    }
+
+    @Test
+    @DisplayName("Geänderter Re-Import liefert neuen ETag, der alte ergibt kein 304 mehr")
+    void changedReimportInvalidatesPdf() throws Exception {
+        importFeed(new BigDecimal("120.00"));
+        String oldETag = mockMvc.perform(get("/api/export/reports/1/pdf"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        mockMvc.perform(get("/api/export/reports/1/pdf").header("If-None-Match", oldETag))
+                .andExpect(status().isNotModified());
+
+        importFeed(new BigDecimal("135.00"));
+
+        String newETag = mockMvc.perform(get("/api/export/reports/1/pdf").header("If-None-Match", oldETag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(newETag).isNotNull().isNotEqualTo(oldETag);
+        mockMvc.perform(get("/api/export/reports/1/pdf").header("If-None-Match", newETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Unveränderter Re-Import behält ETag und 304")
+    void unchangedReimportKeepsPdf() throws Exception {
+        importFeed(new BigDecimal("120.00"));
+        String etag = mockMvc.perform(get("/api/export/reports/1/pdf"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        importFeed(new BigDecimal("120.00"));
+
+        mockMvc.perform(get("/api/export/reports/1/pdf").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private void importFeed(BigDecimal targetPrice) {
+        ResearchReport report = new ResearchReport();
+        report.setAnalystId(1L);
+        report.setSecurityId(1L);
+        report.setPublishedAt(LocalDateTime.of(2026, 2, 22, 10, 0));
+        report.setReportType(ReportType.UPDATE);
+        report.setTitle("Nestlé: Kursziel angepasst");
+        report.setRating(Rating.BUY);
+        report.setTargetPrice(targetPrice);
+        ReportBulkImport bulkImport = reportService.startBulkImport(saved -> { }, true);
+        bulkImport.add(report);
+        bulkImport.finish();
+    }
+}
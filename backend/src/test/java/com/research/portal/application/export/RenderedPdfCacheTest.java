@@ -0,0 +1,243 @@
+package com.research.portal.application.export;
+
+import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.application.export.RenderedPdfCache.RenderedPdf;
+import com.research.portal.application.service.PdfExportService;
+import com.research.portal.config.ExportJobProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests für RenderedPdfCache.
+ *
+ * Der Renderer wird gemockt; geprüft werden Treffer, Invalidierung über die
+ * Report-Version, Auslagerung auf die Platte und gemeinsames Rendering.
+ */
+@DisplayName("RenderedPdfCache Tests")
+class RenderedPdfCacheTest {
+
+    private static final int ONE_MB = 1024 * 1024;
+
+    @TempDir
+    Path spoolDir;
+
+    private PdfExportService pdfExportService;
+    private ReportDataVersion dataVersion;
+    private RenderedPdfCache cache;
+
+    @BeforeEach
+    void setUp() {
+        pdfExportService = mock(PdfExportService.class);
+        dataVersion = new ReportDataVersion();
+        cache = createCache(32, 256);
+    }
+
+    private RenderedPdfCache createCache(int memoryMb, int diskMb) {
+        ExportJobProperties properties = new ExportJobProperties();
+        properties.setSpoolDir(spoolDir.toString());
+        properties.setPdfCacheMemoryMb(memoryMb);
+        properties.setPdfCacheDiskMb(diskMb);
+        return new RenderedPdfCache(pdfExportService, dataVersion, properties);
+    }
+
+    private static ReportDto report(long id) {
+        ReportDto dto = new ReportDto();
+        dto.setId(id);
+        return dto;
+    }
+
+    // Hilfsmethode: Renderer liefert pro Aufruf einen anderen Inhalt der gewünschten Grösse
+    private void givenRenderer(int size) {
+        AtomicInteger calls = new AtomicInteger();
+        when(pdfExportService.exportReportPdf(any(ReportDto.class))).thenAnswer(invocation -> {
+            byte[] pdf = new byte[size];
+            pdf[0] = (byte) calls.incrementAndGet();
+            return pdf;
+        });
+    }
+
+    @Nested
+    @DisplayName("Treffer und Invalidierung")
+    class HitTests {
+
+        @Test
+        @DisplayName("Zweiter Abruf kommt aus dem Cache, ohne Loader und Renderer")
+        void secondCallIsCached() {
+            givenRenderer(100);
+            AtomicInteger loads = new AtomicInteger();
+
+            RenderedPdf first = cache.getOrRender(1L, () -> { loads.incrementAndGet(); return report(1L); });
+            RenderedPdf second = cache.getOrRender(1L, () -> { loads.incrementAndGet(); return report(1L); });
+
+            assertThat(second.etag()).isEqualTo(first.etag());
+            assertThat(second.content()).isSameAs(first.content());
+            assertThat(cache.etag(1L)).contains(first.etag());
+            assertThat(loads.get()).isEqualTo(1);
+            verify(pdfExportService, times(1)).exportReportPdf(any(ReportDto.class));
+        }
+
+        @Test
+        @DisplayName("Ohne gecachtes PDF gibt es keinen ETag")
+        void noETagBeforeRender() {
+            assertThat(cache.etag(1L)).isEmpty();
+            verifyNoInteractions(pdfExportService);
+        }
+
+        @Test
+        @DisplayName("Änderung am Report invalidiert nur diesen Report")
+        void updateInvalidatesReport() {
+            givenRenderer(100);
+            RenderedPdf one = cache.getOrRender(1L, () -> report(1L));
+            RenderedPdf two = cache.getOrRender(2L, () -> report(2L));
+
+            dataVersion.increment(1L);
+
+            assertThat(cache.etag(1L)).isEmpty();
+            assertThat(cache.etag(2L)).contains(two.etag());
+            RenderedPdf rerendered = cache.getOrRender(1L, () -> report(1L));
+            assertThat(rerendered.etag()).isNotEqualTo(one.etag());
+            verify(pdfExportService, times(3)).exportReportPdf(any(ReportDto.class));
+        }
+
+        @Test
+        @DisplayName("Gelöschter Report liefert kein gecachtes PDF mehr")
+        void removeInvalidatesReport() {
+            givenRenderer(100);
+            cache.getOrRender(1L, () -> report(1L));
+
+            dataVersion.remove(1L);
+
+            assertThat(cache.etag(1L)).isEmpty();
+            assertThatThrownBy(() -> cache.getOrRender(1L, () -> {
+                throw new IllegalStateException("gelöscht");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Fehler im Loader wird weitergegeben und nicht gecacht")
+        void loaderFailure() {
+            assertThatThrownBy(() -> cache.getOrRender(1L, () -> {
+                throw new IllegalStateException("nicht gefunden");
+            })).isInstanceOf(IllegalStateException.class);
+
+            assertThat(cache.etag(1L)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Speicherbudget und Auslagerung")
+    class SpillTests {
+
+        @Test
+        @DisplayName("Über das Speicherbudget verdrängte PDFs werden ausgelagert und wieder geladen")
+        void evictedEntriesSpillToDisk() throws Exception {
+            cache = createCache(1, 256);
+            givenRenderer(400 * 1024);
+
+            RenderedPdf first = cache.getOrRender(1L, () -> report(1L));
+            cache.getOrRender(2L, () -> report(2L));
+            cache.getOrRender(3L, () -> report(3L));
+
+            Path cacheDir = spoolDir.resolve("pdf-cache");
+            try (var files = Files.list(cacheDir)) {
+                assertThat(files).hasSize(1);
+            }
+            assertThat(cache.etag(1L)).contains(first.etag());
+
+            RenderedPdf reloaded = cache.getOrRender(1L, () -> report(1L));
+            assertThat(reloaded.content()).isEqualTo(first.content());
+            verify(pdfExportService, times(3)).exportReportPdf(any(ReportDto.class));
+        }
+
+        @Test
+        @DisplayName("Nicht lesbare ausgelagerte PDFs werden neu gerendert")
+        void unreadableSpilledEntryIsRendered() throws Exception {
+            cache = createCache(1, 256);
+            givenRenderer(400 * 1024);
+
+            RenderedPdf first = cache.getOrRender(1L, () -> report(1L));
+            cache.getOrRender(2L, () -> report(2L));
+            cache.getOrRender(3L, () -> report(3L));
+            try (var files = Files.list(spoolDir.resolve("pdf-cache"))) {
+                files.forEach(file -> file.toFile().delete());
+            }
+
+            RenderedPdf rendered = cache.getOrRender(1L, () -> report(1L));
+
+            assertThat(rendered.etag()).isNotEqualTo(first.etag());
+            assertThat(cache.etag(1L)).contains(rendered.etag());
+            verify(pdfExportService, times(4)).exportReportPdf(any(ReportDto.class));
+        }
+
+        @Test
+        @DisplayName("Ohne Plattenbudget werden verdrängte PDFs verworfen")
+        void noDiskBudget() throws Exception {
+            cache = createCache(1, 0);
+            givenRenderer(ONE_MB / 2 + 1);
+
+            cache.getOrRender(1L, () -> report(1L));
+            cache.getOrRender(2L, () -> report(2L));
+
+            assertThat(cache.etag(1L)).isEmpty();
+            try (var files = Files.list(spoolDir.resolve("pdf-cache"))) {
+                assertThat(files).isEmpty();
+            }
+        }
+
+        @Test
+        @DisplayName("Ausgelagerte Dateien früherer Läufe werden beim Start gelöscht")
+        void staleFilesRemovedOnStartup() throws Exception {
+            Path stale = Files.writeString(spoolDir.resolve("pdf-cache").resolve("7-alt.pdf"), "alt");
+
+            createCache(32, 256);
+
+            assertThat(stale).doesNotExist();
+        }
+    }
+
+    @Test
+    @DisplayName("Gleichzeitige Anfragen teilen sich ein Rendering")
+    void concurrentRequestsShareRendering() throws Exception {
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(pdfExportService.exportReportPdf(any(ReportDto.class))).thenAnswer(invocation -> {
+            rendering.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new byte[]{1, 2, 3};
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<RenderedPdf> first = pool.submit(() -> cache.getOrRender(1L, () -> report(1L)));
+            assertThat(rendering.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<RenderedPdf> second = pool.submit(() -> cache.getOrRender(1L, () -> report(1L)));
+            Future<RenderedPdf> third = pool.submit(() -> cache.getOrRender(1L, () -> report(1L)));
+            Thread.sleep(50);
+            release.countDown();
+
+            String etag = first.get(5, TimeUnit.SECONDS).etag();
+            assertThat(second.get(5, TimeUnit.SECONDS).etag()).isEqualTo(etag);
+            assertThat(third.get(5, TimeUnit.SECONDS).etag()).isEqualTo(etag);
+            verify(pdfExportService, times(1)).exportReportPdf(any(ReportDto.class));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.research.portal.application.export;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit Tests für ReportDataVersion.
+ *
+ * Geprüft werden globale und Report-Versionen sowie die Freigabe der
+ * Einträge gelöschter Reports.
+ */
+@DisplayName("ReportDataVersion Tests")
+class ReportDataVersionTest {
+
+    private final ReportDataVersion dataVersion = new ReportDataVersion();
+
+    @Test
+    @DisplayName("Änderung an einem Report ändert nur dessen Version und die globale")
+    void incrementChangesReportAndGlobalVersion() {
+        String global = dataVersion.current();
+        String one = dataVersion.reportVersion(1L);
+        String two = dataVersion.reportVersion(2L);
+
+        dataVersion.increment(1L);
+
+        assertThat(dataVersion.current()).isNotEqualTo(global);
+        assertThat(dataVersion.reportVersion(1L)).isNotEqualTo(one);
+        assertThat(dataVersion.reportVersion(2L)).isEqualTo(two);
+    }
+
+    @Test
+    @DisplayName("Löschen gibt den Eintrag frei, ohne eine frühere Version zu wiederholen")
+    void removeReleasesEntryWithFreshVersion() {
+        String unchanged = dataVersion.reportVersion(1L);
+        dataVersion.increment(2L);
+        String changed = dataVersion.reportVersion(2L);
+
+        dataVersion.remove(1L);
+        dataVersion.remove(2L);
+
+        assertThat(dataVersion.trackedReports()).isZero();
+        assertThat(dataVersion.reportVersion(1L)).isNotEqualTo(unchanged);
+        assertThat(dataVersion.reportVersion(2L)).isNotIn(unchanged, changed);
+    }
+
+    @Test
+    @DisplayName("Viele geänderte und gelöschte Reports hinterlassen keine Einträge")
+    void entriesDoNotGrowWithDeletedReports() {
+        for (long id = 1; id <= 10_000; id++) {
+            dataVersion.increment(id);
+            dataVersion.increment(id);
+            dataVersion.remove(id);
+        }
+        dataVersion.increment(10_001L);
+
+        assertThat(dataVersion.trackedReports()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,358 @@
+package com.research.portal.application.search;
+
+import com.research.portal.adapter.out.persistence.entity.AnalystEntity;
+import com.research.portal.adapter.out.persistence.entity.ResearchReportEntity;
+import com.research.portal.adapter.out.persistence.entity.SecurityEntity;
+import com.research.portal.adapter.out.persistence.repository.JpaAnalystRepository;
+import com.research.portal.adapter.out.persistence.repository.JpaReportRepository;
+import com.research.portal.adapter.out.persistence.repository.JpaSecurityRepository;
+import com.research.portal.domain.model.Rating;
+import com.research.portal.domain.model.ReportType;
+import com.research.portal.domain.model.ResearchReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests fuer den SearchIndex.
+ * Testet Aufbau, Trefferauswahl, BM25-Ranking und inkrementelle Aktualisierung
+ * mit gemockten JPA-Repositories.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchIndexTest {
+
+    @Mock
+    private JpaReportRepository reportRepository;
+
+    @Mock
+    private JpaAnalystRepository analystRepository;
+
+    @Mock
+    private JpaSecurityRepository securityRepository;
+
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new SearchIndex(reportRepository, analystRepository, securityRepository);
+
+        ResearchReportEntity report = new ResearchReportEntity();
+        report.setId(1L);
+        report.setTitle("Nestlé SA - Initiation of Coverage");
+        report.setExecutiveSummary("Wir initiieren Coverage mit BUY");
+        report.setRating("BUY");
+        report.setReportType("INITIATION");
+        report.setFullText("Nestlé profitiert von Preiserhoehungen. Der Margendruck bleibt im Kaffeegeschaeft hoch.");
+        report.setKeyRisks("Rohstoffpreise|Waehrung");
+        report.setTags("Food|Defensive");
+
+        AnalystEntity analyst = new AnalystEntity();
+        analyst.setId(1L);
+        analyst.setName("Dr. Elena Fischer");
+        analyst.setDepartment("Equity Research");
+
+        SecurityEntity security = new SecurityEntity();
+        security.setId(1L);
+        security.setTicker("NESN");
+        security.setName("Nestlé SA");
+        security.setSector("Consumer Staples");
+
+        when(reportRepository.findAll()).thenReturn(List.of(report));
+        when(analystRepository.findAll()).thenReturn(List.of(analyst));
+        when(securityRepository.findAll()).thenReturn(List.of(security));
+    }
+
+    private List<IndexedDocument> documents(String normalizedQuery, String type) {
+        return searchIndex.search(normalizedQuery, type, 100).hits().stream()
+                .map(SearchHits.Hit::document)
+                .toList();
+    }
+
+    private ResearchReport createReport(Long id, String title) {
+        ResearchReport report = new ResearchReport();
+        report.setId(id);
+        report.setTitle(title);
+        report.setExecutiveSummary("Zusammenfassung");
+        report.setRating(Rating.HOLD);
+        report.setReportType(ReportType.UPDATE);
+        return report;
+    }
+
+    /** Bijektive Basis-26-Darstellung von {@code id - 100}: a..z, aa..zz, aaa.. */
+    private static String letters(long id) {
+        StringBuilder sb = new StringBuilder();
+        for (long n = id - 100 + 1; n > 0; n = (n - 1) / 26) {
+            sb.append((char) ('a' + (n - 1) % 26));
+        }
+        return sb.reverse().toString();
+    }
+
+    @Nested
+    @DisplayName("Aufbau")
+    class Build {
+
+        @Test
+        @DisplayName("Index wird nur einmal aus der Datenbank geladen")
+        void shouldLoadRepositoriesOnlyOnce() {
+            searchIndex.search("nestlé", null, 10);
+            searchIndex.search("fischer", null, 10);
+            searchIndex.search("nesn", null, 10);
+
+            verify(reportRepository, times(1)).findAll();
+            verify(analystRepository, times(1)).findAll();
+            verify(securityRepository, times(1)).findAll();
+            assertThat(searchIndex.size()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Trefferauswahl")
+    class Matching {
+
+        @Test
+        @DisplayName("Findet Dokumente ueber Teilwort eines Terms")
+        void shouldFindBySubstringOfTerm() {
+            var candidates = documents("estl", null);
+
+            assertThat(candidates)
+                    .extracting(IndexedDocument::type)
+                    .containsExactlyInAnyOrder("REPORT", "SECURITY");
+        }
+
+        @Test
+        @DisplayName("Alle Tokens muessen vorkommen")
+        void shouldRequireAllTokens() {
+            assertThat(documents("equity research", null))
+                    .extracting(IndexedDocument::type)
+                    .containsExactly("ANALYST");
+            assertThat(documents("equity nestlé", null)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Typ-Filter wird angewendet")
+        void shouldApplyTypeFilter() {
+            assertThat(documents("nestlé", "SECURITY"))
+                    .extracting(IndexedDocument::type)
+                    .containsExactly("SECURITY");
+        }
+    }
+
+    @Nested
+    @DisplayName("Ranking und Top-k")
+    class Ranking {
+
+        @Test
+        @DisplayName("Exakter Ticker-Match rangiert vor Teilwort-Treffern")
+        void shouldRankExactTickerFirst() {
+            SearchHits hits = searchIndex.search("nesn", null, 10);
+
+            assertThat(hits.hits()).isNotEmpty();
+            assertThat(hits.hits().get(0).document().type()).isEqualTo("SECURITY");
+            assertThat(hits.hits().get(0).field().name()).isEqualTo("ticker");
+        }
+
+        @Test
+        @DisplayName("Exakter Term zaehlt mehr als Teilwort")
+        void shouldScoreExactTermAbovePartialTerm() {
+            double exact = searchIndex.search("research", "ANALYST", 10).hits().get(0).score();
+            double partial = searchIndex.search("search", "ANALYST", 10).hits().get(0).score();
+
+            assertThat(exact).isGreaterThan(partial);
+        }
+
+        @Test
+        @DisplayName("Limit begrenzt die Treffer, Gesamtzahlen bleiben exakt")
+        void shouldCountAllHitsBeyondLimit() {
+            SearchHits hits = searchIndex.search("nestlé", null, 1);
+
+            assertThat(hits.hits()).hasSize(1);
+            assertThat(hits.totalHits()).isEqualTo(2);
+            assertThat(hits.hitsByType()).containsEntry("REPORT", 1).containsEntry("SECURITY", 1);
+        }
+
+        @Test
+        @DisplayName("Kurzes Praefix auf grossem Vokabular wird auf die kuerzesten Terms begrenzt")
+        void shouldBoundPrefixExpansions() {
+            searchIndex.rebuild();
+            // 2000 Reports mit je einem eigenen Term "zins" + Buchstabenfolge, unterschiedlich lang
+            for (long id = 100; id < 2100; id++) {
+                searchIndex.indexReport(createReport(id, "zins" + letters(id)));
+            }
+
+            SearchHits hits = searchIndex.search("zi", "REPORT", 5000);
+
+            assertThat(hits.totalHits()).isEqualTo(SearchIndex.MAX_EXPANSIONS);
+            // Die 26 einbuchstabigen Suffixe (IDs 100-125 → "zinsa".."zinsz") sind die kuerzesten Terms
+            assertThat(hits.hits()).extracting(hit -> hit.document().id())
+                    .contains(100L, 125L)
+                    .doesNotContain(2099L);
+        }
+
+        @Test
+        @DisplayName("Anfrage ohne Tokens liefert keine Treffer")
+        void shouldReturnNothingForQueryWithoutTokens() {
+            searchIndex.rebuild();
+
+            assertThat(searchIndex.search("--", null, 10).totalHits()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Volltext und Phrasen")
+    class FullText {
+
+        @Test
+        @DisplayName("Volltext, Risiken und Tags sind durchsuchbar")
+        void shouldFindReportByFullTextRisksAndTags() {
+            assertThat(documents("kaffeegeschaeft", null)).extracting(IndexedDocument::id).containsExactly(1L);
+            assertThat(documents("rohstoffpreise", null)).extracting(IndexedDocument::id).containsExactly(1L);
+            assertThat(documents("defensive", null)).extracting(IndexedDocument::id).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Treffer liefert die Offsets der Fundstelle im Originaltext")
+        void shouldReturnOffsetsOfMatch() {
+            SearchHits.Hit hit = searchIndex.search("margendruck", null, 10).hits().get(0);
+
+            assertThat(hit.field().name()).isEqualTo("fullText");
+            assertThat(hit.field().value().substring(hit.highlightStart(), hit.highlightEnd()))
+                    .isEqualTo("Margendruck");
+        }
+
+        @Test
+        @DisplayName("Phrase passt nur bei direkt aufeinanderfolgenden Terms")
+        void shouldMatchPhraseOnlyForAdjacentTerms() {
+            SearchHits hits = searchIndex.search("\"margendruck bleibt\"", null, 10);
+
+            assertThat(hits.totalHits()).isEqualTo(1);
+            SearchHits.Hit hit = hits.hits().get(0);
+            assertThat(hit.field().value().substring(hit.highlightStart(), hit.highlightEnd()))
+                    .isEqualTo("Margendruck bleibt");
+            assertThat(searchIndex.search("\"margendruck hoch\"", null, 10).totalHits()).isZero();
+        }
+
+        @Test
+        @DisplayName("Phrase verwendet keine Teilwort-Erweiterung")
+        void shouldNotExpandPhraseTerms() {
+            assertThat(documents("estl", null)).isNotEmpty();
+            assertThat(documents("\"estl\"", null)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("OR liefert Treffer aus beiden Alternativen")
+        void shouldCombineAlternativesWithOr() {
+            assertThat(documents("fischer OR nesn", null))
+                    .extracting(IndexedDocument::type)
+                    .containsExactlyInAnyOrder("ANALYST", "SECURITY");
+            assertThat(documents("fischer nesn", null)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Akzente und Tippfehler")
+    class Fuzzy {
+
+        @Test
+        @DisplayName("Suche ohne Akzent findet Text mit Akzent")
+        void shouldFoldAccents() {
+            assertThat(documents("nestle", null))
+                    .extracting(IndexedDocument::type)
+                    .containsExactlyInAnyOrder("REPORT", "SECURITY");
+        }
+
+        @Test
+        @DisplayName("Vertauschte und falsche Buchstaben werden toleriert")
+        void shouldTolerateTypos() {
+            assertThat(documents("fishcer", null)).extracting(IndexedDocument::type).containsExactly("ANALYST");
+            assertThat(documents("kaffeegeschaft", null)).extracting(IndexedDocument::id).containsExactly(1L);
+        }
+
+        @Test
+        @DisplayName("Unscharfer Treffer zaehlt weniger als exakter Term")
+        void shouldScoreFuzzyBelowExact() {
+            double exact = searchIndex.search("fischer", "ANALYST", 10).hits().get(0).score();
+            double fuzzy = searchIndex.search("fishcer", "ANALYST", 10).hits().get(0).score();
+
+            assertThat(fuzzy).isLessThan(exact);
+        }
+
+        @Test
+        @DisplayName("Kurze Tokens und zu viele Fehler liefern keine Treffer")
+        void shouldNotMatchTooDistantTerms() {
+            assertThat(documents("fxschxx", null)).isEmpty();
+            assertThat(documents("zz", null)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Inkrementelle Aktualisierung")
+    class IncrementalUpdate {
+
+        @Test
+        @DisplayName("Neuer Report ist sofort auffindbar")
+        void shouldIndexNewReport() {
+            searchIndex.rebuild();
+
+            searchIndex.indexReport(createReport(2L, "Novartis AG - Q4 Update"));
+
+            assertThat(documents("novartis", null))
+                    .extracting(IndexedDocument::id)
+                    .containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Aktualisierter Report ersetzt die alten Terms")
+        void shouldReplaceTermsOnUpdate() {
+            searchIndex.rebuild();
+
+            searchIndex.indexReport(createReport(1L, "Lindt - Flash Note"));
+
+            assertThat(documents("lindt", null))
+                    .extracting(IndexedDocument::id)
+                    .containsExactly(1L);
+            assertThat(documents("initiation", null)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Waehrend des Aufbaus gespeicherter Report geht nicht verloren")
+        void shouldKeepReportIndexedDuringBuild() throws Exception {
+            Thread writer = new Thread(() -> searchIndex.indexReport(createReport(2L, "Novartis AG - Q4 Update")));
+            // Der Aufbau liest die DB, bevor der Report gespeichert ist; die Aenderung kommt mitten hinein
+            when(reportRepository.findAll()).thenAnswer(invocation -> {
+                writer.start();
+                while (writer.getState() == Thread.State.NEW || writer.getState() == Thread.State.RUNNABLE) {
+                    Thread.onSpinWait();
+                }
+                return List.of();
+            });
+
+            searchIndex.rebuild();
+            writer.join(5_000);
+
+            assertThat(documents("novartis", null))
+                    .extracting(IndexedDocument::id)
+                    .containsExactly(2L);
+        }
+
+        @Test
+        @DisplayName("Geloeschter Report verschwindet aus dem Index")
+        void shouldRemoveDeletedReport() {
+            searchIndex.rebuild();
+
+            searchIndex.removeReport(1L);
+
+            assertThat(documents("nestlé", null))
+                    .extracting(IndexedDocument::type)
+                    .containsExactly("SECURITY");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.research.portal.application.search;
+
+import com.research.portal.adapter.out.persistence.entity.AnalystEntity;
+import com.research.portal.adapter.out.persistence.entity.SecurityEntity;
+import com.research.portal.adapter.out.persistence.repository.JpaAnalystRepository;
+import com.research.portal.adapter.out.persistence.repository.JpaSecurityRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit Tests fuer den SuggestIndex und den darunterliegenden SuggestTrie.
+ */
+@ExtendWith(MockitoExtension.class)
+class SuggestIndexTest {
+
+    @Mock
+    private JpaAnalystRepository analystRepository;
+
+    @Mock
+    private JpaSecurityRepository securityRepository;
+
+    private SuggestIndex suggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        suggestIndex = new SuggestIndex(analystRepository, securityRepository);
+
+        when(securityRepository.findAll()).thenReturn(List.of(
+                security(1L, "NESN", "Nestlé SA", "CH0038863350"),
+                security(2L, "NOVN", "Novartis AG", "CH0012005267"),
+                security(3L, "UBSG", "UBS Group AG", "CH0244767585")
+        ));
+        AnalystEntity analyst = new AnalystEntity();
+        analyst.setId(1L);
+        analyst.setName("Dr. Elena Fischer");
+        analyst.setDepartment("Equity Research");
+        when(analystRepository.findAll()).thenReturn(List.of(analyst));
+    }
+
+    private SecurityEntity security(Long id, String ticker, String name, String isin) {
+        SecurityEntity entity = new SecurityEntity();
+        entity.setId(id);
+        entity.setTicker(ticker);
+        entity.setName(name);
+        entity.setIsin(isin);
+        return entity;
+    }
+
+    private List<String> values(String prefix) {
+        return suggestIndex.suggest(prefix, 10).stream().map(SuggestTrie.Suggestion::value).toList();
+    }
+
+    @Test
+    @DisplayName("Ticker-Praefix rangiert vor Namens-Praefix")
+    void shouldRankTickerBeforeName() {
+        assertThat(values("no")).containsExactly("NOVN");
+        assertThat(values("n")).startsWith("NESN", "NOVN");
+    }
+
+    @Test
+    @DisplayName("ISIN-Praefix findet die Wertschrift")
+    void shouldSuggestByIsinPrefix() {
+        assertThat(values("ch00388")).containsExactly("CH0038863350");
+    }
+
+    @Test
+    @DisplayName("Namen werden ab jedem Wortanfang gefunden")
+    void shouldSuggestByWordStartInName() {
+        assertThat(values("fisch")).containsExactly("Dr. Elena Fischer");
+        assertThat(values("group")).containsExactly("UBS Group AG");
+    }
+
+    @Test
+    @DisplayName("Jede Entitaet erscheint nur einmal pro Praefix")
+    void shouldNotDuplicateEntities() {
+        // "ag" trifft Novartis AG und UBS Group AG je ueber ein Wort im Namen
+        assertThat(suggestIndex.suggest("ag", 10))
+                .extracting(SuggestTrie.Suggestion::id)
+                .containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    @DisplayName("Limit und unbekanntes Praefix")
+    void shouldRespectLimitAndUnknownPrefix() {
+        assertThat(suggestIndex.suggest("c", 2)).hasSize(2);
+        assertThat(suggestIndex.suggest("xyz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Index wird nur einmal aus der Datenbank geladen")
+    void shouldBuildOnlyOnce() {
+        suggestIndex.suggest("n", 10);
+        suggestIndex.suggest("u", 10);
+
+        verify(securityRepository, times(1)).findAll();
+        verify(analystRepository, times(1)).findAll();
+    }
+}
@@ -0,0 +1,131 @@
+package com.research.portal.application.service;
+
+import com.research.portal.domain.model.ReportExportRow;
+import com.research.portal.domain.port.out.ReportRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Speicher-Benchmark für die gestreamten Exporte.
+ *
+ * <p>Exportiert wachsende Anzahlen synthetischer Reports und misst während des
+ * Exports den belegten Heap (nach GC). Bei gestreamten Exporten muss der Wert
+ * unabhängig von der Zeilenzahl flach bleiben.
+ *
+ * <p>Läuft nicht im normalen Build, sondern nur mit {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Export Speicher-Benchmark")
+class ExportMemoryBenchmarkTest {
+
+    private static final int[] ROW_COUNTS = {10_000, 50_000, 200_000};
+    private static final int SAMPLES_PER_RUN = 8;
+    private static final long MAX_GROWTH_BYTES = 16L * 1024 * 1024;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    @DisplayName("Excel-Export: Heap bleibt bei wachsender Zeilenzahl flach")
+    void excelHeapStaysFlat() throws IOException {
+        Map<Integer, Long> peaks = run("Excel", (service, out) -> service.writeReportsExcel(out));
+
+        assertFlat(peaks);
+    }
+
+    @Test
+    @DisplayName("CSV-Export: Heap bleibt bei wachsender Zeilenzahl flach")
+    void csvHeapStaysFlat() throws IOException {
+        Map<Integer, Long> peaks = run("CSV", (service, out) -> service.writeReportsCsv(out));
+
+        assertFlat(peaks);
+    }
+
+    private Map<Integer, Long> run(String label, Export export) throws IOException {
+        Map<Integer, Long> peaks = new LinkedHashMap<>();
+        for (int rows : ROW_COUNTS) {
+            long[] peak = {0};
+            ReportRepository repository = syntheticRepository(rows, rows / SAMPLES_PER_RUN, peak);
+            CountingOutputStream out = new CountingOutputStream();
+
+            long start = System.nanoTime();
+            export.write(new ExportService(repository), out);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            peaks.put(rows, peak[0]);
+            System.out.printf("%-5s %,9d Zeilen: Heap max %6.1f MB, Ausgabe %7.1f MB, %,6d ms%n",
+                    label, rows, peak[0] / 1_048_576.0, out.count / 1_048_576.0, millis);
+        }
+        return peaks;
+    }
+
+    private void assertFlat(Map<Integer, Long> peaks) {
+        long smallest = peaks.get(ROW_COUNTS[0]);
+        long largest = peaks.get(ROW_COUNTS[ROW_COUNTS.length - 1]);
+        assertThat(largest - smallest).isLessThan(MAX_GROWTH_BYTES);
+    }
+
+    /**
+     * Repository, das die Zeilen erst beim Streamen erzeugt und in regelmässigen
+     * Abständen den belegten Heap misst.
+     */
+    @SuppressWarnings("unchecked")
+    private ReportRepository syntheticRepository(int rows, int sampleEvery, long[] peak) {
+        ReportRepository repository = mock(ReportRepository.class);
+        doAnswer(invocation -> {
+            Consumer<ReportExportRow> action = invocation.getArgument(0);
+            LocalDateTime publishedAt = LocalDateTime.of(2026, 1, 1, 8, 0);
+            for (int i = 1; i <= rows; i++) {
+                action.accept(new ReportExportRow((long) i, "Research Report Nr. " + i + ": Ausblick und Bewertung",
+                        (long) (i % 5 + 1), (long) (i % 10 + 1), "BUY",
+                        BigDecimal.valueOf(10_000 + i, 2), BigDecimal.valueOf(9_000 + i, 2),
+                        BigDecimal.valueOf(1_111, 2), "MEDIUM", publishedAt.plusMinutes(i)));
+                if (i % sampleEvery == 0) {
+                    peak[0] = Math.max(peak[0], usedHeapAfterGc());
+                }
+            }
+            return null;
+        }).when(repository).forEachExportRow(any(Consumer.class));
+        return repository;
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        int write(ExportService service, OutputStream out) throws IOException;
+    }
+
+    /** Verwirft die Ausgabe und zählt nur die Bytes. */
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
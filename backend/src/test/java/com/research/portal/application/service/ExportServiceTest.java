@@ -1,6 +1,7 @@
 package com.research.portal.application.service;
 
-import com.research.portal.adapter.in.web.dto.ReportDto;
+import com.research.portal.domain.model.ReportExportRow;
+import com.research.portal.domain.port.out.ReportRepository;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,44 +10,75 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 
 /**
  * Unit Tests für ExportService.
  *
  * Testet CSV- und Excel-Export mit Testdaten.
- * Kein Spring Context nötig, da ExportService keine Spring-Abhängigkeiten hat.
+ * Kein Spring Context nötig; das gemockte Repository liefert die Zeilen für den gestreamten Export.
  */
 @DisplayName("ExportService Tests")
 class ExportServiceTest {
 
     private ExportService exportService;
+    private ReportRepository reportRepository;
 
     @BeforeEach
     void setUp() {
-        exportService = new ExportService();
+        reportRepository = mock(ReportRepository.class);
+        exportService = new ExportService(reportRepository);
     }
 
-    // Hilfsmethode: erstellt einen vollständig befüllten Test-ReportDto
-    private ReportDto createTestReport(Long id, String title, String rating) {
-        ReportDto dto = new ReportDto();
-        dto.setId(id);
-        dto.setTitle(title);
-        dto.setAnalystId(1L);
-        dto.setSecurityId(2L);
-        dto.setRating(rating);
-        dto.setTargetPrice(new BigDecimal("105.50"));
-        dto.setCurrentPrice(new BigDecimal("89.42"));
-        dto.setImpliedUpside(new BigDecimal("17.98"));
-        dto.setRiskLevel("MEDIUM");
-        dto.setPublishedAt(LocalDateTime.of(2026, 2, 20, 9, 30));
-        return dto;
+    // Hilfsmethode: lässt das Repository die Zeilen nacheinander an den Consumer übergeben
+    @SuppressWarnings("unchecked")
+    private void givenExportRows(ReportExportRow... rows) {
+        doAnswer(invocation -> {
+            Consumer<ReportExportRow> action = invocation.getArgument(0);
+            for (ReportExportRow row : rows) {
+                action.accept(row);
+            }
+            return null;
+        }).when(reportRepository).forEachExportRow(any(Consumer.class));
+    }
+
+    private ReportExportRow createTestRow(Long id, String title) {
+        return createTestRow(id, title, "BUY");
+    }
+
+    private ReportExportRow createTestRow(Long id, String title, String rating) {
+        return new ReportExportRow(id, title, 1L, 2L, rating,
+                new BigDecimal("105.50"), new BigDecimal("89.42"), new BigDecimal("17.98"),
+                "MEDIUM", LocalDateTime.of(2026, 2, 20, 9, 30));
+    }
+
+    // Hilfsmethode: gestreamter CSV-Export der gegebenen Zeilen
+    private byte[] exportCsv(ReportExportRow... rows) throws IOException {
+        givenExportRows(rows);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeReportsCsv(out);
+        return out.toByteArray();
+    }
+
+    // Hilfsmethode: gestreamter Excel-Export der gegebenen Zeilen
+    private byte[] exportExcel(ReportExportRow... rows) throws IOException {
+        givenExportRows(rows);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeReportsExcel(out);
+        return out.toByteArray();
     }
 
     @Nested
@@ -55,10 +87,8 @@ class ExportServiceTest {
 
         @Test
         @DisplayName("CSV enthält alle Header-Spalten")
-        void testCsvExport_containsHeaders() {
-            List<ReportDto> reports = List.of(createTestReport(1L, "Nestlé Analyse", "BUY"));
-
-            byte[] result = exportService.exportReportsCsv(reports);
+        void testCsvExport_containsHeaders() throws IOException {
+            byte[] result = exportCsv(createTestRow(1L, "Nestlé Analyse"));
             String csv = stripBom(result);
             String headerLine = csv.split("\n")[0];
 
@@ -75,13 +105,11 @@ class ExportServiceTest {
 
         @Test
         @DisplayName("CSV enthält die Report-Daten")
-        void testCsvExport_containsData() {
-            List<ReportDto> reports = List.of(
-                    createTestReport(1L, "Nestlé Analyse", "BUY"),
-                    createTestReport(2L, "Novartis Update", "HOLD")
+        void testCsvExport_containsData() throws IOException {
+            byte[] result = exportCsv(
+                    createTestRow(1L, "Nestlé Analyse", "BUY"),
+                    createTestRow(2L, "Novartis Update", "HOLD")
             );
-
-            byte[] result = exportService.exportReportsCsv(reports);
             String csv = stripBom(result);
 
             assertThat(csv).contains("Nestlé Analyse");
@@ -97,10 +125,8 @@ class ExportServiceTest {
 
         @Test
         @DisplayName("CSV verwendet Semikolon als Trenner")
-        void testCsvExport_semicolonSeparator() {
-            List<ReportDto> reports = List.of(createTestReport(1L, "Test Report", "BUY"));
-
-            byte[] result = exportService.exportReportsCsv(reports);
+        void testCsvExport_semicolonSeparator() throws IOException {
+            byte[] result = exportCsv(createTestRow(1L, "Test Report"));
             String csv = stripBom(result);
             String headerLine = csv.split("\n")[0];
 
@@ -113,9 +139,9 @@ class ExportServiceTest {
         }
 
         @Test
-        @DisplayName("CSV mit leerer Liste liefert nur Header-Zeile")
-        void testCsvExport_emptyList() {
-            byte[] result = exportService.exportReportsCsv(List.of());
+        @DisplayName("CSV ohne Reports liefert nur Header-Zeile")
+        void testCsvExport_emptyList() throws IOException {
+            byte[] result = exportCsv();
             String csv = stripBom(result);
             String[] lines = csv.split("\n");
 
@@ -127,8 +153,8 @@ class ExportServiceTest {
 
         @Test
         @DisplayName("CSV enthält UTF-8 BOM am Anfang")
-        void testCsvExport_containsBom() {
-            byte[] result = exportService.exportReportsCsv(List.of());
+        void testCsvExport_containsBom() throws IOException {
+            byte[] result = exportCsv();
 
             // UTF-8 BOM: 0xEF, 0xBB, 0xBF
             assertThat(result).hasSizeGreaterThanOrEqualTo(3);
@@ -139,9 +165,8 @@ class ExportServiceTest {
 
         @Test
         @DisplayName("CSV escaped Felder mit Semikolon korrekt")
-        void testCsvExport_escapesFieldsWithSemicolon() {
-            ReportDto report = createTestReport(1L, "Titel; mit Semikolon", "BUY");
-            byte[] result = exportService.exportReportsCsv(List.of(report));
+        void testCsvExport_escapesFieldsWithSemicolon() throws IOException {
+            byte[] result = exportCsv(createTestRow(1L, "Titel; mit Semikolon"));
             String csv = stripBom(result);
 
             // Das Feld mit Semikolon muss in Anführungszeichen stehen
@@ -149,6 +174,62 @@ class ExportServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("CSV Streaming-Export")
+    class CsvStreamingTests {
+
+        @Test
+        @DisplayName("Gestreamter Export schreibt jede Zeile vollständig")
+        void testStreamingCsv_writesCompleteRows() throws IOException {
+            givenExportRows(createTestRow(1L, "Nestlé Analyse"), createTestRow(2L, "Titel; mit Semikolon"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int count = exportService.writeReportsCsv(out);
+
+            assertThat(count).isEqualTo(2);
+            assertThat(stripBom(out.toByteArray()).split("\n")).containsExactly(
+                    "ID;Titel;Analyst;Ticker (Security-ID);Rating;Kursziel;Aktueller Kurs;Upside (%);Risiko;Datum",
+                    "1;Nestlé Analyse;1;2;BUY;105.50;89.42;17.98;MEDIUM;20.02.2026 09:30",
+                    "2;\"Titel; mit Semikolon\";1;2;BUY;105.50;89.42;17.98;MEDIUM;20.02.2026 09:30");
+        }
+
+        @Test
+        @DisplayName("Leere Tabelle liefert BOM und Header-Zeile")
+        void testStreamingCsv_emptyTable() throws IOException {
+            givenExportRows();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int count = exportService.writeReportsCsv(out);
+
+            assertThat(count).isZero();
+            assertThat(stripBom(out.toByteArray()).split("\n")).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Schreibfehler des Clients wird als IOException weitergegeben")
+        void testStreamingCsv_propagatesIoException() {
+            ReportExportRow[] rows = new ReportExportRow[5000];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = createTestRow((long) i, "Report " + i);
+            }
+            givenExportRows(rows);
+            OutputStream broken = new OutputStream() {
+                private int written;
+
+                @Override
+                public void write(int b) throws IOException {
+                    if (++written > 100) {
+                        throw new IOException("Verbindung abgebrochen");
+                    }
+                }
+            };
+
+            assertThatThrownBy(() -> exportService.writeReportsCsv(broken))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Verbindung abgebrochen");
+        }
+    }
+
     @Nested
     @DisplayName("Excel Export")
     class ExcelExportTests {
@@ -156,9 +237,7 @@ class ExportServiceTest {
         @Test
         @DisplayName("Excel erstellt valides Workbook")
         void testExcelExport_createsWorkbook() throws IOException {
-            List<ReportDto> reports = List.of(createTestReport(1L, "Nestlé Analyse", "BUY"));
-
-            byte[] result = exportService.exportReportsExcel(reports);
+            byte[] result = exportExcel(createTestRow(1L, "Nestlé Analyse"));
 
             assertThat(result).isNotEmpty();
 
@@ -172,9 +251,7 @@ class ExportServiceTest {
         @Test
         @DisplayName("Excel enthält alle Header in der ersten Zeile")
         void testExcelExport_hasHeaders() throws IOException {
-            List<ReportDto> reports = List.of(createTestReport(1L, "Nestlé Analyse", "BUY"));
-
-            byte[] result = exportService.exportReportsExcel(reports);
+            byte[] result = exportExcel(createTestRow(1L, "Nestlé Analyse"));
 
             try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(result))) {
                 Sheet sheet = workbook.getSheetAt(0);
@@ -199,13 +276,11 @@ class ExportServiceTest {
         @Test
         @DisplayName("Excel enthält die Report-Daten in Datenzeilen")
         void testExcelExport_hasData() throws IOException {
-            List<ReportDto> reports = List.of(
-                    createTestReport(1L, "Nestlé Analyse", "BUY"),
-                    createTestReport(2L, "Novartis Update", "HOLD")
+            byte[] result = exportExcel(
+                    createTestRow(1L, "Nestlé Analyse", "BUY"),
+                    createTestRow(2L, "Novartis Update", "HOLD")
             );
 
-            byte[] result = exportService.exportReportsExcel(reports);
-
             try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(result))) {
                 Sheet sheet = workbook.getSheetAt(0);
 
@@ -231,9 +306,7 @@ class ExportServiceTest {
         @Test
         @DisplayName("Excel-Header hat fetten Schriftstil")
         void testExcelExport_headerIsBold() throws IOException {
-            List<ReportDto> reports = List.of(createTestReport(1L, "Test", "BUY"));
-
-            byte[] result = exportService.exportReportsExcel(reports);
+            byte[] result = exportExcel(createTestRow(1L, "Test"));
 
             try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(result))) {
                 Sheet sheet = workbook.getSheetAt(0);
@@ -246,9 +319,9 @@ class ExportServiceTest {
         }
 
         @Test
-        @DisplayName("Excel mit leerer Liste enthält nur Header-Zeile")
+        @DisplayName("Excel ohne Reports enthält nur Header-Zeile")
         void testExcelExport_emptyList() throws IOException {
-            byte[] result = exportService.exportReportsExcel(List.of());
+            byte[] result = exportExcel();
 
             try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(result))) {
                 Sheet sheet = workbook.getSheetAt(0);
@@ -266,7 +339,7 @@ class ExportServiceTest {
         @Test
         @DisplayName("Excel hat korrekte Sheetbezeichnung")
         void testExcelExport_sheetName() throws IOException {
-            byte[] result = exportService.exportReportsExcel(List.of());
+            byte[] result = exportExcel();
 
             try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(result))) {
                 assertThat(workbook.getSheetName(0)).isEqualTo("Research Reports");
@@ -276,9 +349,7 @@ class ExportServiceTest {
         @Test
         @DisplayName("Excel numerische Felder haben Numerikstyp")
         void testExcelExport_numericFieldsHaveNumericType() throws IOException {
-            List<ReportDto> reports = List.of(createTestReport(1L, "Nestlé", "BUY"));
-
-            byte[] result = exportService.exportReportsExcel(reports);
+            byte[] result = exportExcel(createTestRow(1L, "Nestlé"));
 
             try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(result))) {
                 Sheet sheet = workbook.getSheetAt(0);
@@ -295,6 +366,53 @@ class ExportServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("Excel Streaming-Export")
+    class ExcelStreamingTests {
+
+        @Test
+        @DisplayName("Gestreamter Export enthält alle Zeilen aus dem Repository")
+        void testStreamingExcel_containsAllRows() throws IOException {
+            ReportExportRow[] rows = new ReportExportRow[ExportService.EXCEL_ROW_WINDOW * 3];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = createTestRow((long) i + 1, "Report " + (i + 1));
+            }
+            givenExportRows(rows);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            int count = exportService.writeReportsExcel(out);
+
+            assertThat(count).isEqualTo(rows.length);
+            try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                Sheet sheet = workbook.getSheetAt(0);
+                assertThat(sheet.getLastRowNum()).isEqualTo(rows.length);
+                // Zeilen vor dem Fenster wurden ausgelagert und sind trotzdem vollständig
+                assertThat(sheet.getRow(1).getCell(1).getStringCellValue()).isEqualTo("Report 1");
+                assertThat(sheet.getRow(rows.length).getCell(1).getStringCellValue())
+                        .isEqualTo("Report " + rows.length);
+                assertThat(sheet.getRow(1).getCell(5).getNumericCellValue()).isEqualTo(105.50);
+            }
+        }
+
+        @Test
+        @DisplayName("Spaltenbreite richtet sich nach der längsten Zelle")
+        void testStreamingExcel_columnWidthFollowsLongestValue() throws IOException {
+            givenExportRows(createTestRow(1L, "Kurz"),
+                    createTestRow(2L, "Ein deutlich längerer Titel für einen Research Report"));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            exportService.writeReportsExcel(out);
+
+            try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+                Sheet sheet = workbook.getSheetAt(0);
+                int titleWidth = sheet.getColumnWidth(1);
+                assertThat(titleWidth).isGreaterThanOrEqualTo(
+                        "Ein deutlich längerer Titel für einen Research Report".length() * 256);
+                assertThat(sheet.getColumnWidth(0)).isLessThan(titleWidth);
+            }
+        }
+    }
+
     // BOM vom CSV-Inhalt entfernen für String-Vergleiche
     private String stripBom(byte[] bytes) {
         if (bytes.length >= 3
@@ -0,0 +1,240 @@
+package com.research.portal.application.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Contention-Benchmark für das Rate Limiting.
+ *
+ * <p>Mehrere Threads prüfen gleichzeitig Limits – wie der Interceptor pro Request
+ * mit {@code isAllowed} und {@code getRateLimitInfo}. Verglichen wird der frühere
+ * Sliding Window (Deque mit allen Zeitstempeln, hier im Test nachgebaut) mit GCRA
+ * (ein {@link AtomicLong} pro Client). Gemessen werden Durchsatz und allozierte
+ * Bytes pro Prüfung.
+ *
+ * <p>Szenarien: ein einzelner Client am READ-Limit (alle Threads auf einem
+ * Schlüssel), viele Clients (jeder Thread auf eigenen IPs) und ein Angriff von
+ * sehr vielen IPs, bei dem der belegte Heap begrenzt bleiben muss. Die Warnung pro
+ * blockiertem Request ist während der Messung stumm, damit nur der Limiter zählt.
+ *
+ * <p>Läuft nicht im normalen Build, sondern nur mit {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Rate Limiting Contention-Benchmark")
+class RateLimitBenchmarkTest {
+
+    private static final int THREADS = 4;
+    private static final int CHECKS_PER_THREAD = 200_000;
+    private static final int CLIENTS = 10_000;
+    private static final int ROUNDS = 3;
+    private static final int SPRAYED_IPS = 1_000_000;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Logger serviceLog = (Logger) LoggerFactory.getLogger(RateLimitService.class);
+    private Level logLevel;
+
+    @BeforeEach
+    void muteBlockedWarnings() {
+        logLevel = serviceLog.getLevel();
+        serviceLog.setLevel(Level.ERROR);
+    }
+
+    @AfterEach
+    void restoreLogLevel() {
+        serviceLog.setLevel(logLevel);
+    }
+
+    @Test
+    @DisplayName("Ein Client am Limit: alle Threads auf demselben Schlüssel")
+    void hotKey() throws InterruptedException {
+        compare("Ein Client ", (thread, i) -> "10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("Viele Clients: Threads verteilt auf 10'000 IPs")
+    void manyClients() throws InterruptedException {
+        String[] ips = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            ips[i] = "10." + (i / 65536) + "." + (i / 256 % 256) + "." + (i % 256);
+        }
+        compare("Viele IPs  ", (thread, i) -> ips[(thread * 7919 + i) % CLIENTS]);
+    }
+
+    @Test
+    @DisplayName("IP-Spraying: 1 Mio. IPs mit je einem Request, Heap bleibt begrenzt")
+    void ipSpraying() {
+        long baseline = usedHeapAfterGc();
+        LegacySlidingWindow legacyLimiter = new LegacySlidingWindow();
+        for (int i = 0; i < SPRAYED_IPS; i++) {
+            legacyLimiter.isAllowed(sprayedIp(i), RateLimitService.CATEGORY_READ);
+        }
+        long legacyBytes = usedHeapAfterGc() - baseline;
+        int legacyEntries = legacyLimiter.requestTimestamps.size();
+        legacyLimiter = null;
+
+        baseline = usedHeapAfterGc();
+        RateLimitService service = new RateLimitService();
+        for (int i = 0; i < SPRAYED_IPS; i++) {
+            service.isAllowed(sprayedIp(i), RateLimitService.CATEGORY_READ);
+        }
+        long storeBytes = usedHeapAfterGc() - baseline;
+        Map<String, Object> stats = service.getStats();
+
+        System.out.printf("IP-Spraying: Sliding Window %,9d Einträge %7.1f MB | Store %,7d Clients %6.1f MB, "
+                        + "%,d im Überlauf%n",
+                legacyEntries, legacyBytes / 1_048_576.0, stats.get("activeClients"), storeBytes / 1_048_576.0,
+                stats.get("evictedClients"));
+        assertThat((int) stats.get("activeClients")).isLessThanOrEqualTo(RateLimitClientStore.DEFAULT_MAX_CLIENTS);
+        assertThat(storeBytes).isLessThan(legacyBytes / 5);
+    }
+
+    private static String sprayedIp(int i) {
+        return (i >>> 24 & 0xff) + 10 + "." + (i >>> 16 & 0xff) + "." + (i >>> 8 & 0xff) + "." + (i & 0xff);
+    }
+
+    private long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private void compare(String label, ClientPicker clients) throws InterruptedException {
+        Result legacy = null;
+        Result gcra = null;
+        // Erste Runde wärmt auf
+        for (int round = 0; round <= ROUNDS; round++) {
+            LegacySlidingWindow legacyLimiter = new LegacySlidingWindow();
+            Result l = run(clients, (ip, category) -> {
+                // Wie im Interceptor: erst prüfen, dann die Header-Werte lesen
+                boolean allowed = legacyLimiter.isAllowed(ip, category);
+                return legacyLimiter.remaining(ip, category) >= 0 && allowed;
+            });
+            RateLimitService service = new RateLimitService();
+            Result g = run(clients, (ip, category) -> {
+                boolean allowed = service.isAllowed(ip, category);
+                return service.getRateLimitInfo(ip, category).remaining() >= 0 && allowed;
+            });
+            if (round > 0) {
+                legacy = legacy == null ? l : legacy.plus(l);
+                gcra = gcra == null ? g : gcra.plus(g);
+            }
+        }
+
+        double legacyOps = legacy.opsPerSecond();
+        double gcraOps = gcra.opsPerSecond();
+        System.out.printf("%s: Sliding Window %,12.0f Prüfungen/s %6.0f B/Prüfung | GCRA %,12.0f Prüfungen/s "
+                        + "%6.0f B/Prüfung (Faktor %.1f)%n",
+                label, legacyOps, legacy.bytesPerOp(), gcraOps, gcra.bytesPerOp(), gcraOps / legacyOps);
+        assertThat(gcra.allowed()).isPositive();
+        assertThat(gcraOps).isGreaterThan(legacyOps);
+    }
+
+    private Result run(ClientPicker clients, Limiter limiter) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        AtomicLong allocated = new AtomicLong();
+        AtomicLong allowed = new AtomicLong();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    long before = threads.getCurrentThreadAllocatedBytes();
+                    int allowedChecks = 0;
+                    for (int i = 0; i < CHECKS_PER_THREAD; i++) {
+                        if (limiter.check(clients.pick(thread, i), RateLimitService.CATEGORY_READ)) {
+                            allowedChecks++;
+                        }
+                    }
+                    allocated.addAndGet(threads.getCurrentThreadAllocatedBytes() - before);
+                    allowed.addAndGet(allowedChecks);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return new Result((long) THREADS * CHECKS_PER_THREAD, System.nanoTime() - begin, allocated.get(),
+                allowed.get());
+    }
+
+    private record Result(long ops, long nanos, long bytes, long allowed) {
+        Result plus(Result other) {
+            return new Result(ops + other.ops, nanos + other.nanos, bytes + other.bytes, allowed + other.allowed);
+        }
+
+        double opsPerSecond() {
+            return ops * 1e9 / nanos;
+        }
+
+        double bytesPerOp() {
+            return (double) bytes / ops;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Limiter {
+        boolean check(String ip, String category);
+    }
+
+    @FunctionalInterface
+    private interface ClientPicker {
+        String pick(int thread, int iteration);
+    }
+
+    /** Nachbau des früheren Sliding Window: Deque aller Zeitstempel pro "ip:kategorie". */
+    private static final class LegacySlidingWindow {
+        private final ConcurrentHashMap<String, Deque<Long>> requestTimestamps = new ConcurrentHashMap<>();
+
+        boolean isAllowed(String clientIp, String category) {
+            long now = System.currentTimeMillis();
+            long windowStart = now - RateLimitService.WINDOW_MS;
+            Deque<Long> timestamps = requestTimestamps.computeIfAbsent(clientIp + ":" + category,
+                    k -> new ConcurrentLinkedDeque<>());
+            while (!timestamps.isEmpty() && timestamps.peekFirst() != null && timestamps.peekFirst() < windowStart) {
+                timestamps.pollFirst();
+            }
+            if (timestamps.size() >= RateLimitService.READ_LIMIT) {
+                return false;
+            }
+            timestamps.addLast(now);
+            return true;
+        }
+
+        int remaining(String clientIp, String category) {
+            long windowStart = System.currentTimeMillis() - RateLimitService.WINDOW_MS;
+            Deque<Long> timestamps = requestTimestamps.get(clientIp + ":" + category);
+            if (timestamps == null || timestamps.isEmpty()) {
+                return RateLimitService.READ_LIMIT;
+            }
+            long active = timestamps.stream().filter(ts -> ts >= windowStart).count();
+            long resetAt = timestamps.stream().filter(ts -> ts >= windowStart).findFirst()
+                    .map(ts -> ts + RateLimitService.WINDOW_MS).orElse(0L);
+            return resetAt < 0 ? -1 : Math.max(0, RateLimitService.READ_LIMIT - (int) active);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.research.portal.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit-Tests fuer {@link RateLimitClientStore}.
+ *
+ * <p>Testet Kapazitaetsgrenze, das gemeinsame Ueberlauf-Kontingent bei vollem
+ * Shard und das Entfernen inaktiver Clients beim normalen Zugriff.
+ */
+@DisplayName("RateLimitClientStore")
+class RateLimitClientStoreTest {
+
+    private static final long NOW = 1_000_000_000L;
+    private static final int MAX_CLIENTS = RateLimitClientStore.SHARDS * 4;
+
+    private final RateLimitClientStore store = new RateLimitClientStore(MAX_CLIENTS, 2);
+
+    /** Markiert den Client als aktiv: Kontingent teilweise verbraucht */
+    private AtomicLongArray active(String clientIp) {
+        AtomicLongArray state = store.getOrCreate(clientIp, NOW);
+        state.set(0, NOW + 1_000);
+        return state;
+    }
+
+    @Nested
+    @DisplayName("getOrCreate / get")
+    class Access {
+
+        @Test
+        @DisplayName("Liefert fuer dieselbe IP denselben Zustand")
+        void shouldReturnSameState() {
+            AtomicLongArray state = active("10.0.0.1");
+
+            assertThat(store.getOrCreate("10.0.0.1", NOW)).isSameAs(state);
+            assertThat(store.get("10.0.0.1")).isSameAs(state);
+            assertThat(state.length()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("get legt keinen Client an")
+        void shouldNotCreateOnGet() {
+            assertThat(store.get("10.0.0.1")).isNull();
+            assertThat(store.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Lehnt eine Kapazitaet unter der Shard-Anzahl ab")
+        void shouldRejectTinyCapacity() {
+            assertThatThrownBy(() -> new RateLimitClientStore(RateLimitClientStore.SHARDS - 1, 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Kapazitaet")
+    class Capacity {
+
+        @Test
+        @DisplayName("Bleibt bei sehr vielen IPs begrenzt und zaehlt den Ueberlauf")
+        void shouldStayBoundedUnderIpSpraying() {
+            for (int i = 0; i < 10_000; i++) {
+                active("198.51." + (i / 256) + "." + (i % 256));
+            }
+
+            assertThat(store.size()).isLessThanOrEqualTo(MAX_CLIENTS);
+            assertThat(store.overflowCount()).isGreaterThanOrEqualTo(10_000 - MAX_CLIENTS);
+        }
+
+        @Test
+        @DisplayName("Verdraengt keinen aktiven Client, auch nicht den am laengsten nicht gesehenen")
+        void shouldKeepThrottledClientUnderKeySpraying() {
+            AtomicLongArray throttled = active("10.0.0.1");
+
+            for (int i = 0; i < 10_000; i++) {
+                active("198.51." + (i / 256) + "." + (i % 256));
+            }
+
+            assertThat(store.get("10.0.0.1")).isSameAs(throttled);
+            assertThat(store.getOrCreate("10.0.0.1", NOW)).isSameAs(throttled);
+            assertThat(throttled.get(0)).isEqualTo(NOW + 1000);
+        }
+
+        @Test
+        @DisplayName("Neue Clients teilen sich bei vollem Shard das Ueberlauf-Kontingent")
+        void shouldShareOverflowWhenFull() {
+            for (int i = 0; i < 10_000; i++) {
+                active("198.51." + (i / 256) + "." + (i % 256));
+            }
+
+            AtomicLongArray first = store.getOrCreate("203.0.113.1", NOW);
+            AtomicLongArray second = store.getOrCreate("203.0.113.2", NOW);
+
+            assertThat(first).isSameAs(second);
+            assertThat(store.get("203.0.113.1")).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Nach dem Aufraeumen inaktiver Clients erhalten neue Clients wieder eigenen Zustand")
+        void shouldLeaveOverflowAfterIdleSweep() {
+            for (int i = 0; i < 10_000; i++) {
+                active("198.51." + (i / 256) + "." + (i % 256));
+            }
+            AtomicLongArray overflow = store.getOrCreate("203.0.113.1", NOW);
+
+            store.evictIdle(NOW + 2_000);
+
+            assertThat(store.getOrCreate("203.0.113.1", NOW + 2_000)).isNotSameAs(overflow);
+        }
+    }
+
+    @Nested
+    @DisplayName("Inaktive Clients")
+    class IdleEviction {
+
+        @Test
+        @DisplayName("Werden beim Zugriff auf den Shard entfernt, ohne als Ueberlauf zu zaehlen")
+        void shouldEvictIdleOnAccess() {
+            AtomicLongArray first = active("198.51.0.0");
+            for (int i = 1; i < 1_000; i++) {
+                active("198.51." + (i / 256) + "." + (i % 256));
+            }
+            long later = NOW + 2_000;
+
+            // Jeder Zugriff raeumt am Anfang seines Shards auf
+            for (int i = 0; i < 1_000; i++) {
+                store.getOrCreate("203.0.113." + (i % 256), later).set(0, later + 1_000);
+            }
+
+            assertThat(store.get("198.51.0.0")).isNotSameAs(first);
+            assertThat(store.size()).isLessThanOrEqualTo(MAX_CLIENTS);
+        }
+
+        @Test
+        @DisplayName("evictIdle entfernt alle inaktiven und behaelt aktive Clients")
+        void shouldSweepAllIdle() {
+            active("10.0.0.1");
+            active("10.0.0.2").set(1, NOW + 5_000);
+
+            int removed = store.evictIdle(NOW + 2_000);
+
+            assertThat(removed).isEqualTo(1);
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.get("10.0.0.2")).isNotNull();
+        }
+
+        @Test
+        @DisplayName("clear setzt auch die Anzahl zurueck")
+        void shouldClear() {
+            active("10.0.0.1");
+            active("10.0.0.2");
+
+            store.clear();
+
+            assertThat(store.size()).isZero();
+            assertThat(store.get("10.0.0.1")).isNull();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.research.portal.application.service;
+
+import com.research.portal.config.RateLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.research.portal.application.service.RateLimitServiceTest.exportProperties;
+import static com.research.portal.application.service.RateLimitServiceTest.policy;
+import static com.research.portal.application.service.RateLimitServiceTest.route;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit-Tests fuer {@link RateLimitPolicies}: Aufloesung der Routen und
+ * Pruefung der Konfiguration.
+ */
+@DisplayName("RateLimitPolicies")
+class RateLimitPoliciesTest {
+
+    @Nested
+    @DisplayName("Routen")
+    class Routes {
+
+        @Test
+        @DisplayName("Ohne Konfiguration gelten die Standard-Limits")
+        void shouldFallBackToDefaults() {
+            RateLimitPolicies policies = RateLimitPolicies.from(new RateLimitProperties());
+
+            assertThat(policies.names()).containsExactly("READ", "SEARCH", "SUGGEST", "WRITE");
+            assertThat(policies.resolve("GET", "/api/search/suggest", null).policy()).isEqualTo("SUGGEST");
+            assertThat(policies.policy("SUGGEST", null).burst()).isEqualTo(RateLimitService.SUGGEST_LIMIT);
+        }
+
+        @Test
+        @DisplayName("Die erste passende Route gewinnt, sonst READ bzw. WRITE")
+        void shouldUseFirstMatchingRoute() {
+            RateLimitProperties properties = exportProperties(20, 0);
+            properties.getRoutes().add(0, route("/api/export/reports/{id}/pdf", "EXPORT", 2));
+            RateLimitPolicies policies = RateLimitPolicies.from(properties);
+
+            assertThat(policies.resolve("GET", "/api/export/reports/42/pdf", null))
+                    .isEqualTo(new RateLimitPolicies.Route("EXPORT", 2));
+            assertThat(policies.resolve("GET", "/api/export/reports/excel", null))
+                    .isEqualTo(new RateLimitPolicies.Route("EXPORT", 5));
+            assertThat(policies.resolve("GET", "/api/reports/42", null).policy()).isEqualTo("READ");
+            assertThat(policies.resolve("DELETE", "/api/reports/42", null).policy()).isEqualTo("WRITE");
+        }
+
+        @Test
+        @DisplayName("Routen mit Methoden passen nur auf diese Methoden")
+        void shouldRestrictRouteToMethods() {
+            RateLimitProperties properties = exportProperties(20, 0);
+            RateLimitProperties.Route jobs = route("/api/export/jobs", "EXPORT", 5);
+            jobs.setMethods(List.of("post"));
+            properties.getRoutes().add(jobs);
+            RateLimitPolicies policies = RateLimitPolicies.from(properties);
+
+            assertThat(policies.resolve("POST", "/api/export/jobs", null).policy()).isEqualTo("EXPORT");
+            assertThat(policies.resolve("GET", "/api/export/jobs", null).policy()).isEqualTo("READ");
+        }
+
+        @Test
+        @DisplayName("Controller-Mappings werden einmal aufgeloest und danach nachgeschlagen")
+        void shouldResolveHandlerPatternOnce() {
+            RateLimitProperties properties = exportProperties(20, 0);
+            properties.getRoutes().add(0, route("/api/export/reports/{id}/pdf", "EXPORT", 2));
+            RateLimitPolicies policies = RateLimitPolicies.from(properties);
+
+            RateLimitPolicies.Route first = policies.resolve("GET", "/api/export/reports/1/pdf",
+                    "/api/export/reports/{id}/pdf");
+            RateLimitPolicies.Route second = policies.resolve("GET", "/api/export/reports/2/pdf",
+                    "/api/export/reports/{id}/pdf");
+
+            assertThat(first).isEqualTo(new RateLimitPolicies.Route("EXPORT", 2));
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Unbekannte Richtlinien zaehlen wie READ")
+        void shouldTreatUnknownPolicyAsRead() {
+            RateLimitPolicies policies = RateLimitPolicies.defaults();
+
+            assertThat(policies.policy("UNKNOWN", null).name()).isEqualTo("READ");
+        }
+    }
+
+    @Nested
+    @DisplayName("Validierung")
+    class Validation {
+
+        @Test
+        @DisplayName("READ und WRITE muessen konfiguriert sein")
+        void shouldRequireReadAndWrite() {
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.getPolicies().put("READ", policy(100, 0, null));
+
+            assertThatThrownBy(() -> RateLimitPolicies.from(properties))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("WRITE");
+        }
+
+        @Test
+        @DisplayName("Lehnt Routen auf unbekannte Richtlinien ab")
+        void shouldRejectUnknownPolicyInRoute() {
+            RateLimitProperties properties = exportProperties(20, 0);
+            properties.getRoutes().add(route("/api/import/**", "IMPORT", 1));
+
+            assertThatThrownBy(() -> RateLimitPolicies.from(properties))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("IMPORT");
+        }
+
+        @Test
+        @DisplayName("Lehnt Kosten ueber dem Burst ab, auch dem eines Tiers")
+        void shouldRejectCostAboveBurst() {
+            RateLimitProperties properties = exportProperties(20, 0);
+            RateLimitProperties.Tier restricted = new RateLimitProperties.Tier();
+            restricted.getPolicies().put("EXPORT", policy(0, 4, null));
+            properties.getTiers().put("restricted", restricted);
+
+            assertThatThrownBy(() -> RateLimitPolicies.from(properties))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("cost muss zwischen 1 und 4");
+        }
+
+        @Test
+        @DisplayName("Lehnt Benutzer in zwei Tiers ab")
+        void shouldRejectUserInTwoTiers() {
+            RateLimitProperties properties = exportProperties(20, 0);
+            for (String name : List.of("gold", "silver")) {
+                RateLimitProperties.Tier tier = new RateLimitProperties.Tier();
+                tier.getUsers().add("desk-1");
+                properties.getTiers().put(name, tier);
+            }
+
+            assertThatThrownBy(() -> RateLimitPolicies.from(properties))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("desk-1");
+        }
+
+        @Test
+        @DisplayName("Lehnt Richtlinien ohne positive Rate ab")
+        void shouldRejectNonPositiveRate() {
+            RateLimitProperties properties = exportProperties(0, 0);
+
+            assertThatThrownBy(() -> RateLimitPolicies.from(properties))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("EXPORT");
+        }
+    }
+}
@@ -1,23 +1,34 @@
 package com.research.portal.application.service;
 
+import com.research.portal.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Unit-Tests fuer {@link RateLimitService}.
  *
- * <p>Testet den Sliding-Window Rate-Limiting-Algorithmus,
+ * <p>Testet den GCRA Rate-Limiting-Algorithmus,
  * Kategorie-spezifische Limits, IP-Isolation und Admin-Funktionen.
  */
 @DisplayName("RateLimitService")
 class RateLimitServiceTest {
 
+    /** SEARCH: 20 pro Minute, also alle 3 Sekunden ein Request */
+    private static final long SEARCH_INTERVAL_MS = RateLimitService.WINDOW_MS / RateLimitService.SEARCH_LIMIT;
+
     private RateLimitService service;
 
     @BeforeEach
@@ -214,6 +225,26 @@ class RateLimitServiceTest {
             assertThat(blockedByCategory).containsKey(RateLimitService.CATEGORY_SEARCH);
             assertThat(blockedByCategory.get(RateLimitService.CATEGORY_SEARCH)).isEqualTo(2);
         }
+
+        @Test
+        @DisplayName("Statistiken und Micrometer-Meter zeigen dieselben Werte")
+        void shouldExposeStatsAsMeters() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            RateLimitService metered = new RateLimitService(RateLimitPolicies.defaults(), 500, registry);
+            for (int i = 0; i <= RateLimitService.SEARCH_LIMIT; i++) {
+                metered.isAllowed("10.0.0.8", RateLimitService.CATEGORY_SEARCH);
+            }
+            metered.isAllowed("10.0.0.9", RateLimitService.CATEGORY_READ);
+
+            Map<String, Object> stats = metered.getStats();
+
+            assertThat(registry.get("portal.ratelimit.blocked").tag("policy", RateLimitService.CATEGORY_SEARCH)
+                    .counter().count()).isEqualTo((long) stats.get("totalBlocked")).isEqualTo(1.0);
+            assertThat(registry.get("portal.ratelimit.clients").gauge().value())
+                    .isEqualTo((int) stats.get("activeClients")).isEqualTo(2.0);
+            assertThat(registry.get("portal.ratelimit.clients.max").gauge().value()).isEqualTo(1_000.0);
+            assertThat(registry.get("portal.ratelimit.evicted").functionCounter().count()).isZero();
+        }
     }
 
     @Nested
@@ -227,6 +258,14 @@ class RateLimitServiceTest {
             assertThat(service.determineCategory("POST", "/api/search/query")).isEqualTo(RateLimitService.CATEGORY_SEARCH);
         }
 
+        @Test
+        @DisplayName("Gibt SUGGEST zurueck fuer /api/search/suggest Pfad")
+        void shouldReturnSuggestForSuggestPath() {
+            assertThat(service.determineCategory("GET", "/api/search/suggest")).isEqualTo(RateLimitService.CATEGORY_SUGGEST);
+            assertThat(service.getLimitForCategory(RateLimitService.CATEGORY_SUGGEST))
+                    .isGreaterThan(RateLimitService.SEARCH_LIMIT);
+        }
+
         @Test
         @DisplayName("Gibt READ zurueck fuer GET Requests")
         void shouldReturnReadForGetRequests() {
@@ -254,5 +293,344 @@ class RateLimitServiceTest {
             Map<String, Object> stats = service.getStats();
             assertThat((int) stats.get("activeClients")).isZero();
         }
+
+        @Test
+        @DisplayName("Entfernt nur Clients mit wieder vollem Kontingent")
+        void shouldRemoveOnlyRefilledClients() {
+            AtomicLong now = new AtomicLong(1_000_000);
+            RateLimitService clocked = new RateLimitService(now::get);
+            clocked.isAllowed("10.0.0.1", RateLimitService.CATEGORY_SEARCH);
+            now.addAndGet(SEARCH_INTERVAL_MS);
+            clocked.isAllowed("10.0.0.2", RateLimitService.CATEGORY_SEARCH);
+
+            clocked.cleanup();
+
+            assertThat((int) clocked.getStats().get("activeClients")).isEqualTo(1);
+            assertThat(clocked.getRateLimitInfo("10.0.0.1", RateLimitService.CATEGORY_SEARCH).remaining())
+                    .isEqualTo(RateLimitService.SEARCH_LIMIT);
+        }
+    }
+
+    @Nested
+    @DisplayName("GCRA")
+    class Gcra {
+
+        private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+        private final RateLimitService clocked = new RateLimitService(now::get);
+        private final String ip = "10.1.0.1";
+        private final String category = RateLimitService.CATEGORY_SEARCH;
+
+        private void exhaust() {
+            for (int i = 0; i < RateLimitService.SEARCH_LIMIT; i++) {
+                assertThat(clocked.isAllowed(ip, category)).isTrue();
+            }
+        }
+
+        @Test
+        @DisplayName("Gibt nach einem Emissionsintervall genau einen Request wieder frei")
+        void shouldRefillOneRequestPerInterval() {
+            exhaust();
+            assertThat(clocked.isAllowed(ip, category)).isFalse();
+
+            now.addAndGet(SEARCH_INTERVAL_MS - 1);
+            assertThat(clocked.isAllowed(ip, category)).isFalse();
+            now.addAndGet(1);
+            assertThat(clocked.isAllowed(ip, category)).isTrue();
+            assertThat(clocked.isAllowed(ip, category)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Nach einem ganzen Zeitfenster ist das volle Kontingent wieder verfuegbar")
+        void shouldRefillCompletelyAfterWindow() {
+            exhaust();
+
+            now.addAndGet(RateLimitService.WINDOW_MS);
+
+            assertThat(clocked.getRateLimitInfo(ip, category).remaining()).isEqualTo(RateLimitService.SEARCH_LIMIT);
+            exhaust();
+            assertThat(clocked.isAllowed(ip, category)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Blockierte Requests verschieben den Reset-Zeitpunkt nicht")
+        void shouldNotPenalizeBlockedRequests() {
+            exhaust();
+            long resetAt = clocked.getRateLimitInfo(ip, category).resetAtEpochMs();
+
+            for (int i = 0; i < 50; i++) {
+                clocked.isAllowed(ip, category);
+            }
+
+            assertThat(clocked.getRateLimitInfo(ip, category).resetAtEpochMs()).isEqualTo(resetAt);
+        }
+
+        @Test
+        @DisplayName("Info: resetAt ist der Zeitpunkt, an dem der naechste Request frei wird")
+        void shouldReportNextFreeSlot() {
+            long start = now.get();
+            exhaust();
+
+            RateLimitService.RateLimitInfo info = clocked.getRateLimitInfo(ip, category);
+
+            assertThat(info.remaining()).isZero();
+            assertThat(info.limit()).isEqualTo(RateLimitService.SEARCH_LIMIT);
+            assertThat(info.resetAtEpochMs()).isEqualTo(start + SEARCH_INTERVAL_MS);
+
+            now.set(info.resetAtEpochMs());
+            assertThat(clocked.getRateLimitInfo(ip, category).remaining()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Speicher bleibt bei Requests von sehr vielen IPs begrenzt")
+        void shouldStayBoundedUnderIpSpraying() {
+            int maxClients = RateLimitClientStore.SHARDS * 10;
+            RateLimitService bounded = new RateLimitService(now::get, maxClients);
+
+            for (int i = 0; i < 20_000; i++) {
+                now.incrementAndGet();
+                bounded.isAllowed("198.51." + (i / 256) + "." + (i % 256), category);
+            }
+
+            Map<String, Object> stats = bounded.getStats();
+            assertThat((int) stats.get("activeClients")).isLessThanOrEqualTo(maxClients);
+            assertThat((long) stats.get("evictedClients")).isPositive();
+        }
+
+        @Test
+        @DisplayName("Gedrosselter Client bleibt gedrosselt, wenn sehr viele neue IPs senden")
+        void shouldKeepThrottledClientUnderIpSpraying() {
+            RateLimitService bounded = new RateLimitService(now::get, RateLimitClientStore.SHARDS * 10);
+            for (int i = 0; i < RateLimitService.SEARCH_LIMIT; i++) {
+                assertThat(bounded.isAllowed(ip, category)).isTrue();
+            }
+
+            for (int i = 0; i < 20_000; i++) {
+                bounded.isAllowed("198.51." + (i / 256) + "." + (i % 256), category);
+            }
+
+            assertThat(bounded.isAllowed(ip, category)).isFalse();
+            assertThat(bounded.getRateLimitInfo(ip, category).remaining()).isZero();
+        }
+
+        @Test
+        @DisplayName("Parallele Requests desselben Clients ueberschreiten das Limit nicht")
+        void shouldNotExceedLimitUnderContention() throws InterruptedException {
+            int threads = 8;
+            AtomicInteger allowed = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 100; i++) {
+                            if (clocked.isAllowed(ip, RateLimitService.CATEGORY_READ)) {
+                                allowed.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(allowed.get()).isEqualTo(RateLimitService.READ_LIMIT);
+        }
+    }
+
+    @Nested
+    @DisplayName("Richtlinien")
+    class Policies {
+
+        private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+        private final String ip = "10.2.0.1";
+        private RateLimitService configured;
+
+        @BeforeEach
+        void setUp() {
+            configured = new RateLimitService(RateLimitPolicies.from(exportProperties(20, 0)), now::get, 1_000);
+        }
+
+        private RateLimitService.Decision export(String userId) {
+            return configured.check("GET", "/api/export/reports/excel", "/api/export/reports/excel", ip, userId);
+        }
+
+        @Test
+        @DisplayName("Teure Routen verbrauchen ihre Kosten")
+        void shouldChargeRouteCost() {
+            RateLimitService.Decision first = export(null);
+
+            assertThat(first.allowed()).isTrue();
+            assertThat(first.category()).isEqualTo("EXPORT");
+            assertThat(first.cost()).isEqualTo(5);
+            assertThat(first.info().remaining()).isEqualTo(15);
+
+            for (int i = 0; i < 3; i++) {
+                assertThat(export(null).allowed()).isTrue();
+            }
+            RateLimitService.Decision blocked = export(null);
+            assertThat(blocked.allowed()).isFalse();
+            assertThat(blocked.info().remaining()).isZero();
+            // Guenstige Requests laufen ueber ihre eigene Richtlinie weiter
+            assertThat(configured.check("GET", "/api/reports", "/api/reports", ip, null).allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Burst und Dauerrate sind getrennt einstellbar")
+        void shouldSeparateBurstFromSustainedRate() {
+            configured = new RateLimitService(RateLimitPolicies.from(exportProperties(6, 10)), now::get, 1_000);
+
+            assertThat(export(null).allowed()).isTrue();
+            assertThat(export(null).allowed()).isTrue();
+            assertThat(export(null).allowed()).isFalse();
+
+            // 6 pro Minute: alle 10 Sekunden eine Einheit, 5 Einheiten nach 50 Sekunden
+            now.addAndGet(49_999);
+            assertThat(export(null).allowed()).isFalse();
+            now.addAndGet(1);
+            assertThat(export(null).allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("key USER zaehlt pro Benutzer und zusaetzlich pro IP")
+        void shouldKeyByUserAndIp() {
+            for (int i = 0; i < 4; i++) {
+                assertThat(export("desk-1").allowed()).isTrue();
+            }
+            assertThat(export("desk-1").allowed()).isFalse();
+
+            // Ein anderer Benutzer von derselben IP umgeht das IP-Kontingent nicht
+            assertThat(export("desk-2").allowed()).isFalse();
+            assertThat(export(null).allowed()).isFalse();
+            // Derselbe Benutzer von einer anderen IP bleibt ueber sein Kontingent blockiert
+            String otherIp = "10.2.0.2";
+            assertThat(configured.check("GET", "/api/export/reports/excel", "/api/export/reports/excel",
+                    otherIp, "desk-1").allowed()).isFalse();
+            assertThat(configured.check("GET", "/api/export/reports/excel", "/api/export/reports/excel",
+                    otherIp, "desk-2").allowed()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Benutzer-ID gleich einer IP teilt kein Kontingent mit dieser IP")
+        void shouldKeepUserAndIpKeysApart() {
+            for (int i = 0; i < 4; i++) {
+                assertThat(export(null).allowed()).isTrue();
+            }
+
+            // Ein Benutzer namens wie die ausgeschoepfte IP kommt von einer anderen IP durch
+            RateLimitService.Decision decision = configured.check("GET", "/api/export/reports/excel",
+                    "/api/export/reports/excel", "10.2.0.2", ip);
+
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.info().remaining()).isEqualTo(15);
+        }
+
+        @Test
+        @DisplayName("Zufaellige X-User-Id pro Request umgeht das Limit nicht")
+        void shouldNotBypassLimitWithRandomUserIds() {
+            int allowed = 0;
+            for (int i = 0; i < 20; i++) {
+                if (export("random-" + i).allowed()) {
+                    allowed++;
+                }
+            }
+
+            assertThat(allowed).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Am Benutzer-Kontingent blockierter Request verbraucht kein IP-Kontingent")
+        void shouldReleaseIpQuotaWhenUserIsBlocked() {
+            for (int i = 0; i < 4; i++) {
+                assertThat(export("desk-1").allowed()).isTrue();
+            }
+            String otherIp = "10.2.0.2";
+
+            RateLimitService.Decision blocked = configured.check("GET", "/api/export/reports/excel",
+                    "/api/export/reports/excel", otherIp, "desk-1");
+
+            assertThat(blocked.allowed()).isFalse();
+            assertThat(blocked.info().remaining()).isZero();
+            assertThat(configured.getRateLimitInfo(otherIp, "EXPORT").remaining()).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("Tiers ueberschreiben die Werte fuer ihre Benutzer")
+        void shouldApplyTierOverrides() {
+            RateLimitProperties properties = exportProperties(20, 0);
+            RateLimitProperties.Tier premium = new RateLimitProperties.Tier();
+            premium.getUsers().add("desk-premium");
+            RateLimitProperties.Policy more = new RateLimitProperties.Policy();
+            more.setRequestsPerMinute(60);
+            premium.getPolicies().put("EXPORT", more);
+            properties.getTiers().put("premium", premium);
+            configured = new RateLimitService(RateLimitPolicies.from(properties), now::get, 1_000);
+
+            RateLimitService.Decision decision = export("desk-premium");
+
+            assertThat(decision.info().limit()).isEqualTo(60);
+            assertThat(decision.info().remaining()).isEqualTo(55);
+            assertThat(export("desk-standard").info().limit()).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("Neue Richtlinien mit gleichen Namen behalten die Kontingente")
+        void shouldKeepStateWhenReloadingSameNames() {
+            export(null);
+
+            configured.applyPolicies(RateLimitPolicies.from(exportProperties(40, 0)));
+
+            RateLimitService.RateLimitInfo info = configured.getRateLimitInfo(ip, "EXPORT");
+            assertThat(info.limit()).isEqualTo(40);
+            // TAT liegt 15 s in der Zukunft; von 60 s Toleranz bleiben 45 s, also 30 Einheiten zu 1.5 s
+            assertThat(info.remaining()).isEqualTo(30);
+        }
+
+        @Test
+        @DisplayName("Geaenderte Richtlinien-Namen setzen die Kontingente zurueck")
+        void shouldResetStateWhenPolicyLayoutChanges() {
+            for (int i = 0; i < RateLimitService.SEARCH_LIMIT; i++) {
+                configured.isAllowed(ip, RateLimitService.CATEGORY_SEARCH);
+            }
+
+            configured.applyPolicies(RateLimitPolicies.defaults());
+
+            assertThat(configured.isAllowed(ip, RateLimitService.CATEGORY_SEARCH)).isTrue();
+            assertThat(configured.determineCategory("GET", "/api/export/reports/excel"))
+                    .isEqualTo(RateLimitService.CATEGORY_READ);
+        }
+    }
+
+    /**
+     * Standard-Richtlinien plus EXPORT (pro Benutzer) fuer den Excel-Export mit Kosten 5.
+     */
+    static RateLimitProperties exportProperties(int exportPerMinute, int exportBurst) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getPolicies().put("READ", policy(RateLimitService.READ_LIMIT, 0, null));
+        properties.getPolicies().put("WRITE", policy(RateLimitService.WRITE_LIMIT, 0, null));
+        properties.getPolicies().put("SEARCH", policy(RateLimitService.SEARCH_LIMIT, 0, null));
+        properties.getPolicies().put("EXPORT", policy(exportPerMinute, exportBurst, RateLimitProperties.KeyType.USER));
+        properties.getRoutes().add(route("/api/search/**", "SEARCH", 1));
+        properties.getRoutes().add(route("/api/export/reports/excel", "EXPORT", 5));
+        return properties;
+    }
+
+    static RateLimitProperties.Policy policy(int perMinute, int burst, RateLimitProperties.KeyType key) {
+        RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+        policy.setRequestsPerMinute(perMinute);
+        policy.setBurst(burst);
+        policy.setKey(key);
+        return policy;
+    }
+
+    static RateLimitProperties.Route route(String pattern, String policy, int cost) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern(pattern);
+        route.setPolicy(policy);
+        route.setCost(cost);
+        return route;
     }
 }
@@ -0,0 +1,61 @@
+package com.research.portal.application.service;
+
+import com.research.portal.domain.model.ReportType;
+import com.research.portal.domain.model.ResearchReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueft, dass die Migration V7 fuer bestehende Reports denselben
+ * Importschluessel setzt wie {@link ReportFingerprint}, mit und ohne
+ * Publikationszeitpunkt. Sonst wuerden sie beim ersten inkrementellen
+ * Import doppelt eingefuegt.
+ */
+@DisplayName("V7-Importschluessel entspricht ReportFingerprint")
+class ReportFingerprintMigrationTest {
+
+    @Test
+    @DisplayName("Backfill ergibt den Schluessel von ReportFingerprint")
+    void backfillMatchesFingerprint() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:v7-" + System.nanoTime());
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE research_reports (id BIGINT PRIMARY KEY, analyst_id BIGINT, "
+                    + "security_id BIGINT, published_at TIMESTAMP, report_type VARCHAR(50), title VARCHAR(255))");
+            statement.execute("INSERT INTO research_reports VALUES "
+                    + "(1, 2, 3, TIMESTAMP '2026-02-22 09:30:00', 'UPDATE', 'Nestlé: Kursziel erhöht'), "
+                    + "(2, 2, 3, NULL, 'FLASH', 'Nestlé: Ad-hoc-Mitteilung')");
+
+            ScriptUtils.executeSqlScript(connection,
+                    new ClassPathResource("db/migration/V7__research_reports_import_key.sql"));
+
+            try (ResultSet rows = statement.executeQuery("SELECT import_key FROM research_reports ORDER BY id")) {
+                assertThat(rows.next()).isTrue();
+                assertThat(rows.getString(1)).isEqualTo(ReportFingerprint.importKey(
+                        report(LocalDateTime.of(2026, 2, 22, 9, 30), ReportType.UPDATE, "Nestlé: Kursziel erhöht")));
+                assertThat(rows.next()).isTrue();
+                assertThat(rows.getString(1)).isEqualTo(ReportFingerprint.importKey(
+                        report(null, ReportType.FLASH, "Nestlé: Ad-hoc-Mitteilung")));
+            }
+        }
+    }
+
+    private static ResearchReport report(LocalDateTime publishedAt, ReportType type, String title) {
+        ResearchReport report = new ResearchReport();
+        report.setAnalystId(2L);
+        report.setSecurityId(3L);
+        report.setPublishedAt(publishedAt);
+        report.setReportType(type);
+        report.setTitle(title);
+        return report;
+    }
+}
@@ -1,7 +1,11 @@
 package com.research.portal.application.service;
 
 import com.research.portal.application.exception.ResourceNotFoundException;
+import com.research.portal.application.export.ReportDataVersion;
+import com.research.portal.application.search.SearchIndex;
+import com.research.portal.config.ImportProperties;
 import com.research.portal.domain.model.*;
+import com.research.portal.domain.port.in.ReportBulkImport;
 import com.research.portal.domain.port.out.ReportRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,12 +17,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 /**
@@ -31,11 +38,19 @@ class ReportServiceTest {
     @Mock
     private ReportRepository reportRepository;
 
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private ReportDataVersion dataVersion;
+
     private ReportService reportService;
 
     @BeforeEach
     void setUp() {
-        reportService = new ReportService(reportRepository);
+        ImportProperties importProperties = new ImportProperties();
+        importProperties.setBatchSize(2);
+        reportService = new ReportService(reportRepository, searchIndex, dataVersion, importProperties);
     }
 
     // Hilfsmethode: Erstellt einen Test-Report
@@ -63,6 +78,14 @@ class ReportServiceTest {
         return report;
     }
 
+    // Repository vergibt beim Speichern IDs ab 100
+    private List<ResearchReport> withIds(List<ResearchReport> reports) {
+        for (int i = 0; i < reports.size(); i++) {
+            reports.get(i).setId(100L + i);
+        }
+        return reports;
+    }
+
     @Nested
     @DisplayName("getAllReports()")
     class GetAllReports {
@@ -166,6 +189,24 @@ class ReportServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("getReportsPublishedBetween()")
+    class GetReportsPublishedBetween {
+
+        @Test
+        @DisplayName("Delegiert Zeitraum, Wertschrift und Limit an das Repository")
+        void shouldDelegateToRepository() {
+            LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0);
+            when(reportRepository.findPublishedBetween(1L, from, null, 11))
+                    .thenReturn(List.of(createTestReport(1L, "Report 1")));
+
+            var result = reportService.getReportsPublishedBetween(1L, from, null, 11);
+
+            assertThat(result).hasSize(1);
+            verify(reportRepository, never()).findAll();
+        }
+    }
+
     @Nested
     @DisplayName("createReport()")
     class CreateReport {
@@ -182,6 +223,8 @@ class ReportServiceTest {
             assertThat(result.getId()).isEqualTo(1L);
             assertThat(result.getTitle()).isEqualTo("Neuer Report");
             verify(reportRepository).save(inputReport);
+            verify(searchIndex).indexReport(savedReport);
+            verify(dataVersion).increment();
         }
     }
 
@@ -203,6 +246,23 @@ class ReportServiceTest {
             assertThat(result.getTitle()).isEqualTo("Aktualisiert");
             verify(reportRepository).findById(1L);
             verify(reportRepository).save(input);
+            verify(searchIndex).indexReport(updatedReport);
+            verify(dataVersion).increment(1L);
+        }
+
+        @Test
+        @DisplayName("Behält Importschlüssel und Inhalts-Hash des importierten Reports")
+        void shouldKeepImportKey() {
+            var existingReport = createTestReport(1L, "Alt");
+            existingReport.setImportKey("1|1|UPDATE|2026-02-22T10:00:00");
+            existingReport.setContentHash("abc");
+            when(reportRepository.findById(1L)).thenReturn(Optional.of(existingReport));
+            when(reportRepository.save(any(ResearchReport.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            var result = reportService.updateReport(1L, createTestReport(null, "Aktualisiert"));
+
+            assertThat(result.getImportKey()).isEqualTo("1|1|UPDATE|2026-02-22T10:00:00");
+            assertThat(result.getContentHash()).isEqualTo("abc");
         }
 
         @Test
@@ -219,6 +279,7 @@ class ReportServiceTest {
 
             verify(reportRepository).findById(999L);
             verify(reportRepository, never()).save(any());
+            verifyNoInteractions(dataVersion);
         }
     }
 
@@ -236,6 +297,23 @@ class ReportServiceTest {
 
             verify(reportRepository).findById(1L);
             verify(reportRepository).deleteById(1L);
+            verify(searchIndex).removeReport(1L);
+            verify(dataVersion).remove(1L);
+        }
+
+        @Test
+        @DisplayName("Behält Importschlüssel und Inhalts-Hash des importierten Reports")
+        void shouldKeepImportKey() {
+            var existingReport = createTestReport(1L, "Alt");
+            existingReport.setImportKey("1|1|UPDATE|2026-02-22T10:00:00");
+            existingReport.setContentHash("abc");
+            when(reportRepository.findById(1L)).thenReturn(Optional.of(existingReport));
+            when(reportRepository.save(any(ResearchReport.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            var result = reportService.updateReport(1L, createTestReport(null, "Aktualisiert"));
+
+            assertThat(result.getImportKey()).isEqualTo("1|1|UPDATE|2026-02-22T10:00:00");
+            assertThat(result.getContentHash()).isEqualTo("abc");
         }
 
         @Test
@@ -250,6 +328,246 @@ class ReportServiceTest {
 
             verify(reportRepository).findById(999L);
             verify(reportRepository, never()).deleteById(any());
+            verify(searchIndex, never()).removeReport(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("startBulkImport()")
+    class BulkImport {
+
+        @Test
+        @DisplayName("Speichert in Batches der konfigurierten Grösse")
+        void shouldSaveInBatches() {
+            when(reportRepository.saveAll(anyList()))
+                    .thenAnswer(invocation -> withIds(List.copyOf(invocation.getArgument(0))));
+            List<ResearchReport> saved = new ArrayList<>();
+
+            ReportBulkImport bulkImport = reportService.startBulkImport(saved::add);
+            bulkImport.add(createTestReport(null, "A"));
+            bulkImport.add(createTestReport(null, "B"));
+            bulkImport.add(createTestReport(null, "C"));
+            BulkImportResult result = bulkImport.finish();
+
+            assertThat(result.importedCount()).isEqualTo(3);
+            assertThat(result.hasFailures()).isFalse();
+            assertThat(saved).extracting(ResearchReport::getTitle).containsExactly("A", "B", "C");
+            verify(reportRepository, times(2)).saveAll(anyList());
+            verify(reportRepository, never()).save(any());
+            verify(searchIndex, times(3)).indexReport(any());
+            verify(dataVersion, times(2)).increment();
+        }
+
+        @Test
+        @DisplayName("Meldet unvollständige Reports ohne Datenbankzugriff")
+        void shouldRejectIncompleteReports() {
+            ResearchReport noRating = createTestReport(null, "Ohne Rating");
+            noRating.setRating(null);
+
+            ReportBulkImport bulkImport = reportService.startBulkImport(report -> { });
+            bulkImport.add(noRating);
+            BulkImportResult result = bulkImport.finish();
+
+            assertThat(result.importedCount()).isZero();
+            assertThat(result.failures()).containsExactly(
+                    new BulkImportResult.Failure(1, "Ohne Rating", "Pflichtfeld fehlt: rating"));
+            verifyNoInteractions(reportRepository);
+        }
+
+        @Test
+        @DisplayName("Vorgegebene Positionen und verworfene Reports erscheinen sortiert im Ergebnis")
+        void shouldKeepGivenPositions() {
+            when(reportRepository.saveAll(anyList()))
+                    .thenAnswer(invocation -> withIds(List.copyOf(invocation.getArgument(0))));
+
+            ReportBulkImport bulkImport = reportService.startBulkImport(report -> { });
+            bulkImport.add(5, createTestReport(null, "Fünf"));
+            bulkImport.reject(4, "Vier", "Ungueltiger Wert");
+            ResearchReport noTitle = createTestReport(null, " ");
+            bulkImport.add(2, noTitle);
+            BulkImportResult result = bulkImport.finish();
+
+            assertThat(result.importedCount()).isEqualTo(1);
+            assertThat(result.failures()).extracting(BulkImportResult.Failure::position).containsExactly(2, 4);
+        }
+
+        @Test
+        @DisplayName("Fehlgeschlagener Batch wird einzeln wiederholt, nur fehlerhafte Reports werden gemeldet")
+        void shouldRetryFailedBatchIndividually() {
+            ResearchReport good = createTestReport(null, "Gut");
+            ResearchReport bad = createTestReport(null, "Schlecht");
+            ResearchReport incomplete = createTestReport(null, "Unvollständig");
+            incomplete.setAnalystId(null);
+            when(reportRepository.saveAll(anyList()))
+                    .thenThrow(new IllegalStateException("Batch fehlgeschlagen"));
+            when(reportRepository.save(good)).thenReturn(createTestReport(7L, "Gut"));
+            when(reportRepository.save(bad)).thenThrow(
+                    new IllegalStateException("Constraint", new IllegalArgumentException("security_id unbekannt")));
+
+            ReportBulkImport bulkImport = reportService.startBulkImport(report -> { });
+            bulkImport.add(incomplete);
+            bulkImport.add(good);
+            bulkImport.add(bad);
+            BulkImportResult result = bulkImport.finish();
+
+            assertThat(result.importedCount()).isEqualTo(1);
+            assertThat(result.failures()).extracting(BulkImportResult.Failure::position,
+                            BulkImportResult.Failure::reason)
+                    .containsExactly(
+                            tuple(1, "Pflichtfeld fehlt: analystId"),
+                            tuple(3, "security_id unbekannt"));
+            verify(searchIndex, times(1)).indexReport(any());
+        }
+
+        @Test
+        @DisplayName("Setzt Importschlüssel und Inhalts-Hash auch beim normalen Import")
+        void shouldFingerprintImportedReports() {
+            when(reportRepository.saveAll(anyList()))
+                    .thenAnswer(invocation -> withIds(List.copyOf(invocation.getArgument(0))));
+            ResearchReport report = createTestReport(null, "A");
+
+            ReportBulkImport bulkImport = reportService.startBulkImport(r -> { });
+            bulkImport.add(report);
+            bulkImport.finish();
+
+            assertThat(report.getImportKey()).isEqualTo("1|1|UPDATE|2026-02-22T10:00:00");
+            assertThat(report.getContentHash()).hasSize(64);
+            verify(reportRepository, never()).findImportStates(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("startBulkImport(incremental)")
+    class IncrementalImport {
+
+        private ResearchReport report(String title, int day) {
+            ResearchReport report = createTestReport(null, title);
+            report.setPublishedAt(LocalDateTime.of(2026, 2, day, 10, 0));
+            return report;
+        }
+
+        private ReportImportState stored(long id, ResearchReport report) {
+            return new ReportImportState(id, ReportFingerprint.importKey(report),
+                    ReportFingerprint.contentHash(report));
+        }
+
+        @Test
+        @DisplayName("Überspringt unveränderte Reports ohne Schreibzugriff")
+        void shouldSkipUnchangedReports() {
+            ResearchReport a = report("A", 1);
+            ResearchReport b = report("B", 2);
+            when(reportRepository.findImportStates(any())).thenReturn(List.of(stored(10L, a), stored(11L, b)));
+            List<ResearchReport> saved = new ArrayList<>();
+
+            ReportBulkImport bulkImport = reportService.startBulkImport(saved::add, true);
+            bulkImport.add(report("A", 1));
+            bulkImport.add(report("B", 2));
+            BulkImportResult result = bulkImport.finish();
+
+            assertThat(result.importedCount()).isZero();
+            assertThat(result.unchangedCount()).isEqualTo(2);
+            assertThat(saved).isEmpty();
+            verify(reportRepository, never()).saveAll(anyList());
+            verify(reportRepository, never()).updateAll(anyList());
+            verifyNoInteractions(searchIndex, dataVersion);
+        }
+
+        @Test
+        @DisplayName("Aktualisiert geänderte und fügt neue Reports im selben Batch ein")
+        void shouldUpdateChangedAndInsertNew() {
+            ResearchReport changedBefore = report("Geändert", 1);
+            when(reportRepository.findImportStates(any())).thenReturn(List.of(stored(10L, changedBefore)));
+            when(reportRepository.updateAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(reportRepository.saveAll(anyList()))
+                    .thenAnswer(invocation -> withIds(List.copyOf(invocation.getArgument(0))));
+
+            ResearchReport changed = report("Geändert", 1);
+            changed.setTargetPrice(new BigDecimal("130.00"));
+            ResearchReport fresh = report("Neu", 2);
+            ReportBulkImport bulkImport = reportService.startBulkImport(r -> { }, true);
+            bulkImport.add(changed);
+            bulkImport.add(fresh);
+            BulkImportResult result = bulkImport.finish();
+
+            assertThat(result.importedCount()).isEqualTo(2);
+            assertThat(result.updatedCount()).isEqualTo(1);
+            assertThat(result.insertedCount()).isEqualTo(1);
+            assertThat(result.unchangedCount()).isZero();
+            verify(reportRepository).updateAll(argThat(list -> list.size() == 1 && list.get(0).getId() == 10L));
+            verify(reportRepository).saveAll(argThat(list -> list.size() == 1 && list.get(0).getTitle().equals("Neu")));
+            verify(searchIndex, times(2)).indexReport(any());
+            verify(dataVersion, times(1)).increment();
+            verify(dataVersion).increment(10L);
+        }
+
+        @Test
+        @DisplayName("Gleicher Kurs mit anderer Skala gilt als unverändert")
+        void shouldIgnoreDecimalScale() {
+            ResearchReport before = report("A", 1);
+            when(reportRepository.findImportStates(any())).thenReturn(List.of(stored(10L, before)));
+
+            ResearchReport again = report("A", 1);
+            again.setTargetPrice(new BigDecimal("120.5"));
+            ReportBulkImport bulkImport = reportService.startBulkImport(r -> { }, true);
+            bulkImport.add(again);
+
+            assertThat(bulkImport.finish().unchangedCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Doppelter Schlüssel in der Datei wird gegen den ersten abgeglichen statt doppelt eingefügt")
+        void shouldFlushBeforeDuplicateKey() {
+            ResearchReport first = report("A", 1);
+            ResearchReport duplicate = report("A", 1);
+            when(reportRepository.findImportStates(any()))
+                    .thenReturn(List.of())
+                    .thenReturn(List.of(new ReportImportState(100L, ReportFingerprint.importKey(first),
+                            ReportFingerprint.contentHash(first))));
+            when(reportRepository.saveAll(anyList()))
+                    .thenAnswer(invocation -> withIds(List.copyOf(invocation.getArgument(0))));
+
+            ReportBulkImport bulkImport = reportService.startBulkImport(r -> { }, true);
+            bulkImport.add(first);
+            bulkImport.add(duplicate);
+            BulkImportResult result = bulkImport.finish();
+
+            assertThat(result.importedCount()).isEqualTo(1);
+            assertThat(result.unchangedCount()).isEqualTo(1);
+            verify(reportRepository, times(1)).saveAll(anyList());
+            verify(reportRepository, times(2)).findImportStates(any());
+        }
+
+        @Test
+        @DisplayName("Bei doppeltem Altbestand wird der älteste Report aktualisiert")
+        void shouldUpdateOldestOfDuplicates() {
+            ResearchReport before = report("A", 1);
+            String key = ReportFingerprint.importKey(before);
+            when(reportRepository.findImportStates(any())).thenReturn(List.of(
+                    new ReportImportState(3L, key, null), new ReportImportState(8L, key, null)));
+            when(reportRepository.updateAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            ReportBulkImport bulkImport = reportService.startBulkImport(r -> { }, true);
+            bulkImport.add(report("A", 1));
+            bulkImport.finish();
+
+            verify(reportRepository).updateAll(argThat(list -> list.get(0).getId() == 3L));
+        }
+
+        @Test
+        @DisplayName("Fehlgeschlagenes Update wird einzeln wiederholt und bleibt ein Update")
+        void shouldRetryFailedUpdatesIndividually() {
+            ResearchReport before = report("A", 1);
+            when(reportRepository.findImportStates(any())).thenReturn(List.of(new ReportImportState(
+                    10L, ReportFingerprint.importKey(before), "alt")));
+            when(reportRepository.updateAll(anyList())).thenThrow(new IllegalStateException("Batch fehlgeschlagen"));
+            when(reportRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            ReportBulkImport bulkImport = reportService.startBulkImport(r -> { }, true);
+            bulkImport.add(report("A", 1));
+            BulkImportResult result = bulkImport.finish();
+
+            assertThat(result.updatedCount()).isEqualTo(1);
+            verify(reportRepository).save(argThat(report -> report.getId() == 10L));
         }
     }
 }
@@ -2,12 +2,15 @@ package com.research.portal.application.service;
 
 import com.research.portal.adapter.in.web.dto.SearchResponseDto;
 import com.research.portal.adapter.in.web.dto.SearchResultDto;
+import com.research.portal.adapter.in.web.dto.SuggestionDto;
 import com.research.portal.adapter.out.persistence.entity.AnalystEntity;
 import com.research.portal.adapter.out.persistence.entity.ResearchReportEntity;
 import com.research.portal.adapter.out.persistence.entity.SecurityEntity;
 import com.research.portal.adapter.out.persistence.repository.JpaAnalystRepository;
 import com.research.portal.adapter.out.persistence.repository.JpaReportRepository;
 import com.research.portal.adapter.out.persistence.repository.JpaSecurityRepository;
+import com.research.portal.application.search.SearchIndex;
+import com.research.portal.application.search.SuggestIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -24,7 +27,8 @@ import static org.mockito.Mockito.when;
 /**
  * Unit Tests fuer den SearchService.
  * Testet die globale Suche ueber Reports, Analysten und Wertschriften
- * mit gemockten JPA-Repositories.
+ * mit gemockten JPA-Repositories. Der {@link SearchIndex} wird bei der
+ * ersten Suche aus den Repositories aufgebaut.
  */
 @ExtendWith(MockitoExtension.class)
 class SearchServiceTest {
@@ -42,7 +46,9 @@ class SearchServiceTest {
 
     @BeforeEach
     void setUp() {
-        searchService = new SearchService(reportRepository, analystRepository, securityRepository);
+        searchService = new SearchService(
+                new SearchIndex(reportRepository, analystRepository, securityRepository),
+                new SuggestIndex(analystRepository, securityRepository));
     }
 
     // === Hilfsmethoden ===
@@ -127,18 +133,63 @@ class SearchServiceTest {
         }
 
         @Test
-        @DisplayName("Report-Titel-Match hat Relevanz 0.8")
-        void shouldHaveRelevance08ForTitleContains() {
+        @DisplayName("Report-Titel-Match rangiert vor Summary-Match")
+        void shouldRankTitleMatchAboveSummaryMatch() {
+            when(reportRepository.findAll()).thenReturn(List.of(
+                    createReportEntity(1L, "Roche - Pharma Outlook", "Solides Quartal", "BUY", "UPDATE"),
+                    createReportEntity(2L, "Lonza - Q3 Update", "Starke Nachfrage aus der Pharma-Industrie", "HOLD", "UPDATE")
+            ));
+
+            SearchResponseDto result = searchService.search("Pharma", "REPORT", 20);
+
+            assertThat(result.getResults())
+                    .extracting(SearchResultDto::getId)
+                    .containsExactly(1L, 2L);
+            assertThat(result.getResults().get(0).getRelevance()).isEqualTo(1.0);
+            assertThat(result.getResults().get(1).getRelevance()).isLessThan(1.0);
+        }
+
+        @Test
+        @DisplayName("Volltext-Treffer liefert Snippet rund um die Fundstelle")
+        void shouldBuildSnippetFromFullTextMatch() {
+            ResearchReportEntity report = createReportEntity(1L, "Roche - Update", "Solides Quartal", "BUY", "UPDATE");
+            report.setFullText("Einleitung mit sehr viel allgemeinem Text ueber den Markt und die Branche. "
+                    + "Die Pipeline mit Biosimilars bleibt der wichtigste Treiber. "
+                    + "Danach folgen weitere Abschnitte zu Bewertung, Risiken und Kursziel.");
+            when(reportRepository.findAll()).thenReturn(List.of(report));
+
+            SearchResponseDto result = searchService.search("Biosimilars", null, 20);
+
+            String highlight = result.getResults().get(0).getHighlight();
+            assertThat(highlight).startsWith("...").endsWith("...").contains("Pipeline mit Biosimilars bleibt");
+        }
+    }
+
+    @Nested
+    @DisplayName("Fehlertolerante Suche")
+    class FuzzySearch {
+
+        @Test
+        @DisplayName("Tippfehler findet Wertschrift und Report")
+        void shouldFindNovartisWithTypo() {
             setupDefaultMocks();
 
-            SearchResponseDto result = searchService.search("Novartis", null, 20);
+            SearchResponseDto result = searchService.search("Novarits", null, 20);
 
-            SearchResultDto reportResult = result.getResults().stream()
-                    .filter(r -> r.getType().equals("REPORT") && r.getTitle().contains("Novartis"))
-                    .findFirst()
-                    .orElseThrow();
+            assertThat(result.getResults())
+                    .anyMatch(r -> r.getType().equals("SECURITY") && r.getTitle().equals("Novartis AG"))
+                    .anyMatch(r -> r.getType().equals("REPORT") && r.getTitle().contains("Novartis"));
+        }
 
-            assertThat(reportResult.getRelevance()).isEqualTo(0.8);
+        @Test
+        @DisplayName("Suche ohne Akzent findet Nestlé")
+        void shouldFindNestleWithoutAccent() {
+            setupDefaultMocks();
+
+            SearchResponseDto result = searchService.search("Nestle", null, 20);
+
+            assertThat(result.getResults())
+                    .anyMatch(r -> r.getType().equals("SECURITY") && r.getTitle().equals("Nestlé SA"));
         }
     }
 
@@ -396,4 +447,29 @@ class SearchServiceTest {
             assertThat(resultLower.getTotalResults()).isEqualTo(resultUpper.getTotalResults());
         }
     }
+
+    @Nested
+    @DisplayName("Autocomplete")
+    class Suggest {
+
+        @Test
+        @DisplayName("Praefix liefert Ticker-Vorschlag mit Namen als Label")
+        void shouldSuggestTickerByPrefix() {
+            when(securityRepository.findAll()).thenReturn(List.of(
+                    createSecurityEntity(1L, "NESN", "Nestlé SA", "CH0038863350", "Consumer Staples", "Food Products")
+            ));
+
+            List<SuggestionDto> suggestions = searchService.suggest("ne", 10);
+
+            assertThat(suggestions).isNotEmpty();
+            assertThat(suggestions.get(0).getValue()).isEqualTo("NESN");
+            assertThat(suggestions.get(0).getLabel()).isEqualTo("Nestlé SA");
+        }
+
+        @Test
+        @DisplayName("Leeres Praefix liefert keine Vorschlaege")
+        void shouldReturnNothingForBlankPrefix() {
+            assertThat(searchService.suggest("  ", 10)).isEmpty();
+        }
+    }
 }
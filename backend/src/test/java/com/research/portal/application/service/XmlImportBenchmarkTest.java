@@ -0,0 +1,235 @@
+package com.research.portal.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Durchsatz- und Speicher-Benchmark für den XML-Import.
+ *
+ * <p>Erzeugt synthetische XML-Dateien und vergleicht den Durchsatz (MB/s) des
+ * DOM/XPath-Parsers mit dem StAX-Parser. Der DOM-Pfad hält das ganze Dokument
+ * im Speicher und kopiert jeden Report für die relativen XPath-Ausdrücke; er wird
+ * deshalb nur mit kleinen Dateien gemessen.
+ *
+ * <p>Für den StAX-Parser wird zusätzlich bei wachsender Dateigrösse der belegte
+ * Heap (nach GC) während des Lesens gemessen; er muss flach bleiben.
+ *
+ * <p>Die XSD-Validierung wird mit pro Aufruf kompiliertem und mit vorkompiliertem
+ * Schema verglichen, sowie Validieren und Lesen in einem gegen zwei Durchgänge.
+ *
+ * <p>Läuft nicht im normalen Build, sondern nur mit {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("XML-Import Benchmark")
+class XmlImportBenchmarkTest {
+
+    private static final int[] COMPARE_COUNTS = {250, 1_000};
+    private static final int[] STREAM_COUNTS = {10_000, 50_000, 150_000};
+    private static final int SAMPLES_PER_RUN = 8;
+    private static final long MAX_GROWTH_BYTES = 16L * 1024 * 1024;
+    private static final int SMALL_FILE_REPORTS = 5;
+    private static final int VALIDATIONS = 500;
+    private static final int SINGLE_PASS_REPORTS = 50_000;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final XmlReportParserService parserService = new XmlReportParserService();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("StAX vs. DOM: Durchsatz in MB/s")
+    void throughputStaxVersusDom() throws IOException {
+        for (int reports : COMPARE_COUNTS) {
+            Path xml = writeSyntheticXml(reports);
+            double megabytes = Files.size(xml) / 1_048_576.0;
+
+            long start = System.nanoTime();
+            try (InputStream in = open(xml)) {
+                assertThat(parserService.parseReportsFromXmlDom(in)).hasSize(reports);
+            }
+            double domSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            try (InputStream in = open(xml)) {
+                assertThat(parserService.streamReports(in, null, report -> { })).isEqualTo(reports);
+            }
+            double staxSeconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%,7d Reports (%6.1f MB): DOM %7.2f MB/s, StAX %7.2f MB/s%n",
+                    reports, megabytes, megabytes / domSeconds, megabytes / staxSeconds);
+            assertThat(staxSeconds).isLessThan(domSeconds);
+            Files.delete(xml);
+        }
+    }
+
+    @Test
+    @DisplayName("StAX: Durchsatz in MB/s, Heap bleibt bei wachsender Dateigrösse flach")
+    void staxHeapStaysFlat() throws IOException {
+        Map<Integer, Long> peaks = new LinkedHashMap<>();
+
+        for (int reports : STREAM_COUNTS) {
+            Path xml = writeSyntheticXml(reports);
+            double megabytes = Files.size(xml) / 1_048_576.0;
+
+            // Durchsatz ohne Messpunkte, damit System.gc() nicht mitgezählt wird
+            long start = System.nanoTime();
+            try (InputStream in = open(xml)) {
+                parserService.streamReports(in, null, report -> { });
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            long[] peak = {0};
+            int[] seen = {0};
+            int sampleEvery = reports / SAMPLES_PER_RUN;
+            try (InputStream in = open(xml)) {
+                parserService.streamReports(in, null, report -> {
+                    if (++seen[0] % sampleEvery == 0) {
+                        peak[0] = Math.max(peak[0], usedHeapAfterGc());
+                    }
+                });
+            }
+
+            peaks.put(reports, peak[0]);
+            System.out.printf("StAX %,7d Reports (%6.1f MB): %7.2f MB/s, Heap max %6.1f MB%n",
+                    reports, megabytes, megabytes / seconds, peak[0] / 1_048_576.0);
+            Files.delete(xml);
+        }
+
+        long smallest = peaks.get(STREAM_COUNTS[0]);
+        long largest = peaks.get(STREAM_COUNTS[STREAM_COUNTS.length - 1]);
+        assertThat(largest - smallest).isLessThan(MAX_GROWTH_BYTES);
+    }
+
+    @Test
+    @DisplayName("Validierung kleiner Dateien: vorkompiliertes Schema vs. Kompilieren pro Aufruf")
+    void cachedSchemaValidation() throws IOException {
+        Path xml = writeSyntheticXml(SMALL_FILE_REPORTS);
+        byte[] xsd;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(ReportXmlSchema.CLASSPATH_LOCATION)) {
+            xsd = in.readAllBytes();
+        }
+
+        // Aufwärmen
+        for (int i = 0; i < 50; i++) {
+            try (InputStream in = open(xml)) {
+                parserService.validateXml(in, new ByteArrayInputStream(xsd));
+            }
+            try (InputStream in = open(xml)) {
+                parserService.validateXml(in);
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < VALIDATIONS; i++) {
+            try (InputStream in = open(xml)) {
+                assertThat(parserService.validateXml(in, new ByteArrayInputStream(xsd))).isTrue();
+            }
+        }
+        double compiledMicros = (System.nanoTime() - start) / 1e3 / VALIDATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < VALIDATIONS; i++) {
+            try (InputStream in = open(xml)) {
+                assertThat(parserService.validateXml(in).valid()).isTrue();
+            }
+        }
+        double cachedMicros = (System.nanoTime() - start) / 1e3 / VALIDATIONS;
+
+        System.out.printf("Validierung %d Reports: Schema pro Aufruf %8.1f µs, vorkompiliert %8.1f µs%n",
+                SMALL_FILE_REPORTS, compiledMicros, cachedMicros);
+        assertThat(cachedMicros).isLessThan(compiledMicros / 2);
+    }
+
+    @Test
+    @DisplayName("Validieren und Lesen: ein Durchgang vs. zwei Durchgänge")
+    void singlePassValidation() throws IOException {
+        Path xml = writeSyntheticXml(SINGLE_PASS_REPORTS);
+        double megabytes = Files.size(xml) / 1_048_576.0;
+
+        // Erster Lauf wärmt beide Varianten auf, gemessen wird der zweite
+        double twoPass = 0;
+        double singlePass = 0;
+        for (int round = 0; round < 2; round++) {
+            int[] count = new int[2];
+            long start = System.nanoTime();
+            try (InputStream in = open(xml)) {
+                assertThat(parserService.validateXml(in).valid()).isTrue();
+            }
+            try (InputStream in = open(xml)) {
+                parserService.streamReportFields(in, null, false, (position, fields) -> count[0]++);
+            }
+            twoPass = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            try (InputStream in = open(xml)) {
+                parserService.streamReportFields(in, null, true, (position, fields) -> {
+                    assertThat(fields.schemaErrors()).isEmpty();
+                    count[1]++;
+                });
+            }
+            singlePass = (System.nanoTime() - start) / 1e9;
+            assertThat(count).containsExactly(SINGLE_PASS_REPORTS, SINGLE_PASS_REPORTS);
+        }
+
+        System.out.printf("%,d Reports (%.1f MB): zwei Durchgänge %6.2f MB/s, ein Durchgang %6.2f MB/s%n",
+                SINGLE_PASS_REPORTS, megabytes, megabytes / twoPass, megabytes / singlePass);
+        Files.delete(xml);
+    }
+
+    private static InputStream open(Path file) throws IOException {
+        return new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+    }
+
+    private Path writeSyntheticXml(int reports) throws IOException {
+        Path file = tempDir.resolve("reports-" + reports + ".xml");
+        LocalDateTime publishedAt = LocalDateTime.of(2026, 1, 1, 8, 0);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<researchReports>\n");
+            for (int i = 1; i <= reports; i++) {
+                writer.write("  <report>\n");
+                writer.write("    <title>Research Report Nr. " + i + ": Ausblick und Bewertung</title>\n");
+                writer.write("    <analyst><name>Analyst " + (i % 5 + 1) + "</name><analystId>"
+                        + (i % 5 + 1) + "</analystId></analyst>\n");
+                writer.write("    <security><ticker>T" + (i % 10) + "</ticker><securityId>"
+                        + (i % 10 + 1) + "</securityId><name>Wertschrift " + (i % 10) + "</name></security>\n");
+                writer.write("    <publishedAt>" + publishedAt.plusMinutes(i) + ":00</publishedAt>\n");
+                writer.write("    <reportType>UPDATE</reportType><rating>BUY</rating><previousRating>HOLD</previousRating>\n");
+                writer.write("    <targetPrice>" + (100 + i % 50) + ".00</targetPrice><previousTarget>95.00</previousTarget>"
+                        + "<currentPrice>90.50</currentPrice><riskLevel>MEDIUM</riskLevel>\n");
+                writer.write("    <executiveSummary>Nachfrage stabil, Margen steigen; Bewertung bleibt attraktiv. "
+                        + "Nr. " + i + "</executiveSummary>\n");
+                writer.write("    <catalysts><catalyst>Preiserhöhungen greifen</catalyst>"
+                        + "<catalyst>Aktienrückkauf</catalyst></catalysts>\n");
+                writer.write("    <risks><risk>Währungseffekte CHF/USD</risk></risks>\n");
+                writer.write("    <tags><tag>Large Cap</tag><tag>Schweiz</tag></tags>\n");
+                writer.write("  </report>\n");
+            }
+            writer.write("</researchReports>\n");
+        }
+        return file;
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
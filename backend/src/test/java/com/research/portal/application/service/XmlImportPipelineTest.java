@@ -0,0 +1,315 @@
+package com.research.portal.application.service;
+
+import com.research.portal.config.ImportProperties;
+import com.research.portal.domain.model.BulkImportResult;
+import com.research.portal.domain.model.ResearchReport;
+import com.research.portal.domain.port.in.ReportBulkImport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit Tests für XmlImportPipeline.
+ *
+ * Verwendet den echten Parser und einen aufzeichnenden ReportBulkImport;
+ * geprüft werden Vollständigkeit, Fehler pro Report, Back-Pressure und Abbruch.
+ */
+@DisplayName("XmlImportPipeline Tests")
+class XmlImportPipelineTest {
+
+    private final XmlReportParserService parserService = new XmlReportParserService();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private XmlImportPipeline createPipeline(int workers, int queueCapacity) {
+        ImportProperties properties = new ImportProperties();
+        properties.setPipelineWorkers(workers);
+        properties.setPipelineQueueCapacity(queueCapacity);
+        return new XmlImportPipeline(parserService, properties, meterRegistry);
+    }
+
+    private static InputStream xml(int reports, int invalidPosition) {
+        StringBuilder xml = new StringBuilder("<researchReports>");
+        for (int i = 1; i <= reports; i++) {
+            String rating = i == invalidPosition ? "GROSSARTIG" : "BUY";
+            xml.append("<report><title>Report ").append(i).append("</title>")
+                    .append("<analyst><analystId>1</analystId></analyst>")
+                    .append("<security><ticker>NESN</ticker><securityId>1</securityId></security>")
+                    .append("<reportType>UPDATE</reportType><rating>").append(rating).append("</rating>")
+                    .append("<targetPrice>110.00</targetPrice><currentPrice>100.00</currentPrice></report>");
+        }
+        return new ByteArrayInputStream(xml.append("</researchReports>").toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Zeichnet übergebene und verworfene Reports nach Position auf. */
+    private static class RecordingImport implements ReportBulkImport {
+        final Map<Integer, ResearchReport> added = Collections.synchronizedMap(new TreeMap<>());
+        final Map<Integer, String> rejected = Collections.synchronizedMap(new TreeMap<>());
+
+        @Override
+        public void add(ResearchReport report) {
+            add(added.size() + 1, report);
+        }
+
+        @Override
+        public void add(int position, ResearchReport report) {
+            added.put(position, report);
+        }
+
+        @Override
+        public void reject(int position, String title, String reason) {
+            rejected.put(position, reason);
+        }
+
+        @Override
+        public BulkImportResult finish() {
+            return new BulkImportResult(added.size(), List.of());
+        }
+    }
+
+    @Nested
+    @DisplayName("Verarbeitung")
+    class ProcessingTests {
+
+        @Test
+        @DisplayName("Übergibt alle Reports mit ihrer Dateiposition und zählt pro Stufe")
+        void deliversAllReports() {
+            XmlImportPipeline pipeline = createPipeline(4, 8);
+            RecordingImport sink = new RecordingImport();
+
+            ImportPipelineStats stats = pipeline.run(xml(500, -1), null, sink);
+
+            assertThat(sink.added).hasSize(500);
+            assertThat(sink.added.get(42).getTitle()).isEqualTo("Report 42");
+            assertThat(sink.added.get(42).getImpliedUpside()).isEqualByComparingTo("10.00");
+            assertThat(stats.state()).isEqualTo("COMPLETED");
+            assertThat(stats.stages()).extracting(ImportPipelineStats.Stage::name)
+                    .containsExactly("parse", "map", "write");
+            assertThat(stats.stages()).allSatisfy(stage -> assertThat(stage.items()).isEqualTo(500));
+            assertThat(stats.stages().get(1).threads()).isEqualTo(4);
+            assertThat(stats.stages().get(0).queueCapacity()).isNull();
+            assertThat(stats.stages().get(1).queueCapacity()).isEqualTo(8);
+        }
+
+        @Test
+        @DisplayName("Liefert dieselben Reports wie der sequentielle Parser")
+        void matchesSequentialParser() {
+            RecordingImport sink = new RecordingImport();
+            createPipeline(3, 4).run(getClass().getClassLoader()
+                    .getResourceAsStream("sample-reports/test-reports.xml"), null, sink);
+
+            List<ResearchReport> sequential = parserService.parseReportsFromXml(getClass().getClassLoader()
+                    .getResourceAsStream("sample-reports/test-reports.xml"));
+
+            assertThat(new ArrayList<>(sink.added.values()))
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .isEqualTo(sequential);
+        }
+
+        @Test
+        @DisplayName("Ungültiger Wert verwirft nur diesen Report")
+        void invalidValueRejectsSingleReport() {
+            RecordingImport sink = new RecordingImport();
+
+            createPipeline(2, 4).run(xml(20, 7), null, sink);
+
+            assertThat(sink.added).hasSize(19).doesNotContainKey(7);
+            assertThat(sink.rejected).containsOnlyKeys(7);
+            assertThat(sink.rejected.get(7)).contains("GROSSARTIG");
+        }
+
+        @Test
+        @DisplayName("Sequentielle Variante verwirft ungültige Reports ebenfalls einzeln")
+        void sequentialRejectsSingleReport() {
+            RecordingImport sink = new RecordingImport();
+
+            createPipeline(2, 4).runSequential(xml(20, 7), null, sink);
+
+            assertThat(sink.added).hasSize(19).doesNotContainKey(7);
+            assertThat(sink.rejected).containsOnlyKeys(7);
+        }
+
+        @Test
+        @DisplayName("Mit Validierung werden Reports mit Schemaverletzung einzeln verworfen")
+        void schemaViolationRejectsSingleReport() {
+            RecordingImport sink = new RecordingImport();
+
+            // Den generierten Reports fehlen Pflichtelemente wie publishedAt
+            createPipeline(2, 4).run(xml(3, -1), null, true, sink);
+
+            assertThat(sink.added).isEmpty();
+            assertThat(sink.rejected).containsOnlyKeys(1, 2, 3);
+            assertThat(sink.rejected.get(2)).startsWith("Schema: Zeile 1,");
+        }
+
+        @Test
+        @DisplayName("Gültige Datei wird mit Validierung vollständig übergeben")
+        void validFileWithValidation() {
+            RecordingImport sink = new RecordingImport();
+
+            createPipeline(2, 4).runSequential(getClass().getClassLoader()
+                    .getResourceAsStream("sample-reports/test-reports.xml"), null, true, sink);
+
+            assertThat(sink.added).hasSize(3);
+            assertThat(sink.rejected).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Bei kaputtem XML sind die vorher gelesenen Reports übergeben")
+        void parseErrorAfterDeliveringEarlierReports() {
+            String broken = "<researchReports>"
+                    + "<report><title>A</title><analyst><analystId>1</analystId></analyst>"
+                    + "<security><securityId>1</securityId></security>"
+                    + "<reportType>UPDATE</reportType><rating>BUY</rating></report>"
+                    + "<report><title>B";
+            RecordingImport sink = new RecordingImport();
+            XmlImportPipeline pipeline = createPipeline(2, 4);
+
+            assertThatThrownBy(() -> pipeline.run(
+                    new ByteArrayInputStream(broken.getBytes(StandardCharsets.UTF_8)), null, sink))
+                    .isInstanceOf(XmlReportParserService.XmlParseException.class);
+
+            assertThat(sink.added).containsOnlyKeys(1);
+            assertThat(pipeline.stats().get(0).state()).isEqualTo("FAILED");
+        }
+    }
+
+    @Nested
+    @DisplayName("Back-Pressure und Abbruch")
+    class FlowControlTests {
+
+        @Test
+        @DisplayName("Langsamer Writer bremst Parser und Worker über die Queue-Kapazität")
+        void slowWriterBoundsQueues() throws Exception {
+            XmlImportPipeline pipeline = createPipeline(2, 5);
+            CountDownLatch firstAdd = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingImport sink = new RecordingImport() {
+                @Override
+                public void add(int position, ResearchReport report) {
+                    super.add(position, report);
+                    firstAdd.countDown();
+                    await(release);
+                }
+            };
+
+            ExecutorService caller = Executors.newSingleThreadExecutor();
+            try {
+                Future<ImportPipelineStats> result = caller.submit(() -> pipeline.run(xml(1_000, -1), null, sink));
+                assertThat(firstAdd.await(5, TimeUnit.SECONDS)).isTrue();
+                Thread.sleep(200);
+
+                // Parser höchstens: 1 beim Writer + 5 + 5 in den Queues + je 1 pro Worker + 1 im Parser
+                ImportPipelineStats running = pipeline.stats().get(0);
+                assertThat(running.state()).isEqualTo("RUNNING");
+                assertThat(running.stages().get(0).items()).isLessThanOrEqualTo(14);
+                assertThat(running.stages().get(2).queueDepth()).isEqualTo(5);
+
+                release.countDown();
+                ImportPipelineStats done = result.get(10, TimeUnit.SECONDS);
+                assertThat(done.stages().get(2).items()).isEqualTo(1_000);
+                assertThat(done.stages().get(1).maxQueueDepth()).isLessThanOrEqualTo(5);
+                assertThat(done.stages().get(2).maxQueueDepth()).isLessThanOrEqualTo(5);
+            } finally {
+                release.countDown();
+                caller.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Abbruch beendet den Import und alle Pipeline-Threads")
+        void cancelStopsImportAndThreads() throws Exception {
+            XmlImportPipeline pipeline = createPipeline(3, 4);
+            CountDownLatch firstAdd = new CountDownLatch(1);
+            RecordingImport sink = new RecordingImport() {
+                @Override
+                public void add(int position, ResearchReport report) {
+                    super.add(position, report);
+                    firstAdd.countDown();
+                }
+            };
+
+            ExecutorService caller = Executors.newSingleThreadExecutor();
+            try {
+                Future<ImportPipelineStats> result = caller.submit(() -> pipeline.run(xml(200_000, -1), null, sink));
+                assertThat(firstAdd.await(5, TimeUnit.SECONDS)).isTrue();
+
+                pipeline.cancel(pipeline.stats().get(0).id());
+
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                        .hasCauseInstanceOf(CancellationException.class);
+                assertThat(pipeline.stats().get(0).state()).isEqualTo("CANCELLED");
+                assertThat(sink.added.size()).isLessThan(200_000);
+                Thread.sleep(100);
+                assertThat(Thread.getAllStackTraces().keySet())
+                        .noneMatch(thread -> thread.getName().startsWith("xml-import-"));
+            } finally {
+                caller.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Abbruch eines unbekannten Imports wirft ResourceNotFoundException")
+        void cancelUnknownImport() {
+            assertThatThrownBy(() -> createPipeline(1, 1).cancel(99))
+                    .isInstanceOf(com.research.portal.application.exception.ResourceNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Metriken")
+    class MetricsTests {
+
+        @Test
+        @DisplayName("Zählt Reports pro Stufe und misst die Dauer nach Ergebnis")
+        void countsReportsAndDuration() {
+            XmlImportPipeline pipeline = createPipeline(2, 4);
+
+            pipeline.run(xml(50, 7), null, new RecordingImport());
+
+            for (String stage : List.of("parse", "map", "write")) {
+                assertThat(meterRegistry.get(XmlImportPipeline.REPORTS_METER).tag("stage", stage)
+                        .counter().count()).isEqualTo(50.0);
+            }
+            assertThat(meterRegistry.get(XmlImportPipeline.DURATION_METER).tag("outcome", "COMPLETED")
+                    .timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("portal.import.active").gauge().value()).isZero();
+        }
+
+        @Test
+        @DisplayName("Sequentielle Importe zählen unter write")
+        void sequentialCountsWrites() {
+            createPipeline(1, 1).runSequential(xml(20, -1), null, new RecordingImport());
+
+            assertThat(meterRegistry.get(XmlImportPipeline.REPORTS_METER).tag("stage", "write")
+                    .counter().count()).isEqualTo(20.0);
+            assertThat(meterRegistry.find(XmlImportPipeline.DURATION_METER).timer()).isNull();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
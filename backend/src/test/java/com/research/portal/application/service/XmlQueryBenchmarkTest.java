@@ -0,0 +1,133 @@
+package com.research.portal.application.service;
+
+import com.research.portal.domain.model.Rating;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark für die XPath-Abfragen (Ticker, Rating, Kursziel).
+ *
+ * <p>Vergleicht den früheren Weg – Datei pro Abfrage neu parsen, Ausdruck per
+ * {@code String.format} zusammensetzen und jedes Feld mit
+ * {@code xpath.evaluate(String, ...)} auswerten – mit einem einmal geparsten
+ * {@link XmlReportParserService.ReportDocument} und vorkompilierten Ausdrücken.
+ * Der frühere Weg ist hier im Test nachgebaut.
+ *
+ * <p>Läuft nicht im normalen Build, sondern nur mit {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("XPath-Abfragen Benchmark")
+class XmlQueryBenchmarkTest {
+
+    private static final int[] REPORT_COUNTS = {200, 1_000};
+    private static final int ROUNDS = 3;
+
+    private final XmlReportParserService parserService = new XmlReportParserService();
+
+    @Test
+    @DisplayName("Drei Abfragen pro Datei: neu parsen + String-XPath vs. ein DOM + vorkompiliert")
+    void compiledQueriesOnParsedDocument() throws Exception {
+        for (int reports : REPORT_COUNTS) {
+            byte[] xml = syntheticXml(reports);
+
+            // Erste Runde wärmt auf und prüft, dass beide Wege gleich viele Treffer liefern
+            long legacyNanos = 0;
+            long compiledNanos = 0;
+            for (int round = 0; round <= ROUNDS; round++) {
+                long start = System.nanoTime();
+                int legacyHits = legacyQueries(xml);
+                long legacy = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                XmlReportParserService.ReportDocument document = parserService.openDocument(open(xml));
+                int compiledHits = document.findByTicker("T3").map(r -> 1).orElse(0)
+                        + document.findByRating(Rating.HOLD).size()
+                        + document.findWithTargetAbove(new BigDecimal("140")).size();
+                long compiled = System.nanoTime() - start;
+
+                assertThat(compiledHits).isEqualTo(legacyHits);
+                if (round > 0) {
+                    legacyNanos += legacy;
+                    compiledNanos += compiled;
+                }
+            }
+
+            double legacyMs = legacyNanos / 1e6 / ROUNDS;
+            double compiledMs = compiledNanos / 1e6 / ROUNDS;
+            System.out.printf("%,6d Reports: String-XPath %9.1f ms, vorkompiliert %7.1f ms (Faktor %.1f)%n",
+                    reports, legacyMs, compiledMs, legacyMs / compiledMs);
+            assertThat(compiledMs).isLessThan(legacyMs);
+        }
+    }
+
+    /** Nachbau des früheren Wegs: jede Abfrage parst die Datei neu und wertet Strings aus. */
+    private static int legacyQueries(byte[] xml) throws Exception {
+        int hits = 0;
+        for (String expression : List.of(
+                String.format("//report[security/ticker='%s']", "T3"),
+                String.format("//report[rating='%s']", Rating.HOLD.name()),
+                String.format("//report[number(targetPrice) > %s]", new BigDecimal("140").toPlainString()))) {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(open(xml));
+            XPath xpath = XPathFactory.newInstance().newXPath();
+            NodeList nodes = (NodeList) xpath.evaluate(expression, document, XPathConstants.NODESET);
+            int matches = expression.contains("ticker") ? Math.min(1, nodes.getLength()) : nodes.getLength();
+            for (int i = 0; i < matches; i++) {
+                Element report = (Element) nodes.item(i);
+                List<String> values = new ArrayList<>();
+                values.add((String) xpath.evaluate("analyst/analystId", report, XPathConstants.STRING));
+                values.add((String) xpath.evaluate("security/securityId", report, XPathConstants.STRING));
+                for (String list : List.of("catalysts/catalyst", "risks/risk", "tags/tag")) {
+                    NodeList items = (NodeList) xpath.evaluate(list, report, XPathConstants.NODESET);
+                    for (int j = 0; j < items.getLength(); j++) {
+                        values.add(items.item(j).getTextContent().trim());
+                    }
+                }
+                hits += values.isEmpty() ? 0 : 1;
+            }
+        }
+        return hits;
+    }
+
+    private static InputStream open(byte[] xml) {
+        return new ByteArrayInputStream(xml);
+    }
+
+    private static byte[] syntheticXml(int reports) {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<researchReports>\n");
+        for (int i = 1; i <= reports; i++) {
+            xml.append("  <report>\n")
+                    .append("    <title>Research Report Nr. ").append(i).append("</title>\n")
+                    .append("    <analyst><name>Analyst</name><analystId>").append(i % 5 + 1).append("</analystId></analyst>\n")
+                    .append("    <security><ticker>T").append(i % 10).append("</ticker><securityId>")
+                    .append(i % 10 + 1).append("</securityId><name>Wertschrift</name></security>\n")
+                    .append("    <publishedAt>2026-01-01T08:00:00</publishedAt>\n")
+                    .append("    <reportType>UPDATE</reportType><rating>").append(i % 3 == 0 ? "HOLD" : "BUY")
+                    .append("</rating>\n")
+                    .append("    <targetPrice>").append(100 + i % 50).append(".00</targetPrice>")
+                    .append("<currentPrice>90.50</currentPrice>\n")
+                    .append("    <executiveSummary>Nachfrage stabil. Nr. ").append(i).append("</executiveSummary>\n")
+                    .append("    <catalysts><catalyst>Preiserhöhungen</catalyst><catalyst>Rückkauf</catalyst></catalysts>\n")
+                    .append("    <risks><risk>Währung</risk></risks>\n")
+                    .append("    <tags><tag>Large Cap</tag><tag>Schweiz</tag></tags>\n")
+                    .append("  </report>\n");
+        }
+        return xml.append("</researchReports>\n").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
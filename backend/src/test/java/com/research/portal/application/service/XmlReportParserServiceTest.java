@@ -9,11 +9,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -21,7 +28,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 /**
  * Unit Tests für den XmlReportParserService.
  *
- * Testet XPath-basiertes Parsen, Filtern und Validieren
+ * Testet das Parsen per StAX und XPath, Filtern und Validieren
  * von Research Reports aus XML-Dateien.
  */
 class XmlReportParserServiceTest {
@@ -201,6 +208,81 @@ class XmlReportParserServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("streamReports()")
+    class StreamReports {
+
+        private InputStream xml(String content) {
+            return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        @DisplayName("Liefert dieselben Reports wie der DOM-Parser")
+        void shouldMatchDomParser() {
+            List<ResearchReport> streamed = new ArrayList<>();
+            int count = parserService.streamReports(loadTestXml(), null, streamed::add);
+
+            List<ResearchReport> dom = parserService.parseReportsFromXmlDom(loadTestXml());
+
+            assertThat(count).isEqualTo(3);
+            assertThat(streamed).usingRecursiveFieldByFieldElementComparator().isEqualTo(dom);
+        }
+
+        @Test
+        @DisplayName("Filtert nach Ticker")
+        void shouldFilterByTicker() {
+            List<ResearchReport> streamed = new ArrayList<>();
+
+            int count = parserService.streamReports(loadTestXml(), "UBSG", streamed::add);
+
+            assertThat(count).isEqualTo(1);
+            assertThat(streamed.get(0).getTitle()).contains("UBS Group");
+        }
+
+        @Test
+        @DisplayName("Übergibt Reports vor einem späteren Parse-Fehler einzeln")
+        void shouldEmitReportsBeforeError() {
+            String content = "<researchReports>"
+                    + "<report><title>Erster</title><rating>BUY</rating></report>"
+                    + "<report><title>Zweiter</title><rating>BUY";
+            List<String> titles = new ArrayList<>();
+
+            assertThatThrownBy(() -> parserService.streamReports(
+                    xml(content), null, report -> titles.add(report.getTitle())))
+                    .isInstanceOf(XmlReportParserService.XmlParseException.class)
+                    .hasMessageContaining("nach 1 Reports");
+            assertThat(titles).containsExactly("Erster");
+        }
+
+        @Test
+        @DisplayName("Überspringt unbekannte Elemente samt Inhalt")
+        void shouldSkipUnknownElements() {
+            String content = "<researchReports><report>"
+                    + "<extra><title>Falsch</title></extra>"
+                    + "<title>Richtig</title>"
+                    + "<analyst><office><analystId>9</analystId></office><analystId>4</analystId></analyst>"
+                    + "</report></researchReports>";
+            List<ResearchReport> streamed = new ArrayList<>();
+
+            parserService.streamReports(xml(content), null, streamed::add);
+
+            assertThat(streamed).hasSize(1);
+            assertThat(streamed.get(0).getTitle()).isEqualTo("Richtig");
+            assertThat(streamed.get(0).getAnalystId()).isEqualTo(4L);
+        }
+
+        @Test
+        @DisplayName("Lehnt DTD mit externer Entity ab")
+        void shouldRejectExternalEntities() {
+            String content = "<?xml version=\"1.0\"?>"
+                    + "<!DOCTYPE r [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+                    + "<researchReports><report><title>&xxe;</title></report></researchReports>";
+
+            assertThatThrownBy(() -> parserService.streamReports(xml(content), null, report -> { }))
+                    .isInstanceOf(XmlReportParserService.XmlParseException.class);
+        }
+    }
+
     @Nested
     @DisplayName("parseReportByTicker()")
     class ParseReportByTicker {
@@ -317,6 +399,67 @@ class XmlReportParserServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("openDocument()")
+    class OpenDocument {
+
+        @Test
+        @DisplayName("Beantwortet mehrere Abfragen auf einem einmal geparsten Dokument")
+        void shouldAnswerSeveralQueries() {
+            XmlReportParserService.ReportDocument document = parserService.openDocument(loadTestXml());
+
+            assertThat(document.findAll()).hasSize(3);
+            assertThat(document.findByTicker("NESN")).isPresent();
+            assertThat(document.findByRating(Rating.BUY)).hasSize(2);
+            assertThat(document.findWithTargetAbove(new BigDecimal("100")))
+                    .extracting(ResearchReport::getTitle)
+                    .containsExactlyElementsOf(parserService
+                            .parseReportsWithTargetAbove(loadTestXml(), new BigDecimal("100"))
+                            .stream().map(ResearchReport::getTitle).toList());
+        }
+
+        @Test
+        @DisplayName("Liefert dieselben Reports wie der StAX-Parser")
+        void shouldMatchStaxParser() {
+            List<ResearchReport> dom = parserService.openDocument(loadTestXml()).findAll();
+
+            assertThat(dom).usingRecursiveFieldByFieldElementComparator()
+                    .isEqualTo(parserService.parseReportsFromXml(loadTestXml()));
+        }
+
+        @Test
+        @DisplayName("Ticker mit XPath-Syntax wird als Wert verglichen, nicht ausgeführt")
+        void shouldNotAllowXPathInjection() {
+            XmlReportParserService.ReportDocument document = parserService.openDocument(loadTestXml());
+
+            assertThat(document.findByTicker("NESN' or '1'='1")).isEmpty();
+            assertThat(document.findByTicker("x'] | //report[rating='BUY")).isEmpty();
+            assertThat(document.findByTicker("NESN")).isPresent();
+        }
+
+        @Test
+        @DisplayName("Abfragen aus mehreren Threads verwenden je eigene kompilierte Ausdrücke")
+        void shouldQueryConcurrently() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<List<String>>> results = new ArrayList<>();
+                for (int i = 0; i < 40; i++) {
+                    String ticker = i % 2 == 0 ? "NESN" : "UBSG";
+                    results.add(executor.submit(() -> parserService.openDocument(loadTestXml())
+                            .findByTicker(ticker).map(report -> List.of(ticker, report.getTitle()))
+                            .orElse(List.of())));
+                }
+                for (Future<List<String>> result : results) {
+                    List<String> tickerAndTitle = result.get(10, TimeUnit.SECONDS);
+                    assertThat(tickerAndTitle).hasSize(2);
+                    assertThat(tickerAndTitle.get(1)).contains(tickerAndTitle.get(0).equals("NESN") ? "Nestl" : "UBS");
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
     @Nested
     @DisplayName("validateXml()")
     class ValidateXml {
@@ -336,6 +479,107 @@ class XmlReportParserServiceTest {
 
             assertThat(isValid).isFalse();
         }
+
+        @Test
+        @DisplayName("Validiert mit dem vorkompilierten Report-Schema und nennt Zeile und Meldung")
+        void shouldValidateWithCachedSchema() {
+            assertThat(parserService.validateXml(loadTestXml()).valid()).isTrue();
+            assertThat(parserService.validateXml(loadTestXml()).errors()).isEmpty();
+
+            XmlValidationResult invalid = parserService.validateXml(loadInvalidXml());
+
+            assertThat(invalid.valid()).isFalse();
+            assertThat(invalid.errors()).first().asString()
+                    .startsWith("Zeile 5,")
+                    .contains("invalidElement");
+        }
+
+        @Test
+        @DisplayName("Wiederverwendeter Validator liefert nach einem Fehler wieder korrekte Ergebnisse")
+        void shouldResetReusedValidator() {
+            assertThat(parserService.validateXml(xml("<researchReports><report>")).valid()).isFalse();
+            assertThat(parserService.validateXml(loadInvalidXml()).valid()).isFalse();
+
+            assertThat(parserService.validateXml(loadTestXml()).valid()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Validiert parallel aus mehreren Threads")
+        void shouldValidateConcurrently() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < 40; i++) {
+                    boolean valid = i % 2 == 0;
+                    results.add(executor.submit(() ->
+                            parserService.validateXml(valid ? loadTestXml() : loadInvalidXml()).valid() == valid));
+                }
+                for (Future<Boolean> result : results) {
+                    assertThat(result.get(10, TimeUnit.SECONDS)).isTrue();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Validierung beim Streamen ordnet Schemafehler dem betroffenen Report zu")
+        void shouldAttachSchemaErrorsWhileStreaming() {
+            String content = "<researchReports>"
+                    + validReport("Erster", "")
+                    + validReport("Zweiter", "<unbekannt>x</unbekannt>")
+                    + validReport("Dritter", "")
+                    + "</researchReports>";
+            List<String> titles = new ArrayList<>();
+            List<List<String>> errors = new ArrayList<>();
+
+            int count = parserService.streamReportFields(xml(content), null, true, (position, fields) -> {
+                titles.add(fields.value("title"));
+                errors.add(fields.schemaErrors());
+            });
+
+            assertThat(count).isEqualTo(3);
+            assertThat(titles).containsExactly("Erster", "Zweiter", "Dritter");
+            assertThat(errors.get(0)).isEmpty();
+            assertThat(errors.get(1)).singleElement().asString().contains("unbekannt");
+            assertThat(errors.get(2)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Schemafehler ausserhalb eines Reports bricht das Streamen ab")
+        void shouldFailOnSchemaErrorOutsideReport() {
+            String content = "<reports>" + validReport("Erster", "") + "</reports>";
+
+            assertThatThrownBy(() -> parserService.streamReportFields(xml(content), null, true, (p, f) -> { }))
+                    .isInstanceOf(XmlReportParserService.XmlParseException.class)
+                    .hasMessageContaining("Schema")
+                    .hasMessageContaining("reports");
+        }
+
+        @Test
+        @DisplayName("Ohne Validierung bleiben die Schemafehler leer")
+        void shouldSkipValidationByDefault() {
+            String content = "<reports>" + validReport("Erster", "<unbekannt>x</unbekannt>") + "</reports>";
+            List<List<String>> errors = new ArrayList<>();
+
+            parserService.streamReportFields(xml(content), null, false, (p, fields) -> errors.add(fields.schemaErrors()));
+
+            assertThat(errors).singleElement().asList().isEmpty();
+        }
+
+        private InputStream xml(String content) {
+            return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private String validReport(String title, String extra) {
+            return "<report><title>" + title + "</title>"
+                    + "<analyst><name>A</name><analystId>1</analystId></analyst>"
+                    + "<security><ticker>NESN</ticker><securityId>1</securityId><name>Nestle</name></security>"
+                    + "<publishedAt>2025-01-15T08:00:00</publishedAt>"
+                    + "<reportType>UPDATE</reportType><rating>BUY</rating>"
+                    + "<targetPrice>110.00</targetPrice><currentPrice>100.00</currentPrice>"
+                    + "<executiveSummary>Kurz</executiveSummary>" + extra + "</report>";
+        }
     }
 
     @Nested
@@ -0,0 +1,108 @@
+package com.research.portal.config;
+
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark fuer das Aufzeichnen der API-Metriken.
+ *
+ * <p>Mehrere Threads zeichnen Requests auf bekannten Routen auf, wie der
+ * {@link RequestLoggingInterceptor} nach jedem Request. Gemessen werden Durchsatz
+ * und allozierte Bytes pro Aufzeichnung: bekannte Endpunkte duerfen nach dem
+ * Aufwaermen nichts allozieren, auch nicht in den Micrometer-Timern der
+ * Prometheus-Registry. Zusaetzlich die Dauer einer Perzentil-Abfrage ueber alle
+ * Endpunkte und eines Prometheus-Scrapes.
+ *
+ * <p>Laeuft nicht im normalen Build, sondern nur mit {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("API-Metriken Benchmark")
+class ApiMetricsBenchmarkTest {
+
+    private static final int THREADS = 4;
+    private static final int RECORDS_PER_THREAD = 1_000_000;
+    private static final int ROUNDS = 3;
+
+    private static final String[] ROUTES = {
+            "/api/reports", "/api/reports/{id}", "/api/analysts", "/api/analysts/{id}",
+            "/api/securities", "/api/securities/{isin}", "/api/search", "/api/search/suggest",
+            "/api/export/reports/excel", "/api/export/reports/{id}/pdf", "/api/watchlist", "/api/audit"
+    };
+    private static final int[] STATUSES = {200, 200, 200, 200, 201, 304, 404, 500};
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    @DisplayName("Aufzeichnen bekannter Endpunkte alloziert nicht")
+    void recordWithoutAllocation() throws InterruptedException {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        ApiMetricsCollector collector = new ApiMetricsCollector(registry);
+        long ops = 0;
+        long nanos = 0;
+        long bytes = 0;
+        // Erste Runde waermt auf und legt alle Endpunkte und Histogramme an
+        for (int round = 0; round <= ROUNDS; round++) {
+            long[] result = run(collector);
+            if (round > 0) {
+                ops += (long) THREADS * RECORDS_PER_THREAD;
+                nanos += result[0];
+                bytes += result[1];
+            }
+        }
+
+        long begin = System.nanoTime();
+        int endpoints = collector.getLatency("15m").size();
+        long queryMicros = (System.nanoTime() - begin) / 1_000;
+
+        begin = System.nanoTime();
+        int scrapeBytes = registry.scrape().length();
+        long scrapeMicros = (System.nanoTime() - begin) / 1_000;
+
+        double bytesPerRecord = (double) bytes / ops;
+        System.out.printf("Aufzeichnen: %,12.0f Requests/s %6.3f B/Request | Abfrage 15m ueber %d Reihen: %,d µs"
+                        + " | Scrape %,d Zeichen: %,d µs%n",
+                ops * 1e9 / nanos, bytesPerRecord, endpoints, queryMicros, scrapeBytes, scrapeMicros);
+        assertThat(bytesPerRecord).isLessThan(0.1);
+    }
+
+    /** Liefert Laufzeit und allozierte Bytes aller Threads. */
+    private long[] run(ApiMetricsCollector collector) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        AtomicLong allocated = new AtomicLong();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    long before = threads.getCurrentThreadAllocatedBytes();
+                    for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                        int pick = thread * 7919 + i;
+                        collector.recordRequestNanos(pick % 5 == 0 ? "POST" : "GET", ROUTES[pick % ROUTES.length],
+                                STATUSES[pick % STATUSES.length], 200_000L + (pick % 1_000) * 50_000L);
+                    }
+                    allocated.addAndGet(threads.getCurrentThreadAllocatedBytes() - before);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            worker.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        return new long[] {System.nanoTime() - begin, allocated.get()};
+    }
+}
@@ -1,6 +1,12 @@
 package com.research.portal.config;
 
 import com.research.portal.adapter.in.web.dto.ApiMetricsDto;
+import com.research.portal.adapter.in.web.dto.EndpointCostDto;
+import com.research.portal.adapter.in.web.dto.EndpointLatencyDto;
+import com.research.portal.adapter.in.web.dto.EndpointLayersDto;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -8,19 +14,22 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.within;
 
 /**
  * Unit-Tests fuer {@link ApiMetricsCollector}.
  *
  * <p>Prueft die korrekte Aggregation von API-Metriken, inklusive
- * Zaehler, Durchschnittswerte, Aufschluesselungen und Thread-Safety.
+ * Zaehler, Durchschnittswerte, Aufschluesselungen, Latenz-Zeitfenster und Thread-Safety.
  */
 @DisplayName("ApiMetricsCollector")
 class ApiMetricsCollectorTest {
@@ -130,6 +139,346 @@ class ApiMetricsCollectorTest {
         }
     }
 
+    @Nested
+    @DisplayName("getLatency")
+    class Latency {
+
+        private static final long SECOND = 1_000_000_000L;
+
+        private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+        private ApiMetricsCollector timed;
+
+        @BeforeEach
+        void setUp() {
+            timed = new ApiMetricsCollector(clock::get);
+        }
+
+        @Test
+        @DisplayName("Liefert Perzentile, Maximum und Durchsatz pro Endpunkt und Statusklasse")
+        void shouldReportPercentilesPerEndpointAndStatusClass() {
+            for (int i = 1; i <= 100; i++) {
+                timed.recordRequestNanos("GET", "/api/reports/{id}", 200, i * 1_000_000L);
+            }
+            timed.recordRequestNanos("GET", "/api/reports/{id}", 404, 300_000);
+            clock.addAndGet(10 * SECOND);
+
+            List<EndpointLatencyDto> latency = timed.getLatency("1m");
+
+            assertThat(latency).hasSize(2);
+            EndpointLatencyDto ok = latency.get(0);
+            assertThat(ok.getEndpoint()).isEqualTo("GET /api/reports/{id}");
+            assertThat(ok.getStatusClass()).isEqualTo("2xx");
+            assertThat(ok.getWindow()).isEqualTo("1m");
+            assertThat(ok.getCount()).isEqualTo(100);
+            assertThat(ok.getThroughputPerSecond()).isCloseTo(10.0, within(0.01));
+            assertThat(ok.getP50Ms()).isBetween(50.0, 51.6);
+            assertThat(ok.getP99Ms()).isBetween(99.0, 100.0);
+            assertThat(ok.getMaxMs()).isEqualTo(100.0);
+            assertThat(ok.getMeanMs()).isCloseTo(50.5, within(0.01));
+            assertThat(latency.get(1).getStatusClass()).isEqualTo("4xx");
+            assertThat(latency.get(1).getP99Ms()).isEqualTo(0.3);
+        }
+
+        @Test
+        @DisplayName("Sortiert absteigend nach p99")
+        void shouldSortByP99Descending() {
+            timed.recordRequestNanos("GET", "/api/reports", 200, 5_000_000);
+            timed.recordRequestNanos("GET", "/api/export/reports/excel", 200, 800_000_000);
+            timed.recordRequestNanos("POST", "/api/reports", 201, 40_000_000);
+
+            assertThat(timed.getLatency("5m"))
+                    .extracting(EndpointLatencyDto::getEndpoint)
+                    .containsExactly("GET /api/export/reports/excel", "POST /api/reports", "GET /api/reports");
+        }
+
+        @Test
+        @DisplayName("Vergisst Requests ausserhalb des Zeitfensters")
+        void shouldDropRequestsOutsideWindow() {
+            timed.recordRequestNanos("GET", "/api/reports", 200, 5_000_000);
+            clock.addAndGet(120 * SECOND);
+            timed.recordRequestNanos("GET", "/api/reports", 200, 7_000_000);
+
+            assertThat(timed.getLatency("1m").get(0).getCount()).isEqualTo(1);
+            assertThat(timed.getLatency("5m").get(0).getCount()).isEqualTo(2);
+
+            clock.addAndGet(15 * 60 * SECOND);
+            assertThat(timed.getLatency("15m")).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Berechnet den Durchsatz ueber das volle Zeitfenster")
+        void shouldComputeThroughputOverFullWindow() {
+            clock.addAndGet(20 * 60 * SECOND);
+            for (int i = 0; i < 600; i++) {
+                timed.recordRequestNanos("GET", "/api/reports", 200, 1_000_000);
+            }
+
+            // 600 Requests auf 4 volle Minuten plus die laufende (angebrochen bei 0 s)
+            assertThat(timed.getLatency("5m").get(0).getThroughputPerSecond()).isCloseTo(2.5, within(0.01));
+        }
+
+        @Test
+        @DisplayName("Fasst Routen ueber der Obergrenze zusammen")
+        void shouldCapEndpoints() {
+            for (int i = 0; i < ApiMetricsCollector.MAX_ENDPOINTS + 10; i++) {
+                timed.recordRequestNanos("GET", "/unknown/" + i, 404, 1_000_000);
+            }
+
+            ApiMetricsDto metrics = timed.getMetrics();
+            assertThat(metrics.getRequestsByEndpoint())
+                    .hasSize(ApiMetricsCollector.MAX_ENDPOINTS + 1)
+                    .containsEntry("GET " + ApiMetricsCollector.OTHER_ROUTE, 10L);
+        }
+
+        @Test
+        @DisplayName("Lehnt unbekannte Zeitfenster ab")
+        void shouldRejectUnknownWindow() {
+            assertThatThrownBy(() -> timed.getLatency("2h"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("2h");
+        }
+
+        @Test
+        @DisplayName("reset leert auch die Histogramme")
+        void shouldClearHistogramsOnReset() {
+            timed.recordRequestNanos("GET", "/api/reports", 200, 1_000_000);
+
+            timed.reset();
+
+            assertThat(timed.getLatency("15m")).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Kardinalitaet")
+    class Cardinality {
+
+        @Test
+        @DisplayName("Zaehlt unbekannte HTTP-Methoden gemeinsam")
+        void shouldBucketUnknownMethods() {
+            collector.recordRequest("PROPFIND", "/api/reports", 405, 1);
+            collector.recordRequest("X-SCAN-1", "/api/reports", 405, 1);
+
+            assertThat(collector.getMetrics().getRequestsByEndpoint())
+                    .containsExactly(Map.entry(ApiMetricsCollector.OTHER_METHOD + " /api/reports", 2L));
+        }
+
+        @Test
+        @DisplayName("Haelt die Obergrenze auch bei parallel neu auftauchenden Routen ein")
+        void shouldKeepCapUnderConcurrency() throws InterruptedException {
+            int threadCount = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            CountDownLatch startLatch = new CountDownLatch(1);
+            CountDownLatch doneLatch = new CountDownLatch(threadCount);
+            for (int t = 0; t < threadCount; t++) {
+                int thread = t;
+                executor.submit(() -> {
+                    try {
+                        startLatch.await();
+                        for (int i = 0; i < ApiMetricsCollector.MAX_ENDPOINTS; i++) {
+                            collector.recordRequest("GET", "/scan/" + thread + "/" + i, 404, 1);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        doneLatch.countDown();
+                    }
+                });
+            }
+
+            startLatch.countDown();
+            assertThat(doneLatch.await(10, TimeUnit.SECONDS)).isTrue();
+            executor.shutdown();
+
+            Map<String, Long> endpoints = collector.getMetrics().getRequestsByEndpoint();
+            assertThat(endpoints).hasSize(ApiMetricsCollector.MAX_ENDPOINTS + 1);
+            assertThat(endpoints.values().stream().mapToLong(Long::longValue).sum())
+                    .isEqualTo((long) threadCount * ApiMetricsCollector.MAX_ENDPOINTS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Micrometer")
+    class Meters {
+
+        private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        private final ApiMetricsCollector metered = new ApiMetricsCollector(registry);
+
+        @Test
+        @DisplayName("Registriert einen Timer pro Route und Statusklasse mit SLO-Buckets")
+        void shouldRegisterTimerWithSloBuckets() {
+            metered.recordRequestNanos("GET", "/api/reports/{id}", 200, 8_000_000);
+            metered.recordRequestNanos("GET", "/api/reports/{id}", 200, 120_000_000);
+            metered.recordRequestNanos("GET", "/api/reports/{id}", 404, 3_000_000);
+
+            Timer ok = registry.get(ApiMetricsCollector.REQUESTS_METER)
+                    .tags("method", "GET", "route", "/api/reports/{id}", "status", "2xx").timer();
+            assertThat(ok.count()).isEqualTo(2);
+            assertThat(ok.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(128.0);
+
+            CountAtBucket[] buckets = ok.takeSnapshot().histogramCounts();
+            assertThat(buckets).hasSize(8);
+            assertThat(buckets[0].bucket(TimeUnit.MILLISECONDS)).isEqualTo(10.0);
+            assertThat(buckets[0].count()).isEqualTo(1.0);
+            assertThat(buckets[4].bucket(TimeUnit.MILLISECONDS)).isEqualTo(250.0);
+            assertThat(buckets[4].count()).isEqualTo(2.0);
+
+            assertThat(registry.get(ApiMetricsCollector.RESPONSES_METER).tag("status", "404")
+                    .counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("getMetrics liest dieselben Werte aus den Metern")
+        void shouldDeriveDtoFromMeters() {
+            metered.recordRequest("GET", "/api/reports", 200, 10);
+            metered.recordRequest("POST", "/api/reports", 500, 30);
+
+            ApiMetricsDto metrics = metered.getMetrics();
+
+            double timerCount = registry.get(ApiMetricsCollector.REQUESTS_METER).timers().stream()
+                    .mapToLong(Timer::count).sum();
+            assertThat(metrics.getTotalRequests()).isEqualTo((long) timerCount).isEqualTo(2);
+            assertThat(metrics.getTotalErrors()).isEqualTo(1);
+            assertThat(metrics.getAvgResponseTimeMs()).isCloseTo(20.0, within(0.001));
+        }
+
+        @Test
+        @DisplayName("reset entfernt die Meter aus der Registry")
+        void shouldRemoveMetersOnReset() {
+            metered.recordRequest("GET", "/api/reports", 200, 10);
+
+            metered.reset();
+
+            assertThat(registry.find(ApiMetricsCollector.REQUESTS_METER).timers()).isEmpty();
+            assertThat(registry.find(ApiMetricsCollector.RESPONSES_METER).counters()).isEmpty();
+            assertThat(registry.find(ApiMetricsCollector.CPU_METER).timers()).isEmpty();
+            assertThat(registry.find(ApiMetricsCollector.ALLOCATED_METER).summaries()).isEmpty();
+
+            metered.recordRequest("GET", "/api/reports", 200, 10);
+            assertThat(registry.get(ApiMetricsCollector.REQUESTS_METER).timer().count()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("getCost")
+    class Cost {
+
+        @Test
+        @DisplayName("Mittelt CPU-Zeit und Allokation pro Endpunkt und leitet die Wartezeit ab")
+        void shouldAggregateCostPerRoute() {
+            collector.recordRequestNanos("GET", "/api/search", 200, 40_000_000, 10_000_000, 3_000_000);
+            collector.recordRequestNanos("GET", "/api/search", 200, 60_000_000, 30_000_000, 5_000_000);
+
+            List<EndpointCostDto> cost = collector.getCost();
+
+            assertThat(cost).hasSize(1);
+            EndpointCostDto search = cost.get(0);
+            assertThat(search.getEndpoint()).isEqualTo("GET /api/search");
+            assertThat(search.getRequests()).isEqualTo(2);
+            assertThat(search.getAvgDurationMs()).isCloseTo(50.0, within(0.001));
+            assertThat(search.getAvgCpuMs()).isCloseTo(20.0, within(0.001));
+            assertThat(search.getAvgWaitMs()).isCloseTo(30.0, within(0.001));
+            assertThat(search.getAvgAllocatedBytes()).isEqualTo(4_000_000);
+            assertThat(search.getTotalCpuMs()).isCloseTo(40.0, within(0.001));
+            assertThat(search.getTotalAllocatedBytes()).isEqualTo(8_000_000);
+        }
+
+        @Test
+        @DisplayName("Sortiert nach allozierten Bytes und laesst ungemessene Endpunkte weg")
+        void shouldSortByAllocatedBytes() {
+            collector.recordRequestNanos("GET", "/api/reports", 200, 5_000_000, 1_000_000, 200_000);
+            collector.recordRequestNanos("GET", "/api/export/reports/excel", 200, 900_000_000, 700_000_000, 400_000_000);
+            collector.recordRequestNanos("GET", "/api/analysts", 200, 5_000_000);
+
+            List<EndpointCostDto> cost = collector.getCost();
+
+            assertThat(cost).extracting(EndpointCostDto::getEndpoint)
+                    .containsExactly("GET /api/export/reports/excel", "GET /api/reports");
+        }
+
+        @Test
+        @DisplayName("Registriert CPU-Zeit und Allokation als Meter pro Route")
+        void shouldExposeCostAsMeters() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            ApiMetricsCollector metered = new ApiMetricsCollector(registry);
+
+            metered.recordRequestNanos("POST", "/api/import/xml", 201, 80_000_000, 50_000_000, 64_000_000);
+
+            assertThat(registry.get(ApiMetricsCollector.CPU_METER).tags("method", "POST", "route", "/api/import/xml")
+                    .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(50.0);
+            assertThat(registry.get(ApiMetricsCollector.ALLOCATED_METER).tags("method", "POST", "route", "/api/import/xml")
+                    .summary().totalAmount()).isEqualTo(64_000_000.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Schichten")
+    class Layers {
+
+        @Test
+        @DisplayName("Mittelt die Eigenzeit pro Schicht und weist den Rest der Antwortzeit aus")
+        void shouldAggregateLayersPerRoute() {
+            collector.recordRequestNanos("GET", "/api/reports", 200, 40_000_000);
+            collector.recordLayers("GET", "/api/reports", new long[]{1_000_000, 2_000_000, 20_000_000, 3_000_000, 4_000_000});
+            collector.recordRequestNanos("GET", "/api/reports", 200, 60_000_000);
+            collector.recordLayers("GET", "/api/reports", new long[]{1_000_000, 2_000_000, 40_000_000, 3_000_000, 4_000_000});
+
+            List<EndpointLayersDto> layers = collector.getLayers();
+
+            assertThat(layers).hasSize(1);
+            EndpointLayersDto reports = layers.get(0);
+            assertThat(reports.getEndpoint()).isEqualTo("GET /api/reports");
+            assertThat(reports.getRequests()).isEqualTo(2);
+            assertThat(reports.getAvgDurationMs()).isCloseTo(50.0, within(0.001));
+            assertThat(reports.getAvgLayerMs()).containsExactly(
+                    Map.entry("controller", 1.0), Map.entry("usecase", 2.0), Map.entry("repository", 30.0),
+                    Map.entry("mapper", 3.0), Map.entry("serialization", 4.0));
+            assertThat(reports.getAvgOtherMs()).isCloseTo(10.0, within(0.001));
+        }
+
+        @Test
+        @DisplayName("Sortiert nach Antwortzeit und laesst Endpunkte ohne Schicht-Messung weg")
+        void shouldSortByDuration() {
+            collector.recordRequestNanos("GET", "/api/analysts", 200, 5_000_000);
+            collector.recordLayers("GET", "/api/analysts", new long[]{0, 0, 4_000_000, 0, 0});
+            collector.recordRequestNanos("GET", "/api/reports/{id}", 200, 90_000_000);
+            collector.recordLayers("GET", "/api/reports/{id}", new long[]{0, 0, 80_000_000, 0, 0});
+            collector.recordRequestNanos("GET", "/api/securities", 200, 500_000_000);
+
+            assertThat(collector.getLayers()).extracting(EndpointLayersDto::getEndpoint)
+                    .containsExactly("GET /api/reports/{id}", "GET /api/analysts");
+        }
+
+        @Test
+        @DisplayName("Registriert pro Route und Schicht einen Timer mit SLO-Buckets")
+        void shouldExposeLayersAsMeters() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            ApiMetricsCollector metered = new ApiMetricsCollector(registry);
+
+            metered.recordLayers("GET", "/api/search", new long[]{500_000, 0, 7_000_000, 0, 2_000_000});
+
+            Timer repository = registry.get(ApiMetricsCollector.LAYERS_METER)
+                    .tags("method", "GET", "route", "/api/search", "layer", "repository").timer();
+            assertThat(repository.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(7.0);
+            assertThat(repository.takeSnapshot().histogramCounts()).extracting(CountAtBucket::count)
+                    .containsExactly(0.0, 0.0, 1.0, 1.0, 1.0, 1.0, 1.0, 1.0);
+            assertThat(registry.get(ApiMetricsCollector.LAYERS_METER).timers()).hasSize(5);
+        }
+
+        @Test
+        @DisplayName("Entfernt die Schicht-Timer beim Zuruecksetzen")
+        void shouldRemoveLayerMetersOnReset() {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            ApiMetricsCollector metered = new ApiMetricsCollector(registry);
+            metered.recordLayers("GET", "/api/search", new long[]{1, 2, 3, 4, 5});
+
+            metered.reset();
+
+            assertThat(registry.find(ApiMetricsCollector.LAYERS_METER).timers()).isEmpty();
+            assertThat(metered.getLayers()).isEmpty();
+        }
+    }
+
     @Nested
     @DisplayName("reset")
     class Reset {
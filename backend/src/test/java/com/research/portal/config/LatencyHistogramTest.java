@@ -0,0 +1,158 @@
+package com.research.portal.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Tests fuer {@link LatencyHistogram}.
+ *
+ * <p>Prueft die Genauigkeit der log-linearen Buckets, die Perzentil-Berechnung
+ * und das Rollieren der Minuten-Slots.
+ */
+@DisplayName("LatencyHistogram")
+class LatencyHistogramTest {
+
+    @Nested
+    @DisplayName("Buckets")
+    class Buckets {
+
+        @Test
+        @DisplayName("Kleine Werte werden exakt gezaehlt")
+        void shouldTrackSmallValuesExactly() {
+            for (long micros = 0; micros < LatencyHistogram.SUB_BUCKETS; micros++) {
+                assertThat(LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(micros)))
+                        .isEqualTo(micros);
+            }
+        }
+
+        @Test
+        @DisplayName("Jeder Wert liegt in seinem Bucket, die Obergrenze weicht hoechstens 1/32 ab")
+        void shouldBoundRelativeError() {
+            for (long micros = 1; micros <= LatencyHistogram.MAX_TRACKABLE_MICROS; micros = micros * 5 / 4 + 1) {
+                int index = LatencyHistogram.bucketIndex(micros);
+                long upper = LatencyHistogram.bucketUpperBound(index);
+
+                assertThat(upper).isGreaterThanOrEqualTo(micros);
+                assertThat(upper - micros).isLessThanOrEqualTo(micros / LatencyHistogram.HALF_SUB_BUCKETS);
+                if (index > 0) {
+                    assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(micros);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Buckets schliessen lueckenlos aneinander an")
+        void shouldCoverRangeWithoutGaps() {
+            for (int index = 1; index < LatencyHistogram.BUCKETS; index++) {
+                long lowerOfThis = LatencyHistogram.bucketUpperBound(index - 1) + 1;
+                assertThat(LatencyHistogram.bucketIndex(lowerOfThis)).isEqualTo(index);
+            }
+            assertThat(LatencyHistogram.bucketUpperBound(LatencyHistogram.BUCKETS - 1))
+                    .isEqualTo(LatencyHistogram.MAX_TRACKABLE_MICROS);
+        }
+    }
+
+    @Nested
+    @DisplayName("Perzentile")
+    class Percentiles {
+
+        @Test
+        @DisplayName("Berechnet Perzentile einer Gleichverteilung auf 3 % genau")
+        void shouldComputePercentiles() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int ms = 1; ms <= 1000; ms++) {
+                histogram.record(ms * 1_000L, 0);
+            }
+
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot(1, 0);
+
+            assertThat(snapshot.count()).isEqualTo(1000);
+            assertThat(snapshot.percentileMicros(0.50)).isBetween(500_000L, 515_625L);
+            assertThat(snapshot.percentileMicros(0.99)).isBetween(990_000L, 1_000_000L);
+            assertThat(snapshot.maxMicros()).isEqualTo(1_000_000L);
+            assertThat(snapshot.meanMicros()).isEqualTo(500_500.0);
+        }
+
+        @Test
+        @DisplayName("Meldet einen einzelnen Ausreisser im p99, nicht im Median")
+        void shouldSeparateOutlierFromMedian() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 0; i < 99; i++) {
+                histogram.record(2_000, 0);
+            }
+            histogram.record(900_000, 0);
+
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot(1, 0);
+
+            assertThat(snapshot.percentileMicros(0.50)).isBetween(2_000L, 2_063L);
+            assertThat(snapshot.percentileMicros(0.99)).isBetween(2_000L, 2_063L);
+            assertThat(snapshot.percentileMicros(0.999)).isEqualTo(900_000L);
+        }
+
+        @Test
+        @DisplayName("Sehr lange Dauern zaehlen im letzten Bucket, das Maximum bleibt exakt")
+        void shouldClampHugeValues() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(LatencyHistogram.MAX_TRACKABLE_MICROS * 10, 0);
+
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot(1, 0);
+
+            assertThat(snapshot.counts()[LatencyHistogram.BUCKETS - 1]).isEqualTo(1);
+            assertThat(snapshot.maxMicros()).isEqualTo(LatencyHistogram.MAX_TRACKABLE_MICROS * 10);
+        }
+
+        @Test
+        @DisplayName("Ein leeres Histogramm liefert 0")
+        void shouldReturnZeroWhenEmpty() {
+            LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot(15, 3);
+
+            assertThat(snapshot.count()).isZero();
+            assertThat(snapshot.percentileMicros(0.99)).isZero();
+            assertThat(snapshot.meanMicros()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Zeitfenster")
+    class Windows {
+
+        @Test
+        @DisplayName("Fasst nur die Minuten des Zeitfensters zusammen")
+        void shouldMergeMinutesOfWindow() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(1_000, 0);
+            histogram.record(2_000, 10);
+            histogram.record(3_000, 14);
+
+            assertThat(histogram.snapshot(1, 14).count()).isEqualTo(1);
+            assertThat(histogram.snapshot(5, 14).count()).isEqualTo(2);
+            assertThat(histogram.snapshot(15, 14).count()).isEqualTo(3);
+            assertThat(histogram.snapshot(5, 14).maxMicros()).isEqualTo(3_000);
+        }
+
+        @Test
+        @DisplayName("Verwendet Slots nach 16 Minuten wieder und vergisst alte Werte")
+        void shouldRotateSlots() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(500_000, 2);
+
+            histogram.record(1_000, 2 + LatencyHistogram.SLOTS);
+
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot(15, 2 + LatencyHistogram.SLOTS);
+            assertThat(snapshot.count()).isEqualTo(1);
+            assertThat(snapshot.maxMicros()).isEqualTo(1_000);
+        }
+
+        @Test
+        @DisplayName("Veraltete Slots zaehlen nicht, auch wenn sie nicht ueberschrieben wurden")
+        void shouldIgnoreStaleSlots() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(1_000, 1);
+
+            assertThat(histogram.snapshot(15, 40).count()).isZero();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.research.portal.config;
+
+import com.research.portal.adapter.in.web.mapper.AnalystApiMapper;
+import com.research.portal.config.LayerTimings.Layer;
+import com.research.portal.domain.model.Analyst;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
+import com.research.portal.domain.port.in.GetAnalystsUseCase;
+import com.research.portal.domain.port.out.AnalystRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit-Tests fuer {@link LayerTimingAspect}.
+ *
+ * <p>Prueft mit echten Spring-AOP-Proxys, dass Use Cases, Repositories und
+ * Mapper ueber die Pointcuts ihrer Pakete als Schicht gemessen werden.
+ */
+@DisplayName("LayerTimingAspect")
+class LayerTimingAspectTest {
+
+    private static final long MS = 1_000_000;
+
+    private final long[] layerNanos = new long[Layer.ALL.length];
+
+    private AnalystRepository repository;
+    private GetAnalystsUseCase useCase;
+    private AnalystApiMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        repository = proxy(new SlowAnalystRepository());
+        useCase = proxy(new AnalystUseCase(repository));
+        AspectJProxyFactory mapperFactory = new AspectJProxyFactory(new AnalystApiMapper());
+        mapperFactory.setProxyTargetClass(true);
+        mapperFactory.addAspect(new LayerTimingAspect());
+        mapper = mapperFactory.getProxy();
+        LayerTimings.current().start();
+    }
+
+    @AfterEach
+    void stopTiming() {
+        LayerTimings.current().stop(new long[Layer.ALL.length]);
+    }
+
+    @Test
+    @DisplayName("Misst Use Case und Repository als getrennte Schichten")
+    void shouldTimeUseCaseAndRepository() {
+        List<Analyst> analysts = useCase.getAllAnalysts();
+
+        LayerTimings.current().stop(layerNanos);
+        assertThat(analysts).hasSize(1);
+        assertThat(layerNanos[Layer.REPOSITORY.ordinal()]).isGreaterThanOrEqualTo(20 * MS);
+        assertThat(layerNanos[Layer.USE_CASE.ordinal()]).isPositive().isLessThan(20 * MS);
+    }
+
+    @Test
+    @DisplayName("Misst API-Mapper als Schicht mapper")
+    void shouldTimeMapper() {
+        mapper.toDto(new Analyst(1L, "Dr. Lukas Meier", "Senior Analyst", "Equity Research",
+                "l.meier@example.com", List.of("NESN"), 5, 0.8));
+
+        LayerTimings.current().stop(layerNanos);
+        assertThat(layerNanos[Layer.MAPPER.ordinal()]).isPositive();
+        assertThat(layerNanos[Layer.REPOSITORY.ordinal()]).isZero();
+    }
+
+    @Test
+    @DisplayName("Schliesst den Span auch bei einer Exception")
+    void shouldCloseSpanOnException() {
+        assertThatThrownBy(() -> repository.findById(42L)).isInstanceOf(IllegalStateException.class);
+
+        useCase.getAllAnalysts();
+
+        LayerTimings.current().stop(layerNanos);
+        assertThat(layerNanos[Layer.USE_CASE.ordinal()]).isPositive();
+        assertThat(layerNanos[Layer.REPOSITORY.ordinal()]).isGreaterThanOrEqualTo(20 * MS);
+    }
+
+    private static <T> T proxy(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new LayerTimingAspect());
+        return factory.getProxy();
+    }
+
+    /** Repository, dessen Abfrage 20 ms dauert. */
+    private static final class SlowAnalystRepository implements AnalystRepository {
+
+        @Override
+        public List<Analyst> findAll() {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of(new Analyst());
+        }
+
+        @Override
+        public CursorPage<Analyst> findPage(PageQuery query) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Analyst> findById(Long id) {
+            throw new IllegalStateException("Datenbank nicht erreichbar");
+        }
+    }
+
+    private static final class AnalystUseCase implements GetAnalystsUseCase {
+
+        private final AnalystRepository repository;
+
+        private AnalystUseCase(AnalystRepository repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public List<Analyst> getAllAnalysts() {
+            return repository.findAll();
+        }
+
+        @Override
+        public CursorPage<Analyst> getAnalystsPage(PageQuery query) {
+            return repository.findPage(query);
+        }
+
+        @Override
+        public Optional<Analyst> getAnalystById(Long id) {
+            return repository.findById(id);
+        }
+    }
+}
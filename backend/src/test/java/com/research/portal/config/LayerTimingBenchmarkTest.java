@@ -0,0 +1,150 @@
+package com.research.portal.config;
+
+import com.research.portal.config.LayerTimings.Layer;
+import com.research.portal.domain.model.Analyst;
+import com.research.portal.domain.model.CursorPage;
+import com.research.portal.domain.model.PageQuery;
+import com.research.portal.domain.port.out.AnalystRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark fuer die Kosten der Schicht-Messung.
+ *
+ * <p>Gemessen werden ein nackter Span ({@link LayerTimings#open(Layer)} und
+ * Schliessen) und ein Repository-Aufruf ueber einen Spring-AOP-Proxy mit dem
+ * {@link LayerTimingAspect}, jeweils gegen den direkten Aufruf. Ein Span darf
+ * nach dem Aufwaermen nichts allozieren und zusammen mit dem Proxy hoechstens
+ * wenige hundert Nanosekunden kosten. Den Grossteil eines nackten Spans machen
+ * die zwei {@link System#nanoTime()}-Aufrufe aus; deren Kosten haengen von der
+ * Zeitquelle des Systems ab und werden mit ausgegeben.
+ *
+ * <p>Laeuft nicht im normalen Build, sondern nur mit {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Schicht-Messung Benchmark")
+class LayerTimingBenchmarkTest {
+
+    private static final int CALLS = 5_000_000;
+    private static final int ROUNDS = 3;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Verhindert, dass der JIT die Aufrufe wegoptimiert */
+    private long sink;
+
+    @AfterEach
+    void stopTiming() {
+        LayerTimings.current().stop(new long[Layer.ALL.length]);
+    }
+
+    @Test
+    @DisplayName("Ein Span kostet unter 200 ns und alloziert nicht")
+    void spanWithoutAllocation() {
+        LayerTimings.current().start();
+        long nanos = Long.MAX_VALUE;
+        long bytes = 0;
+        // Erste Runde waermt auf
+        for (int round = 0; round <= ROUNDS; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            long begin = System.nanoTime();
+            for (int i = 0; i < CALLS; i++) {
+                try (LayerTimings.Span span = LayerTimings.open(Layer.MAPPER)) {
+                    sink += i;
+                }
+            }
+            long elapsed = System.nanoTime() - begin;
+            if (round > 0) {
+                nanos = Math.min(nanos, elapsed);
+                bytes += threads.getCurrentThreadAllocatedBytes() - before;
+            }
+        }
+
+        long begin = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            sink += System.nanoTime();
+        }
+        double nanoTimeCost = (double) (System.nanoTime() - begin) / CALLS;
+
+        double nanosPerSpan = (double) nanos / CALLS;
+        double bytesPerSpan = (double) bytes / ((long) ROUNDS * CALLS);
+        System.out.printf("Span: %6.1f ns %6.3f B/Span | System.nanoTime(): %6.1f ns%n",
+                nanosPerSpan, bytesPerSpan, nanoTimeCost);
+        assertThat(nanosPerSpan).isLessThan(200);
+        assertThat(bytesPerSpan).isLessThan(0.1);
+    }
+
+    @Test
+    @DisplayName("Ein Aufruf ueber den Aspekt kostet wenige hundert ns mehr als direkt")
+    void aspectOverhead() {
+        AnalystRepository direct = new InMemoryAnalystRepository();
+        AspectJProxyFactory factory = new AspectJProxyFactory(direct);
+        factory.addAspect(new LayerTimingAspect());
+        AnalystRepository proxied = factory.getProxy();
+        LayerTimings.current().start();
+
+        long directNanos = Long.MAX_VALUE;
+        long proxiedNanos = Long.MAX_VALUE;
+        long proxiedBytes = 0;
+        for (int round = 0; round <= ROUNDS; round++) {
+            long begin = System.nanoTime();
+            call(direct);
+            long directElapsed = System.nanoTime() - begin;
+
+            long before = threads.getCurrentThreadAllocatedBytes();
+            begin = System.nanoTime();
+            call(proxied);
+            long proxiedElapsed = System.nanoTime() - begin;
+            if (round > 0) {
+                directNanos = Math.min(directNanos, directElapsed);
+                proxiedNanos = Math.min(proxiedNanos, proxiedElapsed);
+                proxiedBytes += threads.getCurrentThreadAllocatedBytes() - before;
+            }
+        }
+
+        double overheadPerCall = (double) (proxiedNanos - directNanos) / CALLS;
+        long[] layerNanos = new long[Layer.ALL.length];
+        LayerTimings.current().stop(layerNanos);
+        System.out.printf("Direkt: %6.1f ns | Proxy mit Aspekt: %6.1f ns | Mehrkosten %6.1f ns, %6.1f B pro Aufruf%n",
+                (double) directNanos / CALLS, (double) proxiedNanos / CALLS, overheadPerCall,
+                (double) proxiedBytes / ((long) ROUNDS * CALLS));
+        assertThat(layerNanos[Layer.REPOSITORY.ordinal()]).isPositive();
+        assertThat(overheadPerCall).isLessThan(500);
+    }
+
+    private void call(AnalystRepository repository) {
+        for (int i = 0; i < CALLS; i++) {
+            sink += repository.findAll().size();
+        }
+    }
+
+    private static final class InMemoryAnalystRepository implements AnalystRepository {
+
+        private final List<Analyst> analysts = List.of(new Analyst());
+
+        @Override
+        public List<Analyst> findAll() {
+            return analysts;
+        }
+
+        @Override
+        public CursorPage<Analyst> findPage(PageQuery query) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Analyst> findById(Long id) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.research.portal.config;
+
+import com.research.portal.config.LayerTimings.Layer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Tests fuer {@link LayerTimings}.
+ *
+ * <p>Prueft Eigenzeit bei verschachtelten Spans und das Verhalten ausserhalb
+ * einer Messung.
+ */
+@DisplayName("LayerTimings")
+class LayerTimingsTest {
+
+    private static final long MS = 1_000_000;
+
+    private final long[] layerNanos = new long[Layer.ALL.length];
+
+    @AfterEach
+    void stopTiming() {
+        LayerTimings.current().stop(new long[Layer.ALL.length]);
+    }
+
+    @Test
+    @DisplayName("Zieht die Zeit verschachtelter Spans von der Eigenzeit der aeusseren Schicht ab")
+    void shouldCountSelfTime() throws InterruptedException {
+        LayerTimings.current().start();
+
+        try (LayerTimings.Span useCase = LayerTimings.open(Layer.USE_CASE)) {
+            try (LayerTimings.Span repository = LayerTimings.open(Layer.REPOSITORY)) {
+                Thread.sleep(30);
+            }
+            try (LayerTimings.Span mapper = LayerTimings.open(Layer.MAPPER)) {
+                Thread.sleep(10);
+            }
+        }
+
+        assertThat(LayerTimings.current().stop(layerNanos)).isTrue();
+        assertThat(layerNanos[Layer.REPOSITORY.ordinal()]).isGreaterThanOrEqualTo(30 * MS);
+        assertThat(layerNanos[Layer.MAPPER.ordinal()]).isBetween(10 * MS, 30 * MS);
+        assertThat(layerNanos[Layer.USE_CASE.ordinal()]).isLessThan(10 * MS);
+        assertThat(layerNanos[Layer.CONTROLLER.ordinal()]).isZero();
+    }
+
+    @Test
+    @DisplayName("Summiert wiederholte Spans derselben Schicht")
+    void shouldSumRepeatedSpans() throws InterruptedException {
+        LayerTimings.current().start();
+
+        for (int i = 0; i < 3; i++) {
+            try (LayerTimings.Span repository = LayerTimings.open(Layer.REPOSITORY)) {
+                Thread.sleep(5);
+            }
+        }
+
+        LayerTimings.current().stop(layerNanos);
+        assertThat(layerNanos[Layer.REPOSITORY.ordinal()]).isGreaterThanOrEqualTo(15 * MS);
+    }
+
+    @Test
+    @DisplayName("Misst ausserhalb einer Messung nichts")
+    void shouldIgnoreSpansWhenInactive() {
+        try (LayerTimings.Span repository = LayerTimings.open(Layer.REPOSITORY)) {
+            assertThat(repository).isNotNull();
+        }
+
+        LayerTimings.current().start();
+        assertThat(LayerTimings.current().stop(layerNanos)).isFalse();
+        assertThat(layerNanos).containsOnly(0L);
+    }
+
+    @Test
+    @DisplayName("Beginnt jede Messung mit leeren Summen")
+    void shouldResetOnStart() throws InterruptedException {
+        LayerTimings.current().start();
+        try (LayerTimings.Span repository = LayerTimings.open(Layer.REPOSITORY)) {
+            Thread.sleep(20);
+        }
+
+        LayerTimings.current().start();
+        try (LayerTimings.Span mapper = LayerTimings.open(Layer.MAPPER)) {
+            assertThat(mapper).isNotNull();
+        }
+
+        LayerTimings.current().stop(layerNanos);
+        assertThat(layerNanos[Layer.REPOSITORY.ordinal()]).isZero();
+        assertThat(layerNanos[Layer.MAPPER.ordinal()]).isPositive();
+    }
+
+    @Test
+    @DisplayName("Zaehlt offene Spans erst nach dem Schliessen")
+    void shouldExcludeOpenSpans() {
+        LayerTimings.current().start();
+        try (LayerTimings.Span controller = LayerTimings.open(Layer.CONTROLLER)) {
+            try (LayerTimings.Span useCase = LayerTimings.open(Layer.USE_CASE)) {
+                assertThat(useCase).isNotNull();
+            }
+            long[] sofar = new long[Layer.ALL.length];
+
+            assertThat(LayerTimings.current().addTo(sofar)).isTrue();
+            assertThat(sofar[Layer.USE_CASE.ordinal()]).isPositive();
+            assertThat(sofar[Layer.CONTROLLER.ordinal()]).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("Misst zu tief verschachtelte Spans nicht, ohne den Stack zu beschaedigen")
+    void shouldSkipSpansBeyondMaxDepth() {
+        LayerTimings.current().start();
+
+        nest(LayerTimings.MAX_DEPTH + 10);
+
+        assertThat(LayerTimings.current().stop(layerNanos)).isTrue();
+        assertThat(layerNanos[Layer.MAPPER.ordinal()]).isPositive();
+    }
+
+    @Test
+    @DisplayName("Uebersteht einen Neustart der Messung bei offenem Span")
+    void shouldSurviveRestartWithOpenSpan() {
+        LayerTimings.current().start();
+        LayerTimings.Span controller = LayerTimings.open(Layer.CONTROLLER);
+
+        LayerTimings.current().start();
+        controller.close();
+        try (LayerTimings.Span mapper = LayerTimings.open(Layer.MAPPER)) {
+            assertThat(mapper).isNotNull();
+        }
+
+        LayerTimings.current().stop(layerNanos);
+        assertThat(layerNanos[Layer.CONTROLLER.ordinal()]).isZero();
+        assertThat(layerNanos[Layer.MAPPER.ordinal()]).isPositive();
+    }
+
+    private static void nest(int remaining) {
+        if (remaining == 0) {
+            return;
+        }
+        try (LayerTimings.Span mapper = LayerTimings.open(Layer.MAPPER)) {
+            nest(remaining - 1);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.research.portal.config;
 
 import com.research.portal.application.service.RateLimitService;
+import com.research.portal.application.service.RateLimitService.Decision;
 import com.research.portal.application.service.RateLimitService.RateLimitInfo;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -58,10 +62,8 @@ class RateLimitInterceptorTest {
             when(request.getMethod()).thenReturn("GET");
             when(request.getRequestURI()).thenReturn("/api/reports");
             when(request.getHeader(RateLimitInterceptor.X_FORWARDED_FOR)).thenReturn(null);
-            when(rateLimitService.determineCategory("GET", "/api/reports")).thenReturn("READ");
-            when(rateLimitService.isAllowed("192.168.1.1", "READ")).thenReturn(true);
-            when(rateLimitService.getRateLimitInfo("192.168.1.1", "READ"))
-                    .thenReturn(new RateLimitInfo(99, 100, System.currentTimeMillis() + 60000));
+            when(rateLimitService.check("GET", "/api/reports", null, "192.168.1.1", null))
+                    .thenReturn(new Decision(true, "READ", 1, new RateLimitInfo(99, 100, System.currentTimeMillis() + 60000)));
 
             boolean result = interceptor.preHandle(request, response, new Object());
 
@@ -78,10 +80,8 @@ class RateLimitInterceptorTest {
             when(request.getMethod()).thenReturn("POST");
             when(request.getRequestURI()).thenReturn("/api/reports");
             when(request.getHeader(RateLimitInterceptor.X_FORWARDED_FOR)).thenReturn(null);
-            when(rateLimitService.determineCategory("POST", "/api/reports")).thenReturn("WRITE");
-            when(rateLimitService.isAllowed("10.0.0.1", "WRITE")).thenReturn(false);
-            when(rateLimitService.getRateLimitInfo("10.0.0.1", "WRITE"))
-                    .thenReturn(new RateLimitInfo(0, 30, System.currentTimeMillis() + 60000));
+            when(rateLimitService.check("POST", "/api/reports", null, "10.0.0.1", null))
+                    .thenReturn(new Decision(false, "WRITE", 1, new RateLimitInfo(0, 30, System.currentTimeMillis() + 60000)));
             when(response.getWriter()).thenReturn(printWriter);
 
             boolean result = interceptor.preHandle(request, response, new Object());
@@ -98,10 +98,8 @@ class RateLimitInterceptorTest {
             when(request.getMethod()).thenReturn("GET");
             when(request.getRequestURI()).thenReturn("/api/analysts");
             when(request.getHeader(RateLimitInterceptor.X_FORWARDED_FOR)).thenReturn(null);
-            when(rateLimitService.determineCategory("GET", "/api/analysts")).thenReturn("READ");
-            when(rateLimitService.isAllowed("192.168.1.2", "READ")).thenReturn(true);
-            when(rateLimitService.getRateLimitInfo("192.168.1.2", "READ"))
-                    .thenReturn(new RateLimitInfo(95, 100, resetAt));
+            when(rateLimitService.check("GET", "/api/analysts", null, "192.168.1.2", null))
+                    .thenReturn(new Decision(true, "READ", 1, new RateLimitInfo(95, 100, resetAt)));
 
             interceptor.preHandle(request, response, new Object());
 
@@ -117,14 +115,12 @@ class RateLimitInterceptorTest {
                     .thenReturn("203.0.113.50, 70.41.3.18, 150.172.238.178");
             when(request.getMethod()).thenReturn("GET");
             when(request.getRequestURI()).thenReturn("/api/reports");
-            when(rateLimitService.determineCategory("GET", "/api/reports")).thenReturn("READ");
-            when(rateLimitService.isAllowed("203.0.113.50", "READ")).thenReturn(true);
-            when(rateLimitService.getRateLimitInfo("203.0.113.50", "READ"))
-                    .thenReturn(new RateLimitInfo(99, 100, System.currentTimeMillis() + 60000));
+            when(rateLimitService.check("GET", "/api/reports", null, "203.0.113.50", null))
+                    .thenReturn(new Decision(true, "READ", 1, new RateLimitInfo(99, 100, System.currentTimeMillis() + 60000)));
 
             interceptor.preHandle(request, response, new Object());
 
-            verify(rateLimitService).isAllowed("203.0.113.50", "READ");
+            verify(rateLimitService).check("GET", "/api/reports", null, "203.0.113.50", null);
         }
 
         @Test
@@ -134,14 +130,12 @@ class RateLimitInterceptorTest {
             when(request.getRemoteAddr()).thenReturn("127.0.0.1");
             when(request.getMethod()).thenReturn("GET");
             when(request.getRequestURI()).thenReturn("/api/reports");
-            when(rateLimitService.determineCategory("GET", "/api/reports")).thenReturn("READ");
-            when(rateLimitService.isAllowed("127.0.0.1", "READ")).thenReturn(true);
-            when(rateLimitService.getRateLimitInfo("127.0.0.1", "READ"))
-                    .thenReturn(new RateLimitInfo(99, 100, System.currentTimeMillis() + 60000));
+            when(rateLimitService.check("GET", "/api/reports", null, "127.0.0.1", null))
+                    .thenReturn(new Decision(true, "READ", 1, new RateLimitInfo(99, 100, System.currentTimeMillis() + 60000)));
 
             interceptor.preHandle(request, response, new Object());
 
-            verify(rateLimitService).isAllowed("127.0.0.1", "READ");
+            verify(rateLimitService).check("GET", "/api/reports", null, "127.0.0.1", null);
         }
 
         @Test
@@ -154,10 +148,8 @@ class RateLimitInterceptorTest {
             when(request.getMethod()).thenReturn("GET");
             when(request.getRequestURI()).thenReturn("/api/search");
             when(request.getHeader(RateLimitInterceptor.X_FORWARDED_FOR)).thenReturn(null);
-            when(rateLimitService.determineCategory("GET", "/api/search")).thenReturn("SEARCH");
-            when(rateLimitService.isAllowed("10.0.0.2", "SEARCH")).thenReturn(false);
-            when(rateLimitService.getRateLimitInfo("10.0.0.2", "SEARCH"))
-                    .thenReturn(new RateLimitInfo(0, 20, System.currentTimeMillis() + 60000));
+            when(rateLimitService.check("GET", "/api/search", null, "10.0.0.2", null))
+                    .thenReturn(new Decision(false, "SEARCH", 1, new RateLimitInfo(0, 20, System.currentTimeMillis() + 60000)));
             when(response.getWriter()).thenReturn(printWriter);
 
             interceptor.preHandle(request, response, new Object());
@@ -170,6 +162,62 @@ class RateLimitInterceptorTest {
         }
     }
 
+    @Nested
+    @DisplayName("Richtlinien")
+    class Policies {
+
+        @Test
+        @DisplayName("Uebergibt Controller-Mapping und Benutzer an den Service")
+        void shouldPassHandlerPatternAndUser() throws Exception {
+            HandlerMethod handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+            when(request.getRemoteAddr()).thenReturn("10.0.0.3");
+            when(request.getMethod()).thenReturn("GET");
+            when(request.getRequestURI()).thenReturn("/api/export/reports/42/pdf");
+            when(request.getHeader(RateLimitInterceptor.X_FORWARDED_FOR)).thenReturn(null);
+            when(request.getHeader(RateLimitInterceptor.X_USER_ID)).thenReturn("desk-1");
+            when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                    .thenReturn("/api/export/reports/{id}/pdf");
+            when(rateLimitService.check("GET", "/api/export/reports/42/pdf", "/api/export/reports/{id}/pdf",
+                    "10.0.0.3", "desk-1"))
+                    .thenReturn(new Decision(true, "EXPORT", 2, new RateLimitInfo(18, 20, System.currentTimeMillis())));
+
+            boolean result = interceptor.preHandle(request, response, handler);
+
+            assertThat(result).isTrue();
+            verify(response).setIntHeader(RateLimitInterceptor.HEADER_LIMIT, 20);
+            verify(response).setIntHeader(RateLimitInterceptor.HEADER_REMAINING, 18);
+        }
+
+        @Test
+        @DisplayName("Nennt die Richtlinie im 429-Body")
+        void shouldNamePolicyWhenBlocked() throws Exception {
+            StringWriter stringWriter = new StringWriter();
+            when(request.getRemoteAddr()).thenReturn("10.0.0.4");
+            when(request.getMethod()).thenReturn("GET");
+            when(request.getRequestURI()).thenReturn("/api/export/reports/excel");
+            when(rateLimitService.check("GET", "/api/export/reports/excel", null, "10.0.0.4", null))
+                    .thenReturn(new Decision(false, "EXPORT", 5, new RateLimitInfo(3, 20, System.currentTimeMillis())));
+            when(response.getWriter()).thenReturn(new PrintWriter(stringWriter));
+
+            boolean result = interceptor.preHandle(request, response, new Object());
+
+            assertThat(result).isFalse();
+            verify(response).setStatus(429);
+            assertThat(stringWriter.toString()).contains("\"category\":\"EXPORT\"").contains("\"remaining\":3");
+        }
+
+        @Test
+        @DisplayName("Zaehlt asynchrone Dispatches nicht erneut")
+        void shouldSkipAsyncDispatch() throws Exception {
+            when(request.getDispatcherType()).thenReturn(DispatcherType.ASYNC);
+
+            boolean result = interceptor.preHandle(request, response, new Object());
+
+            assertThat(result).isTrue();
+            verifyNoInteractions(rateLimitService);
+        }
+    }
+
     @Nested
     @DisplayName("extractClientIp")
     class ExtractClientIp {
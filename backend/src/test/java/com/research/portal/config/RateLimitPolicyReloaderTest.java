@@ -0,0 +1,116 @@
+package com.research.portal.config;
+
+import com.research.portal.application.service.RateLimitService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Tests fuer {@link RateLimitPolicyReloader}.
+ *
+ * <p>Prueft das Neuladen der externen Richtlinien-Datei: Werte der Datei gehen
+ * der Anwendungskonfiguration vor, ungueltige Dateien lassen die bisherigen
+ * Richtlinien aktiv.
+ */
+@DisplayName("RateLimitPolicyReloader")
+class RateLimitPolicyReloaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path policyFile;
+    private RateLimitService service;
+    private RateLimitPolicyReloader reloader;
+
+    @BeforeEach
+    void setUp() {
+        policyFile = tempDir.resolve("rate-limits.yml");
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("application", Map.of(
+                "app.rate-limit.policies.READ.requests-per-minute", "100",
+                "app.rate-limit.policies.WRITE.requests-per-minute", "30")));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setPolicyFile(policyFile.toString());
+        service = new RateLimitService();
+        reloader = new RateLimitPolicyReloader(service, properties, environment);
+    }
+
+    @Test
+    @DisplayName("Uebernimmt die Werte der Datei vor der Anwendungskonfiguration")
+    void shouldApplyFileOverApplicationConfig() throws IOException {
+        write("""
+                app:
+                  rate-limit:
+                    policies:
+                      READ:
+                        requests-per-minute: 500
+                """, 1);
+
+        reloader.reloadIfChanged();
+
+        assertThat(service.getRateLimitInfo("10.3.0.1", RateLimitService.CATEGORY_READ).limit()).isEqualTo(500);
+        assertThat(service.getRateLimitInfo("10.3.0.1", RateLimitService.CATEGORY_WRITE).limit()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Laedt die Datei erneut, sobald sie sich aendert")
+    void shouldReloadWhenFileChanges() throws IOException {
+        write("""
+                app.rate-limit.policies:
+                  READ: { requests-per-minute: 500 }
+                  WRITE: { requests-per-minute: 30 }
+                """, 1);
+        reloader.reloadIfChanged();
+
+        write("""
+                app.rate-limit.policies:
+                  READ: { requests-per-minute: 50 }
+                  WRITE: { requests-per-minute: 30 }
+                """, 2);
+        reloader.reloadIfChanged();
+
+        assertThat(service.getRateLimitInfo("10.3.0.2", RateLimitService.CATEGORY_READ).limit()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Behaelt die bisherigen Richtlinien, wenn die Datei ungueltig ist")
+    void shouldKeepPoliciesWhenFileInvalid() throws IOException {
+        write("""
+                app.rate-limit:
+                  routes:
+                    - pattern: /api/export/**
+                      policy: MISSING
+                """, 1);
+
+        reloader.reloadIfChanged();
+
+        assertThat(service.getRateLimitInfo("10.3.0.3", RateLimitService.CATEGORY_READ).limit()).isEqualTo(100);
+        assertThat(service.determineCategory("GET", "/api/search")).isEqualTo(RateLimitService.CATEGORY_SEARCH);
+    }
+
+    @Test
+    @DisplayName("Ohne Datei bleibt alles unveraendert")
+    void shouldIgnoreMissingFile() {
+        reloader.reloadIfChanged();
+
+        assertThat(service.getRateLimitInfo("10.3.0.4", RateLimitService.CATEGORY_SEARCH).limit()).isEqualTo(20);
+    }
+
+    /** Schreibt die Datei mit fortlaufendem Aenderungszeitpunkt, unabhaengig von der Aufloesung des Dateisystems. */
+    private void write(String yaml, int version) throws IOException {
+        Files.writeString(policyFile, yaml);
+        Files.setLastModifiedTime(policyFile, FileTime.from(Instant.ofEpochSecond(1_700_000_000L + version)));
+    }
+}
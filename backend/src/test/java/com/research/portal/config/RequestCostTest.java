@@ -0,0 +1,132 @@
+package com.research.portal.config;
+
+import com.research.portal.config.LayerTimings.Layer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Tests fuer {@link RequestCost}.
+ *
+ * <p>Prueft das Aufsummieren der Abschnitte ueber mehrere Threads, auch fuer
+ * die Zeit pro Schicht.
+ */
+@DisplayName("RequestCost")
+class RequestCostTest {
+
+    private static final int MB = 1024 * 1024;
+
+    @Test
+    @DisplayName("Misst die Allokation des eigenen Threads")
+    void shouldMeasureAllocation() {
+        RequestCost cost = new RequestCost();
+        cost.begin();
+        byte[] payload = new byte[3 * MB];
+        cost.end();
+
+        assertThat(payload).hasSize(3 * MB);
+        assertThat(cost.allocatedBytes()).isBetween(3L * MB, 4L * MB);
+        assertThat(cost.cpuNanos()).isNotNegative();
+    }
+
+    @Test
+    @DisplayName("Summiert die Abschnitte mehrerer Threads")
+    void shouldSumSegmentsAcrossThreads() throws InterruptedException {
+        RequestCost cost = new RequestCost();
+        cost.begin();
+        byte[] first = new byte[MB];
+        cost.end();
+
+        AtomicReference<byte[]> second = new AtomicReference<>();
+        Thread async = new Thread(() -> {
+            cost.begin();
+            second.set(new byte[2 * MB]);
+            cost.end();
+        });
+        async.start();
+        async.join();
+
+        assertThat(first.length + second.get().length).isEqualTo(3 * MB);
+        assertThat(cost.allocatedBytes()).isBetween(3L * MB, 4L * MB);
+    }
+
+    @Test
+    @DisplayName("Zaehlt einen offenen Abschnitt des aktuellen Threads mit")
+    void shouldIncludeOpenSegment() {
+        RequestCost cost = new RequestCost();
+        cost.begin();
+        byte[] payload = new byte[2 * MB];
+
+        assertThat(payload).hasSize(2 * MB);
+        assertThat(cost.allocatedBytes()).isGreaterThanOrEqualTo(2L * MB);
+    }
+
+    @Test
+    @DisplayName("Meldet -1, wenn ein Abschnitt auf einem anderen Thread nicht beendet wurde")
+    void shouldReportUnknownForAbandonedSegment() throws InterruptedException {
+        RequestCost cost = new RequestCost();
+        Thread other = new Thread(cost::begin);
+        other.start();
+        other.join();
+
+        cost.begin();
+        cost.end();
+
+        assertThat(cost.allocatedBytes()).isEqualTo(-1);
+        assertThat(cost.cpuNanos()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Summiert die Zeit pro Schicht ueber die Abschnitte mehrerer Threads")
+    void shouldSumLayersAcrossThreads() throws InterruptedException {
+        RequestCost cost = new RequestCost();
+        cost.begin();
+        try (LayerTimings.Span controller = LayerTimings.open(Layer.CONTROLLER)) {
+            Thread.sleep(5);
+        }
+        cost.end();
+
+        Thread async = new Thread(() -> {
+            cost.begin();
+            try (LayerTimings.Span repository = LayerTimings.open(Layer.REPOSITORY)) {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            cost.end();
+        });
+        async.start();
+        async.join();
+
+        long[] layerNanos = cost.layerNanos();
+        assertThat(layerNanos[Layer.CONTROLLER.ordinal()]).isGreaterThanOrEqualTo(5_000_000);
+        assertThat(layerNanos[Layer.REPOSITORY.ordinal()]).isGreaterThanOrEqualTo(10_000_000);
+        assertThat(layerNanos[Layer.MAPPER.ordinal()]).isZero();
+    }
+
+    @Test
+    @DisplayName("Zaehlt geschlossene Spans eines offenen Abschnitts mit")
+    void shouldIncludeLayersOfOpenSegment() {
+        RequestCost cost = new RequestCost();
+        cost.begin();
+        try (LayerTimings.Span mapper = LayerTimings.open(Layer.MAPPER)) {
+            assertThat(mapper).isNotNull();
+        }
+
+        assertThat(cost.layerNanos()[Layer.MAPPER.ordinal()]).isPositive();
+        cost.end();
+    }
+
+    @Test
+    @DisplayName("Liefert null, wenn kein Span gemessen wurde")
+    void shouldReturnNullWithoutSpans() {
+        RequestCost cost = new RequestCost();
+        cost.begin();
+        cost.end();
+
+        assertThat(cost.layerNanos()).isNull();
+    }
+}
@@ -1,5 +1,6 @@
 package com.research.portal.config;
 
+import com.research.portal.config.LayerTimings.Layer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,8 +8,14 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -59,6 +66,17 @@ class RequestLoggingInterceptorTest {
             );
         }
 
+        @Test
+        @DisplayName("Beginnt die Messung von CPU-Zeit und Allokation")
+        void shouldStoreRequestCost() {
+            when(request.getMethod()).thenReturn("GET");
+            when(request.getRequestURI()).thenReturn("/api/reports");
+
+            interceptor.preHandle(request, response, new Object());
+
+            verify(request).setAttribute(eq(RequestLoggingInterceptor.COST_ATTR), any(RequestCost.class));
+        }
+
         @Test
         @DisplayName("Gibt immer true zurueck um Verarbeitung fortzusetzen")
         void shouldAlwaysReturnTrue() {
@@ -75,22 +93,31 @@ class RequestLoggingInterceptorTest {
     @DisplayName("afterCompletion")
     class AfterCompletion {
 
+        @BeforeEach
+        void withoutCost() {
+            // Ohne Messung (z.B. JVM ohne Unterstuetzung) gehen CPU-Zeit und Allokation als -1 weiter
+            lenient().when(request.getAttribute(RequestLoggingInterceptor.COST_ATTR)).thenReturn(null);
+        }
+
         @Test
-        @DisplayName("Ruft metricsCollector.recordRequest auf")
+        @DisplayName("Ruft metricsCollector.recordRequestNanos auf")
         void shouldCallMetricsCollectorRecordRequest() {
             long startTime = System.nanoTime() - 10_000_000; // 10ms vorher
             when(request.getAttribute(RequestLoggingInterceptor.START_TIME_ATTR)).thenReturn(startTime);
+            when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/api/reports");
             when(request.getMethod()).thenReturn("GET");
             when(request.getRequestURI()).thenReturn("/api/reports");
             when(response.getStatus()).thenReturn(200);
 
             interceptor.afterCompletion(request, response, new Object(), null);
 
-            verify(metricsCollector).recordRequest(
+            verify(metricsCollector).recordRequestNanos(
                     eq("GET"),
                     eq("/api/reports"),
                     eq(200),
-                    longThat(duration -> duration >= 0)
+                    longThat(duration -> duration >= 0),
+                    eq(-1L),
+                    eq(-1L)
             );
         }
 
@@ -106,11 +133,13 @@ class RequestLoggingInterceptorTest {
 
             interceptor.afterCompletion(request, response, new Object(), null);
 
-            verify(metricsCollector).recordRequest(
+            verify(metricsCollector).recordRequestNanos(
                     anyString(),
                     anyString(),
                     anyInt(),
-                    longThat(duration -> duration >= 40 && duration <= 200)
+                    longThat(duration -> duration >= 40_000_000 && duration <= 200_000_000),
+                    anyLong(),
+                    anyLong()
             );
         }
 
@@ -129,23 +158,26 @@ class RequestLoggingInterceptorTest {
         void shouldPassCorrectStatusToCollector() {
             long startTime = System.nanoTime();
             when(request.getAttribute(RequestLoggingInterceptor.START_TIME_ATTR)).thenReturn(startTime);
+            when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/api/reports");
             when(request.getMethod()).thenReturn("POST");
             when(request.getRequestURI()).thenReturn("/api/reports");
             when(response.getStatus()).thenReturn(404);
 
             interceptor.afterCompletion(request, response, new Object(), null);
 
-            verify(metricsCollector).recordRequest(
+            verify(metricsCollector).recordRequestNanos(
                     eq("POST"),
                     eq("/api/reports"),
                     eq(404),
+                    anyLong(),
+                    anyLong(),
                     anyLong()
             );
         }
 
         @Test
-        @DisplayName("Uebergibt korrekten URI an Collector")
-        void shouldPassCorrectUriToCollector() {
+        @DisplayName("Zaehlt Requests ohne Mapping unter einem Sammel-Endpunkt statt unter der URI")
+        void shouldPassUnmatchedRouteToCollector() {
             long startTime = System.nanoTime();
             when(request.getAttribute(RequestLoggingInterceptor.START_TIME_ATTR)).thenReturn(startTime);
             when(request.getMethod()).thenReturn("DELETE");
@@ -154,12 +186,131 @@ class RequestLoggingInterceptorTest {
 
             interceptor.afterCompletion(request, response, new Object(), null);
 
-            verify(metricsCollector).recordRequest(
+            verify(metricsCollector).recordRequestNanos(
                     eq("DELETE"),
-                    eq("/api/reports/42"),
+                    eq(RequestLoggingInterceptor.UNMATCHED_ROUTE),
                     eq(204),
+                    anyLong(),
+                    anyLong(),
                     anyLong()
             );
         }
+
+        @Test
+        @DisplayName("Uebergibt das Routen-Template statt der URI, wenn ein Mapping bekannt ist")
+        void shouldPassRouteTemplateToCollector() {
+            long startTime = System.nanoTime();
+            when(request.getAttribute(RequestLoggingInterceptor.START_TIME_ATTR)).thenReturn(startTime);
+            when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                    .thenReturn("/api/reports/{id}");
+            when(request.getMethod()).thenReturn("GET");
+            when(request.getRequestURI()).thenReturn("/api/reports/42");
+            when(response.getStatus()).thenReturn(200);
+
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            verify(metricsCollector).recordRequestNanos(
+                    eq("GET"),
+                    eq("/api/reports/{id}"),
+                    eq(200),
+                    anyLong(),
+                    anyLong(),
+                    anyLong()
+            );
+        }
+    }
+
+    @Nested
+    @DisplayName("CPU-Zeit und Allokation")
+    class Cost {
+
+        @Test
+        @DisplayName("Uebergibt gemessene CPU-Zeit und allozierte Bytes an den Collector")
+        void shouldPassMeasuredCostToCollector() {
+            RequestCost cost = new RequestCost();
+            cost.begin();
+            byte[] payload = new byte[2 * 1024 * 1024];
+            when(request.getAttribute(RequestLoggingInterceptor.START_TIME_ATTR)).thenReturn(System.nanoTime());
+            when(request.getAttribute(RequestLoggingInterceptor.COST_ATTR)).thenReturn(cost);
+            when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/api/reports");
+            when(request.getMethod()).thenReturn("GET");
+            when(request.getRequestURI()).thenReturn("/api/reports");
+            when(response.getStatus()).thenReturn(200);
+
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            assertThat(payload).hasSize(2 * 1024 * 1024);
+            verify(metricsCollector).recordRequestNanos(eq("GET"), eq("/api/reports"), eq(200), anyLong(),
+                    longThat(cpu -> cpu >= 0), longThat(bytes -> bytes >= 2 * 1024 * 1024));
+        }
+
+        @Test
+        @DisplayName("Zaehlt bei gestreamten Antworten den Abschnitt des Async-Threads mit")
+        void shouldIncludeAsyncThread() throws InterruptedException {
+            RequestCost cost = new RequestCost();
+            cost.begin();
+            when(request.getAttribute(RequestLoggingInterceptor.COST_ATTR)).thenReturn(cost);
+            interceptor.afterConcurrentHandlingStarted(request, response, new Object());
+
+            NativeWebRequest webRequest = mock(NativeWebRequest.class);
+            when(webRequest.getAttribute(RequestLoggingInterceptor.COST_ATTR, RequestAttributes.SCOPE_REQUEST))
+                    .thenReturn(cost);
+            AtomicReference<byte[]> payload = new AtomicReference<>();
+            Thread async = new Thread(() -> {
+                interceptor.preProcess(webRequest, () -> null);
+                payload.set(new byte[4 * 1024 * 1024]);
+                interceptor.postProcess(webRequest, () -> null, null);
+            });
+            async.start();
+            async.join();
+
+            when(request.getAttribute(RequestLoggingInterceptor.START_TIME_ATTR)).thenReturn(System.nanoTime());
+            when(request.getMethod()).thenReturn("GET");
+            when(request.getRequestURI()).thenReturn("/api/export/reports/excel");
+            when(response.getStatus()).thenReturn(200);
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            assertThat(payload.get()).hasSize(4 * 1024 * 1024);
+            verify(metricsCollector).recordRequestNanos(eq("GET"), anyString(), eq(200), anyLong(),
+                    longThat(cpu -> cpu >= 0), longThat(bytes -> bytes >= 4 * 1024 * 1024));
+        }
+
+        @Test
+        @DisplayName("Uebergibt die Zeit pro Schicht an den Collector")
+        void shouldPassLayersToCollector() {
+            when(request.getMethod()).thenReturn("GET");
+            when(request.getRequestURI()).thenReturn("/api/reports");
+            interceptor.preHandle(request, response, new Object());
+            ArgumentCaptor<RequestCost> captured = ArgumentCaptor.forClass(RequestCost.class);
+            verify(request).setAttribute(eq(RequestLoggingInterceptor.COST_ATTR), captured.capture());
+            try (LayerTimings.Span repository = LayerTimings.open(Layer.REPOSITORY)) {
+                assertThat(repository).isNotNull();
+            }
+
+            when(request.getAttribute(RequestLoggingInterceptor.START_TIME_ATTR)).thenReturn(System.nanoTime());
+            when(request.getAttribute(RequestLoggingInterceptor.COST_ATTR)).thenReturn(captured.getValue());
+            when(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE)).thenReturn("/api/reports");
+            when(response.getStatus()).thenReturn(200);
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            verify(metricsCollector).recordLayers(eq("GET"), eq("/api/reports"),
+                    argThat(layers -> layers[Layer.REPOSITORY.ordinal()] > 0));
+        }
+
+        @Test
+        @DisplayName("Uebergibt keine Schichten, wenn kein Span gemessen wurde")
+        void shouldSkipLayersWithoutSpans() {
+            RequestCost cost = new RequestCost();
+            cost.begin();
+            when(request.getAttribute(RequestLoggingInterceptor.START_TIME_ATTR)).thenReturn(System.nanoTime());
+            when(request.getAttribute(RequestLoggingInterceptor.COST_ATTR)).thenReturn(cost);
+            when(request.getMethod()).thenReturn("GET");
+            when(request.getRequestURI()).thenReturn("/api/reports");
+            when(response.getStatus()).thenReturn(200);
+
+            interceptor.afterCompletion(request, response, new Object(), null);
+
+            verify(metricsCollector, never()).recordLayers(anyString(), anyString(), any());
+        }
     }
 }
@@ -0,0 +1,93 @@
+package com.research.portal.config;
+
+import com.research.portal.config.LayerTimings.Layer;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Tests fuer {@link ServerTimingFilter}.
+ *
+ * <p>Prueft, dass der Header vor dem ersten Byte der Antwort gesetzt wird und
+ * die Messwerte des {@link RequestLoggingInterceptor} enthaelt.
+ */
+@DisplayName("ServerTimingFilter")
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    @DisplayName("Setzt Antwortzeit, CPU-Zeit und Allokation, bevor der Body geschrieben wird")
+    void shouldAddHeaderBeforeBody() throws Exception {
+        RequestCost cost = new RequestCost();
+        cost.begin();
+        request.setAttribute(RequestLoggingInterceptor.START_TIME_ATTR, System.nanoTime() - 25_000_000);
+        request.setAttribute(RequestLoggingInterceptor.COST_ATTR, cost);
+        FilterChain chain = (req, res) -> {
+            res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+        };
+
+        filter.doFilter(request, response, chain);
+
+        String header = response.getHeader(ServerTimingFilter.HEADER);
+        assertThat(header).matches("app;dur=\\d+\\.\\d, cpu;dur=\\d+\\.\\d, alloc;desc=\"\\d+ B\"");
+        assertThat(Double.parseDouble(header.substring("app;dur=".length(), header.indexOf(','))))
+                .isGreaterThanOrEqualTo(25.0);
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+    }
+
+    @Test
+    @DisplayName("Haengt die Schichten mit Eigenzeit an, ohne die laufende Serialisierung")
+    void shouldAddLayers() throws Exception {
+        RequestCost cost = new RequestCost();
+        cost.begin();
+        request.setAttribute(RequestLoggingInterceptor.START_TIME_ATTR, System.nanoTime());
+        request.setAttribute(RequestLoggingInterceptor.COST_ATTR, cost);
+        FilterChain chain = (req, res) -> {
+            try (LayerTimings.Span controller = LayerTimings.open(Layer.CONTROLLER)) {
+                try (LayerTimings.Span repository = LayerTimings.open(Layer.REPOSITORY)) {
+                    Thread.sleep(2);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try (LayerTimings.Span serialization = LayerTimings.open(Layer.SERIALIZATION)) {
+                res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+
+        filter.doFilter(request, response, chain);
+        cost.end();
+
+        assertThat(response.getHeader(ServerTimingFilter.HEADER))
+                .matches(".*, controller;dur=\\d+\\.\\d, repository;dur=\\d+\\.\\d")
+                .doesNotContain("usecase", "serialization");
+    }
+
+    @Test
+    @DisplayName("Setzt den Header auch fuer Antworten ohne Body")
+    void shouldAddHeaderWithoutBody() throws Exception {
+        request.setAttribute(RequestLoggingInterceptor.START_TIME_ATTR, System.nanoTime());
+
+        filter.doFilter(request, response, (req, res) -> response.setStatus(204));
+
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).startsWith("app;dur=");
+    }
+
+    @Test
+    @DisplayName("Laesst den Header weg, wenn der Request nicht gemessen wurde")
+    void shouldSkipUnmeasuredRequests() throws Exception {
+        filter.doFilter(request, response, (req, res) -> res.getWriter().write("ok"));
+
+        assertThat(response.getHeader(ServerTimingFilter.HEADER)).isNull();
+    }
+}
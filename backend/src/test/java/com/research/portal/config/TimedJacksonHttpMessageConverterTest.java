@@ -0,0 +1,50 @@
+package com.research.portal.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.research.portal.config.LayerTimings.Layer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit-Tests fuer {@link TimedJacksonHttpMessageConverter}.
+ */
+@DisplayName("TimedJacksonHttpMessageConverter")
+class TimedJacksonHttpMessageConverterTest {
+
+    private final TimedJacksonHttpMessageConverter converter = new TimedJacksonHttpMessageConverter(new ObjectMapper());
+
+    @AfterEach
+    void stopTiming() {
+        LayerTimings.current().stop(new long[Layer.ALL.length]);
+    }
+
+    @Test
+    @DisplayName("Schreibt JSON und misst die Zeit als Schicht serialization")
+    void shouldTimeSerialization() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        LayerTimings.current().start();
+
+        converter.write(Map.of("isin", "CH0038863350"), MediaType.APPLICATION_JSON, output);
+
+        long[] layerNanos = new long[Layer.ALL.length];
+        assertThat(LayerTimings.current().stop(layerNanos)).isTrue();
+        assertThat(layerNanos[Layer.SERIALIZATION.ordinal()]).isPositive();
+        assertThat(output.getBodyAsString(StandardCharsets.UTF_8)).isEqualTo("{\"isin\":\"CH0038863350\"}");
+    }
+
+    @Test
+    @DisplayName("Uebernimmt den ObjectMapper des ersetzten Converters")
+    void shouldKeepObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        assertThat(new TimedJacksonHttpMessageConverter(objectMapper).getObjectMapper()).isSameAs(objectMapper);
+    }
+}
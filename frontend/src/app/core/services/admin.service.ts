@@ -9,6 +9,7 @@ import { environment } from '../../../environments/environment';
    GET /api/info/stats    → SystemStats
    GET /api/validation    → ValidationResult
    GET /api/metrics       → ApiMetrics
+   GET /api/metrics/latency → EndpointLatency[]
    ------------------------------------------------ */
 
 export interface SystemInfo {
@@ -51,6 +52,22 @@ export interface ApiMetrics {
   uptime: string;
 }
 
+export type LatencyWindow = '1m' | '5m' | '15m';
+
+export interface EndpointLatency {
+  endpoint: string;
+  statusClass: string;
+  window: LatencyWindow;
+  count: number;
+  throughputPerSecond: number;
+  p50Ms: number;
+  p90Ms: number;
+  p95Ms: number;
+  p99Ms: number;
+  maxMs: number;
+  meanMs: number;
+}
+
 @Injectable({ providedIn: 'root' })
 export class AdminService {
 
@@ -78,6 +95,10 @@ export class AdminService {
     return this.http.get<ApiMetrics>(`${this.baseUrl}/metrics`);
   }
 
+  getLatency(window: LatencyWindow): Observable<EndpointLatency[]> {
+    return this.http.get<EndpointLatency[]>(`${this.baseUrl}/metrics/latency`, { params: { window } });
+  }
+
   resetMetrics(): Observable<void> {
     return this.http.delete<void>(`${this.baseUrl}/metrics`);
   }
@@ -6,14 +6,24 @@ import { environment } from '../../../environments/environment';
 
 export interface XmlImportResponse {
   importedCount: number;
+  updatedCount?: number;
+  unchangedCount?: number;
   status: string;
   timestamp: string;
   reports: Report[];
+  failures?: XmlImportFailure[];
+}
+
+export interface XmlImportFailure {
+  position: number;
+  title: string | null;
+  reason: string;
 }
 
 export interface XmlValidationResponse {
   valid: boolean;
   message: string;
+  errors?: string[];
   timestamp: string;
 }
 
@@ -24,12 +34,22 @@ export class ImportService {
 
   constructor(private readonly http: HttpClient) {}
 
-  importXml(file: File, ticker?: string): Observable<XmlImportResponse> {
+  /**
+   * validate: im selben Durchgang gegen das XSD prüfen, statt vorher validateXml() aufzurufen;
+   * incremental: bereits importierte Reports abgleichen (unverändert überspringen, geändert aktualisieren)
+   */
+  importXml(file: File, ticker?: string, validate = false, incremental = false): Observable<XmlImportResponse> {
     const formData = new FormData();
     formData.append('file', file);
     if (ticker) {
       formData.append('ticker', ticker);
     }
+    if (validate) {
+      formData.append('validate', 'true');
+    }
+    if (incremental) {
+      formData.append('incremental', 'true');
+    }
     return this.http.post<XmlImportResponse>(`${this.url}/xml`, formData);
   }
 
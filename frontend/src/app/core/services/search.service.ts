@@ -12,6 +12,13 @@ export interface SearchResult {
   relevance: number;
 }
 
+export interface Suggestion {
+  type: string;
+  id: number;
+  value: string;
+  label: string;
+}
+
 export interface SearchResponse {
   query: string;
   totalResults: number;
@@ -37,4 +44,12 @@ export class SearchService {
 
     return this.http.get<SearchResponse>(this.url, { params });
   }
+
+  suggest(prefix: string, limit = 10): Observable<Suggestion[]> {
+    const params = new HttpParams()
+      .set('q', prefix)
+      .set('limit', limit);
+
+    return this.http.get<Suggestion[]>(`${this.url}/suggest`, { params });
+  }
 }
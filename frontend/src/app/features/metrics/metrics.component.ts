@@ -10,7 +10,13 @@ import { DecimalPipe } from '@angular/common';
 import { TranslatePipe } from '@ngx-translate/core';
 import { RouterLink } from '@angular/router';
 import { BreadcrumbComponent, BreadcrumbItem } from '../../shared/components/breadcrumb/breadcrumb.component';
-import { AdminService, ApiMetrics, EndpointEntry } from '../../core/services/admin.service';
+import {
+  AdminService,
+  ApiMetrics,
+  EndpointEntry,
+  EndpointLatency,
+  LatencyWindow,
+} from '../../core/services/admin.service';
 import { HttpClient } from '@angular/common/http';
 import { environment } from '../../../environments/environment';
 
@@ -26,6 +32,7 @@ export interface RateLimitStatus {
 export interface RateLimitStats {
   totalBlocked: number;
   activeClients: number;
+  evictedClients?: number;
   blockedByCategory: Record<string, number>;
 }
 
@@ -60,6 +67,9 @@ export class MetricsComponent implements OnInit {
   readonly metrics = signal<ApiMetrics | null>(null);
   readonly rateLimitStatus = signal<RateLimitStatus | null>(null);
   readonly rateLimitStats = signal<RateLimitStats | null>(null);
+  readonly latency = signal<EndpointLatency[]>([]);
+  readonly latencyWindow = signal<LatencyWindow>('5m');
+  readonly latencyWindows: LatencyWindow[] = ['1m', '5m', '15m'];
   readonly loading = signal(true);
   readonly resetting = signal(false);
   readonly rateLimitResetting = signal(false);
@@ -126,6 +136,7 @@ export class MetricsComponent implements OnInit {
       next: () => {
         this.resetting.set(false);
         this.adminService.getMetrics().subscribe((m) => this.metrics.set(m));
+        this.loadLatency();
       },
       error: () => this.resetting.set(false),
     });
@@ -142,6 +153,11 @@ export class MetricsComponent implements OnInit {
     });
   }
 
+  onLatencyWindow(window: LatencyWindow): void {
+    this.latencyWindow.set(window);
+    this.loadLatency();
+  }
+
   endpointBarWidth(count: number): string {
     const max = this.maxEndpointCount();
     return `${(count / max) * 100}%`;
@@ -165,6 +181,14 @@ export class MetricsComponent implements OnInit {
     });
 
     this.loadRateLimitData();
+    this.loadLatency();
+  }
+
+  private loadLatency(): void {
+    this.adminService.getLatency(this.latencyWindow()).subscribe({
+      next: (l) => this.latency.set(l),
+      error: () => this.latency.set([]),
+    });
   }
 
   private loadRateLimitData(): void {